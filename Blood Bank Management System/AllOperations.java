@@ -1,1276 +1,1564 @@
-package com.blood_bank; // Package declaration for the Blood Bank Management System
-
-import com.bloodbank.service.impl.*; // Importing service implementation classes
-import com.bloodbank.util.HibernateUtil; // Importing Hibernate utility class
-import com.bloodbank.service.*; // Importing service interfaces
-import com.bloodbank.dao.impl.*; // Importing DAO implementation classes
-import java.text.ParseException; // Importing ParseException for handling date parsing exceptions
-import java.text.SimpleDateFormat; // Importing SimpleDateFormat to format dates
-import java.util.Date; // Importing Date class for working with date objects
-import java.util.InputMismatchException; // Importing exception class to handle invalid input types
-import java.util.List; // Importing List class to store multiple objects
-import java.util.Scanner; // Importing Scanner class to take user input
-
-import com.bloodbank.entity.*; // Importing entity classes like Admin, BloodBank, etc.
-
-public class AllOperations { // Main class that contains all operations for the system
-
-    private static Scanner sc = new Scanner(System.in); // Scanner object for user input
-
-    // Service objects to interact with the respective services (e.g., AdminService, BloodBankService)
-    private static AdminService adminService = new AdminServiceImpl(new AdminDAOImpl());
-    private static BloodBankService bloodBankService = new BloodBankServiceImpl(new BloodBankDAOImpl());
-    private static BloodService bloodService = new BloodServiceImpl(new BloodDAOImpl());
-    private static DonorService donorService = new DonorServiceImpl(new DonorDAOImpl());
-    private static EmployeeTeamService employeeTeamService = new EmployeeTeamServiceImpl(new EmployeeTeamDAOImpl());
-    private static HospitalService hospitalService = new HospitalServiceImpl(new HospitalDAOImpl());
-    private static PatientService patientService = new PatientServiceImpl(new PatientDAOImpl());
-
-    // Main method where the menu loop starts
-    public static void main(String[] args) {
-        while (true) { // Infinite loop for continuous operation
-            // Displaying the main menu to the user
-            System.out.println("\n=== Blood Bank Management System ===");
-            System.out.println("1. Admin Operations");
-            System.out.println("2. Blood Bank Operations");
-            System.out.println("3. Blood Operations");
-            System.out.println("4. Donor Operations");
-            System.out.println("5. Employee Team Operations");
-            System.out.println("6. Hospital Operations");
-            System.out.println("7. Patient Operations");
-            System.out.println("8. Exit");
-
-            try {
-                int choice = sc.nextInt(); // Taking user input for menu choice
-                sc.nextLine(); // Consume newline left by nextInt()
-
-                // Switch-case to perform the selected operation
-                switch (choice) {
-                    case 1: adminOperations(); break; // Call admin operations if choice is 1
-                    case 2: bloodBankOperations(); break; // Call blood bank operations if choice is 2
-                    case 3: bloodOperations(); break; // Call blood operations if choice is 3
-                    case 4: donorOperations(); break; // Call donor operations if choice is 4
-                    case 5: employeeTeamOperations(); break; // Call employee team operations if choice is 5
-                    case 6: hospitalOperations(); break; // Call hospital operations if choice is 6
-                    case 7: patientOperations(); break; // Call patient operations if choice is 7
-                    case 8: // Exit case
-                        HibernateUtil.shutdown(); // Close Hibernate session factory
-                        System.exit(0); // Exit the program
-                    default: // Default case for invalid input
-                        System.out.println("Invalid choice.");
-                }
-            } catch (InputMismatchException e) { // Catching invalid input exceptions
-                System.out.println("Invalid input."); // Inform user about invalid input
-                sc.nextLine(); // Clear the scanner buffer
-            }
-        }
-    }
-
- // Admin Operations menu method
-    public static void adminOperations() {
-        while (true) { // Loop to continuously show admin menu
-            // Display menu options
-            System.out.println("\n=== Admin Operations ===");
-            System.out.println("1. Add Admin");
-            System.out.println("2. Update Admin");
-            System.out.println("3. Delete Admin");
-            System.out.println("4. Get Admin by ID");
-            System.out.println("5. Get all Admins");
-            System.out.println("6. Back to Main Menu");
-
-            try {
-                int choice = sc.nextInt(); // Read menu choice from user
-                sc.nextLine(); // Consume leftover newline
-
-                // Perform corresponding action based on user's choice
-                switch (choice) {
-                    case 1:
-                        addAdmin(); // Call method to add new admin
-                        break;
-                    case 2:
-                        updateAdmin(); // Call method to update existing admin
-                        break;
-                    case 3:
-                        deleteAdmin(); // Call method to delete admin
-                        break;
-                    case 4:
-                        getAdminById(); // Call method to fetch admin by ID
-                        break;
-                    case 5:
-                        getAllAdmins(); // Call method to list all admins
-                        break;
-                    case 6:
-                        return; // Exit to main menu
-                    default:
-                        System.out.println("Invalid choice."); // Invalid option
-                }
-            } catch (InputMismatchException e) { // Catch non-integer input
-                System.out.println("Invalid input."); // Inform user of error
-                sc.nextLine(); // Clear scanner buffer
-            }
-        }
-    }
-
-    // Method to add a new admin
-    private static void addAdmin() {
-        // Prompt user for admin details
-        System.out.print("Enter Admin ID: ");
-        String adminId = sc.nextLine(); // Read admin ID
-
-        System.out.print("Enter Admin Name: ");
-        String adminName = sc.nextLine(); // Read admin name
-
-        System.out.print("Enter Location: ");
-        String location = sc.nextLine(); // Read location
-
-        System.out.print("Enter Contact Number: ");
-        String contactNumber = sc.nextLine(); // Read contact number
-
-        // Create Admin object and set its fields
-        Admin admin = new Admin();
-        admin.setAdminId(adminId);
-        admin.setAdminName(adminName);
-        admin.setLocation(location);
-        admin.setContactNumber(contactNumber); // Set contact number
-
-        // Save admin using service layer
-        adminService.saveAdmin(admin);
-
-        System.out.println("Admin added successfully."); // Success message
-    }
-
-    // Method to update existing admin details
-    private static void updateAdmin() {
-        System.out.print("Enter Admin ID to update: ");
-        String adminId = sc.nextLine(); // Read admin ID
-
-        // Fetch admin from service by ID
-        Admin admin = adminService.getAdminById(adminId);
-
-        if (admin != null) { // If admin is found
-            // Prompt for updated values
-            System.out.print("Enter new Admin Name: ");
-            admin.setAdminName(sc.nextLine());
-
-            System.out.print("Enter new Location: ");
-            admin.setLocation(sc.nextLine());
-
-            System.out.print("Enter new Contact Number: ");
-            admin.setContactNumber(sc.nextLine());
-
-            // Call service to update admin
-            adminService.updateAdmin(admin);
-
-            System.out.println("Admin updated successfully."); // Success message
-        } else {
-            System.out.println("Admin not found."); // If no admin found
-        }
-    }
-
-    // Method to delete admin
-    private static void deleteAdmin() {
-        System.out.print("Enter Admin ID to delete: ");
-        String adminId = sc.nextLine(); // Read admin ID
-
-        // Delete admin using service layer
-        adminService.deleteAdmin(adminId);
-
-        System.out.println("Admin deleted successfully."); // Success message
-    }
-
-    // Method to fetch and display admin by ID
-    private static void getAdminById() {
-        System.out.print("Enter Admin ID: ");
-        String adminId = sc.nextLine(); // Read admin ID
-
-        // Fetch admin from service
-        Admin admin = adminService.getAdminById(adminId);
-
-        if (admin != null) { // If found
-            // Print admin details
-            System.out.println("Admin Details:");
-            System.out.println("ID: " + admin.getAdminId());
-            System.out.println("Name: " + admin.getAdminName());
-            System.out.println("Location: " + admin.getLocation());
-            System.out.println("Contact Number: " + admin.getContactNumber());
-        } else {
-            System.out.println("Admin not found."); // If not found
-        }
-    }
-
-    // Method to list all admins
-    private static void getAllAdmins() {
-        // Fetch all admins from service
-        List<Admin> admins = adminService.getAllAdmins();
-
-        if (admins != null && !admins.isEmpty()) { // If list is not empty
-            System.out.println("All Admins:");
-
-            // Loop through each admin and print details
-            for (Admin admin : admins) {
-                System.out.println("------------------------");
-                System.out.println("ID: " + admin.getAdminId());
-                System.out.println("Name: " + admin.getAdminName());
-                System.out.println("Location: " + admin.getLocation());
-                System.out.println("Contact Number: " + admin.getContactNumber());
-            }
-        } else {
-            System.out.println("No admins found."); // If list is empty
-        }
-    }
-
- // Blood Bank operations menu
-    public static void bloodBankOperations() {
-        while (true) {
-            System.out.println("\n=== Blood Bank Operations ===");
-            System.out.println("1. Add Blood Bank");
-            System.out.println("2. Update Blood Bank");
-            System.out.println("3. Delete Blood Bank");
-            System.out.println("4. Get Blood Bank by ID");
-            System.out.println("5. Get all Blood Banks");
-            System.out.println("6. Update Blood Quantity");
-            System.out.println("7. Exit");
-
-            try {
-                int choice = sc.nextInt();
-                sc.nextLine(); // Clear buffer
-
-                switch (choice) {
-                    case 1:
-                        addBloodBank();
-                        break;
-                    case 2:
-                        updateBloodBank();
-                        break;
-                    case 3:
-                        deleteBloodBank();
-                        break;
-                    case 4:
-                        getBloodBankById();
-                        break;
-                    case 5:
-                        getAllBloodBanks();
-                        break;
-                    case 6:
-                        updateBloodQuantity();
-                        break;
-                    case 7:
-                        System.out.println("Exiting...");
-                        return;
-                    default:
-                        System.out.println("Invalid choice.");
-                }
-            } catch (InputMismatchException e) {
-                System.out.println("Invalid input. Please enter a number.");
-                sc.nextLine(); // Clear buffer
-            }
-        }
-    }
-
-    // Method to add a new Blood Bank
-    private static void addBloodBank() {
-        System.out.print("Enter Blood Bank ID: ");
-        String bloodBankId = sc.nextLine();
-        System.out.print("Enter Name: ");
-        String name = sc.nextLine();
-        System.out.print("Enter Location: ");
-        String location = sc.nextLine();
-        System.out.print("Enter Available Blood Groups: ");
-        String availableBloodGroups = sc.nextLine();
-        System.out.print("Enter Quantity: ");
-        int quantity = sc.nextInt();
-        sc.nextLine();
-        System.out.print("Enter Admin ID: ");
-        String adminId = sc.nextLine();
-
-        Admin admin = adminService.getAdminById(adminId);
-        if (admin == null) {
-            System.out.println("Admin not found.");
-            return;
-        }
-
-        BloodBank bloodBank = new BloodBank();
-        bloodBank.setBloodBankId(bloodBankId);
-        bloodBank.setName(name);
-        bloodBank.setLocation(location);
-        bloodBank.setAvailableBloodGroups(availableBloodGroups);
-        bloodBank.setQuantity(quantity);
-        bloodBank.setAdmin(admin);
-
-        bloodBankService.saveBloodBank(bloodBank);
-        System.out.println("Blood Bank added successfully.");
-    }
-
-    // Method to update Blood Bank
-    private static void updateBloodBank() {
-        System.out.print("Enter Blood Bank ID to update: ");
-        String bloodBankId = sc.nextLine();
-        BloodBank bloodBank = bloodBankService.getBloodBankById(bloodBankId);
-
-        if (bloodBank == null) {
-            System.out.println("Blood Bank not found.");
-            return;
-        }
-
-        System.out.print("Enter new Name: ");
-        bloodBank.setName(sc.nextLine());
-        System.out.print("Enter new Location: ");
-        bloodBank.setLocation(sc.nextLine());
-        System.out.print("Enter new Available Blood Groups: ");
-        bloodBank.setAvailableBloodGroups(sc.nextLine());
-        System.out.print("Enter new Quantity: ");
-        bloodBank.setQuantity(sc.nextInt());
-        sc.nextLine(); // Clear buffer
-        System.out.print("Enter Admin ID: ");
-        String adminId = sc.nextLine();
-
-        Admin admin = adminService.getAdminById(adminId);
-        if (admin == null) {
-            System.out.println("Admin not found.");
-            return;
-        }
-
-        bloodBank.setAdmin(admin);
-        bloodBankService.updateBloodBank(bloodBank);
-        System.out.println("Blood Bank updated successfully.");
-    }
-
-    // Method to delete Blood Bank
-    private static void deleteBloodBank() {
-        System.out.print("Enter Blood Bank ID to delete: ");
-        String bloodBankId = sc.nextLine();
-        bloodBankService.deleteBloodBank(bloodBankId);
-        System.out.println("Blood Bank deleted successfully.");
-    }
-
-    // Method to retrieve Blood Bank by ID
-    private static void getBloodBankById() {
-        System.out.print("Enter Blood Bank ID: ");
-        String bloodBankId = sc.nextLine();
-        BloodBank bloodBank = bloodBankService.getBloodBankById(bloodBankId);
-
-        if (bloodBank != null) {
-            System.out.println("Blood Bank Details:\n" + bloodBank);
-        } else {
-            System.out.println("Blood Bank not found.");
-        }
-    }
-
-    // Method to retrieve all Blood Banks
-    private static void getAllBloodBanks() {
-        List<BloodBank> bloodBanks = bloodBankService.getAllBloodBanks();
-        if (bloodBanks != null && !bloodBanks.isEmpty()) {
-            System.out.println("All Blood Banks:");
-            for (BloodBank bb : bloodBanks) {
-                System.out.println(bb);
-            }
-        } else {
-            System.out.println("No Blood Banks found.");
-        }
-    }
-
-    // Method to update blood quantity
-    private static void updateBloodQuantity() {
-        System.out.print("Enter Blood Bank ID: ");
-        String bloodBankId = sc.nextLine();
-        System.out.print("Enter Quantity to Add/Remove (use negative number to remove): ");
-        int quantityChange = sc.nextInt();
-        sc.nextLine();
-
-        try {
-            bloodBankService.updateBloodQuantity(bloodBankId, quantityChange);
-            System.out.println("Blood quantity updated successfully.");
-        } catch (IllegalArgumentException e) {
-            System.out.println("Error: " + e.getMessage());
-        }
-    }
-    
-//Blood Operations
-public static void bloodOperations() {
-  while (true) { // Infinite loop to continuously show the blood operations menu
-      // Displaying the Blood Operations menu
-      System.out.println("\n=== Blood Operations ===");
-      System.out.println("1. Add Blood");
-      System.out.println("2. Update Blood");
-      System.out.println("3. Delete Blood");
-      System.out.println("4. Get Blood by ID");
-      System.out.println("5. Get Blood by Blood Bank");
-      System.out.println("6. Get all Blood");
-      System.out.println("7. Back to Main Menu");
-
-      try {
-          int choice = sc.nextInt(); // Taking user input for menu choice
-          sc.nextLine(); // Consume newline
-
-          // Switch-case to handle the selected operation
-          switch (choice) {
-              case 1:
-                  addBlood(); // Call method to add blood
-                  break;
-              case 2:
-                  updateBlood(); // Call method to update blood
-                  break;
-              case 3:
-                  deleteBlood(); // Call method to delete blood
-                  break;
-              case 4:
-                  getBloodById(); // Call method to get blood by ID
-                  break;
-              case 5:
-                  getBloodByBloodBank(); // Call method to get blood by blood bank
-                  break;
-              case 6:
-                  getAllBlood(); // Call method to get all blood records
-                  break;
-              case 7:
-                  return; // Return to main menu
-              default:
-                  System.out.println("Invalid choice."); // Inform user about invalid input
-          }
-      } catch (InputMismatchException e) { // Catching invalid input exception
-          System.out.println("Invalid input."); // Inform user about invalid input
-          sc.nextLine(); // Clear the scanner buffer
-      }
-  }
-}
-
-//Method to add new blood
-private static void addBlood() {
-  // Prompting user for blood details
-  System.out.print("Enter Blood ID: ");
-  String bloodId = sc.nextLine();
-  System.out.print("Enter Blood Group: ");
-  String bloodGroup = sc.nextLine();
-  System.out.print("Enter Blood Bank ID: ");
-  String bloodBankId = sc.nextLine();
-  System.out.print("Enter Donor ID : ");
-  String donorId = sc.nextLine();
-  System.out.print("Enter Patient ID : ");
-  String patientId = sc.nextLine();
-
-  // Retrieving the blood bank using blood bank ID
-  BloodBank bloodBank = bloodBankService.getBloodBankById(bloodBankId);
-  if (bloodBank == null) { // If blood bank not found
-      System.out.println("Blood Bank not found.");
-      return; // Return to prevent further execution
-  }
-
-  // Retrieving the donor using donor ID, if provided
-  Donor donor = null;
-  if (!donorId.isEmpty()) {
-      donor = donorService.getDonorById(donorId);
-      if (donor == null) { // If donor not found
-          System.out.println("Donor not found.");
-          return;
-      }
-  }
-
-  // Retrieving the patient using patient ID, if provided
-  Patient patient = null;
-  if (!patientId.isEmpty()) {
-      patient = patientService.getPatientById(patientId);
-      if (patient == null) { // If patient not found
-          System.out.println("Patient not found.");
-          return;
-      }
-  }
-
-  // Creating a new Blood object and setting its properties
-  Blood blood = new Blood();
-  blood.setBloodId(bloodId);
-  blood.setBloodGroup(bloodGroup);
-  blood.setStoredIn(bloodBank); // Set the blood bank
-  blood.setDonatedBy(donor); // Set the donor
-  blood.setReceivedBy(patient); // Set the patient
-
-  // Calling service to save the new blood record
-  bloodService.saveBlood(blood);
-
-  System.out.println("Blood added successfully."); // Informing user about success
-}
-
-//Method to update an existing blood record
-private static void updateBlood() {
-  System.out.print("Enter Blood ID to update: ");
-  String bloodId = sc.nextLine();
-  // Retrieving the blood record by ID
-  Blood blood = bloodService.getBloodById(bloodId);
-
-  if (blood != null) { // If blood exists
-      // Prompting user for updated blood details
-      System.out.print("Enter new Blood Group: ");
-      blood.setBloodGroup(sc.nextLine());
-      System.out.print("Enter new Blood Bank ID: ");
-      String bloodBankId = sc.nextLine();
-      // Retrieving the updated blood bank by ID
-      BloodBank bloodBank = bloodBankService.getBloodBankById(bloodBankId);
-      if (bloodBank == null) { // If blood bank not found
-          System.out.println("Blood Bank not found.");
-          return;
-      }
-      blood.setStoredIn(bloodBank); // Set the updated blood bank
-
-      // Prompting user for updated donor ID
-      System.out.print("Enter new Donor ID : ");
-      String donorId = sc.nextLine();
-      Donor donor = null;
-      if (!donorId.isEmpty()) {
-          donor = donorService.getDonorById(donorId);
-          if (donor == null) { // If donor not found
-              System.out.println("Donor not found.");
-              return;
-          }
-      }
-      blood.setDonatedBy(donor); // Set the updated donor
-
-      // Prompting user for updated patient ID
-      System.out.print("Enter new Patient ID (or leave blank): ");
-      String patientId = sc.nextLine();
-      Patient patient = null;
-      if (!patientId.isEmpty()) {
-          patient = patientService.getPatientById(patientId);
-          if (patient == null) { // If patient not found
-              System.out.println("Patient not found.");
-              return;
-          }
-      }
-      blood.setReceivedBy(patient); // Set the updated patient
-
-      // Calling service to update the blood record
-      bloodService.updateBlood(blood);
-      System.out.println("Blood updated successfully."); // Informing user about success
-  } else {
-      System.out.println("Blood not found."); // If blood record not found
-  }
-}
-
-//Method to delete a blood record
-private static void deleteBlood() {
-  System.out.print("Enter Blood ID to delete: ");
-  String bloodId = sc.nextLine();
-  // Calling service to delete the blood record by ID
-  bloodService.deleteBlood(bloodId);
-  System.out.println("Blood deleted successfully."); // Informing user about success
-}
-
-//Method to get a blood record by ID
-private static void getBloodById() {
-  System.out.print("Enter Blood ID: ");
-  String bloodId = sc.nextLine();
-  // Retrieving blood record by ID from the service
-  Blood blood = bloodService.getBloodById(bloodId);
-
-  if (blood != null) { // If blood exists
-      System.out.println("Blood Details: " + blood); // Displaying blood details
-  } else {
-      System.out.println("Blood not found."); // If blood not found
-  }
-}
-
-//Method to get blood records by Blood Bank ID
-private static void getBloodByBloodBank() {
-  System.out.print("Enter Blood Bank ID: ");
-  String bloodBankId = sc.nextLine();
-  // Retrieving the list of blood records for a specific blood bank
-  List<Blood> bloodList = bloodService.getBloodByBloodBankId(bloodBankId);
-
-  if (bloodList != null && !bloodList.isEmpty()) { // If list is not empty
-      System.out.println("Blood Details for Blood Bank ID " + bloodBankId + ":");
-      // Iterating through the list of blood records
-      for (Blood blood : bloodList) {
-          System.out.println(blood); // Displaying each blood record
-      }
-  } else {
-      System.out.println("No blood found for Blood Bank ID " + bloodBankId + "."); // If no blood found
-  }
-}
-
-//Method to get all blood records
-private static void getAllBlood() {
-  // Retrieving the list of all blood records
-  List<Blood> bloodList = bloodService.getAllBlood();
-  if (bloodList != null && !bloodList.isEmpty()) { // If list is not empty
-      System.out.println("All Blood Details:");
-      // Iterating through the list of all blood records
-      for (Blood blood : bloodList) {
-          System.out.println(blood); // Displaying each blood record
-      }
-  } else {
-      System.out.println("No blood found."); // If no blood found
-  }
-}
-//Donor Operations
-public static void donorOperations() {
- while (true) { // Infinite loop to continuously show the donor operations menu
-     // Displaying the Donor Operations menu
-     System.out.println("\n=== Donor Operations ===");
-     System.out.println("1. Add Donor");
-     System.out.println("2. Update Donor");
-     System.out.println("3. Delete Donor");
-     System.out.println("4. Get Donor by ID");
-     System.out.println("5. Get all Donors");
-     System.out.println("6. Back to Main Menu");
-
-     try {
-         int choice = sc.nextInt(); // Taking user input for menu choice
-         sc.nextLine(); // Consume newline
-
-         // Switch-case to handle the selected operation
-         switch (choice) {
-             case 1:
-                 addDonor(); // Call method to add donor
-                 break;
-             case 2:
-                 updateDonor(); // Call method to update donor
-                 break;
-             case 3:
-                 deleteDonor(); // Call method to delete donor
-                 break;
-             case 4:
-                 getDonorById(); // Call method to get donor by ID
-                 break;
-             case 5:
-                 getAllDonors(); // Call method to get all donors
-                 break;
-             case 6:
-                 return; // Return to main menu
-             default:
-                 System.out.println("Invalid choice."); // Inform user about invalid input
-         }
-     } catch (InputMismatchException e) { // Catching invalid input exception
-         System.out.println("Invalid input."); // Inform user about invalid input
-         sc.nextLine(); // Clear the scanner buffer
-     }
- }
-}
-
-//Method to add a new donor
-private static void addDonor() {
- // Prompting user for donor details
- System.out.print("Enter Donor ID: ");
- String donorId = sc.nextLine();
- System.out.print("Enter Donor Name: ");
- String donorName = sc.nextLine();
- System.out.print("Enter Donor Gender: ");
- String donorGender = sc.nextLine();
- System.out.print("Enter Donor Address: ");
- String donorAddress = sc.nextLine();
- System.out.print("Enter Contact No: ");
- String contactNo = sc.nextLine();
- System.out.print("Enter Age: ");
- int age = sc.nextInt();
- sc.nextLine(); // Consume newline
- System.out.print("Enter Blood Group: ");
- String bloodGroup = sc.nextLine();
- System.out.print("Enter Date of Donation (yyyy-MM-dd): ");
- String dateString = sc.nextLine();
- System.out.print("Enter Employee ID: ");
- String empId = sc.nextLine();
-
- // Retrieving the employee who registered the donor
- EmployeeTeam employeeTeam = employeeTeamService.getEmployeeTeamById(empId);
- if (employeeTeam == null) { // If employee not found
-     System.out.println("Employee not found.");
-     return; // Return to prevent further execution
- }
-
- // Parsing the date of donation
- SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
- Date dateOfDonation = null;
- try {
-     dateOfDonation = dateFormat.parse(dateString); // Parse the date string to Date object
- } catch (ParseException e) {
-     System.out.println("Invalid date format."); // If date format is invalid
-     return;
- }
-
- // Creating a new Donor object and setting its properties
- Donor donor = new Donor();
- donor.setDonorId(donorId);
- donor.setDonorName(donorName);
- donor.setDonorGender(donorGender);
- donor.setDonorAddress(donorAddress);
- donor.setContactNo(contactNo);
- donor.setAge(age);
- donor.setBloodGroup(bloodGroup);
- donor.setDateOfDonation(dateOfDonation);
- donor.setRegisteredBy(employeeTeam); // Setting the employee who registered the donor
-
- // Calling service to save the new donor record
- donorService.saveDonor(donor);
-
- System.out.println("Donor added successfully."); // Informing user about success
-}
-
-//Method to update an existing donor record
-private static void updateDonor() {
- System.out.print("Enter Donor ID to update: ");
- String donorId = sc.nextLine();
- // Retrieving the donor record by ID
- Donor donor = donorService.getDonorById(donorId);
-
- if (donor != null) { // If donor exists
-     // Prompting user for updated donor details
-     System.out.print("Enter new Donor Name: ");
-     donor.setDonorName(sc.nextLine());
-     System.out.print("Enter new Donor Gender: ");
-     donor.setDonorGender(sc.nextLine());
-     System.out.print("Enter new Donor Address: ");
-     donor.setDonorAddress(sc.nextLine());
-     System.out.print("Enter new Contact No: ");
-     donor.setContactNo(sc.nextLine());
-     System.out.print("Enter new Age: ");
-     donor.setAge(sc.nextInt());
-     sc.nextLine(); // Consume newline
-     System.out.print("Enter new Blood Group: ");
-     donor.setBloodGroup(sc.nextLine());
-     System.out.print("Enter new Date of Donation (yyyy-MM-dd): ");
-     String dateString = sc.nextLine();
-     System.out.print("Enter new Employee ID: ");
-     String empId = sc.nextLine();
-
-     // Retrieving the employee who registered the donor
-     EmployeeTeam employeeTeam = employeeTeamService.getEmployeeTeamById(empId);
-     if (employeeTeam == null) { // If employee not found
-         System.out.println("Employee not found.");
-         return;
-     }
-
-     // Parsing the new date of donation
-     SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
-     Date dateOfDonation = null;
-     try {
-         dateOfDonation = dateFormat.parse(dateString); // Parse the date string to Date object
-     } catch (ParseException e) {
-         System.out.println("Invalid date format."); // If date format is invalid
-         return;
-     }
-
-     // Updating donor details
-     donor.setDateOfDonation(dateOfDonation);
-     donor.setRegisteredBy(employeeTeam); // Setting the updated employee
-
-     // Calling service to update the donor record
-     donorService.updateDonor(donor);
-     System.out.println("Donor updated successfully."); // Informing user about success
- } else {
-     System.out.println("Donor not found."); // If donor record not found
- }
-}
-
-//Method to delete a donor record
-private static void deleteDonor() {
- System.out.print("Enter Donor ID to delete: ");
- String donorId = sc.nextLine();
- // Calling service to delete the donor record by ID
- donorService.deleteDonor(donorId);
- System.out.println("Donor deleted successfully."); // Informing user about success
-}
-
-//Method to get a donor record by ID
-private static void getDonorById() {
- System.out.print("Enter Donor ID: ");
- String donorId = sc.nextLine();
- // Retrieving donor record by ID from the service
- Donor donor = donorService.getDonorById(donorId);
-
- if (donor != null) { // If donor exists
-     System.out.println("Donor Details: " + donor); // Displaying donor details
- } else {
-     System.out.println("Donor not found."); // If donor not found
- }
-}
-
-//Method to get all donor records
-private static void getAllDonors() {
- // Retrieving the list of all donor records
- List<Donor> donors = donorService.getAllDonors();
- if (donors != null && !donors.isEmpty()) { // If list is not empty
-     System.out.println("All Donors:");
-     // Iterating through the list of all donors
-     for (Donor donor : donors) {
-         System.out.println(donor); // Displaying each donor record
-     }
- } else {
-     System.out.println("No donors found."); // If no donors found
- }
-}
-//Employee Team Operations
-public static void employeeTeamOperations() {
- while (true) { // Infinite loop to continuously show the employee team operations menu
-     // Displaying the Employee Team Operations menu
-     System.out.println("\n=== Employee Team Operations ===");
-     System.out.println("1. Add Employee ");
-     System.out.println("2. Update Employee ");
-     System.out.println("3. Delete Employee ");
-     System.out.println("4. Get Employee by ID");
-     System.out.println("5. Get all Employees ");
-     System.out.println("6. Back to Main Menu");
-
-     try {
-         int choice = sc.nextInt(); // Taking user input for menu choice
-         sc.nextLine(); // Consume newline left by nextInt()
-
-         // Switch-case to handle the selected operation
-         switch (choice) {
-             case 1:
-                 addEmployeeTeam(); // Call method to add an employee to the team
-                 break;
-             case 2:
-                 updateEmployeeTeam(); // Call method to update employee details
-                 break;
-             case 3:
-                 deleteEmployeeTeam(); // Call method to delete employee
-                 break;
-             case 4:
-                 getEmployeeTeamById(); // Call method to fetch employee by ID
-                 break;
-             case 5:
-                 getAllEmployeeTeams(); // Call method to list all employees
-                 break;
-             case 6:
-                 return; // Exit to main menu
-             default:
-                 System.out.println("Invalid choice."); // Inform user of invalid choice
-         }
-     } catch (InputMismatchException e) { // Catch invalid input
-         System.out.println("Invalid input. Please enter a number."); // Inform user
-         sc.nextLine(); // Clear the scanner buffer
-     }
- }
-}
-
-//Method to add a new employee to the team
-private static void addEmployeeTeam() {
- // Prompting user for employee details
- System.out.print("Enter Employee ID: ");
- String empId = sc.nextLine(); // Read employee ID
-
- System.out.print("Enter Employee Name: ");
- String empName = sc.nextLine(); // Read employee name
-
- System.out.print("Enter Contact Number: ");
- String contactNo = sc.nextLine(); // Read employee contact number
-
- // Creating and populating a new EmployeeTeam object
- EmployeeTeam employeeTeam = new EmployeeTeam();
- employeeTeam.setEmpId(empId);         // Set employee ID
- employeeTeam.setEmpName(empName);     // Set employee name
- employeeTeam.setContactNo(contactNo); // Set employee contact number
-
- // Save the new employee using the service
- employeeTeamService.saveEmployeeTeam(employeeTeam);
-
- System.out.println("Employee added successfully."); // Success message
-}
-
-//Method to update an existing employee
-private static void updateEmployeeTeam() {
- // Prompt for employee ID to update
- System.out.print("Enter Employee ID to update: ");
- String empId = sc.nextLine(); // Read employee ID
-
- // Fetch employee from service
- EmployeeTeam employeeTeam = employeeTeamService.getEmployeeTeamById(empId);
-
- if (employeeTeam != null) { // Check if employee exists
-     // Prompt for new values
-     System.out.print("Enter new Employee Name: ");
-     String newName = sc.nextLine(); // Read new name
-
-     System.out.print("Enter new Contact Number: ");
-     String newContact = sc.nextLine(); // Read new contact
-
-     // Set updated values
-     employeeTeam.setEmpName(newName);
-     employeeTeam.setContactNo(newContact);
-
-     // Update the employee using the service
-     employeeTeamService.updateEmployeeTeam(employeeTeam);
-
-     System.out.println("Employee updated successfully."); // Success message
- } else {
-     System.out.println("Employee not found."); // If no employee found
- }
-}
-
-//Method to delete an employee by ID
-private static void deleteEmployeeTeam() {
- System.out.print("Enter Employee ID to delete: ");
- String empId = sc.nextLine(); // Read employee ID
-
- // Delete employee using the service
- employeeTeamService.deleteEmployeeTeam(empId);
-
- System.out.println("Employee deleted successfully."); // Success message
-}
-
-//Method to get and display employee by ID
-private static void getEmployeeTeamById() {
- System.out.print("Enter Employee ID: ");
- String empId = sc.nextLine(); // Read employee ID
-
- // Fetch employee from service
- EmployeeTeam employeeTeam = employeeTeamService.getEmployeeTeamById(empId);
-
- if (employeeTeam != null) { // If employee exists
-     // Display employee details
-     System.out.println("Employee Details:");
-     System.out.println("ID: " + employeeTeam.getEmpId());
-     System.out.println("Name: " + employeeTeam.getEmpName());
-     System.out.println("Contact: " + employeeTeam.getContactNo());
- } else {
-     System.out.println("Employee not found."); // If employee not found
- }
-}
-
-//Method to display all employees
-private static void getAllEmployeeTeams() {
- // Fetch all employees from service
- List<EmployeeTeam> employeeTeams = employeeTeamService.getAllEmployeeTeams();
-
- if (employeeTeams != null && !employeeTeams.isEmpty()) { // Check if list is not empty
-     System.out.println("All Employees:");
-
-     // Loop through and print each employee
-     for (EmployeeTeam employeeTeam : employeeTeams) {
-         System.out.println("------------------------");
-         System.out.println("ID: " + employeeTeam.getEmpId());
-         System.out.println("Name: " + employeeTeam.getEmpName());
-         System.out.println("Contact: " + employeeTeam.getContactNo());
-     }
- } else {
-     System.out.println("No employee found."); // If list is empty
- }
-}
-
-//Hospital Operations
-public static void hospitalOperations() {
- while (true) { // Infinite loop to continuously show the hospital operations menu
-     // Displaying the Hospital Operations menu
-     System.out.println("\n=== Hospital Operations ===");
-     System.out.println("1. Add Hospital");
-     System.out.println("2. Update Hospital");
-     System.out.println("3. Delete Hospital");
-     System.out.println("4. Get Hospital by ID");
-     System.out.println("5. Get all Hospitals");
-     System.out.println("6. Back to Main Menu");
-
-     try {
-         int choice = sc.nextInt(); // Taking user input for menu choice
-         sc.nextLine(); // Consume newline
-
-         // Switch-case to handle the selected operation
-         switch (choice) {
-             case 1:
-                 addHospital(); // Call method to add a new hospital
-                 break;
-             case 2:
-                 updateHospital(); // Call method to update an existing hospital
-                 break;
-             case 3:
-                 deleteHospital(); // Call method to delete a hospital
-                 break;
-             case 4:
-                 getHospitalById(); // Call method to get hospital details by ID
-                 break;
-             case 5:
-                 getAllHospitals(); // Call method to get all hospitals
-                 break;
-             case 6:
-                 return; // Return to the main menu
-             default:
-                 System.out.println("Invalid choice."); // Inform user about invalid input
-         }
-     } catch (InputMismatchException e) { // Catching invalid input exception
-         System.out.println("Invalid input."); // Inform user about invalid input
-         sc.nextLine(); // Clear the scanner buffer
-     }
- }
-}
-
-//Method to add a new hospital to the system
-private static void addHospital() {
- // Prompting user for hospital details
- System.out.print("Enter Hospital ID: ");
- String hospitalId = sc.nextLine();
- System.out.print("Enter Hospital Name: ");
- String hospitalName = sc.nextLine();
- System.out.print("Enter Location: ");
- String location = sc.nextLine();
- System.out.print("Enter Blood Bank ID: ");
- String bloodBankId = sc.nextLine();
-
- // Retrieving the associated blood bank by its ID from the service
- BloodBank bloodBank = bloodBankService.getBloodBankById(bloodBankId);
- if (bloodBank == null) { // If blood bank is not found
-     System.out.println("Blood Bank not found.");
-     return;
- }
-
- // Creating a new Hospital object and setting its properties
- Hospital hospital = new Hospital();
- hospital.setHospitalId(hospitalId);
- hospital.setHospitalName(hospitalName);
- hospital.setLocation(location);
- hospital.setContactedBloodBank(bloodBank); // Associating the hospital with a blood bank
- hospitalService.saveHospital(hospital); // Calling service to save the new hospital
-
- System.out.println("Hospital added successfully."); // Informing user about success
-}
-
-//Method to update an existing hospital's details
-private static void updateHospital() {
- System.out.print("Enter Hospital ID to update: ");
- String hospitalId = sc.nextLine();
- // Retrieving hospital record by ID from the service
- Hospital hospital = hospitalService.getHospitalById(hospitalId);
-
- if (hospital != null) { // If hospital exists
-     // Prompting user for updated hospital details
-     System.out.print("Enter new Hospital Name: ");
-     hospital.setHospitalName(sc.nextLine());
-     System.out.print("Enter new Location: ");
-     hospital.setLocation(sc.nextLine());
-     System.out.print("Enter new Blood Bank ID: ");
-     String bloodBankId = sc.nextLine();
-
-     // Retrieving the associated blood bank by its ID from the service
-     BloodBank bloodBank = bloodBankService.getBloodBankById(bloodBankId);
-     if (bloodBank == null) { // If blood bank is not found
-         System.out.println("Blood Bank not found.");
-         return;
-     }
-
-     hospital.setContactedBloodBank(bloodBank); // Associating the hospital with a blood bank
-     hospitalService.updateHospital(hospital); // Calling service to update the hospital
-     System.out.println("Hospital updated successfully."); // Informing user about success
- } else {
-     System.out.println("Hospital not found."); // If hospital record not found
- }
-}
-
-//Method to delete a hospital from the system
-private static void deleteHospital() {
- System.out.print("Enter Hospital ID to delete: ");
- String hospitalId = sc.nextLine();
- // Calling service to delete the hospital record by ID
- hospitalService.deleteHospital(hospitalId);
- System.out.println("Hospital deleted successfully."); // Informing user about success
-}
-
-//Method to get a hospital record by its ID
-private static void getHospitalById() {
- System.out.print("Enter Hospital ID: ");
- String hospitalId = sc.nextLine();
- // Retrieving hospital record by ID from the service
- Hospital hospital = hospitalService.getHospitalById(hospitalId);
-
- if (hospital != null) { // If hospital exists
-     System.out.println("Hospital Details: " + hospital); // Displaying hospital details
- } else {
-     System.out.println("Hospital not found."); // If hospital not found
- }
-}
-
-//Method to get all hospital records
-private static void getAllHospitals() {
- // Retrieving the list of all hospital records
- List<Hospital> hospitals = hospitalService.getAllHospitals();
- if (hospitals != null && !hospitals.isEmpty()) { // If list is not empty
-     System.out.println("All Hospitals:");
-     // Iterating through the list of all hospitals
-     for (Hospital hospital : hospitals) {
-         System.out.println(hospital); // Displaying each hospital record
-     }
- } else {
-     System.out.println("No hospitals found."); // If no hospitals found
- }
-}
-//Patient Operations
-public static void patientOperations() {
- while (true) { // Infinite loop to keep showing the patient operations menu
-     // Displaying the Patient Operations menu
-     System.out.println("\n=== Patient Operations ===");
-     System.out.println("1. Add Patient");
-     System.out.println("2. Update Patient");
-     System.out.println("3. Delete Patient");
-     System.out.println("4. Get Patient by ID");
-     System.out.println("5. Get all Patients");
-     System.out.println("6. Back to Main Menu");
-
-     try {
-         int choice = sc.nextInt(); // Taking user input for the menu choice
-         sc.nextLine(); // Consume newline after input
-
-         // Switch-case to execute the selected operation
-         switch (choice) {
-             case 1:
-                 addPatient(); // Call method to add a new patient
-                 break;
-             case 2:
-                 updatePatient(); // Call method to update patient details
-                 break;
-             case 3:
-                 deletePatient(); // Call method to delete a patient
-                 break;
-             case 4:
-                 getPatientById(); // Call method to fetch patient details by ID
-                 break;
-             case 5:
-                 getAllPatients(); // Call method to fetch all patients
-                 break;
-             case 6:
-                 return; // Return to the main menu
-             default:
-                 System.out.println("Invalid choice."); // If an invalid choice is entered
-         }
-     } catch (InputMismatchException e) { // Catch input mismatch exceptions
-         System.out.println("Invalid input."); // Inform user of invalid input
-         sc.nextLine(); // Clear the input buffer
-     }
- }
-}
-
-//Method to add a new patient
-private static void addPatient() {
- // Prompting the user to enter patient details
- System.out.print("Enter Patient ID: ");
- String patientId = sc.nextLine();
- System.out.print("Enter Patient Name: ");
- String patientName = sc.nextLine();
- System.out.print("Enter Patient Gender: ");
- String patientGender = sc.nextLine();
- System.out.print("Enter Patient Address: ");
- String patientAddress = sc.nextLine();
- System.out.print("Enter Contact No: ");
- String contactNo = sc.nextLine();
- System.out.print("Enter Blood Group: ");
- String bloodGroup = sc.nextLine();
- System.out.print("Enter Date of Intake (yyyy-MM-dd): ");
- String dateString = sc.nextLine();
- System.out.print("Enter Employee ID: ");
- String empId = sc.nextLine();
-
- // Fetching employee details associated with the patient
- EmployeeTeam employeeTeam = employeeTeamService.getEmployeeTeamById(empId);
- if (employeeTeam == null) { // If employee not found, return early
-     System.out.println("Employee not found.");
-     return;
- }
-
- // Parsing the date string to a Date object
- SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
- Date dateOfIntake = null;
- try {
-     dateOfIntake = dateFormat.parse(dateString); // Parse the input date
- } catch (ParseException e) { // If parsing fails
-     System.out.println("Invalid date format.");
-     return;
- }
-
- // Creating a new Patient object and setting its properties
- Patient patient = new Patient();
- patient.setPatientId(patientId);
- patient.setPatientName(patientName);
- patient.setPatientGender(patientGender);
- patient.setPatientAddress(patientAddress);
- patient.setContactNo(contactNo);
- patient.setBloodGroup(bloodGroup);
- patient.setDateOfIntake(dateOfIntake); // Set the date of intake
- patient.setRegisteredBy(employeeTeam); // Set the employee who registered the patient
- patientService.savePatient(patient); // Saving the new patient in the system
-
- System.out.println("Patient added successfully."); // Success message
-}
-
-//Method to update an existing patient's details
-private static void updatePatient() {
- // Prompting for the patient ID to update
- System.out.print("Enter Patient ID to update: ");
- String patientId = sc.nextLine();
- // Fetching the patient details by ID
- Patient patient = patientService.getPatientById(patientId);
-
- if (patient != null) { // If patient exists, update details
-     // Prompting the user to enter updated patient details
-     System.out.print("Enter new Patient Name: ");
-     patient.setPatientName(sc.nextLine());
-     System.out.print("Enter new Patient Gender: ");
-     patient.setPatientGender(sc.nextLine());
-     System.out.print("Enter new Patient Address: ");
-     patient.setPatientAddress(sc.nextLine());
-     System.out.print("Enter new Contact No: ");
-     patient.setContactNo(sc.nextLine());
-     System.out.print("Enter new Blood Group: ");
-     patient.setBloodGroup(sc.nextLine());
-     System.out.print("Enter new Date of Intake (yyyy-MM-dd): ");
-     String dateString = sc.nextLine();
-     System.out.print("Enter new Employee ID: ");
-     String empId = sc.nextLine();
-
-     // Fetching the employee details associated with the patient
-     EmployeeTeam employeeTeam = employeeTeamService.getEmployeeTeamById(empId);
-     if (employeeTeam == null) { // If employee not found
-         System.out.println("Employee not found.");
-         return;
-     }
-
-     // Parsing the new date of intake
-     SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
-     Date dateOfIntake = null;
-     try {
-         dateOfIntake = dateFormat.parse(dateString); // Parse the date string
-     } catch (ParseException e) { // If date parsing fails
-         System.out.println("Invalid date format.");
-         return;
-     }
-
-     // Setting the updated details in the patient object
-     patient.setDateOfIntake(dateOfIntake);
-     patient.setRegisteredBy(employeeTeam); // Updating the employee
-     patientService.updatePatient(patient); // Saving the updated patient details
-     System.out.println("Patient updated successfully."); // Success message
- } else {
-     System.out.println("Patient not found."); // If patient does not exist
- }
-}
-
-//Method to delete a patient
-private static void deletePatient() {
- System.out.print("Enter Patient ID to delete: ");
- String patientId = sc.nextLine();
- // Calling service to delete the patient by ID
- patientService.deletePatient(patientId);
- System.out.println("Patient deleted successfully."); // Success message
-}
-
-//Method to fetch a patient's details by ID
-private static void getPatientById() {
- System.out.print("Enter Patient ID: ");
- String patientId = sc.nextLine();
- // Fetching patient details by ID
- Patient patient = patientService.getPatientById(patientId);
-
- if (patient != null) { // If patient exists
-     System.out.println("Patient Details: " + patient); // Displaying patient details
- } else {
-     System.out.println("Patient not found."); // If patient is not found
- }
-}
-
-//Method to fetch all patients from the system
-private static void getAllPatients() {
- // Fetching the list of all patients
- List<Patient> patients = patientService.getAllPatients();
- if (patients != null && !patients.isEmpty()) { // If patients exist
-     System.out.println("All Patients:");
-     for (Patient patient : patients) {
-         System.out.println(patient); // Displaying each patient's details
-     }
- } else {
-     System.out.println("No patients found."); // If no patients are found
- }
-}
-}
-
+package com.blood_bank; // Package declaration for the Blood Bank Management System
+
+import com.bloodbank.service.impl.*; // Importing service implementation classes
+import com.bloodbank.util.UnitOfWork; // Importing UnitOfWork to run several service calls in one transaction
+import com.bloodbank.util.MethodMetrics; // Importing MethodMetrics to time service calls
+import com.bloodbank.util.SqlStatistics; // Importing SqlStatistics to report SQL statement counts
+import com.bloodbank.util.StartupTimings; // Importing StartupTimings to report how long startup took
+import com.bloodbank.service.*; // Importing service interfaces
+import com.bloodbank.service.async.*; // Importing the asynchronous service facades
+import com.bloodbank.dao.DAOFactory; // Importing DAOFactory to create the DAOs of the selected backend
+import java.text.ParseException; // Importing ParseException for handling date parsing exceptions
+import java.text.SimpleDateFormat; // Importing SimpleDateFormat to format dates
+import java.util.Date; // Importing Date class for working with date objects
+import java.util.ArrayList; // Importing ArrayList to collect the nearby blood banks
+import java.util.InputMismatchException; // Importing exception class to handle invalid input types
+import java.util.List; // Importing List class to store multiple objects
+import java.util.Locale; // Importing Locale to read the request priority
+import java.util.Scanner; // Importing Scanner class to take user input
+import java.util.concurrent.CompletableFuture; // Importing CompletableFuture for parallel lookups
+import java.util.concurrent.CompletionException; // Importing CompletionException raised by a failed lookup
+import java.util.function.Consumer; // Importing Consumer to print each record of a page
+import java.util.function.Function; // Importing Function to fetch pages and read record ids
+
+import com.bloodbank.entity.*; // Importing entity classes like Admin, BloodBank, etc.
+import com.bloodbank.inventory.MatchedUnit; // Importing MatchedUnit for the compatible units found
+import com.bloodbank.inventory.ExpirySweeper; // Importing ExpirySweeper to mark expired blood units
+import com.bloodbank.inventory.ReservationTimer; // Importing ReservationTimer to end the holds on blood units when their time is up
+import com.bloodbank.requests.FulfilmentWorker; // Importing FulfilmentWorker to fulfil the blood requests in the background
+import com.bloodbank.requests.RequestScheduler; // Importing RequestScheduler, the priority queue of pending blood requests
+
+public class AllOperations { // Main class that contains all operations for the system
+
+    private static Scanner sc = new Scanner(System.in); // Scanner object for user input
+    private static final int PAGE_SIZE = 20; // Number of records fetched and shown per page in the list menus
+
+    // Service objects to interact with the respective services (e.g., AdminService, BloodBankService)
+    private static AdminService adminService = MethodMetrics.instrument(AdminService.class, new AdminServiceImpl(DAOFactory.adminDAO()));
+    private static BloodBankService bloodBankService = MethodMetrics.instrument(BloodBankService.class, new BloodBankServiceImpl(DAOFactory.bloodBankDAO()));
+    private static BloodService bloodService = MethodMetrics.instrument(BloodService.class, new BloodServiceImpl(DAOFactory.bloodDAO()));
+    private static DonorService donorService = MethodMetrics.instrument(DonorService.class, new DonorServiceImpl(DAOFactory.donorDAO()));
+    private static EmployeeTeamService employeeTeamService = MethodMetrics.instrument(EmployeeTeamService.class, new EmployeeTeamServiceImpl(DAOFactory.employeeTeamDAO()));
+    private static HospitalService hospitalService = MethodMetrics.instrument(HospitalService.class, new HospitalServiceImpl(DAOFactory.hospitalDAO()));
+    private static PatientService patientService = MethodMetrics.instrument(PatientService.class, new PatientServiceImpl(DAOFactory.patientDAO()));
+    private static MatchingService matchingService = MethodMetrics.instrument(MatchingService.class, new MatchingServiceImpl(DAOFactory.inventoryIndex(), DAOFactory.patientDAO()));
+
+    private static AllocationService allocationService = MethodMetrics.instrument(AllocationService.class, new AllocationServiceImpl(DAOFactory.patientDAO(), DAOFactory.bloodDAO(), DAOFactory.bloodBankDAO()));
+
+    // Marks expired blood units on a schedule and lowers their blood banks' quantity
+    private static ExpirySweeper expirySweeper = new ExpirySweeper(DAOFactory.inventoryIndex(), DAOFactory.bloodDAO(), DAOFactory.bloodBankDAO());
+
+    // Fulfils the hospitals' blood requests in the background, emergencies first
+    private static FulfilmentWorker fulfilmentWorker = new FulfilmentWorker(new RequestScheduler(), DAOFactory.inventoryIndex(), DAOFactory.bloodRequestDAO(), allocationService);
+    private static BloodRequestService bloodRequestService = MethodMetrics.instrument(BloodRequestService.class, new BloodRequestServiceImpl(DAOFactory.bloodRequestDAO(), DAOFactory.hospitalDAO(), DAOFactory.patientDAO(), fulfilmentWorker));
+
+    // Holds blood units for patients while they are cross-matched, releasing each hold when its time is up
+    private static ReservationTimer reservationTimer = new ReservationTimer(DAOFactory.bloodDAO(), fulfilmentWorker::signal);
+    private static ReservationService reservationService = MethodMetrics.instrument(ReservationService.class, new ReservationServiceImpl(DAOFactory.patientDAO(), DAOFactory.bloodDAO(), reservationTimer));
+
+    // Asynchronous facades for lookups that can run in parallel
+    private static AsyncBloodBankService asyncBloodBankService = new AsyncBloodBankService(bloodBankService);
+    private static AsyncDonorService asyncDonorService = new AsyncDonorService(donorService);
+    private static AsyncPatientService asyncPatientService = new AsyncPatientService(patientService);
+
+    // Prints records one page at a time (keyset pagination): fetchPage returns the page after the given id
+    // (null for the first page). Returns the number of records printed.
+    private static <T> int printInPages(String heading, Function<String, List<T>> fetchPage,
+                                        Function<T, String> idOf, Consumer<T> printer) {
+        int shown = 0;
+        String afterId = null; // Start from the first page
+        while (true) {
+            List<T> page = fetchPage.apply(afterId);
+            if (page == null || page.isEmpty()) {
+                break; // No more records
+            }
+            if (shown == 0) {
+                System.out.println(heading);
+            }
+            for (T record : page) {
+                printer.accept(record);
+            }
+            shown += page.size();
+            if (page.size() < PAGE_SIZE) {
+                break; // Last page
+            }
+            afterId = idOf.apply(page.get(page.size() - 1)); // Next page starts after the last id shown
+            System.out.print("Press Enter for the next page, or q to stop: ");
+            if (sc.nextLine().trim().equalsIgnoreCase("q")) {
+                break;
+            }
+        }
+        return shown;
+    }
+
+    // Prompts for the new value of one field of an update; returns null if the user leaves it blank (keep the value)
+    private static String readChange(String prompt) {
+        System.out.print(prompt + " (leave blank to keep): ");
+        String value = sc.nextLine().trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // Method to print the per-method call statistics, the SQL statement counts when the database backend is in use,
+    // and the startup timings
+    private static void printCallStatistics() {
+        System.out.println(MethodMetrics.report());
+        if (DAOFactory.getBackend() == DAOFactory.Backend.HIBERNATE) {
+            System.out.println(SqlStatistics.report());
+        }
+        System.out.println(StartupTimings.report());
+        System.out.println(fulfilmentWorker.getScheduler().report());
+    }
+
+    // Main method where the menu loop starts
+    public static void main(String[] args) {
+        // Building the backend (the Hibernate session factory) while the menu is shown
+        DAOFactory.startInBackground();
+        StartupTimings.milestone("menu shown");
+        expirySweeper.start(); // Sweeping expired blood units in the background
+        fulfilmentWorker.start(); // Fulfilling blood requests in the background
+        reservationTimer.start(); // Releasing lapsed holds in the background
+        while (true) { // Infinite loop for continuous operation
+            // Displaying the main menu to the user
+            System.out.println("\n=== Blood Bank Management System ===");
+            System.out.println("1. Admin Operations");
+            System.out.println("2. Blood Bank Operations");
+            System.out.println("3. Blood Operations");
+            System.out.println("4. Donor Operations");
+            System.out.println("5. Employee Team Operations");
+            System.out.println("6. Hospital Operations");
+            System.out.println("7. Patient Operations");
+            System.out.println("8. Call Statistics");
+            System.out.println("9. Exit");
+
+            try {
+                int choice = sc.nextInt(); // Taking user input for menu choice
+                sc.nextLine(); // Consume newline left by nextInt()
+
+                // Switch-case to perform the selected operation
+                switch (choice) {
+                    case 1: adminOperations(); break; // Call admin operations if choice is 1
+                    case 2: bloodBankOperations(); break; // Call blood bank operations if choice is 2
+                    case 3: bloodOperations(); break; // Call blood operations if choice is 3
+                    case 4: donorOperations(); break; // Call donor operations if choice is 4
+                    case 5: employeeTeamOperations(); break; // Call employee team operations if choice is 5
+                    case 6: hospitalOperations(); break; // Call hospital operations if choice is 6
+                    case 7: patientOperations(); break; // Call patient operations if choice is 7
+                    case 8: printCallStatistics(); break; // Show per-method call counts, SQL statements and latencies
+                    case 9: // Exit case
+                        expirySweeper.stop(); // Stop the scheduled expiry sweep
+                        fulfilmentWorker.stop(); // Stop fulfilling blood requests
+                        reservationTimer.stop(); // Stop releasing holds (they stay stored and are timed again on the next start)
+                        DAOFactory.shutdown(); // Close the backend (the Hibernate session factory)
+                        System.exit(0); // Exit the program
+                    default: // Default case for invalid input
+                        System.out.println("Invalid choice.");
+                }
+            } catch (InputMismatchException e) { // Catching invalid input exceptions
+                System.out.println("Invalid input."); // Inform user about invalid input
+                sc.nextLine(); // Clear the scanner buffer
+            }
+        }
+    }
+
+ // Admin Operations menu method
+    public static void adminOperations() {
+        while (true) { // Loop to continuously show admin menu
+            // Display menu options
+            System.out.println("\n=== Admin Operations ===");
+            System.out.println("1. Add Admin");
+            System.out.println("2. Update Admin");
+            System.out.println("3. Delete Admin");
+            System.out.println("4. Get Admin by ID");
+            System.out.println("5. Get all Admins");
+            System.out.println("6. Back to Main Menu");
+
+            try {
+                int choice = sc.nextInt(); // Read menu choice from user
+                sc.nextLine(); // Consume leftover newline
+
+                // Perform corresponding action based on user's choice
+                switch (choice) {
+                    case 1:
+                        addAdmin(); // Call method to add new admin
+                        break;
+                    case 2:
+                        updateAdmin(); // Call method to update existing admin
+                        break;
+                    case 3:
+                        deleteAdmin(); // Call method to delete admin
+                        break;
+                    case 4:
+                        getAdminById(); // Call method to fetch admin by ID
+                        break;
+                    case 5:
+                        getAllAdmins(); // Call method to list all admins
+                        break;
+                    case 6:
+                        return; // Exit to main menu
+                    default:
+                        System.out.println("Invalid choice."); // Invalid option
+                }
+            } catch (InputMismatchException e) { // Catch non-integer input
+                System.out.println("Invalid input."); // Inform user of error
+                sc.nextLine(); // Clear scanner buffer
+            }
+        }
+    }
+
+    // Method to add a new admin
+    private static void addAdmin() {
+        // Prompt user for admin details
+        System.out.print("Enter Admin ID: ");
+        String adminId = sc.nextLine(); // Read admin ID
+
+        System.out.print("Enter Admin Name: ");
+        String adminName = sc.nextLine(); // Read admin name
+
+        System.out.print("Enter Location: ");
+        String location = sc.nextLine(); // Read location
+
+        System.out.print("Enter Contact Number: ");
+        String contactNumber = sc.nextLine(); // Read contact number
+
+        // Create Admin object and set its fields
+        Admin admin = new Admin();
+        admin.setAdminId(adminId);
+        admin.setAdminName(adminName);
+        admin.setLocation(location);
+        admin.setContactNumber(contactNumber); // Set contact number
+
+        // Save admin using service layer
+        adminService.saveAdmin(admin);
+
+        System.out.println("Admin added successfully."); // Success message
+    }
+
+    // Method to update existing admin details
+    private static void updateAdmin() {
+        System.out.print("Enter Admin ID to update: ");
+        String adminId = sc.nextLine(); // Read admin ID
+
+        // Fetch admin from service by ID
+        Admin admin = adminService.getAdminById(adminId);
+
+        if (admin != null) { // If admin is found
+            // Prompt for updated values
+            System.out.print("Enter new Admin Name: ");
+            admin.setAdminName(sc.nextLine());
+
+            System.out.print("Enter new Location: ");
+            admin.setLocation(sc.nextLine());
+
+            System.out.print("Enter new Contact Number: ");
+            admin.setContactNumber(sc.nextLine());
+
+            // Call service to update admin
+            adminService.updateAdmin(admin);
+
+            System.out.println("Admin updated successfully."); // Success message
+        } else {
+            System.out.println("Admin not found."); // If no admin found
+        }
+    }
+
+    // Method to delete admin
+    private static void deleteAdmin() {
+        System.out.print("Enter Admin ID to delete: ");
+        String adminId = sc.nextLine(); // Read admin ID
+
+        // Delete admin using service layer
+        adminService.deleteAdmin(adminId);
+
+        System.out.println("Admin deleted successfully."); // Success message
+    }
+
+    // Method to fetch and display admin by ID
+    private static void getAdminById() {
+        System.out.print("Enter Admin ID: ");
+        String adminId = sc.nextLine(); // Read admin ID
+
+        // Fetch admin from service
+        Admin admin = adminService.getAdminById(adminId);
+
+        if (admin != null) { // If found
+            // Print admin details
+            System.out.println("Admin Details:");
+            System.out.println("ID: " + admin.getAdminId());
+            System.out.println("Name: " + admin.getAdminName());
+            System.out.println("Location: " + admin.getLocation());
+            System.out.println("Contact Number: " + admin.getContactNumber());
+        } else {
+            System.out.println("Admin not found."); // If not found
+        }
+    }
+
+    // Method to list all admins, one page at a time
+    private static void getAllAdmins() {
+        // Fetch admins page by page from service
+        int shown = printInPages("All Admins:",
+                afterId -> adminService.getAdminsPage(afterId, PAGE_SIZE),
+                Admin::getAdminId,
+                admin -> { // Print details of each admin
+                    System.out.println("------------------------");
+                    System.out.println("ID: " + admin.getAdminId());
+                    System.out.println("Name: " + admin.getAdminName());
+                    System.out.println("Location: " + admin.getLocation());
+                    System.out.println("Contact Number: " + admin.getContactNumber());
+                });
+
+        if (shown == 0) {
+            System.out.println("No admins found."); // If list is empty
+        }
+    }
+
+ // Blood Bank operations menu
+    public static void bloodBankOperations() {
+        while (true) {
+            System.out.println("\n=== Blood Bank Operations ===");
+            System.out.println("1. Add Blood Bank");
+            System.out.println("2. Update Blood Bank");
+            System.out.println("3. Delete Blood Bank");
+            System.out.println("4. Get Blood Bank by ID");
+            System.out.println("5. Get all Blood Banks");
+            System.out.println("6. Update Blood Quantity");
+            System.out.println("7. Exit");
+
+            try {
+                int choice = sc.nextInt();
+                sc.nextLine(); // Clear buffer
+
+                switch (choice) {
+                    case 1:
+                        addBloodBank();
+                        break;
+                    case 2:
+                        updateBloodBank();
+                        break;
+                    case 3:
+                        deleteBloodBank();
+                        break;
+                    case 4:
+                        getBloodBankById();
+                        break;
+                    case 5:
+                        getAllBloodBanks();
+                        break;
+                    case 6:
+                        updateBloodQuantity();
+                        break;
+                    case 7:
+                        System.out.println("Exiting...");
+                        return;
+                    default:
+                        System.out.println("Invalid choice.");
+                }
+            } catch (InputMismatchException e) {
+                System.out.println("Invalid input. Please enter a number.");
+                sc.nextLine(); // Clear buffer
+            }
+        }
+    }
+
+    // Method to add a new Blood Bank
+    private static void addBloodBank() {
+        System.out.print("Enter Blood Bank ID: ");
+        String bloodBankId = sc.nextLine();
+        System.out.print("Enter Name: ");
+        String name = sc.nextLine();
+        System.out.print("Enter Location: ");
+        String location = sc.nextLine();
+        System.out.print("Enter Available Blood Groups: ");
+        String availableBloodGroups = sc.nextLine();
+        System.out.print("Enter Quantity: ");
+        int quantity = sc.nextInt();
+        sc.nextLine();
+        System.out.print("Enter Admin ID: ");
+        String adminId = sc.nextLine();
+
+        Admin admin = adminService.getAdminById(adminId);
+        if (admin == null) {
+            System.out.println("Admin not found.");
+            return;
+        }
+
+        BloodBank bloodBank = new BloodBank();
+        bloodBank.setBloodBankId(bloodBankId);
+        bloodBank.setName(name);
+        bloodBank.setLocation(location);
+        bloodBank.setAvailableBloodGroups(availableBloodGroups);
+        bloodBank.setQuantity(quantity);
+        bloodBank.setAdmin(admin);
+
+        bloodBankService.saveBloodBank(bloodBank);
+        System.out.println("Blood Bank added successfully.");
+    }
+
+    // Method to update Blood Bank
+    private static void updateBloodBank() {
+        System.out.print("Enter Blood Bank ID to update: ");
+        String bloodBankId = sc.nextLine();
+        BloodBank bloodBank = bloodBankService.getBloodBankById(bloodBankId);
+
+        if (bloodBank == null) {
+            System.out.println("Blood Bank not found.");
+            return;
+        }
+
+        System.out.print("Enter new Name: ");
+        bloodBank.setName(sc.nextLine());
+        System.out.print("Enter new Location: ");
+        bloodBank.setLocation(sc.nextLine());
+        System.out.print("Enter new Available Blood Groups: ");
+        bloodBank.setAvailableBloodGroups(sc.nextLine());
+        System.out.print("Enter new Quantity: ");
+        bloodBank.setQuantity(sc.nextInt());
+        sc.nextLine(); // Clear buffer
+        System.out.print("Enter Admin ID: ");
+        String adminId = sc.nextLine();
+
+        Admin admin = adminService.getAdminById(adminId);
+        if (admin == null) {
+            System.out.println("Admin not found.");
+            return;
+        }
+
+        bloodBank.setAdmin(admin);
+        bloodBankService.updateBloodBank(bloodBank);
+        System.out.println("Blood Bank updated successfully.");
+    }
+
+    // Method to delete Blood Bank
+    private static void deleteBloodBank() {
+        System.out.print("Enter Blood Bank ID to delete: ");
+        String bloodBankId = sc.nextLine();
+        bloodBankService.deleteBloodBank(bloodBankId);
+        System.out.println("Blood Bank deleted successfully.");
+    }
+
+    // Method to retrieve Blood Bank by ID
+    private static void getBloodBankById() {
+        System.out.print("Enter Blood Bank ID: ");
+        String bloodBankId = sc.nextLine();
+        BloodBank bloodBank = bloodBankService.getBloodBankById(bloodBankId);
+
+        if (bloodBank != null) {
+            System.out.println("Blood Bank Details:\n" + bloodBank);
+        } else {
+            System.out.println("Blood Bank not found.");
+        }
+    }
+
+    // Method to retrieve all Blood Banks, one page at a time
+    private static void getAllBloodBanks() {
+        int shown = printInPages("All Blood Banks:",
+                afterId -> bloodBankService.getBloodBanksPage(afterId, PAGE_SIZE),
+                BloodBank::getBloodBankId,
+                bb -> System.out.println(bb));
+        if (shown == 0) {
+            System.out.println("No Blood Banks found.");
+        }
+    }
+
+    // Method to update blood quantity
+    private static void updateBloodQuantity() {
+        System.out.print("Enter Blood Bank ID: ");
+        String bloodBankId = sc.nextLine();
+        System.out.print("Enter Quantity to Add/Remove (use negative number to remove): ");
+        int quantityChange = sc.nextInt();
+        sc.nextLine();
+
+        // The update is applied only if the blood bank exists and holds enough units
+        if (bloodBankService.updateBloodQuantity(bloodBankId, quantityChange)) {
+            System.out.println("Blood quantity updated successfully.");
+        } else {
+            System.out.println("Error: Blood bank not found or not enough blood units available.");
+        }
+    }
+    
+//Blood Operations
+public static void bloodOperations() {
+  while (true) { // Infinite loop to continuously show the blood operations menu
+      // Displaying the Blood Operations menu
+      System.out.println("\n=== Blood Operations ===");
+      System.out.println("1. Add Blood");
+      System.out.println("2. Update Blood");
+      System.out.println("3. Delete Blood");
+      System.out.println("4. Get Blood by ID");
+      System.out.println("5. Get Blood by Blood Bank");
+      System.out.println("6. Get all Blood");
+      System.out.println("7. Find compatible Blood for a Patient");
+      System.out.println("8. Issue Blood to a Patient");
+      System.out.println("9. Mark expired Blood now");
+      System.out.println("10. Reserve Blood for a Patient");
+      System.out.println("11. Release a Blood Reservation");
+      System.out.println("12. Back to Main Menu");
+
+      try {
+          int choice = sc.nextInt(); // Taking user input for menu choice
+          sc.nextLine(); // Consume newline
+
+          // Switch-case to handle the selected operation
+          switch (choice) {
+              case 1:
+                  addBlood(); // Call method to add blood
+                  break;
+              case 2:
+                  updateBlood(); // Call method to update blood
+                  break;
+              case 3:
+                  deleteBlood(); // Call method to delete blood
+                  break;
+              case 4:
+                  getBloodById(); // Call method to get blood by ID
+                  break;
+              case 5:
+                  getBloodByBloodBank(); // Call method to get blood by blood bank
+                  break;
+              case 6:
+                  getAllBlood(); // Call method to get all blood records
+                  break;
+              case 7:
+                  findCompatibleBlood(); // Call method to match a patient with available units
+                  break;
+              case 8:
+                  issueBlood(); // Call method to assign compatible units to a patient
+                  break;
+              case 9:
+                  sweepExpiredBlood(); // Call method to run the expiry sweep now
+                  break;
+              case 10:
+                  reserveBlood(); // Call method to hold compatible units for a patient
+                  break;
+              case 11:
+                  releaseBloodReservation(); // Call method to end a hold before its time
+                  break;
+              case 12:
+                  return; // Return to main menu
+              default:
+                  System.out.println("Invalid choice."); // Inform user about invalid input
+          }
+      } catch (InputMismatchException e) { // Catching invalid input exception
+          System.out.println("Invalid input."); // Inform user about invalid input
+          sc.nextLine(); // Clear the scanner buffer
+      }
+  }
+}
+
+//Method to add new blood
+private static void addBlood() {
+  // Prompting user for blood details
+  System.out.print("Enter Blood ID: ");
+  String bloodId = sc.nextLine();
+  System.out.print("Enter Blood Group: ");
+  String bloodGroup = sc.nextLine();
+  System.out.print("Enter Blood Bank ID: ");
+  String bloodBankId = sc.nextLine();
+  System.out.print("Enter Donor ID : ");
+  String donorId = sc.nextLine();
+  System.out.print("Enter Patient ID : ");
+  String patientId = sc.nextLine();
+  System.out.print("Enter Collection Date (yyyy-MM-dd, blank for now): ");
+  String collectedString = sc.nextLine();
+
+  // Parsing the collection date; the unit expires Blood.SHELF_LIFE_DAYS after it
+  Date collectedAt = new Date();
+  if (!collectedString.isBlank()) {
+      try {
+          collectedAt = new SimpleDateFormat("yyyy-MM-dd").parse(collectedString.trim());
+      } catch (ParseException e) { // Handling invalid date format
+          System.out.println("Invalid date format.");
+          return;
+      }
+  }
+
+  // Starting the blood bank, donor and patient lookups together, so their database round trips overlap
+  CompletableFuture<BloodBank> bloodBankLookup = asyncBloodBankService.getBloodBankById(bloodBankId);
+  CompletableFuture<Donor> donorLookup = donorId.isEmpty()
+          ? CompletableFuture.completedFuture(null) : asyncDonorService.getDonorById(donorId);
+  CompletableFuture<Patient> patientLookup = patientId.isEmpty()
+          ? CompletableFuture.completedFuture(null) : asyncPatientService.getPatientById(patientId);
+
+  BloodBank bloodBank;
+  Donor donor;
+  Patient patient;
+  try {
+      // Waiting for all three lookups
+      bloodBank = bloodBankLookup.join();
+      donor = donorLookup.join();
+      patient = patientLookup.join();
+  } catch (CompletionException e) { // A lookup failed
+      e.getCause().printStackTrace();
+      System.out.println("Failed to add blood.");
+      return;
+  }
+
+  if (bloodBank == null) { // If blood bank not found
+      System.out.println("Blood Bank not found.");
+      return; // Return to prevent further execution
+  }
+  if (!donorId.isEmpty() && donor == null) { // If donor not found
+      System.out.println("Donor not found.");
+      return;
+  }
+  if (!patientId.isEmpty() && patient == null) { // If patient not found
+      System.out.println("Patient not found.");
+      return;
+  }
+
+  // Creating a new Blood object and setting its properties
+  Blood blood = new Blood();
+  blood.setBloodId(bloodId);
+  blood.setBloodGroup(bloodGroup);
+  blood.setStoredIn(bloodBank); // Set the blood bank
+  blood.setDonatedBy(donor); // Set the donor
+  blood.setReceivedBy(patient); // Set the patient
+  blood.setCollectedAt(collectedAt); // Set when it was collected
+  blood.setExpiresAt(Blood.expiryFor(collectedAt)); // Set when it expires
+
+  try {
+      // Calling service to save the new blood record; the unit of work reports a failed insert instead of swallowing it
+      UnitOfWork.run(() -> bloodService.saveBlood(blood));
+  } catch (RuntimeException e) { // The insert was rolled back
+      e.printStackTrace();
+      System.out.println("Failed to add blood.");
+      return;
+  }
+
+  System.out.println("Blood added successfully."); // Informing user about success
+  fulfilmentWorker.signal(); // Pending requests may now be filled
+}
+
+//Method to issue compatible blood units to a patient, earliest expiry first
+private static void issueBlood() {
+  System.out.print("Enter Patient ID: ");
+  String patientId = sc.nextLine().trim();
+  System.out.print("Enter Blood Bank ID: ");
+  String bloodBankId = sc.nextLine().trim();
+  System.out.print("Enter number of units: ");
+  int count = sc.nextInt();
+  sc.nextLine(); // Consume newline
+
+  List<String> allocated;
+  try {
+      // Calling service to assign the units in one transaction
+      allocated = allocationService.allocateUnits(patientId, bloodBankId, count);
+  } catch (RuntimeException e) { // The allocation was rolled back
+      e.printStackTrace();
+      System.out.println("Failed to issue blood.");
+      return;
+  }
+  if (allocated == null) {
+      System.out.println("Patient not found."); // If the patient does not exist
+  } else if (allocated.isEmpty()) {
+      System.out.println("No compatible blood available."); // No unit matches, or the patient's blood group is not recognized
+  } else {
+      System.out.println("Issued " + allocated.size() + " of " + count + " unit(s): " + String.join(", ", allocated));
+  }
+}
+
+//Method to hold compatible blood units for a patient while they are cross-matched
+private static void reserveBlood() {
+  System.out.print("Enter Patient ID: ");
+  String patientId = sc.nextLine().trim();
+  System.out.print("Enter Blood Bank ID: ");
+  String bloodBankId = sc.nextLine().trim();
+  System.out.print("Enter number of units: ");
+  int count = sc.nextInt();
+  System.out.print("Enter hold time in minutes: ");
+  int minutes = sc.nextInt();
+  sc.nextLine(); // Consume newline
+
+  List<String> reserved;
+  try {
+      // Calling service to hold the units in one transaction
+      reserved = reservationService.reserveUnits(patientId, bloodBankId, count, minutes);
+  } catch (RuntimeException e) { // The hold was rolled back
+      e.printStackTrace();
+      System.out.println("Failed to reserve blood.");
+      return;
+  }
+  if (reserved == null) {
+      System.out.println("Patient not found."); // If the patient does not exist
+  } else if (reserved.isEmpty()) {
+      System.out.println("No compatible blood available."); // No unit matches, or the patient's blood group is not recognized
+  } else {
+      System.out.println("Reserved " + reserved.size() + " of " + count + " unit(s) for " + minutes + " minute(s): " + String.join(", ", reserved));
+  }
+}
+
+//Method to end the hold on a blood unit before its time
+private static void releaseBloodReservation() {
+  System.out.print("Enter Blood ID: ");
+  String bloodId = sc.nextLine().trim();
+  try {
+      if (reservationService.releaseReservation(bloodId)) {
+          System.out.println("Reservation released.");
+          fulfilmentWorker.signal(); // Pending requests may now be filled
+      } else {
+          System.out.println("Blood unit is not reserved."); // Missing, or not held
+      }
+  } catch (RuntimeException e) { // The release was rolled back
+      e.printStackTrace();
+      System.out.println("Failed to release the reservation.");
+  }
+}
+
+//Method to mark the blood units whose expiry date has passed, without waiting for the scheduled sweep
+private static void sweepExpiredBlood() {
+  int marked = expirySweeper.sweep(System.currentTimeMillis());
+  System.out.println(marked + " blood unit(s) marked expired.");
+}
+
+//Method to update an existing blood record
+private static void updateBlood() {
+  System.out.print("Enter Blood ID to update: ");
+  String bloodId = sc.nextLine();
+  // Collecting only the fields the user changes; the record is not loaded first
+  BloodPatch patch = new BloodPatch();
+  String bloodGroup = readChange("Enter new Blood Group");
+  if (bloodGroup != null) {
+      patch.bloodGroup(bloodGroup);
+  }
+  String bloodBankId = readChange("Enter new Blood Bank ID");
+  if (bloodBankId != null) {
+      patch.storedIn(bloodBankId); // The foreign key rejects an unknown blood bank
+  }
+  String donorId = readChange("Enter new Donor ID ('-' for none)");
+  if (donorId != null) {
+      patch.donatedBy(donorId.equals("-") ? null : donorId);
+  }
+  String patientId = readChange("Enter new Patient ID ('-' for none)");
+  if (patientId != null) {
+      patch.receivedBy(patientId.equals("-") ? null : patientId);
+  }
+
+  // Calling service to update the changed columns of the blood record
+  if (bloodService.patchBlood(bloodId, patch)) {
+      System.out.println("Blood updated successfully."); // Informing user about success
+  } else {
+      System.out.println("Blood not found or not updated."); // Unknown ID, or a referenced record does not exist
+  }
+}
+
+//Method to list the available blood units a patient can receive, in a blood bank and the nearby banks
+private static void findCompatibleBlood() {
+  System.out.print("Enter Patient ID: ");
+  String patientId = sc.nextLine().trim();
+  System.out.print("Enter Blood Bank ID: ");
+  String bloodBankId = sc.nextLine().trim();
+  System.out.print("Enter nearby Blood Bank IDs, comma-separated (or leave blank): ");
+  List<String> nearbyBloodBankIds = new ArrayList<>();
+  for (String id : sc.nextLine().split(",")) {
+      if (!id.isBlank()) {
+          nearbyBloodBankIds.add(id.trim());
+      }
+  }
+  // Matching from the in-memory inventory index
+  List<MatchedUnit> units = matchingService.findCompatibleUnitsForPatient(patientId, bloodBankId, nearbyBloodBankIds, PAGE_SIZE);
+  if (units == null) {
+      System.out.println("Patient not found."); // If the patient does not exist
+  } else if (units.isEmpty()) {
+      System.out.println("No compatible blood available."); // No unit matches, or the patient's blood group is not recognized
+  } else {
+      System.out.println("Compatible blood, best match first:");
+      units.forEach(unit -> System.out.println("  " + unit)); // Displaying each unit with its group and bank
+  }
+}
+
+//Method to delete a blood record
+private static void deleteBlood() {
+  System.out.print("Enter Blood ID to delete: ");
+  String bloodId = sc.nextLine();
+  // Calling service to delete the blood record by ID
+  bloodService.deleteBlood(bloodId);
+  System.out.println("Blood deleted successfully."); // Informing user about success
+}
+
+//Method to get a blood record by ID
+private static void getBloodById() {
+  System.out.print("Enter Blood ID: ");
+  String bloodId = sc.nextLine();
+  // Retrieving blood record by ID from the service
+  Blood blood = bloodService.getBloodById(bloodId);
+
+  if (blood != null) { // If blood exists
+      System.out.println("Blood Details: " + blood); // Displaying blood details
+  } else {
+      System.out.println("Blood not found."); // If blood not found
+  }
+}
+
+//Method to get blood records by Blood Bank ID, one page at a time
+private static void getBloodByBloodBank() {
+  System.out.print("Enter Blood Bank ID: ");
+  String bloodBankId = sc.nextLine();
+  // Retrieving the blood records for a specific blood bank page by page
+  int shown = printInPages("Blood Details for Blood Bank ID " + bloodBankId + ":",
+          afterId -> bloodService.getBloodByBloodBankIdPage(bloodBankId, afterId, PAGE_SIZE),
+          Blood::getBloodId,
+          blood -> System.out.println(blood)); // Displaying each blood record
+
+  if (shown == 0) {
+      System.out.println("No blood found for Blood Bank ID " + bloodBankId + "."); // If no blood found
+  }
+}
+
+//Method to get all blood records, one page at a time
+private static void getAllBlood() {
+  // Retrieving the blood records page by page
+  int shown = printInPages("All Blood Details:",
+          afterId -> bloodService.getBloodPage(afterId, PAGE_SIZE),
+          Blood::getBloodId,
+          blood -> System.out.println(blood)); // Displaying each blood record
+  if (shown == 0) {
+      System.out.println("No blood found."); // If no blood found
+  }
+}
+//Donor Operations
+public static void donorOperations() {
+ while (true) { // Infinite loop to continuously show the donor operations menu
+     // Displaying the Donor Operations menu
+     System.out.println("\n=== Donor Operations ===");
+     System.out.println("1. Add Donor");
+     System.out.println("2. Update Donor");
+     System.out.println("3. Delete Donor");
+     System.out.println("4. Get Donor by ID");
+     System.out.println("5. Get all Donors");
+     System.out.println("6. Back to Main Menu");
+
+     try {
+         int choice = sc.nextInt(); // Taking user input for menu choice
+         sc.nextLine(); // Consume newline
+
+         // Switch-case to handle the selected operation
+         switch (choice) {
+             case 1:
+                 addDonor(); // Call method to add donor
+                 break;
+             case 2:
+                 updateDonor(); // Call method to update donor
+                 break;
+             case 3:
+                 deleteDonor(); // Call method to delete donor
+                 break;
+             case 4:
+                 getDonorById(); // Call method to get donor by ID
+                 break;
+             case 5:
+                 getAllDonors(); // Call method to get all donors
+                 break;
+             case 6:
+                 return; // Return to main menu
+             default:
+                 System.out.println("Invalid choice."); // Inform user about invalid input
+         }
+     } catch (InputMismatchException e) { // Catching invalid input exception
+         System.out.println("Invalid input."); // Inform user about invalid input
+         sc.nextLine(); // Clear the scanner buffer
+     }
+ }
+}
+
+//Method to add a new donor
+private static void addDonor() {
+ // Prompting user for donor details
+ System.out.print("Enter Donor ID: ");
+ String donorId = sc.nextLine();
+ System.out.print("Enter Donor Name: ");
+ String donorName = sc.nextLine();
+ System.out.print("Enter Donor Gender: ");
+ String donorGender = sc.nextLine();
+ System.out.print("Enter Donor Address: ");
+ String donorAddress = sc.nextLine();
+ System.out.print("Enter Contact No: ");
+ String contactNo = sc.nextLine();
+ System.out.print("Enter Age: ");
+ int age = sc.nextInt();
+ sc.nextLine(); // Consume newline
+ System.out.print("Enter Blood Group: ");
+ String bloodGroup = sc.nextLine();
+ System.out.print("Enter Date of Donation (yyyy-MM-dd): ");
+ String dateString = sc.nextLine();
+ System.out.print("Enter Employee ID: ");
+ String empId = sc.nextLine();
+
+ // Retrieving the employee who registered the donor
+ EmployeeTeam employeeTeam = employeeTeamService.getEmployeeTeamById(empId);
+ if (employeeTeam == null) { // If employee not found
+     System.out.println("Employee not found.");
+     return; // Return to prevent further execution
+ }
+
+ // Parsing the date of donation
+ SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+ Date dateOfDonation = null;
+ try {
+     dateOfDonation = dateFormat.parse(dateString); // Parse the date string to Date object
+ } catch (ParseException e) {
+     System.out.println("Invalid date format."); // If date format is invalid
+     return;
+ }
+
+ // Creating a new Donor object and setting its properties
+ Donor donor = new Donor();
+ donor.setDonorId(donorId);
+ donor.setDonorName(donorName);
+ donor.setDonorGender(donorGender);
+ donor.setDonorAddress(donorAddress);
+ donor.setContactNo(contactNo);
+ donor.setAge(age);
+ donor.setBloodGroup(bloodGroup);
+ donor.setDateOfDonation(dateOfDonation);
+ donor.setRegisteredBy(employeeTeam); // Setting the employee who registered the donor
+
+ // Calling service to save the new donor record
+ donorService.saveDonor(donor);
+
+ System.out.println("Donor added successfully."); // Informing user about success
+}
+
+//Method to update an existing donor record
+private static void updateDonor() {
+ System.out.print("Enter Donor ID to update: ");
+ String donorId = sc.nextLine();
+ // Collecting only the fields the user changes; the record is not loaded first
+ DonorPatch patch = new DonorPatch();
+ String donorName = readChange("Enter new Donor Name");
+ if (donorName != null) {
+     patch.donorName(donorName);
+ }
+ String donorGender = readChange("Enter new Donor Gender");
+ if (donorGender != null) {
+     patch.donorGender(donorGender);
+ }
+ String donorAddress = readChange("Enter new Donor Address");
+ if (donorAddress != null) {
+     patch.donorAddress(donorAddress);
+ }
+ String contactNo = readChange("Enter new Contact No");
+ if (contactNo != null) {
+     patch.contactNo(contactNo);
+ }
+ String age = readChange("Enter new Age");
+ if (age != null) {
+     try {
+         patch.age(Integer.parseInt(age));
+     } catch (NumberFormatException e) {
+         System.out.println("Invalid age."); // If the age is not a number
+         return;
+     }
+ }
+ String bloodGroup = readChange("Enter new Blood Group");
+ if (bloodGroup != null) {
+     patch.bloodGroup(bloodGroup);
+ }
+ String dateString = readChange("Enter new Date of Donation (yyyy-MM-dd)");
+ if (dateString != null) {
+     // Parsing the new date of donation
+     SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+     try {
+         patch.dateOfDonation(dateFormat.parse(dateString)); // Parse the date string to Date object
+     } catch (ParseException e) {
+         System.out.println("Invalid date format."); // If date format is invalid
+         return;
+     }
+ }
+ String empId = readChange("Enter new Employee ID");
+ if (empId != null) {
+     patch.registeredBy(empId); // The foreign key rejects an unknown employee
+ }
+
+ // Calling service to update the changed columns of the donor record
+ if (donorService.patchDonor(donorId, patch)) {
+     System.out.println("Donor updated successfully."); // Informing user about success
+ } else {
+     System.out.println("Donor not found or not updated."); // Unknown ID, or the employee does not exist
+ }
+}
+
+//Method to delete a donor record
+private static void deleteDonor() {
+ System.out.print("Enter Donor ID to delete: ");
+ String donorId = sc.nextLine();
+ // Calling service to delete the donor record by ID
+ donorService.deleteDonor(donorId);
+ System.out.println("Donor deleted successfully."); // Informing user about success
+}
+
+//Method to get a donor record by ID
+private static void getDonorById() {
+ System.out.print("Enter Donor ID: ");
+ String donorId = sc.nextLine();
+ // Retrieving donor record by ID from the service
+ Donor donor = donorService.getDonorById(donorId);
+
+ if (donor != null) { // If donor exists
+     System.out.println("Donor Details: " + donor); // Displaying donor details
+ } else {
+     System.out.println("Donor not found."); // If donor not found
+ }
+}
+
+//Method to get all donor records, one page at a time
+private static void getAllDonors() {
+ // Retrieving the donor records page by page
+ int shown = printInPages("All Donors:",
+         afterId -> donorService.getDonorsPage(afterId, PAGE_SIZE),
+         Donor::getDonorId,
+         donor -> System.out.println(donor)); // Displaying each donor record
+ if (shown == 0) {
+     System.out.println("No donors found."); // If no donors found
+ }
+}
+//Employee Team Operations
+public static void employeeTeamOperations() {
+ while (true) { // Infinite loop to continuously show the employee team operations menu
+     // Displaying the Employee Team Operations menu
+     System.out.println("\n=== Employee Team Operations ===");
+     System.out.println("1. Add Employee ");
+     System.out.println("2. Update Employee ");
+     System.out.println("3. Delete Employee ");
+     System.out.println("4. Get Employee by ID");
+     System.out.println("5. Get all Employees ");
+     System.out.println("6. Back to Main Menu");
+
+     try {
+         int choice = sc.nextInt(); // Taking user input for menu choice
+         sc.nextLine(); // Consume newline left by nextInt()
+
+         // Switch-case to handle the selected operation
+         switch (choice) {
+             case 1:
+                 addEmployeeTeam(); // Call method to add an employee to the team
+                 break;
+             case 2:
+                 updateEmployeeTeam(); // Call method to update employee details
+                 break;
+             case 3:
+                 deleteEmployeeTeam(); // Call method to delete employee
+                 break;
+             case 4:
+                 getEmployeeTeamById(); // Call method to fetch employee by ID
+                 break;
+             case 5:
+                 getAllEmployeeTeams(); // Call method to list all employees
+                 break;
+             case 6:
+                 return; // Exit to main menu
+             default:
+                 System.out.println("Invalid choice."); // Inform user of invalid choice
+         }
+     } catch (InputMismatchException e) { // Catch invalid input
+         System.out.println("Invalid input. Please enter a number."); // Inform user
+         sc.nextLine(); // Clear the scanner buffer
+     }
+ }
+}
+
+//Method to add a new employee to the team
+private static void addEmployeeTeam() {
+ // Prompting user for employee details
+ System.out.print("Enter Employee ID: ");
+ String empId = sc.nextLine(); // Read employee ID
+
+ System.out.print("Enter Employee Name: ");
+ String empName = sc.nextLine(); // Read employee name
+
+ System.out.print("Enter Contact Number: ");
+ String contactNo = sc.nextLine(); // Read employee contact number
+
+ // Creating and populating a new EmployeeTeam object
+ EmployeeTeam employeeTeam = new EmployeeTeam();
+ employeeTeam.setEmpId(empId);         // Set employee ID
+ employeeTeam.setEmpName(empName);     // Set employee name
+ employeeTeam.setContactNo(contactNo); // Set employee contact number
+
+ // Save the new employee using the service
+ employeeTeamService.saveEmployeeTeam(employeeTeam);
+
+ System.out.println("Employee added successfully."); // Success message
+}
+
+//Method to update an existing employee
+private static void updateEmployeeTeam() {
+ // Prompt for employee ID to update
+ System.out.print("Enter Employee ID to update: ");
+ String empId = sc.nextLine(); // Read employee ID
+
+ // Fetch employee from service
+ EmployeeTeam employeeTeam = employeeTeamService.getEmployeeTeamById(empId);
+
+ if (employeeTeam != null) { // Check if employee exists
+     // Prompt for new values
+     System.out.print("Enter new Employee Name: ");
+     String newName = sc.nextLine(); // Read new name
+
+     System.out.print("Enter new Contact Number: ");
+     String newContact = sc.nextLine(); // Read new contact
+
+     // Set updated values
+     employeeTeam.setEmpName(newName);
+     employeeTeam.setContactNo(newContact);
+
+     // Update the employee using the service
+     employeeTeamService.updateEmployeeTeam(employeeTeam);
+
+     System.out.println("Employee updated successfully."); // Success message
+ } else {
+     System.out.println("Employee not found."); // If no employee found
+ }
+}
+
+//Method to delete an employee by ID
+private static void deleteEmployeeTeam() {
+ System.out.print("Enter Employee ID to delete: ");
+ String empId = sc.nextLine(); // Read employee ID
+
+ // Delete employee using the service
+ employeeTeamService.deleteEmployeeTeam(empId);
+
+ System.out.println("Employee deleted successfully."); // Success message
+}
+
+//Method to get and display employee by ID
+private static void getEmployeeTeamById() {
+ System.out.print("Enter Employee ID: ");
+ String empId = sc.nextLine(); // Read employee ID
+
+ // Fetch employee from service
+ EmployeeTeam employeeTeam = employeeTeamService.getEmployeeTeamById(empId);
+
+ if (employeeTeam != null) { // If employee exists
+     // Display employee details
+     System.out.println("Employee Details:");
+     System.out.println("ID: " + employeeTeam.getEmpId());
+     System.out.println("Name: " + employeeTeam.getEmpName());
+     System.out.println("Contact: " + employeeTeam.getContactNo());
+ } else {
+     System.out.println("Employee not found."); // If employee not found
+ }
+}
+
+//Method to display all employees, one page at a time
+private static void getAllEmployeeTeams() {
+ // Fetch employees page by page from service
+ int shown = printInPages("All Employees:",
+         afterId -> employeeTeamService.getEmployeeTeamsPage(afterId, PAGE_SIZE),
+         EmployeeTeam::getEmpId,
+         employeeTeam -> { // Print each employee
+             System.out.println("------------------------");
+             System.out.println("ID: " + employeeTeam.getEmpId());
+             System.out.println("Name: " + employeeTeam.getEmpName());
+             System.out.println("Contact: " + employeeTeam.getContactNo());
+         });
+
+ if (shown == 0) {
+     System.out.println("No employee found."); // If list is empty
+ }
+}
+
+//Hospital Operations
+public static void hospitalOperations() {
+ while (true) { // Infinite loop to continuously show the hospital operations menu
+     // Displaying the Hospital Operations menu
+     System.out.println("\n=== Hospital Operations ===");
+     System.out.println("1. Add Hospital");
+     System.out.println("2. Update Hospital");
+     System.out.println("3. Delete Hospital");
+     System.out.println("4. Get Hospital by ID");
+     System.out.println("5. Get all Hospitals");
+     System.out.println("6. Submit Blood Request");
+     System.out.println("7. View Blood Requests of a Hospital");
+     System.out.println("8. Cancel Blood Request");
+     System.out.println("9. Process Blood Requests now");
+     System.out.println("10. Back to Main Menu");
+
+     try {
+         int choice = sc.nextInt(); // Taking user input for menu choice
+         sc.nextLine(); // Consume newline
+
+         // Switch-case to handle the selected operation
+         switch (choice) {
+             case 1:
+                 addHospital(); // Call method to add a new hospital
+                 break;
+             case 2:
+                 updateHospital(); // Call method to update an existing hospital
+                 break;
+             case 3:
+                 deleteHospital(); // Call method to delete a hospital
+                 break;
+             case 4:
+                 getHospitalById(); // Call method to get hospital details by ID
+                 break;
+             case 5:
+                 getAllHospitals(); // Call method to get all hospitals
+                 break;
+             case 6:
+                 submitBloodRequest(); // Call method to submit a blood request for a patient
+                 break;
+             case 7:
+                 getBloodRequestsByHospital(); // Call method to list a hospital's requests
+                 break;
+             case 8:
+                 cancelBloodRequest(); // Call method to withdraw a pending request
+                 break;
+             case 9:
+                 processBloodRequests(); // Call method to fulfil the queued requests without waiting for the worker
+                 break;
+             case 10:
+                 return; // Return to the main menu
+             default:
+                 System.out.println("Invalid choice."); // Inform user about invalid input
+         }
+     } catch (InputMismatchException e) { // Catching invalid input exception
+         System.out.println("Invalid input."); // Inform user about invalid input
+         sc.nextLine(); // Clear the scanner buffer
+     }
+ }
+}
+
+//Method to add a new hospital to the system
+private static void addHospital() {
+ // Prompting user for hospital details
+ System.out.print("Enter Hospital ID: ");
+ String hospitalId = sc.nextLine();
+ System.out.print("Enter Hospital Name: ");
+ String hospitalName = sc.nextLine();
+ System.out.print("Enter Location: ");
+ String location = sc.nextLine();
+ System.out.print("Enter Blood Bank ID: ");
+ String bloodBankId = sc.nextLine();
+
+ // Retrieving the associated blood bank by its ID from the service
+ BloodBank bloodBank = bloodBankService.getBloodBankById(bloodBankId);
+ if (bloodBank == null) { // If blood bank is not found
+     System.out.println("Blood Bank not found.");
+     return;
+ }
+
+ // Creating a new Hospital object and setting its properties
+ Hospital hospital = new Hospital();
+ hospital.setHospitalId(hospitalId);
+ hospital.setHospitalName(hospitalName);
+ hospital.setLocation(location);
+ hospital.setContactedBloodBank(bloodBank); // Associating the hospital with a blood bank
+ hospitalService.saveHospital(hospital); // Calling service to save the new hospital
+
+ System.out.println("Hospital added successfully."); // Informing user about success
+}
+
+//Method to update an existing hospital's details
+private static void updateHospital() {
+ System.out.print("Enter Hospital ID to update: ");
+ String hospitalId = sc.nextLine();
+ // Retrieving hospital record by ID from the service
+ Hospital hospital = hospitalService.getHospitalById(hospitalId);
+
+ if (hospital != null) { // If hospital exists
+     // Prompting user for updated hospital details
+     System.out.print("Enter new Hospital Name: ");
+     hospital.setHospitalName(sc.nextLine());
+     System.out.print("Enter new Location: ");
+     hospital.setLocation(sc.nextLine());
+     System.out.print("Enter new Blood Bank ID: ");
+     String bloodBankId = sc.nextLine();
+
+     // Retrieving the associated blood bank by its ID from the service
+     BloodBank bloodBank = bloodBankService.getBloodBankById(bloodBankId);
+     if (bloodBank == null) { // If blood bank is not found
+         System.out.println("Blood Bank not found.");
+         return;
+     }
+
+     hospital.setContactedBloodBank(bloodBank); // Associating the hospital with a blood bank
+     hospitalService.updateHospital(hospital); // Calling service to update the hospital
+     System.out.println("Hospital updated successfully."); // Informing user about success
+ } else {
+     System.out.println("Hospital not found."); // If hospital record not found
+ }
+}
+
+//Method to delete a hospital from the system
+private static void deleteHospital() {
+ System.out.print("Enter Hospital ID to delete: ");
+ String hospitalId = sc.nextLine();
+ // Calling service to delete the hospital record by ID
+ hospitalService.deleteHospital(hospitalId);
+ System.out.println("Hospital deleted successfully."); // Informing user about success
+}
+
+//Method to get a hospital record by its ID
+private static void getHospitalById() {
+ System.out.print("Enter Hospital ID: ");
+ String hospitalId = sc.nextLine();
+ // Retrieving hospital record by ID from the service
+ Hospital hospital = hospitalService.getHospitalById(hospitalId);
+
+ if (hospital != null) { // If hospital exists
+     System.out.println("Hospital Details: " + hospital); // Displaying hospital details
+ } else {
+     System.out.println("Hospital not found."); // If hospital not found
+ }
+}
+
+//Method to get all hospital records, one page at a time
+private static void getAllHospitals() {
+ // Retrieving the hospital records page by page
+ int shown = printInPages("All Hospitals:",
+         afterId -> hospitalService.getHospitalsPage(afterId, PAGE_SIZE),
+         Hospital::getHospitalId,
+         hospital -> System.out.println(hospital)); // Displaying each hospital record
+ if (shown == 0) {
+     System.out.println("No hospitals found."); // If no hospitals found
+ }
+}
+//Method to submit a hospital's request for blood units for a patient
+private static void submitBloodRequest() {
+ System.out.print("Enter Request ID: ");
+ String requestId = sc.nextLine().trim();
+ System.out.print("Enter Hospital ID: ");
+ String hospitalId = sc.nextLine().trim();
+ System.out.print("Enter Patient ID: ");
+ String patientId = sc.nextLine().trim();
+ System.out.print("Enter number of units: ");
+ int units = sc.nextInt();
+ sc.nextLine(); // Consume newline
+ System.out.print("Enter Priority (EMERGENCY, URGENT, ROUTINE): ");
+ BloodRequest.Priority priority;
+ try {
+     priority = BloodRequest.Priority.valueOf(sc.nextLine().trim().toUpperCase(Locale.ROOT));
+ } catch (IllegalArgumentException e) { // Not one of the three priorities
+     System.out.println("Invalid priority.");
+     return;
+ }
+
+ BloodRequest request;
+ try {
+     // Calling service to save the request; it is queued for the fulfilment worker once saved
+     request = bloodRequestService.submitRequest(requestId, hospitalId, patientId, units, priority);
+ } catch (RuntimeException e) { // The insert was rolled back
+     e.printStackTrace();
+     System.out.println("Failed to submit the request.");
+     return;
+ }
+ if (request == null) {
+     System.out.println("Hospital or patient not found.");
+ } else {
+     System.out.println("Request submitted to blood bank " + request.getBloodBank().getBloodBankId() + ".");
+ }
+}
+
+//Method to list the blood requests of a hospital with their progress
+private static void getBloodRequestsByHospital() {
+ System.out.print("Enter Hospital ID: ");
+ String hospitalId = sc.nextLine().trim();
+ List<BloodRequest> requests = bloodRequestService.getRequestsByHospital(hospitalId);
+ if (requests == null || requests.isEmpty()) {
+     System.out.println("No blood requests found."); // If the hospital has made none
+     return;
+ }
+ requests.forEach(System.out::println); // Displaying each request
+}
+
+//Method to withdraw a pending blood request
+private static void cancelBloodRequest() {
+ System.out.print("Enter Request ID to cancel: ");
+ String requestId = sc.nextLine().trim();
+ if (bloodRequestService.cancelRequest(requestId)) {
+     System.out.println("Request cancelled.");
+ } else {
+     System.out.println("No pending request with that ID."); // Missing, already fulfilled or cancelled
+ }
+}
+
+//Method to fulfil the queued blood requests now, without waiting for the background worker
+private static void processBloodRequests() {
+ int fulfilled = fulfilmentWorker.drain();
+ System.out.println(fulfilled + " blood request(s) fulfilled.");
+}
+
+//Patient Operations
+public static void patientOperations() {
+ while (true) { // Infinite loop to keep showing the patient operations menu
+     // Displaying the Patient Operations menu
+     System.out.println("\n=== Patient Operations ===");
+     System.out.println("1. Add Patient");
+     System.out.println("2. Update Patient");
+     System.out.println("3. Delete Patient");
+     System.out.println("4. Get Patient by ID");
+     System.out.println("5. Get all Patients");
+     System.out.println("6. Back to Main Menu");
+
+     try {
+         int choice = sc.nextInt(); // Taking user input for the menu choice
+         sc.nextLine(); // Consume newline after input
+
+         // Switch-case to execute the selected operation
+         switch (choice) {
+             case 1:
+                 addPatient(); // Call method to add a new patient
+                 break;
+             case 2:
+                 updatePatient(); // Call method to update patient details
+                 break;
+             case 3:
+                 deletePatient(); // Call method to delete a patient
+                 break;
+             case 4:
+                 getPatientById(); // Call method to fetch patient details by ID
+                 break;
+             case 5:
+                 getAllPatients(); // Call method to fetch all patients
+                 break;
+             case 6:
+                 return; // Return to the main menu
+             default:
+                 System.out.println("Invalid choice."); // If an invalid choice is entered
+         }
+     } catch (InputMismatchException e) { // Catch input mismatch exceptions
+         System.out.println("Invalid input."); // Inform user of invalid input
+         sc.nextLine(); // Clear the input buffer
+     }
+ }
+}
+
+//Method to add a new patient
+private static void addPatient() {
+ // Prompting the user to enter patient details
+ System.out.print("Enter Patient ID: ");
+ String patientId = sc.nextLine();
+ System.out.print("Enter Patient Name: ");
+ String patientName = sc.nextLine();
+ System.out.print("Enter Patient Gender: ");
+ String patientGender = sc.nextLine();
+ System.out.print("Enter Patient Address: ");
+ String patientAddress = sc.nextLine();
+ System.out.print("Enter Contact No: ");
+ String contactNo = sc.nextLine();
+ System.out.print("Enter Blood Group: ");
+ String bloodGroup = sc.nextLine();
+ System.out.print("Enter Date of Intake (yyyy-MM-dd): ");
+ String dateString = sc.nextLine();
+ System.out.print("Enter Employee ID: ");
+ String empId = sc.nextLine();
+
+ // Fetching employee details associated with the patient
+ EmployeeTeam employeeTeam = employeeTeamService.getEmployeeTeamById(empId);
+ if (employeeTeam == null) { // If employee not found, return early
+     System.out.println("Employee not found.");
+     return;
+ }
+
+ // Parsing the date string to a Date object
+ SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+ Date dateOfIntake = null;
+ try {
+     dateOfIntake = dateFormat.parse(dateString); // Parse the input date
+ } catch (ParseException e) { // If parsing fails
+     System.out.println("Invalid date format.");
+     return;
+ }
+
+ // Creating a new Patient object and setting its properties
+ Patient patient = new Patient();
+ patient.setPatientId(patientId);
+ patient.setPatientName(patientName);
+ patient.setPatientGender(patientGender);
+ patient.setPatientAddress(patientAddress);
+ patient.setContactNo(contactNo);
+ patient.setBloodGroup(bloodGroup);
+ patient.setDateOfIntake(dateOfIntake); // Set the date of intake
+ patient.setRegisteredBy(employeeTeam); // Set the employee who registered the patient
+ patientService.savePatient(patient); // Saving the new patient in the system
+
+ System.out.println("Patient added successfully."); // Success message
+}
+
+//Method to update an existing patient's details
+private static void updatePatient() {
+ // Prompting for the patient ID to update
+ System.out.print("Enter Patient ID to update: ");
+ String patientId = sc.nextLine();
+ // Collecting only the fields the user changes; the record is not loaded first
+ PatientPatch patch = new PatientPatch();
+ String patientName = readChange("Enter new Patient Name");
+ if (patientName != null) {
+     patch.patientName(patientName);
+ }
+ String patientGender = readChange("Enter new Patient Gender");
+ if (patientGender != null) {
+     patch.patientGender(patientGender);
+ }
+ String patientAddress = readChange("Enter new Patient Address");
+ if (patientAddress != null) {
+     patch.patientAddress(patientAddress);
+ }
+ String contactNo = readChange("Enter new Contact No");
+ if (contactNo != null) {
+     patch.contactNo(contactNo);
+ }
+ String bloodGroup = readChange("Enter new Blood Group");
+ if (bloodGroup != null) {
+     patch.bloodGroup(bloodGroup);
+ }
+ String dateString = readChange("Enter new Date of Intake (yyyy-MM-dd)");
+ if (dateString != null) {
+     // Parsing the new date of intake
+     SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+     try {
+         patch.dateOfIntake(dateFormat.parse(dateString)); // Parse the date string
+     } catch (ParseException e) { // If date parsing fails
+         System.out.println("Invalid date format.");
+         return;
+     }
+ }
+ String empId = readChange("Enter new Employee ID");
+ if (empId != null) {
+     patch.registeredBy(empId); // The foreign key rejects an unknown employee
+ }
+
+ // Saving only the changed patient details
+ if (patientService.patchPatient(patientId, patch)) {
+     System.out.println("Patient updated successfully."); // Success message
+ } else {
+     System.out.println("Patient not found or not updated."); // Unknown ID, or the employee does not exist
+ }
+}
+
+//Method to delete a patient
+private static void deletePatient() {
+ System.out.print("Enter Patient ID to delete: ");
+ String patientId = sc.nextLine();
+ // Calling service to delete the patient by ID
+ patientService.deletePatient(patientId);
+ System.out.println("Patient deleted successfully."); // Success message
+}
+
+//Method to fetch a patient's details by ID
+private static void getPatientById() {
+ System.out.print("Enter Patient ID: ");
+ String patientId = sc.nextLine();
+ // Fetching patient details by ID
+ Patient patient = patientService.getPatientById(patientId);
+
+ if (patient != null) { // If patient exists
+     System.out.println("Patient Details: " + patient); // Displaying patient details
+ } else {
+     System.out.println("Patient not found."); // If patient is not found
+ }
+}
+
+//Method to fetch all patients from the system, one page at a time
+private static void getAllPatients() {
+ // Fetching the patients page by page
+ int shown = printInPages("All Patients:",
+         afterId -> patientService.getPatientsPage(afterId, PAGE_SIZE),
+         Patient::getPatientId,
+         patient -> System.out.println(patient)); // Displaying each patient's details
+ if (shown == 0) {
+     System.out.println("No patients found."); // If no patients are found
+ }
+}
+}
+
@@ -0,0 +1,460 @@
+package com.bloodbank.dao.impl;
+
+import java.util.ArrayList;  // Importing ArrayList to split id lists into chunks
+import java.util.Collection;  // Importing Collection for bulk operations
+import java.util.LinkedHashMap;  // Importing LinkedHashMap to key multi-get results in request order
+import java.util.LinkedHashSet;  // Importing LinkedHashSet to drop repeated ids
+import java.util.List;  // Importing List for paged results
+import java.util.Map;  // Importing Map for find() hints
+import java.util.concurrent.CompletableFuture;  // Importing CompletableFuture for background purges
+import java.util.concurrent.ExecutorService;  // Importing ExecutorService for the purge thread
+import java.util.concurrent.Executors;  // Importing Executors to create the purge thread
+import java.util.function.Consumer;  // Importing Consumer for write operations that return nothing
+import java.util.function.Function;  // Importing Function for operations that return a result
+import java.util.function.Supplier;  // Importing Supplier for background work
+import jakarta.persistence.AttributeNode;  // Importing AttributeNode to walk an entity graph
+import jakarta.persistence.EntityGraph;  // Importing EntityGraph for named fetch plans
+import jakarta.persistence.Subgraph;  // Importing Subgraph to walk nested fetch plans
+import org.hibernate.Hibernate;  // Importing Hibernate for proxy handling
+import org.hibernate.MultiIdentifierLoadAccess;  // Importing MultiIdentifierLoadAccess for batched multi-id loading
+import org.hibernate.ScrollMode;  // Importing ScrollMode for forward-only cursors
+import org.hibernate.ScrollableResults;  // Importing ScrollableResults for streaming query results
+import org.hibernate.Session;  // Importing Session for interacting with the Hibernate session
+import org.hibernate.Transaction;  // Importing Transaction for managing transactions in Hibernate
+import org.hibernate.engine.spi.SessionFactoryImplementor;  // Importing SessionFactoryImplementor to reach the mapping metamodel
+import org.hibernate.graph.GraphSemantic;  // Importing GraphSemantic to apply an entity graph as a fetch graph
+import org.hibernate.graph.RootGraph;  // Importing RootGraph for multi-id loading with an entity graph
+import org.hibernate.jpa.SpecHints;  // Importing SpecHints for the fetch graph hint
+import org.hibernate.persister.entity.EntityPersister;  // Importing EntityPersister to read association values
+import org.hibernate.query.MutationQuery;  // Importing MutationQuery for the patch UPDATE statements
+import org.hibernate.query.Query;  // Importing Query for building HQL queries
+
+import com.bloodbank.entity.EntityPatch;  // Importing EntityPatch for partial updates
+
+import com.bloodbank.util.HibernateUtil;  // Importing HibernateUtil for getting the session factory
+import com.bloodbank.util.MethodMetrics;  // Importing MethodMetrics to count caught failures
+import com.bloodbank.util.UnitOfWork;  // Importing UnitOfWork to join a transaction bound by the service layer
+
+// Base class for the Hibernate DAOs: runs each operation in the caller's unit of work when one is
+// active, otherwise in a short-lived session (and transaction) of its own
+public abstract class AbstractHibernateDAO {
+
+    // Rows the JDBC driver fetches per round trip while streaming (MySQL needs useCursorFetch=true to honour it)
+    protected static final int STREAM_FETCH_SIZE = 1000;
+
+    // Rows handed to the consumer before the streaming session is cleared to keep memory flat
+    protected static final int STREAM_CLEAR_INTERVAL = 1000;
+
+    // Largest number of ids bound to a single IN list by the bulk deletes
+    protected static final int DELETE_IN_LIST_SIZE = 1000;
+
+    // Largest number of ids sent in a single IN list by the multi-id lookups (getXxxByIds)
+    protected static final int MULTI_LOAD_BATCH_SIZE = 1000;
+
+    // Single daemon thread that runs background purges one after another, so they never compete for locks
+    private static final ExecutorService PURGE_EXECUTOR = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "bloodbank-purge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Hint that applies an entity graph as the fetch plan: the graph's associations are joined, the rest stay lazy
+    protected static final String FETCH_GRAPH_HINT = SpecHints.HINT_SPEC_FETCH_GRAPH;
+
+    // Runs a read operation and returns its result (null if the standalone operation fails). On its own, the read
+    // runs in a read-only session on a read-only connection, so loaded entities carry no dirty-checking snapshot;
+    // inside a unit of work it joins the bound session, whose entities the unit may still change.
+    protected <T> T inSession(Function<Session, T> work) {
+        // Joining the session bound by the current unit of work, if any
+        Session current = UnitOfWork.currentSession();
+        if (current != null) {
+            // Errors propagate so the unit of work can roll back
+            return work.apply(current);
+        }
+        try {
+            // Opening a read-only Hibernate session, closed when the work returns
+            return HibernateUtil.inReadOnlySession(work);
+        } catch (Exception e) {
+            // Printing the exception stack trace if any error occurs
+            e.printStackTrace();
+            MethodMetrics.markFailed();
+            return null;
+        }
+    }
+
+    // Runs a write operation inside a transaction
+    protected void inTransaction(Consumer<Session> work) {
+        inTransactionReturning(session -> {
+            work.accept(session);
+            return null;
+        });
+    }
+
+    // Runs a write operation inside a transaction and returns its result (null if the standalone operation fails)
+    protected <T> T inTransactionReturning(Function<Session, T> work) {
+        // Joining the transaction bound by the current unit of work, if any
+        Session current = UnitOfWork.currentSession();
+        if (current != null) {
+            // Errors propagate so the unit of work can roll back
+            return work.apply(current);
+        }
+        // Opening a Hibernate session
+        Session session = HibernateUtil.getSessionFactory().openSession();
+        Transaction transaction = null;  // Declaring a transaction object
+        try {
+            // Starting a new transaction
+            transaction = session.beginTransaction();
+            T result = work.apply(session);
+            // Committing the transaction to apply the changes
+            transaction.commit();
+            return result;
+        } catch (Exception e) {
+            // Rolling back the transaction in case of an error
+            if (transaction != null && transaction.isActive()) {
+                transaction.rollback();
+            }
+            // Printing the exception stack trace
+            e.printStackTrace();
+            MethodMetrics.markFailed();
+            return null;
+        } finally {
+            // Closing the session after the operation
+            session.close();
+        }
+    }
+
+    // Inserts all entities using JDBC batching, committing every commitSize rows (0 = one transaction).
+    // The session is flushed and cleared every hibernate.jdbc.batch_size rows to keep memory flat.
+    // Returns the number of entities committed (inside a unit of work: the number handed to the session).
+    protected int saveAllBatched(Collection<?> entities, int commitSize) {
+        int batchSize = Math.max(1, HibernateUtil.getSessionFactory().getSessionFactoryOptions().getJdbcBatchSize());
+        // Joining the transaction bound by the current unit of work, if any; it decides when to commit
+        Session current = UnitOfWork.currentSession();
+        if (current != null) {
+            int count = 0;
+            for (Object entity : entities) {
+                current.save(entity);
+                if (++count % batchSize == 0) {
+                    current.flush();  // Sending the pending batch of INSERTs
+                    current.clear();  // Detaching the saved entities to free memory
+                }
+            }
+            current.flush();
+            return count;
+        }
+
+        int chunk = commitSize > 0 ? commitSize : Integer.MAX_VALUE;
+        int committed = 0;
+        // Opening a Hibernate session
+        Session session = HibernateUtil.getSessionFactory().openSession();
+        Transaction transaction = null;  // Declaring a transaction object
+        try {
+            int pending = 0;
+            for (Object entity : entities) {
+                if (transaction == null) {
+                    // Starting a new transaction for this chunk
+                    transaction = session.beginTransaction();
+                }
+                session.save(entity);
+                pending++;
+                if (pending % batchSize == 0) {
+                    session.flush();  // Sending the pending batch of INSERTs
+                    session.clear();  // Detaching the saved entities to free memory
+                }
+                if (pending == chunk) {
+                    // Committing the chunk
+                    transaction.commit();
+                    transaction = null;
+                    committed += pending;
+                    pending = 0;
+                    session.clear();
+                }
+            }
+            if (transaction != null) {
+                // Committing the last (or only) chunk
+                transaction.commit();
+                transaction = null;
+                committed += pending;
+            }
+        } catch (Exception e) {
+            // Rolling back the current chunk in case of an error; earlier chunks stay committed
+            if (transaction != null && transaction.isActive()) {
+                transaction.rollback();
+            }
+            // Printing the exception stack trace
+            e.printStackTrace();
+            MethodMetrics.markFailed();
+        } finally {
+            // Closing the session after the operation
+            session.close();
+        }
+        return committed;
+    }
+
+    // Loads one entity by id together with the associations in the named entity graph (one select)
+    protected <T> T findWithGraph(Session session, Class<T> entityClass, Object id, String graphName) {
+        EntityGraph<?> graph = session.getEntityGraph(graphName);
+        T entity = session.find(entityClass, id, Map.of(FETCH_GRAPH_HINT, graph));
+        // A second-level cache hit skips the graph's joins, so make sure its associations are loaded anyway
+        initializeGraph(session, entity, graph.getAttributeNodes());
+        return entity;
+    }
+
+    // Loads many entities by id with Hibernate multi-id loading: ids already in the session or the second-level cache
+    // are served from there, and the rest are selected MULTI_LOAD_BATCH_SIZE ids per IN list, so N lookups cost
+    // ceil(N / MULTI_LOAD_BATCH_SIZE) round trips instead of N. Returns the entities keyed by id in request order
+    // (ids that match no row are left out), or null if the standalone lookup fails.
+    @SuppressWarnings("unchecked")
+    protected <T> Map<String, T> findByIds(Class<T> entityClass, String graphName, Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+        List<String> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        return inSession(session -> {
+            MultiIdentifierLoadAccess<T> access = session.byMultipleIds(entityClass).withBatchSize(MULTI_LOAD_BATCH_SIZE);
+            RootGraph<T> graph = graphName == null ? null : (RootGraph<T>) session.getEntityGraph(graphName);
+            if (graph != null) {
+                access.with(graph, GraphSemantic.FETCH);
+            }
+            // The results line up with distinctIds, with null for an id that matches no row
+            List<T> entities = access.multiLoad(distinctIds);
+            Map<String, T> found = new LinkedHashMap<>(entities.size() * 4 / 3 + 1);
+            for (int i = 0; i < entities.size(); i++) {
+                T entity = entities.get(i);
+                if (entity != null) {
+                    if (graph != null) {
+                        // Entities served from the caches skipped the graph's joins
+                        initializeGraph(session, entity, graph.getAttributeNodes());
+                    }
+                    found.put(distinctIds.get(i), entity);
+                }
+            }
+            return found;
+        });
+    }
+
+    // Initializes the associations named by the graph nodes (and their subgraphs) on an already loaded entity
+    private void initializeGraph(Session session, Object entity, List<AttributeNode<?>> nodes) {
+        if (entity == null || nodes.isEmpty()) {
+            return;
+        }
+        EntityPersister persister = session.getSessionFactory().unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel().getEntityDescriptor(entity.getClass());
+        for (AttributeNode<?> node : nodes) {
+            // Unproxying loads the association if it is still a lazy proxy
+            Object value = Hibernate.unproxy(persister.getPropertyValue(entity, node.getAttributeName()));
+            for (Subgraph<?> subgraph : node.getSubgraphs().values()) {
+                initializeGraph(session, value, subgraph.getAttributeNodes());
+            }
+        }
+    }
+
+    // Creates an HQL query whose results are loaded with the named entity graph (null for none), so list views
+    // fetch their associations in the same select instead of one select per row
+    protected <T> Query<T> createQuery(Session session, String hql, Class<T> resultClass, String graphName) {
+        Query<T> query = session.createQuery(hql, resultClass);
+        if (graphName != null) {
+            query.setHint(FETCH_GRAPH_HINT, session.getEntityGraph(graphName));
+        }
+        return query;
+    }
+
+    // Keyset pagination: returns up to pageSize entities whose id sorts after afterId (null for the first page),
+    // ordered by id, so each page is an index range scan instead of an ever-growing OFFSET
+    protected <T> List<T> keysetPage(Class<T> entityClass, String idAttribute, String afterId, int pageSize) {
+        return keysetPage(entityClass, null, idAttribute, null, null, afterId, pageSize);
+    }
+
+    // Keyset pagination whose rows are loaded with the named entity graph
+    protected <T> List<T> keysetPage(Class<T> entityClass, String graphName, String idAttribute, String afterId, int pageSize) {
+        return keysetPage(entityClass, graphName, idAttribute, null, null, afterId, pageSize);
+    }
+
+    // Keyset pagination restricted to entities whose filterAttribute equals filterValue
+    protected <T> List<T> keysetPage(Class<T> entityClass, String graphName, String idAttribute,
+                                     String filterAttribute, Object filterValue, String afterId, int pageSize) {
+        // Building "FROM Entity e WHERE ... e.id > :afterId ORDER BY e.id"
+        StringBuilder hql = new StringBuilder("FROM ").append(entityClass.getSimpleName()).append(" e");
+        String conjunction = " WHERE ";
+        if (filterAttribute != null) {
+            hql.append(conjunction).append("e.").append(filterAttribute).append(" = :filterValue");
+            conjunction = " AND ";
+        }
+        if (afterId != null) {
+            hql.append(conjunction).append("e.").append(idAttribute).append(" > :afterId");
+        }
+        hql.append(" ORDER BY e.").append(idAttribute);
+        return inSession(session -> {
+            Query<T> query = createQuery(session, hql.toString(), entityClass, graphName);
+            if (filterAttribute != null) {
+                query.setParameter("filterValue", filterValue);
+            }
+            if (afterId != null) {
+                query.setParameter("afterId", afterId);
+            }
+            // Fetching only one page of rows
+            return query.setMaxResults(pageSize).list();
+        });
+    }
+
+    // Runs the set-based HQL delete statements in the given order in one transaction, without loading any entity.
+    // Every statement binds the ids as :ids, sent in IN lists of at most DELETE_IN_LIST_SIZE ids. List the dependent
+    // tables first and the root table last. Returns the rows deleted by the last statement, or -1 if the delete fails.
+    protected int deleteByIds(Collection<String> ids, String... statements) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<String> idList = new ArrayList<>(ids);
+        Integer deleted = inTransactionReturning(session -> {
+            int roots = 0;
+            for (int from = 0; from < idList.size(); from += DELETE_IN_LIST_SIZE) {
+                List<String> chunk = idList.subList(from, Math.min(idList.size(), from + DELETE_IN_LIST_SIZE));
+                for (int i = 0; i < statements.length; i++) {
+                    int rows = session.createMutationQuery(statements[i]).setParameter("ids", chunk).executeUpdate();
+                    if (i == statements.length - 1) {
+                        roots += rows;  // Counting only the root rows
+                    }
+                }
+            }
+            return roots;
+        });
+        return deleted == null ? -1 : deleted;
+    }
+
+    // Bulk update by id: runs the HQL statement (with an :ids parameter) once per DELETE_IN_LIST_SIZE ids, in one
+    // transaction, without loading the rows. Returns the number of rows updated, or -1 on failure.
+    protected int updateByIds(Collection<String> ids, String statement) {
+        return updateByIds(ids, statement, Map.of());
+    }
+
+    // Bulk update by id, binding the other named parameters of the statement from the map on every chunk
+    protected int updateByIds(Collection<String> ids, String statement, Map<String, ?> parameters) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<String> idList = new ArrayList<>(ids);
+        Integer updated = inTransactionReturning(session -> {
+            int rows = 0;
+            for (int from = 0; from < idList.size(); from += DELETE_IN_LIST_SIZE) {
+                List<String> chunk = idList.subList(from, Math.min(idList.size(), from + DELETE_IN_LIST_SIZE));
+                MutationQuery update = session.createMutationQuery(statement).setParameter("ids", chunk);
+                parameters.forEach(update::setParameter);
+                rows += update.executeUpdate();
+            }
+            return rows;
+        });
+        return updated == null ? -1 : updated;
+    }
+
+    // Partial update: writes only the patch's attributes with a single HQL UPDATE, without loading the row, so a
+    // change to one column neither selects the row first nor rewrites every other column. Associations are bound
+    // as references by id (the foreign key validates them). Bulk HQL bypasses the second-level cache and the
+    // persistence context, so use it only for uncached entities. Returns true if the row exists and was updated
+    // (an empty patch only checks that it exists).
+    protected boolean patch(Class<?> entityClass, String idAttribute, String id, EntityPatch<?> patch) {
+        String entityName = entityClass.getSimpleName();
+        if (patch.isEmpty()) {
+            Long count = inSession(session -> session.createQuery("SELECT count(e) FROM " + entityName
+                    + " e WHERE e." + idAttribute + " = :id", Long.class).setParameter("id", id).getSingleResult());
+            return count != null && count > 0;
+        }
+        // Building "UPDATE Entity e SET e.a = :p0, e.b = NULL, ... WHERE e.id = :id"
+        StringBuilder hql = new StringBuilder("UPDATE ").append(entityName).append(" e SET ");
+        List<Object> values = new ArrayList<>();
+        String separator = "";
+        for (Map.Entry<String, Object> change : patch.getChanges().entrySet()) {
+            hql.append(separator).append("e.").append(change.getKey()).append(" = ");
+            separator = ", ";
+            if (change.getValue() == null) {
+                hql.append("NULL");
+            } else {
+                hql.append(":p").append(values.size());
+                values.add(change.getValue());
+            }
+        }
+        hql.append(" WHERE e.").append(idAttribute).append(" = :id");
+        Integer updated = inTransactionReturning(session -> {
+            MutationQuery update = session.createMutationQuery(hql.toString()).setParameter("id", id);
+            for (int i = 0; i < values.size(); i++) {
+                Object value = values.get(i);
+                if (value instanceof EntityPatch.Reference) {
+                    // A proxy holding only the id; binding it writes the foreign key without a select
+                    EntityPatch.Reference reference = (EntityPatch.Reference) value;
+                    value = session.getReference(reference.getType(), reference.getId());
+                }
+                update.setParameter("p" + i, value);
+            }
+            return update.executeUpdate();
+        });
+        return updated != null && updated > 0;
+    }
+
+    // Deletes the rows whose ids the HQL idQuery selects for :parentId, chunkSize rows per transaction, until none
+    // are left, so a very large cascade never holds its locks (or undo log) in one long transaction. Uses a
+    // dedicated session and throws on failure; chunks committed before the failure stay deleted. Returns the rows deleted.
+    protected long deleteInChunks(String idQuery, Object parentId, String deleteStatement, int chunkSize) {
+        long deleted = 0;
+        // Opening a dedicated Hibernate session
+        Session session = HibernateUtil.getSessionFactory().openSession();
+        Transaction transaction = null;  // Declaring a transaction object
+        try {
+            while (true) {
+                // Starting a new transaction for this chunk
+                transaction = session.beginTransaction();
+                List<String> chunk = session.createQuery(idQuery, String.class)
+                        .setParameter("parentId", parentId)
+                        .setMaxResults(chunkSize)
+                        .list();
+                if (chunk.isEmpty()) {
+                    transaction.commit();
+                    return deleted;
+                }
+                deleted += session.createMutationQuery(deleteStatement).setParameter("ids", chunk).executeUpdate();
+                // Committing the chunk
+                transaction.commit();
+                transaction = null;
+            }
+        } catch (RuntimeException e) {
+            // Rolling back the current chunk in case of an error
+            if (transaction != null && transaction.isActive()) {
+                transaction.rollback();
+            }
+            throw e;
+        } finally {
+            // Closing the session after the operation
+            session.close();
+        }
+    }
+
+    // Runs a purge on the background purge thread; the future completes exceptionally if the purge fails
+    protected static <T> CompletableFuture<T> inBackground(Supplier<T> purge) {
+        return CompletableFuture.supplyAsync(purge, PURGE_EXECUTOR);
+    }
+
+    // Streams every row of the HQL query to the action with a forward-only cursor, clearing the session
+    // periodically so memory stays constant regardless of table size. Always uses a dedicated session
+    // (never the unit of work's, which must not be cleared). Returns the number of rows, or -1 on failure.
+    protected <T> long scroll(String hql, Class<T> resultClass, Consumer<? super T> action) {
+        try {
+            // Opening a dedicated read-only Hibernate session: no dirty-checking snapshots for streamed rows
+            return HibernateUtil.inReadOnlySession(session -> {
+                Query<T> query = session.createQuery(hql, resultClass).setFetchSize(STREAM_FETCH_SIZE);
+                long count = 0;
+                try (ScrollableResults<T> results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+                    while (results.next()) {
+                        action.accept(results.get());
+                        if (++count % STREAM_CLEAR_INTERVAL == 0) {
+                            session.clear();  // Detaching the rows already handed out
+                        }
+                    }
+                }
+                return count;
+            });
+        } catch (Exception e) {
+            // Printing the exception stack trace if any error occurs
+            e.printStackTrace();
+            MethodMetrics.markFailed();
+            return -1;
+        }
+    }
+}
@@ -1,167 +1,116 @@
-package com.bloodbank.dao.impl;
-
-import java.util.List;  // Importing List to handle collections of BloodBank objects
-import org.hibernate.Session;  // Importing Hibernate Session class for managing database sessions
-import org.hibernate.Transaction;  // Importing Hibernate Transaction class for transaction management
-import com.bloodbank.dao.BloodBankDAO;  // Importing the BloodBankDao interface
-import com.bloodbank.entity.BloodBank;  // Importing the BloodBank entity class
-import com.bloodbank.util.HibernateUtil;  // Importing Hibernate utility class for session management
-
-// Implementation of BloodBankDao interface for performing CRUD operations on the BloodBank entity
-public class BloodBankDAOImpl implements BloodBankDAO {
-
-    // Method to retrieve a BloodBank record by its unique identifier (bloodBankId)
-    @Override
-    public BloodBank getBloodBankById(String bloodBankId) {
-        // Opening a session using HibernateUtil
-        Session session = HibernateUtil.getSessionFactory().openSession();
-        try {
-            // Retrieving the BloodBank entity by its primary key (bloodBankId)
-            return session.get(BloodBank.class, bloodBankId);
-        } catch (Exception e) {
-            // Printing the exception stack trace in case of an error
-            e.printStackTrace();
-            return null;
-        } finally {
-            // Closing the session after the operation
-            session.close();
-        }
-    }
-
-    // Method to save a new BloodBank record into the database
-    @Override
-    public void saveBloodBank(BloodBank bloodBank) {
-        // Opening a session
-        Session session = HibernateUtil.getSessionFactory().openSession();
-        Transaction transaction = null;  // Declaring a transaction object
-        try {
-            // Starting a new transaction
-            transaction = session.beginTransaction();
-            // Saving the BloodBank entity to the database
-            session.save(bloodBank);
-            // Committing the transaction to persist the data
-            transaction.commit();
-        } catch (Exception e) {
-            // Rolling back the transaction in case of an error
-            if (transaction != null) {
-                transaction.rollback();
-            }
-            // Printing the exception stack trace
-            e.printStackTrace();
-        } finally {
-            // Closing the session after the operation
-            session.close();
-        }
-    }
-
-    // Method to update an existing BloodBank record in the database
-    @Override
-    public void updateBloodBank(BloodBank bloodBank) {
-        // Opening a session
-        Session session = HibernateUtil.getSessionFactory().openSession();
-        Transaction transaction = null;
-        try {
-            // Starting a new transaction
-            transaction = session.beginTransaction();
-            // Updating the BloodBank entity in the database
-            session.update(bloodBank);
-            // Committing the transaction to apply changes
-            transaction.commit();
-        } catch (Exception e) {
-            // Rolling back the transaction if an error occurs
-            if (transaction != null) {
-                transaction.rollback();
-            }
-            // Printing the exception stack trace
-            e.printStackTrace();
-        } finally {
-            // Closing the session
-            session.close();
-        }
-    }
-
-    // Method to delete a BloodBank record from the database by its unique identifier (bloodBankId)
-    @Override
-    public void deleteBloodBank(String bloodBankId) {
-        // Opening a session
-        Session session = HibernateUtil.getSessionFactory().openSession();
-        Transaction transaction = null;
-        try {
-            // Starting a new transaction
-            transaction = session.beginTransaction();
-            // Retrieving the BloodBank entity by its primary key (bloodBankId)
-            BloodBank bloodBank = session.get(BloodBank.class, bloodBankId);
-            // If the BloodBank exists, delete it
-            if (bloodBank != null) {
-                session.delete(bloodBank);
-            }
-            // Committing the transaction to apply the deletion
-            transaction.commit();
-        } catch (Exception e) {
-            // Rolling back the transaction if an error occurs
-            if (transaction != null) {
-                transaction.rollback();
-            }
-            // Printing the exception stack trace
-            e.printStackTrace();
-        } finally {
-            // Closing the session after the operation
-            session.close();
-        }
-    }
-
-    // Method to retrieve all BloodBank records from the database
-    @Override
-    public List<BloodBank> getAllBloodBanks() {
-        // Opening a session
-        Session session = HibernateUtil.getSessionFactory().openSession();
-        try {
-            // Creating and executing a query to retrieve all BloodBank entities
-            return session.createQuery("FROM BloodBank", BloodBank.class).list();
-        } catch (Exception e) {
-            // Printing the exception stack trace in case of an error
-            e.printStackTrace();
-            return null;
-        } finally {
-            // Closing the session after the operation
-            session.close();
-        }
-    }
-
-    // Method to update the blood quantity for a specific BloodBank
-    @Override
-    public void updateBloodQuantity(String bloodBankId, int quantityChange) {
-        // Start a transaction
-        Session session = HibernateUtil.getSessionFactory().openSession();
-        Transaction transaction = null;
-        try {
-            transaction = session.beginTransaction();
-            // Get the BloodBank entity by its id
-            BloodBank bloodBank = session.get(BloodBank.class, bloodBankId);
-            if (bloodBank != null) {
-                int currentQty = bloodBank.getQuantity();  // Get the current quantity of blood
-                int updatedQty = currentQty + quantityChange;  // Calculate the new quantity
-
-                // Check if the updated quantity is negative
-                if (updatedQty < 0) {
-                    transaction.rollback();  // Rollback the transaction if the quantity is negative
-                    throw new IllegalArgumentException("Not enough blood units available.");
-                }
-
-                // Set the updated quantity and save the changes
-                bloodBank.setQuantity(updatedQty);
-                session.merge(bloodBank);
-            }
-            transaction.commit();  // Commit the transaction to apply the changes
-        } catch (Exception e) {
-            // Rolling back the transaction if an error occurs
-            if (transaction != null) {
-                transaction.rollback();
-            }
-            e.printStackTrace();  // Printing the exception stack trace
-        } finally {
-            // Closing the session
-            session.close();
-        }
-    }
-}
+package com.bloodbank.dao.impl;
+
+import java.util.Collection;  // Importing Collection for bulk operations
+import java.util.List;  // Importing List for handling collections of BloodBank entities
+import java.util.Map;  // Importing Map for lookups keyed by id
+import java.util.concurrent.CompletableFuture;  // Importing CompletableFuture for background purges
+
+import com.bloodbank.dao.BloodBankDAO;  // Importing the BloodBankDao interface
+import com.bloodbank.entity.BloodBank;  // Importing the BloodBank entity class
+
+// Implementation of the BloodBankDao interface to perform CRUD operations on the BloodBank entity
+// Each method joins the caller's unit of work when one is active (see AbstractHibernateDAO)
+public class BloodBankDAOImpl extends AbstractHibernateDAO implements BloodBankDAO {
+
+    // Statements that delete BloodBank rows by id together with the rows that depend on them, in dependency order
+    private static final String[] DELETE_BY_IDS = {
+            "DELETE FROM Blood WHERE storedIn.bloodBankId IN :ids",
+            "DELETE FROM BloodRequest WHERE bloodBank.bloodBankId IN :ids"
+                    + " OR hospital.hospitalId IN (SELECT h.hospitalId FROM Hospital h WHERE h.contactedBloodBank.bloodBankId IN :ids)",
+            "DELETE FROM Hospital WHERE contactedBloodBank.bloodBankId IN :ids",
+            "DELETE FROM BloodBank WHERE bloodBankId IN :ids"
+    };
+
+    // Method to retrieve a BloodBank record by its unique identifier (bloodBankId)
+    @Override
+    public BloodBank getBloodBankById(String bloodBankId) {
+        // Retrieving the BloodBank entity by its primary key (bloodBankId)
+        return inSession(session -> findWithGraph(session, BloodBank.class, bloodBankId, BloodBank.DETAILS_GRAPH));
+    }
+
+    // Method to retrieve many BloodBank records by their unique identifiers (bloodBankId) in batched IN queries
+    @Override
+    public Map<String, BloodBank> getBloodBanksByIds(Collection<String> bloodBankIds) {
+        return findByIds(BloodBank.class, BloodBank.DETAILS_GRAPH, bloodBankIds);
+    }
+
+    // Method to save a new BloodBank record into the database
+    @Override
+    public void saveBloodBank(BloodBank bloodBank) {
+        // Saving the BloodBank entity to the database
+        inTransaction(session -> session.save(bloodBank));
+    }
+
+    // Method to update an existing BloodBank record in the database
+    @Override
+    public void updateBloodBank(BloodBank bloodBank) {
+        // Updating the BloodBank entity in the database
+        inTransaction(session -> session.update(bloodBank));
+    }
+
+    // Method to delete a BloodBank record from the database by its unique identifier (bloodBankId)
+    @Override
+    public void deleteBloodBank(String bloodBankId) {
+        // Set-based delete by id: nothing is loaded into the session
+        deleteBloodBanks(List.of(bloodBankId));
+    }
+
+    // Method to delete many BloodBank records (and their blood units and hospitals) with set-based statements, dependent rows first
+    @Override
+    public int deleteBloodBanks(Collection<String> bloodBankIds) {
+        return deleteByIds(bloodBankIds, DELETE_BY_IDS);
+    }
+
+    // Method to retrieve all BloodBank records from the database
+    @Override
+    public List<BloodBank> getAllBloodBanks() {
+        // Creating and executing a query to retrieve all BloodBank entities
+        return inSession(session -> createQuery(session, "FROM BloodBank", BloodBank.class, BloodBank.DETAILS_GRAPH).list());
+    }
+
+    // Method to retrieve one page of BloodBank records (keyset pagination on bloodBankId)
+    @Override
+    public List<BloodBank> getBloodBanksPage(String afterBloodBankId, int pageSize) {
+        return keysetPage(BloodBank.class, BloodBank.DETAILS_GRAPH, "bloodBankId", afterBloodBankId, pageSize);
+    }
+
+    // Method to update the blood quantity for a specific BloodBank
+    @Override
+    public boolean updateBloodQuantity(String bloodBankId, int quantityChange) {
+        Integer updated = inTransactionReturning(session -> session
+                // A single conditional UPDATE: the database applies the delta under its row lock, so concurrent
+                // callers can never both read the same quantity, and the WHERE clause refuses to go below zero
+                .createMutationQuery("UPDATE BloodBank SET quantity = quantity + :delta "
+                        + "WHERE bloodBankId = :bloodBankId AND quantity + :delta >= 0")
+                .setParameter("delta", quantityChange)
+                .setParameter("bloodBankId", bloodBankId)
+                .executeUpdate());
+        // No row updated: the blood bank does not exist or does not hold enough units (null: the update failed)
+        return updated != null && updated > 0;
+    }
+
+    // Method to delete a BloodBank whose cascade is too large for one transaction: the blood units, blood requests and hospitals are deleted
+    // chunkSize rows per transaction on the background purge thread, then the BloodBank itself
+    @Override
+    public CompletableFuture<Long> purgeBloodBank(String bloodBankId, int chunkSize) {
+        return inBackground(() -> {
+            long deleted = 0;
+            // Deleting the blood units stored in the bank
+            deleted += deleteInChunks("SELECT b.bloodId FROM Blood b WHERE b.storedIn.bloodBankId = :parentId",
+                    bloodBankId, "DELETE FROM Blood WHERE bloodId IN :ids", chunkSize);
+            // Deleting the requests filled from the bank, then those of the hospitals linked to it
+            deleted += deleteInChunks("SELECT r.requestId FROM BloodRequest r WHERE r.bloodBank.bloodBankId = :parentId",
+                    bloodBankId, "DELETE FROM BloodRequest WHERE requestId IN :ids", chunkSize);
+            deleted += deleteInChunks("SELECT r.requestId FROM BloodRequest r WHERE r.hospital.contactedBloodBank.bloodBankId = :parentId",
+                    bloodBankId, "DELETE FROM BloodRequest WHERE requestId IN :ids", chunkSize);
+            // Deleting the hospitals linked to the bank
+            deleted += deleteInChunks("SELECT h.hospitalId FROM Hospital h WHERE h.contactedBloodBank.bloodBankId = :parentId",
+                    bloodBankId, "DELETE FROM Hospital WHERE hospitalId IN :ids", chunkSize);
+            int roots = deleteBloodBanks(List.of(bloodBankId));
+            if (roots < 0) {
+                throw new IllegalStateException("Failed to delete BloodBank " + bloodBankId);
+            }
+            return deleted + roots;
+        });
+    }
+}
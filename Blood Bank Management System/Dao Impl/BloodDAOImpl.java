@@ -1,154 +1,224 @@
-package com.bloodbank.dao.impl;
-
-import java.util.List;  // Importing List for handling collections of Blood entities
-import org.hibernate.Session;  // Importing Session for interacting with the Hibernate session
-import org.hibernate.Transaction;  // Importing Transaction for managing transactions in Hibernate
-import org.hibernate.query.Query;// Importing Query for creating HQL queries in Hibernate
-
-import com.bloodbank.dao.BloodDAO;  // Importing the BloodDao interface
-import com.bloodbank.entity.Blood;  // Importing the Blood entity class
-import com.bloodbank.util.HibernateUtil;  // Importing HibernateUtil for getting the session factory
-
-// Implementation of the BloodDao interface to perform CRUD operations on the Blood entity
-public class BloodDAOImpl implements BloodDAO {
-
-    // Method to retrieve a Blood record by its unique identifier (bloodId)
-    @Override
-    public Blood getBloodById(String bloodId) {
-        // Opening a Hibernate session
-        Session session = HibernateUtil.getSessionFactory().openSession();
-        try {
-            // Retrieving the Blood entity by its primary key (bloodId)
-            return session.get(Blood.class, bloodId);
-        } catch (Exception e) {
-            // Printing the exception stack trace if any error occurs
-            e.printStackTrace();
-            return null;
-        } finally {
-            // Closing the session after the operation
-            session.close();
-        }
-    }
-
-    // Method to save a new Blood record into the database
-    @Override
-    public void saveBlood(Blood blood) {
-        // Opening a Hibernate session
-        Session session = HibernateUtil.getSessionFactory().openSession();
-        Transaction transaction = null;  // Declaring a transaction object
-        try {
-            // Starting a new transaction
-            transaction = session.beginTransaction();
-            // Saving the Blood entity to the database
-            session.save(blood);
-            // Committing the transaction to persist the entity
-            transaction.commit();
-        } catch (Exception e) {
-            // Rolling back the transaction if any error occurs
-            if (transaction != null) {
-                transaction.rollback();
-            }
-            // Printing the exception stack trace in case of an error
-            e.printStackTrace();
-        } finally {
-            // Closing the session after the operation
-            session.close();
-        }
-    }
-
-    // Method to update an existing Blood record in the database
-    @Override
-    public void updateBlood(Blood blood) {
-        // Opening a Hibernate session
-        Session session = HibernateUtil.getSessionFactory().openSession();
-        Transaction transaction = null;  // Declaring a transaction object
-        try {
-            // Starting a new transaction
-            transaction = session.beginTransaction();
-            // Updating the Blood entity in the database
-            session.update(blood);
-            // Committing the transaction to apply the changes
-            transaction.commit();
-        } catch (Exception e) {
-            // Rolling back the transaction in case of an error
-            if (transaction != null) {
-                transaction.rollback();
-            }
-            // Printing the exception stack trace
-            e.printStackTrace();
-        } finally {
-            // Closing the session
-            session.close();
-        }
-    }
-
-    // Method to delete a Blood record from the database by its unique identifier (bloodId)
-    @Override
-    public void deleteBlood(String bloodId) {
-        // Opening a Hibernate session
-        Session session = HibernateUtil.getSessionFactory().openSession();
-        Transaction transaction = null;  // Declaring a transaction object
-        try {
-            // Starting a new transaction
-            transaction = session.beginTransaction();
-            // Retrieving the Blood entity by its primary key (bloodId)
-            Blood blood = session.get(Blood.class, bloodId);
-            // If the Blood entity exists, delete it
-            if (blood != null) {
-                session.delete(blood);
-            }
-            // Committing the transaction to apply the deletion
-            transaction.commit();
-        } catch (Exception e) {
-            // Rolling back the transaction in case of an error
-            if (transaction != null) {
-                transaction.rollback();
-            }
-            // Printing the exception stack trace
-            e.printStackTrace();
-        } finally {
-            // Closing the session
-            session.close();
-        }
-    }
-
-    // Method to retrieve a list of Blood records by the associated BloodBank's ID (bloodBankId)
-    @Override
-    public List<Blood> getBloodByBloodBankId(String bloodBankId) {
-        // Opening a Hibernate session
-        Session session = HibernateUtil.getSessionFactory().openSession();
-        try {
-            // Creating a query to fetch all Blood records where the storedIn bloodBankId matches the given bloodBankId
-            Query<Blood> query = session.createQuery("FROM Blood WHERE storedIn.bloodBankId = :bloodBankId", Blood.class);
-            // Setting the parameter for the query to filter by bloodBankId
-            query.setParameter("bloodBankId", bloodBankId);
-            // Returning the list of Blood records
-            return query.list();
-        } catch (Exception e) {
-            // Printing the exception stack trace if any error occurs
-            e.printStackTrace();
-            return null;
-        } finally {
-            // Closing the session after the operation
-            session.close();
-        }
-    }
-
-    // Method to retrieve all Blood records from the database
-    @Override
-    public List<Blood> getAllBlood() {
-        // Opening a Hibernate session
-        Session session = HibernateUtil.getSessionFactory().openSession();
-        try {
-            // Creating and executing a query to retrieve all Blood entities
-            return session.createQuery("FROM Blood", Blood.class).list();
-        } catch (Exception e) {
-            // Printing the exception stack trace if any error occurs
-            e.printStackTrace();
-            return null;
-        } finally {
-            // Closing the session after the operation
-            session.close();
-        }
-    }
-}
+package com.bloodbank.dao.impl;
+
+import java.util.ArrayList;  // Importing ArrayList to collect the allocated ids
+import java.util.Collection;  // Importing Collection for bulk operations
+import java.util.Date;  // Importing Date for the expiry cut-off
+import java.util.HashMap;  // Importing HashMap to collect the reservations
+import java.util.List;  // Importing List for handling collections of Blood entities
+import java.util.Map;  // Importing Map for lookups keyed by id
+import java.util.function.Consumer;  // Importing Consumer for streaming callbacks
+
+import com.bloodbank.dao.BloodDAO;  // Importing the BloodDao interface
+import com.bloodbank.entity.Blood;  // Importing the Blood entity class
+import com.bloodbank.entity.BloodPatch;  // Importing BloodPatch for partial updates
+import com.bloodbank.entity.Patient;  // Importing the Patient entity class for the recipient
+import org.hibernate.LockMode;  // Importing LockMode for the skip-locked allocation query
+import org.hibernate.Session;  // Importing Session to build the skip-locked queries
+import org.hibernate.query.SelectionQuery;  // Importing SelectionQuery for the skip-locked queries
+
+// Implementation of the BloodDao interface to perform CRUD operations on the Blood entity
+// Each method joins the caller's unit of work when one is active (see AbstractHibernateDAO)
+public class BloodDAOImpl extends AbstractHibernateDAO implements BloodDAO {
+
+    // Statement that deletes Blood rows by id
+    private static final String[] DELETE_BY_IDS = {
+            "DELETE FROM Blood WHERE bloodId IN :ids"
+    };
+
+    // Statement that marks unexpired, unreceived Blood rows expired by id
+    private static final String MARK_EXPIRED =
+            "UPDATE Blood SET expired = true WHERE bloodId IN :ids AND expired = false AND receivedBy IS NULL";
+
+    // Condition shared by the allocation and reservation queries: a bank's unassigned, unexpired units of the given groups. The
+    // group is compared trimmed and in upper case, as rows stored before Blood.setBloodGroup normalized it may not be
+    private static final String IN_STOCK = "FROM Blood b WHERE b.storedIn.bloodBankId = :bloodBankId"
+            + " AND b.receivedBy IS NULL AND b.expired = false AND (b.expiresAt IS NULL OR b.expiresAt > :now)"
+            + " AND upper(trim(b.bloodGroup)) IN :bloodGroups";
+
+    // Query picking a bank's allocatable units: those not held, or held for this patient, or whose hold has ended. The units
+    // held for the patient come first, then earliest expiry first (the database sorts units without an expiry date, recorded
+    // before expiry was tracked, first); it reads the blood rows alone, so its row locks cover only them
+    private static final String ALLOCATABLE = IN_STOCK
+            + " AND (b.reservedUntil IS NULL OR b.reservedUntil <= :now OR b.reservedFor.patientId = :patientId)"
+            + " ORDER BY CASE WHEN b.reservedFor.patientId = :patientId THEN 0 ELSE 1 END, b.expiresAt, b.bloodId";
+
+    // Query picking a bank's units that can be held: those not held, or whose hold has ended, earliest expiry first
+    private static final String RESERVABLE = IN_STOCK
+            + " AND (b.reservedUntil IS NULL OR b.reservedUntil <= :now) ORDER BY b.expiresAt, b.bloodId";
+
+    // Statement ending the holds on Blood rows by id that ended at or before :lapsedBy; a hold renewed since is kept
+    private static final String RELEASE_LAPSED = "UPDATE Blood SET reservedFor = null, reservedUntil = null"
+            + " WHERE bloodId IN :ids AND reservedUntil <= :lapsedBy";
+
+    // Statement ending the holds on Blood rows by id, whenever they end
+    private static final String RELEASE = "UPDATE Blood SET reservedFor = null, reservedUntil = null"
+            + " WHERE bloodId IN :ids AND reservedUntil IS NOT NULL";
+
+    // Method to retrieve a Blood record by its unique identifier (bloodId)
+    @Override
+    public Blood getBloodById(String bloodId) {
+        // Retrieving the Blood entity by its primary key (bloodId)
+        return inSession(session -> findWithGraph(session, Blood.class, bloodId, Blood.DETAILS_GRAPH));
+    }
+
+    // Method to retrieve many Blood records by their unique identifiers (bloodId) in batched IN queries
+    @Override
+    public Map<String, Blood> getBloodUnitsByIds(Collection<String> bloodIds) {
+        return findByIds(Blood.class, Blood.DETAILS_GRAPH, bloodIds);
+    }
+
+    // Method to save a new Blood record into the database
+    @Override
+    public void saveBlood(Blood blood) {
+        // Saving the Blood entity to the database
+        inTransaction(session -> session.save(blood));
+    }
+
+    // Method to save many Blood records in one transaction using JDBC batching
+    @Override
+    public int saveAll(Collection<Blood> bloodUnits) {
+        return saveAllBatched(bloodUnits, 0);
+    }
+
+    // Method to save many Blood records using JDBC batching, committing every commitSize records
+    @Override
+    public int saveAll(Collection<Blood> bloodUnits, int commitSize) {
+        return saveAllBatched(bloodUnits, commitSize);
+    }
+
+    // Method to update an existing Blood record in the database
+    @Override
+    public void updateBlood(Blood blood) {
+        // Updating the Blood entity in the database
+        inTransaction(session -> session.update(blood));
+    }
+
+    // Method to update only the fields set in the patch with one UPDATE statement, without loading the record
+    @Override
+    public boolean patchBlood(String bloodId, BloodPatch patch) {
+        return patch(Blood.class, "bloodId", bloodId, patch);
+    }
+
+    // Method to delete a Blood record from the database by its unique identifier (bloodId)
+    @Override
+    public void deleteBlood(String bloodId) {
+        // Set-based delete by id: nothing is loaded into the session
+        deleteBloodUnits(List.of(bloodId));
+    }
+
+    // Method to delete many Blood records with set-based statements, dependent rows first
+    @Override
+    public int deleteBloodUnits(Collection<String> bloodIds) {
+        return deleteByIds(bloodIds, DELETE_BY_IDS);
+    }
+
+    // Method to mark many Blood records expired with one UPDATE per DELETE_IN_LIST_SIZE ids
+    @Override
+    public int markExpired(Collection<String> bloodIds) {
+        return updateByIds(bloodIds, MARK_EXPIRED);
+    }
+
+    // Method to assign units to a patient with SELECT ... FOR UPDATE SKIP LOCKED: concurrent allocations from the same
+    // bank each lock and take different units instead of queueing behind one another or picking the same ones
+    @Override
+    public List<String> allocateUnits(String patientId, String bloodBankId, Collection<String> bloodGroups, int count) {
+        return inTransactionReturning(session -> {
+            List<Blood> units = lockInStock(session, ALLOCATABLE, bloodBankId, bloodGroups, count)
+                    .setParameter("patientId", patientId)
+                    .list();
+            Patient patient = session.getReference(Patient.class, patientId);
+            List<String> allocated = new ArrayList<>(units.size());
+            for (Blood unit : units) {
+                unit.setReceivedBy(patient);  // Written by the flush at commit, in one JDBC batch
+                unit.setReservedFor(null);  // An issued unit is no longer held
+                unit.setReservedUntil(null);
+                allocated.add(unit.getBloodId());
+            }
+            return allocated;
+        });
+    }
+
+    // Method to hold units for a patient, selected and locked as allocateUnits does
+    @Override
+    public List<String> reserveUnits(String patientId, String bloodBankId, Collection<String> bloodGroups, int count, Date until) {
+        return inTransactionReturning(session -> {
+            List<Blood> units = lockInStock(session, RESERVABLE, bloodBankId, bloodGroups, count).list();
+            Patient patient = session.getReference(Patient.class, patientId);
+            List<String> reserved = new ArrayList<>(units.size());
+            for (Blood unit : units) {
+                unit.setReservedFor(patient);  // Written by the flush at commit, in one JDBC batch
+                unit.setReservedUntil(until);
+                reserved.add(unit.getBloodId());
+            }
+            return reserved;
+        });
+    }
+
+    // Method to end holds with one UPDATE per DELETE_IN_LIST_SIZE ids
+    @Override
+    public int releaseReservations(Collection<String> bloodIds, Date lapsedBy) {
+        return lapsedBy == null ? updateByIds(bloodIds, RELEASE) : updateByIds(bloodIds, RELEASE_LAPSED, Map.of("lapsedBy", lapsedBy));
+    }
+
+    // Method to retrieve the end of every hold, read through idx_blood_reservation without loading the units
+    @Override
+    public Map<String, Date> getReservations() {
+        return inSession(session -> {
+            Map<String, Date> reservations = new HashMap<>();
+            for (Object[] row : session.createQuery("SELECT b.bloodId, b.reservedUntil FROM Blood b"
+                    + " WHERE b.reservedUntil IS NOT NULL", Object[].class).list()) {
+                reservations.put((String) row[0], (Date) row[1]);
+            }
+            return reservations;
+        });
+    }
+
+    // The query selecting count units in stock in the bank, locking them until commit and passing over rows another
+    // transaction has locked
+    private static SelectionQuery<Blood> lockInStock(Session session, String hql, String bloodBankId, Collection<String> bloodGroups,
+            int count) {
+        return session.createQuery(hql, Blood.class)
+                .setParameter("bloodBankId", bloodBankId)
+                .setParameter("now", new Date())
+                .setParameter("bloodGroups", bloodGroups)
+                .setMaxResults(count)
+                .setHibernateLockMode(LockMode.UPGRADE_SKIPLOCKED);
+    }
+
+    // Method to retrieve a list of Blood records by the associated BloodBank's ID (bloodBankId)
+    @Override
+    public List<Blood> getBloodByBloodBankId(String bloodBankId) {
+        return inSession(session -> createQuery(session,
+                // Creating a query to fetch all Blood records where the storedIn bloodBankId matches the given bloodBankId
+                "FROM Blood WHERE storedIn.bloodBankId = :bloodBankId", Blood.class, Blood.DETAILS_GRAPH)
+                // Setting the parameter for the query to filter by bloodBankId
+                .setParameter("bloodBankId", bloodBankId)
+                .list());
+    }
+
+    // Method to retrieve one page of Blood records stored in a BloodBank (keyset pagination on bloodId)
+    @Override
+    public List<Blood> getBloodByBloodBankIdPage(String bloodBankId, String afterBloodId, int pageSize) {
+        return keysetPage(Blood.class, Blood.DETAILS_GRAPH, "bloodId", "storedIn.bloodBankId", bloodBankId, afterBloodId, pageSize);
+    }
+
+    // Method to retrieve all Blood records from the database
+    @Override
+    public List<Blood> getAllBlood() {
+        // Creating and executing a query to retrieve all Blood entities
+        return inSession(session -> createQuery(session, "FROM Blood", Blood.class, Blood.DETAILS_GRAPH).list());
+    }
+
+    // Method to retrieve one page of Blood records (keyset pagination on bloodId)
+    @Override
+    public List<Blood> getBloodPage(String afterBloodId, int pageSize) {
+        return keysetPage(Blood.class, Blood.DETAILS_GRAPH, "bloodId", afterBloodId, pageSize);
+    }
+
+    // Method to stream every Blood record through a forward-only cursor
+    @Override
+    public long forEachBlood(Consumer<Blood> action) {
+        // The associations are lazy, so the export reads their ids from the foreign keys without joining
+        return scroll("FROM Blood", Blood.class, action);
+    }
+}
@@ -0,0 +1,92 @@
+package com.bloodbank.dao.impl;
+
+import java.util.Date;  // Importing Date for the fulfilment time
+import java.util.List;  // Importing List for handling collections of BloodRequest entities
+
+import com.bloodbank.dao.BloodRequestDAO;  // Importing the BloodRequestDao interface
+import com.bloodbank.entity.BloodRequest;  // Importing the BloodRequest entity class
+
+// Implementation of the BloodRequestDao interface to perform the operations on the BloodRequest entity
+// Each method joins the caller's unit of work when one is active (see AbstractHibernateDAO)
+public class BloodRequestDAOImpl extends AbstractHibernateDAO implements BloodRequestDAO {
+
+    // Statement adding issued units to a pending request; the status check runs under the row lock, so a concurrent cancel
+    // either commits first (no row updated) or waits for this transaction
+    private static final String RECORD_ALLOCATION = "UPDATE BloodRequest SET unitsAllocated = unitsAllocated + :units"
+            + " WHERE requestId = :requestId AND status = :pending";
+
+    // Statement closing a pending request whose units are all issued. Kept apart from RECORD_ALLOCATION: whether a SET clause
+    // sees the new or the old unitsAllocated differs between MySQL and standard SQL
+    private static final String MARK_FULFILLED = "UPDATE BloodRequest SET status = :fulfilled, fulfilledAt = :at"
+            + " WHERE requestId = :requestId AND status = :pending AND unitsAllocated >= units";
+
+    // Statement withdrawing a pending request
+    private static final String CANCEL = "UPDATE BloodRequest SET status = :cancelled"
+            + " WHERE requestId = :requestId AND status = :pending";
+
+    // Method to retrieve a BloodRequest record by its unique identifier (requestId)
+    @Override
+    public BloodRequest getBloodRequestById(String requestId) {
+        return inSession(session -> findWithGraph(session, BloodRequest.class, requestId, BloodRequest.DETAILS_GRAPH));
+    }
+
+    // Method to save a new BloodRequest record into the database
+    @Override
+    public void saveBloodRequest(BloodRequest request) {
+        inTransaction(session -> session.save(request));
+    }
+
+    // Method to retrieve the BloodRequest records of a hospital, oldest first
+    @Override
+    public List<BloodRequest> getBloodRequestsByHospital(String hospitalId) {
+        return inSession(session -> createQuery(session,
+                "FROM BloodRequest r WHERE r.hospital.hospitalId = :hospitalId ORDER BY r.requestedAt, r.requestId",
+                BloodRequest.class, BloodRequest.DETAILS_GRAPH)
+                .setParameter("hospitalId", hospitalId)
+                .list());
+    }
+
+    // Method to retrieve every PENDING BloodRequest record, oldest first (read through idx_blood_request_queue)
+    @Override
+    public List<BloodRequest> getPendingBloodRequests() {
+        return inSession(session -> createQuery(session,
+                "FROM BloodRequest r WHERE r.status = :pending ORDER BY r.requestedAt, r.requestId",
+                BloodRequest.class, BloodRequest.DETAILS_GRAPH)
+                .setParameter("pending", BloodRequest.Status.PENDING)
+                .list());
+    }
+
+    // Method to add issued units to a pending request with two UPDATEs, without loading it
+    @Override
+    public boolean recordAllocation(String requestId, int units, Date at) {
+        Boolean recorded = inTransactionReturning(session -> {
+            int updated = session.createMutationQuery(RECORD_ALLOCATION)
+                    .setParameter("units", units)
+                    .setParameter("requestId", requestId)
+                    .setParameter("pending", BloodRequest.Status.PENDING)
+                    .executeUpdate();
+            if (updated == 0) {
+                return false;  // Missing, fulfilled or cancelled
+            }
+            session.createMutationQuery(MARK_FULFILLED)
+                    .setParameter("fulfilled", BloodRequest.Status.FULFILLED)
+                    .setParameter("at", at)
+                    .setParameter("requestId", requestId)
+                    .setParameter("pending", BloodRequest.Status.PENDING)
+                    .executeUpdate();
+            return true;
+        });
+        return recorded != null && recorded;
+    }
+
+    // Method to mark a pending request cancelled with a single UPDATE
+    @Override
+    public boolean cancelBloodRequest(String requestId) {
+        Integer updated = inTransactionReturning(session -> session.createMutationQuery(CANCEL)
+                .setParameter("cancelled", BloodRequest.Status.CANCELLED)
+                .setParameter("requestId", requestId)
+                .setParameter("pending", BloodRequest.Status.PENDING)
+                .executeUpdate());
+        return updated != null && updated > 0;
+    }
+}
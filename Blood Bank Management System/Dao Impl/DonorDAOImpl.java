@@ -1,130 +1,99 @@
-package com.bloodbank.dao.impl;
-
-import java.util.List;  // Importing List to handle collections of Donor entities
-import org.hibernate.Session;  // Importing Session for interacting with the Hibernate session
-import org.hibernate.Transaction;  // Importing Transaction for managing transactions in Hibernate
-import com.bloodbank.dao.DonorDAO;  // Importing the DonorDao interface
-import com.bloodbank.entity.Donor;  // Importing the Donor entity class
-import com.bloodbank.util.HibernateUtil;  // Importing HibernateUtil to get the session factory
-
-// Implementation of DonorDao interface for CRUD operations on Donor entities
-public class DonorDAOImpl implements DonorDAO {
-
-    // Method to retrieve a Donor record by its unique identifier (donorId)
-    @Override
-    public Donor getDonorById(String donorId) {
-        // Opening a Hibernate session
-        Session session = HibernateUtil.getSessionFactory().openSession();
-        try {
-            // Retrieving the Donor entity by its primary key (donorId)
-            return session.get(Donor.class, donorId);
-        } catch (Exception e) {
-            // Printing the exception stack trace if any error occurs
-            e.printStackTrace();
-            return null;
-        } finally {
-            // Closing the session after the operation
-            session.close();
-        }
-    }
-
-    // Method to save a new Donor record in the database
-    @Override
-    public void saveDonor(Donor donor) {
-        // Opening a Hibernate session
-        Session session = HibernateUtil.getSessionFactory().openSession();
-        Transaction transaction = null;  // Declaring a transaction object
-        try {
-            // Starting a new transaction
-            transaction = session.beginTransaction();
-            // Saving the Donor entity to the database
-            session.save(donor);
-            // Committing the transaction to persist the entity
-            transaction.commit();
-        } catch (Exception e) {
-            // Rolling back the transaction in case of an error
-            if (transaction != null) {
-                transaction.rollback();
-            }
-            // Printing the exception stack trace
-            e.printStackTrace();
-        } finally {
-            // Closing the session after the operation
-            session.close();
-        }
-    }
-
-    // Method to update an existing Donor record in the database
-    @Override
-    public void updateDonor(Donor donor) {
-        // Opening a Hibernate session
-        Session session = HibernateUtil.getSessionFactory().openSession();
-        Transaction transaction = null;  // Declaring a transaction object
-        try {
-            // Starting a new transaction
-            transaction = session.beginTransaction();
-            // Updating the Donor entity in the database
-            session.update(donor);
-            // Committing the transaction to apply the changes
-            transaction.commit();
-        } catch (Exception e) {
-            // Rolling back the transaction in case of an error
-            if (transaction != null) {
-                transaction.rollback();
-            }
-            // Printing the exception stack trace
-            e.printStackTrace();
-        } finally {
-            // Closing the session after the operation
-            session.close();
-        }
-    }
-
-    // Method to delete a Donor record from the database by its unique identifier (donorId)
-    @Override
-    public void deleteDonor(String donorId) {
-        // Opening a Hibernate session
-        Session session = HibernateUtil.getSessionFactory().openSession();
-        Transaction transaction = null;  // Declaring a transaction object
-        try {
-            // Starting a new transaction
-            transaction = session.beginTransaction();
-            // Retrieving the Donor entity by its primary key (donorId)
-            Donor donor = session.get(Donor.class, donorId);
-            // If the Donor entity exists, delete it
-            if (donor != null) {
-                session.delete(donor);
-            }
-            // Committing the transaction to apply the deletion
-            transaction.commit();
-        } catch (Exception e) {
-            // Rolling back the transaction in case of an error
-            if (transaction != null) {
-                transaction.rollback();
-            }
-            // Printing the exception stack trace
-            e.printStackTrace();
-        } finally {
-            // Closing the session after the operation
-            session.close();
-        }
-    }
-
-    // Method to retrieve all Donor records from the database
-    @Override
-    public List<Donor> getAllDonors() {
-        // Opening a Hibernate session
-        Session session = HibernateUtil.getSessionFactory().openSession();
-        try {
-            // Creating and executing a query to retrieve all Donor entities
-            return session.createQuery("FROM Donor", Donor.class).list();
-        } catch (Exception e) {
-            // Printing the exception stack trace if any error occurs
-            e.printStackTrace();
-            return null;
-        } finally {
-            // Closing the session after the operation
-            session.close();
-        }
-    }
-}
+package com.bloodbank.dao.impl;
+
+import java.util.Collection;  // Importing Collection for bulk operations
+import java.util.List;  // Importing List for handling collections of Donor entities
+import java.util.Map;  // Importing Map for lookups keyed by id
+import java.util.function.Consumer;  // Importing Consumer for streaming callbacks
+
+import com.bloodbank.dao.DonorDAO;  // Importing the DonorDao interface
+import com.bloodbank.entity.Donor;  // Importing the Donor entity class
+import com.bloodbank.entity.DonorPatch;  // Importing DonorPatch for partial updates
+
+// Implementation of the DonorDao interface to perform CRUD operations on the Donor entity
+// Each method joins the caller's unit of work when one is active (see AbstractHibernateDAO)
+public class DonorDAOImpl extends AbstractHibernateDAO implements DonorDAO {
+
+    // Statements that delete Donor rows by id together with the rows that depend on them, in dependency order
+    private static final String[] DELETE_BY_IDS = {
+            "DELETE FROM Blood WHERE donatedBy.donorId IN :ids",
+            "DELETE FROM Donor WHERE donorId IN :ids"
+    };
+
+    // Method to retrieve a Donor record by its unique identifier (donorId)
+    @Override
+    public Donor getDonorById(String donorId) {
+        // Retrieving the Donor entity by its primary key (donorId)
+        return inSession(session -> findWithGraph(session, Donor.class, donorId, Donor.DETAILS_GRAPH));
+    }
+
+    // Method to retrieve many Donor records by their unique identifiers (donorId) in batched IN queries
+    @Override
+    public Map<String, Donor> getDonorsByIds(Collection<String> donorIds) {
+        return findByIds(Donor.class, Donor.DETAILS_GRAPH, donorIds);
+    }
+
+    // Method to save a new Donor record into the database
+    @Override
+    public void saveDonor(Donor donor) {
+        // Saving the Donor entity to the database
+        inTransaction(session -> session.save(donor));
+    }
+
+    // Method to save many Donor records in one transaction using JDBC batching
+    @Override
+    public int saveAll(Collection<Donor> donors) {
+        return saveAllBatched(donors, 0);
+    }
+
+    // Method to save many Donor records using JDBC batching, committing every commitSize records
+    @Override
+    public int saveAll(Collection<Donor> donors, int commitSize) {
+        return saveAllBatched(donors, commitSize);
+    }
+
+    // Method to update an existing Donor record in the database
+    @Override
+    public void updateDonor(Donor donor) {
+        // Updating the Donor entity in the database
+        inTransaction(session -> session.update(donor));
+    }
+
+    // Method to update only the fields set in the patch with one UPDATE statement, without loading the record
+    @Override
+    public boolean patchDonor(String donorId, DonorPatch patch) {
+        return patch(Donor.class, "donorId", donorId, patch);
+    }
+
+    // Method to delete a Donor record from the database by its unique identifier (donorId)
+    @Override
+    public void deleteDonor(String donorId) {
+        // Set-based delete by id: nothing is loaded into the session
+        deleteDonors(List.of(donorId));
+    }
+
+    // Method to delete many Donor records (and the blood units they donated) with set-based statements, dependent rows first
+    @Override
+    public int deleteDonors(Collection<String> donorIds) {
+        return deleteByIds(donorIds, DELETE_BY_IDS);
+    }
+
+    // Method to retrieve all Donor records from the database
+    @Override
+    public List<Donor> getAllDonors() {
+        // Creating and executing a query to retrieve all Donor entities
+        return inSession(session -> createQuery(session, "FROM Donor", Donor.class, Donor.DETAILS_GRAPH).list());
+    }
+
+    // Method to retrieve one page of Donor records (keyset pagination on donorId)
+    @Override
+    public List<Donor> getDonorsPage(String afterDonorId, int pageSize) {
+        return keysetPage(Donor.class, Donor.DETAILS_GRAPH, "donorId", afterDonorId, pageSize);
+    }
+
+    // Method to stream every Donor record through a forward-only cursor
+    @Override
+    public long forEachDonor(Consumer<Donor> action) {
+        // registeredBy is lazy, so the export reads the employee id from the foreign key without joining
+        return scroll("FROM Donor", Donor.class, action);
+    }
+}
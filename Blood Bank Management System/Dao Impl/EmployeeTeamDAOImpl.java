@@ -1,130 +1,111 @@
-package com.bloodbank.dao.impl;
-
-import java.util.List;  // Importing List to handle collections of EmployeeTeam entities
-import org.hibernate.Session;  // Importing Session to interact with the Hibernate session
-import org.hibernate.Transaction;  // Importing Transaction for managing transactions in Hibernate
-import com.bloodbank.dao.EmployeeTeamDAO;  // Importing the EmployeeTeamDao interface
-import com.bloodbank.entity.EmployeeTeam;  // Importing the EmployeeTeam entity class
-import com.bloodbank.util.HibernateUtil;  // Importing HibernateUtil to get the session factory
-
-// Implementation of EmployeeTeamDao interface for CRUD operations on EmployeeTeam entities
-public class EmployeeTeamDAOImpl implements EmployeeTeamDAO {
-
-    // Method to retrieve an EmployeeTeam record by its unique identifier (empId)
-    @Override
-    public EmployeeTeam getEmployeeTeamById(String empId) {
-        // Opening a Hibernate session
-        Session session = HibernateUtil.getSessionFactory().openSession();
-        try {
-            // Retrieving the EmployeeTeam entity by its primary key (empId)
-            return session.get(EmployeeTeam.class, empId);
-        } catch (Exception e) {
-            // Printing the exception stack trace if any error occurs
-            e.printStackTrace();
-            return null;
-        } finally {
-            // Closing the session after the operation
-            session.close();
-        }
-    }
-
-    // Method to save a new EmployeeTeam record in the database
-    @Override
-    public void saveEmployeeTeam(EmployeeTeam employeeTeam) {
-        // Opening a Hibernate session
-        Session session = HibernateUtil.getSessionFactory().openSession();
-        Transaction transaction = null;  // Declaring a transaction object
-        try {
-            // Starting a new transaction
-            transaction = session.beginTransaction();
-            // Saving the EmployeeTeam entity to the database
-            session.save(employeeTeam);
-            // Committing the transaction to persist the entity
-            transaction.commit();
-        } catch (Exception e) {
-            // Rolling back the transaction in case of an error
-            if (transaction != null) {
-                transaction.rollback();
-            }
-            // Printing the exception stack trace
-            e.printStackTrace();
-        } finally {
-            // Closing the session after the operation
-            session.close();
-        }
-    }
-
-    // Method to update an existing EmployeeTeam record in the database
-    @Override
-    public void updateEmployeeTeam(EmployeeTeam employeeTeam) {
-        // Opening a Hibernate session
-        Session session = HibernateUtil.getSessionFactory().openSession();
-        Transaction transaction = null;  // Declaring a transaction object
-        try {
-            // Starting a new transaction
-            transaction = session.beginTransaction();
-            // Updating the EmployeeTeam entity in the database
-            session.update(employeeTeam);
-            // Committing the transaction to apply the changes
-            transaction.commit();
-        } catch (Exception e) {
-            // Rolling back the transaction in case of an error
-            if (transaction != null) {
-                transaction.rollback();
-            }
-            // Printing the exception stack trace
-            e.printStackTrace();
-        } finally {
-            // Closing the session after the operation
-            session.close();
-        }
-    }
-
-    // Method to delete an EmployeeTeam record from the database by its unique identifier (empId)
-    @Override
-    public void deleteEmployeeTeam(String empId) {
-        // Opening a Hibernate session
-        Session session = HibernateUtil.getSessionFactory().openSession();
-        Transaction transaction = null;  // Declaring a transaction object
-        try {
-            // Starting a new transaction
-            transaction = session.beginTransaction();
-            // Retrieving the EmployeeTeam entity by its primary key (empId)
-            EmployeeTeam employeeTeam = session.get(EmployeeTeam.class, empId);
-            // If the EmployeeTeam entity exists, delete it
-            if (employeeTeam != null) {
-                session.delete(employeeTeam);
-            }
-            // Committing the transaction to apply the deletion
-            transaction.commit();
-        } catch (Exception e) {
-            // Rolling back the transaction in case of an error
-            if (transaction != null) {
-                transaction.rollback();
-            }
-            // Printing the exception stack trace
-            e.printStackTrace();
-        } finally {
-            // Closing the session after the operation
-            session.close();
-        }
-    }
-
-    // Method to retrieve all EmployeeTeam records from the database
-    @Override
-    public List<EmployeeTeam> getAllEmployeeTeams() {
-        // Opening a Hibernate session
-        Session session = HibernateUtil.getSessionFactory().openSession();
-        try {
-            // Creating and executing a query to retrieve all EmployeeTeam entities
-            return session.createQuery("FROM EmployeeTeam", EmployeeTeam.class).list();
-        } catch (Exception e) {
-            // Printing the exception stack trace if any error occurs
-            e.printStackTrace();
-            return null;
-        } finally {
-            // Closing the session after the operation
-            session.close();
-        }
-    }
-}
+package com.bloodbank.dao.impl;
+
+import java.util.Collection;  // Importing Collection for bulk operations
+import java.util.List;  // Importing List for handling collections of EmployeeTeam entities
+import java.util.Map;  // Importing Map for lookups keyed by id
+import java.util.concurrent.CompletableFuture;  // Importing CompletableFuture for background purges
+
+import com.bloodbank.dao.EmployeeTeamDAO;  // Importing the EmployeeTeamDao interface
+import com.bloodbank.entity.EmployeeTeam;  // Importing the EmployeeTeam entity class
+
+// Implementation of the EmployeeTeamDao interface to perform CRUD operations on the EmployeeTeam entity
+// Each method joins the caller's unit of work when one is active (see AbstractHibernateDAO)
+public class EmployeeTeamDAOImpl extends AbstractHibernateDAO implements EmployeeTeamDAO {
+
+    // Statements that delete EmployeeTeam rows by id together with the rows that depend on them, in dependency order
+    private static final String[] DELETE_BY_IDS = {
+            "DELETE FROM Blood WHERE donatedBy.donorId IN (SELECT d.donorId FROM Donor d WHERE d.registeredBy.empId IN :ids)",
+            "DELETE FROM Blood WHERE receivedBy.patientId IN (SELECT p.patientId FROM Patient p WHERE p.registeredBy.empId IN :ids)",
+            "UPDATE Blood SET reservedFor = null, reservedUntil = null"
+                    + " WHERE reservedFor.patientId IN (SELECT p.patientId FROM Patient p WHERE p.registeredBy.empId IN :ids)",
+            "DELETE FROM BloodRequest WHERE patient.patientId IN (SELECT p.patientId FROM Patient p WHERE p.registeredBy.empId IN :ids)",
+            "DELETE FROM Donor WHERE registeredBy.empId IN :ids",
+            "DELETE FROM Patient WHERE registeredBy.empId IN :ids",
+            "DELETE FROM EmployeeTeam WHERE empId IN :ids"
+    };
+
+    // Method to retrieve an EmployeeTeam record by its unique identifier (empId)
+    @Override
+    public EmployeeTeam getEmployeeTeamById(String empId) {
+        // Retrieving the EmployeeTeam entity by its primary key (empId)
+        return inSession(session -> session.get(EmployeeTeam.class, empId));
+    }
+
+    // Method to retrieve many EmployeeTeam records by their unique identifiers (empId) in batched IN queries
+    @Override
+    public Map<String, EmployeeTeam> getEmployeeTeamsByIds(Collection<String> empIds) {
+        return findByIds(EmployeeTeam.class, null, empIds);
+    }
+
+    // Method to save a new EmployeeTeam record into the database
+    @Override
+    public void saveEmployeeTeam(EmployeeTeam employeeTeam) {
+        // Saving the EmployeeTeam entity to the database
+        inTransaction(session -> session.save(employeeTeam));
+    }
+
+    // Method to update an existing EmployeeTeam record in the database
+    @Override
+    public void updateEmployeeTeam(EmployeeTeam employeeTeam) {
+        // Updating the EmployeeTeam entity in the database
+        inTransaction(session -> session.update(employeeTeam));
+    }
+
+    // Method to delete an EmployeeTeam record from the database by its unique identifier (empId)
+    @Override
+    public void deleteEmployeeTeam(String empId) {
+        // Set-based delete by id: nothing is loaded into the session
+        deleteEmployeeTeams(List.of(empId));
+    }
+
+    // Method to delete many EmployeeTeam records (and their donors and patients, with those people's blood units) with set-based statements, dependent rows first
+    @Override
+    public int deleteEmployeeTeams(Collection<String> empIds) {
+        return deleteByIds(empIds, DELETE_BY_IDS);
+    }
+
+    // Method to retrieve all EmployeeTeam records from the database
+    @Override
+    public List<EmployeeTeam> getAllEmployeeTeams() {
+        // Creating and executing a query to retrieve all EmployeeTeam entities
+        return inSession(session -> session.createQuery("FROM EmployeeTeam", EmployeeTeam.class).list());
+    }
+
+    // Method to retrieve one page of EmployeeTeam records (keyset pagination on empId)
+    @Override
+    public List<EmployeeTeam> getEmployeeTeamsPage(String afterEmployeeTeamId, int pageSize) {
+        return keysetPage(EmployeeTeam.class, "empId", afterEmployeeTeamId, pageSize);
+    }
+
+    // Method to delete an EmployeeTeam whose cascade is too large for one transaction: the donors, patients, their blood units and the patients' blood requests are deleted
+    // chunkSize rows per transaction on the background purge thread, then the EmployeeTeam itself
+    @Override
+    public CompletableFuture<Long> purgeEmployeeTeam(String empId, int chunkSize) {
+        return inBackground(() -> {
+            long deleted = 0;
+            // Deleting the blood units donated by the team's donors
+            deleted += deleteInChunks("SELECT b.bloodId FROM Blood b WHERE b.donatedBy.registeredBy.empId = :parentId",
+                    empId, "DELETE FROM Blood WHERE bloodId IN :ids", chunkSize);
+            // Deleting the blood units received by the team's patients
+            deleted += deleteInChunks("SELECT b.bloodId FROM Blood b WHERE b.receivedBy.registeredBy.empId = :parentId",
+                    empId, "DELETE FROM Blood WHERE bloodId IN :ids", chunkSize);
+            // Deleting the donors registered by the team
+            deleted += deleteInChunks("SELECT d.donorId FROM Donor d WHERE d.registeredBy.empId = :parentId",
+                    empId, "DELETE FROM Donor WHERE donorId IN :ids", chunkSize);
+            // Ending the holds on the units held for the team's patients (the units stay in stock, so they are not counted)
+            deleteInChunks("SELECT b.bloodId FROM Blood b WHERE b.reservedFor.registeredBy.empId = :parentId",
+                    empId, "UPDATE Blood SET reservedFor = null, reservedUntil = null WHERE bloodId IN :ids", chunkSize);
+            // Deleting the requests made for the team's patients
+            deleted += deleteInChunks("SELECT r.requestId FROM BloodRequest r WHERE r.patient.registeredBy.empId = :parentId",
+                    empId, "DELETE FROM BloodRequest WHERE requestId IN :ids", chunkSize);
+            // Deleting the patients registered by the team
+            deleted += deleteInChunks("SELECT p.patientId FROM Patient p WHERE p.registeredBy.empId = :parentId",
+                    empId, "DELETE FROM Patient WHERE patientId IN :ids", chunkSize);
+            int roots = deleteEmployeeTeams(List.of(empId));
+            if (roots < 0) {
+                throw new IllegalStateException("Failed to delete EmployeeTeam " + empId);
+            }
+            return deleted + roots;
+        });
+    }
+}
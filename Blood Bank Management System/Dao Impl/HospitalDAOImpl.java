@@ -1,130 +1,72 @@
-package com.bloodbank.dao.impl;
-
-import java.util.List;  // Importing List to handle collections of Hospital entities
-import org.hibernate.Session;  // Importing Session to interact with the Hibernate session
-import org.hibernate.Transaction;  // Importing Transaction for managing transactions in Hibernate
-import com.bloodbank.dao.HospitalDAO;  // Importing the HospitalDao interface
-import com.bloodbank.entity.Hospital;  // Importing the Hospital entity class
-import com.bloodbank.util.HibernateUtil;  // Importing HibernateUtil to get the session factory
-
-// Implementation of HospitalDao interface for CRUD operations on Hospital entities
-public class HospitalDAOImpl implements HospitalDAO {
-
-    // Method to retrieve a Hospital record by its unique identifier (hospitalId)
-    @Override
-    public Hospital getHospitalById(String hospitalId) {
-        // Opening a Hibernate session
-        Session session = HibernateUtil.getSessionFactory().openSession();
-        try {
-            // Retrieving the Hospital entity by its primary key (hospitalId)
-            return session.get(Hospital.class, hospitalId);
-        } catch (Exception e) {
-            // Printing the exception stack trace if any error occurs
-            e.printStackTrace();
-            return null;
-        } finally {
-            // Closing the session after the operation
-            session.close();
-        }
-    }
-
-    // Method to save a new Hospital record in the database
-    @Override
-    public void saveHospital(Hospital hospital) {
-        // Opening a Hibernate session
-        Session session = HibernateUtil.getSessionFactory().openSession();
-        Transaction transaction = null;  // Declaring a transaction object
-        try {
-            // Starting a new transaction
-            transaction = session.beginTransaction();
-            // Saving the Hospital entity to the database
-            session.save(hospital);
-            // Committing the transaction to persist the entity
-            transaction.commit();
-        } catch (Exception e) {
-            // Rolling back the transaction in case of an error
-            if (transaction != null) {
-                transaction.rollback();
-            }
-            // Printing the exception stack trace
-            e.printStackTrace();
-        } finally {
-            // Closing the session after the operation
-            session.close();
-        }
-    }
-
-    // Method to update an existing Hospital record in the database
-    @Override
-    public void updateHospital(Hospital hospital) {
-        // Opening a Hibernate session
-        Session session = HibernateUtil.getSessionFactory().openSession();
-        Transaction transaction = null;  // Declaring a transaction object
-        try {
-            // Starting a new transaction
-            transaction = session.beginTransaction();
-            // Updating the Hospital entity in the database
-            session.update(hospital);
-            // Committing the transaction to apply the changes
-            transaction.commit();
-        } catch (Exception e) {
-            // Rolling back the transaction in case of an error
-            if (transaction != null) {
-                transaction.rollback();
-            }
-            // Printing the exception stack trace
-            e.printStackTrace();
-        } finally {
-            // Closing the session after the operation
-            session.close();
-        }
-    }
-
-    // Method to delete a Hospital record from the database by its unique identifier (hospitalId)
-    @Override
-    public void deleteHospital(String hospitalId) {
-        // Opening a Hibernate session
-        Session session = HibernateUtil.getSessionFactory().openSession();
-        Transaction transaction = null;  // Declaring a transaction object
-        try {
-            // Starting a new transaction
-            transaction = session.beginTransaction();
-            // Retrieving the Hospital entity by its primary key (hospitalId)
-            Hospital hospital = session.get(Hospital.class, hospitalId);
-            // If the Hospital entity exists, delete it
-            if (hospital != null) {
-                session.delete(hospital);
-            }
-            // Committing the transaction to apply the deletion
-            transaction.commit();
-        } catch (Exception e) {
-            // Rolling back the transaction in case of an error
-            if (transaction != null) {
-                transaction.rollback();
-            }
-            // Printing the exception stack trace
-            e.printStackTrace();
-        } finally {
-            // Closing the session after the operation
-            session.close();
-        }
-    }
-
-    // Method to retrieve all Hospital records from the database
-    @Override
-    public List<Hospital> getAllHospitals() {
-        // Opening a Hibernate session
-        Session session = HibernateUtil.getSessionFactory().openSession();
-        try {
-            // Creating and executing a query to retrieve all Hospital entities
-            return session.createQuery("FROM Hospital", Hospital.class).list();
-        } catch (Exception e) {
-            // Printing the exception stack trace if any error occurs
-            e.printStackTrace();
-            return null;
-        } finally {
-            // Closing the session after the operation
-            session.close();
-        }
-    }
-}
+package com.bloodbank.dao.impl;
+
+import java.util.Collection;  // Importing Collection for bulk operations
+import java.util.List;  // Importing List for handling collections of Hospital entities
+import java.util.Map;  // Importing Map for lookups keyed by id
+
+import com.bloodbank.dao.HospitalDAO;  // Importing the HospitalDao interface
+import com.bloodbank.entity.Hospital;  // Importing the Hospital entity class
+
+// Implementation of the HospitalDao interface to perform CRUD operations on the Hospital entity
+// Each method joins the caller's unit of work when one is active (see AbstractHibernateDAO)
+public class HospitalDAOImpl extends AbstractHibernateDAO implements HospitalDAO {
+
+    // Statements that delete Hospital rows by id together with the rows that depend on them, in dependency order
+    private static final String[] DELETE_BY_IDS = {
+            "DELETE FROM BloodRequest WHERE hospital.hospitalId IN :ids",
+            "DELETE FROM Hospital WHERE hospitalId IN :ids"
+    };
+
+    // Method to retrieve a Hospital record by its unique identifier (hospitalId)
+    @Override
+    public Hospital getHospitalById(String hospitalId) {
+        // Retrieving the Hospital entity by its primary key (hospitalId)
+        return inSession(session -> findWithGraph(session, Hospital.class, hospitalId, Hospital.DETAILS_GRAPH));
+    }
+
+    // Method to retrieve many Hospital records by their unique identifiers (hospitalId) in batched IN queries
+    @Override
+    public Map<String, Hospital> getHospitalsByIds(Collection<String> hospitalIds) {
+        return findByIds(Hospital.class, Hospital.DETAILS_GRAPH, hospitalIds);
+    }
+
+    // Method to save a new Hospital record into the database
+    @Override
+    public void saveHospital(Hospital hospital) {
+        // Saving the Hospital entity to the database
+        inTransaction(session -> session.save(hospital));
+    }
+
+    // Method to update an existing Hospital record in the database
+    @Override
+    public void updateHospital(Hospital hospital) {
+        // Updating the Hospital entity in the database
+        inTransaction(session -> session.update(hospital));
+    }
+
+    // Method to delete a Hospital record from the database by its unique identifier (hospitalId)
+    @Override
+    public void deleteHospital(String hospitalId) {
+        // Set-based delete by id: nothing is loaded into the session
+        deleteHospitals(List.of(hospitalId));
+    }
+
+    // Method to delete many Hospital records with set-based statements, dependent rows first
+    @Override
+    public int deleteHospitals(Collection<String> hospitalIds) {
+        return deleteByIds(hospitalIds, DELETE_BY_IDS);
+    }
+
+    // Method to retrieve all Hospital records from the database
+    @Override
+    public List<Hospital> getAllHospitals() {
+        // Creating and executing a query to retrieve all Hospital entities
+        return inSession(session -> createQuery(session, "FROM Hospital", Hospital.class, Hospital.DETAILS_GRAPH).list());
+    }
+
+    // Method to retrieve one page of Hospital records (keyset pagination on hospitalId)
+    @Override
+    public List<Hospital> getHospitalsPage(String afterHospitalId, int pageSize) {
+        return keysetPage(Hospital.class, Hospital.DETAILS_GRAPH, "hospitalId", afterHospitalId, pageSize);
+    }
+}
@@ -1,130 +1,102 @@
-package com.bloodbank.dao.impl;
-
-import java.util.List;  // Importing List to handle collections of Patient entities
-import org.hibernate.Session;  // Importing Session to interact with the Hibernate session
-import org.hibernate.Transaction;  // Importing Transaction to manage transactions in Hibernate
-import com.bloodbank.dao.PatientDAO;  // Importing the PatientDao interface
-import com.bloodbank.entity.Patient;  // Importing the Patient entity class
-import com.bloodbank.util.HibernateUtil;  // Importing HibernateUtil to get the session factory
-
-// Implementation of the PatientDao interface for CRUD operations on Patient entities
-public class PatientDAOImpl implements PatientDAO {
-
-    // Method to retrieve a Patient record by its unique identifier (patientId)
-    @Override
-    public Patient getPatientById(String patientId) {
-        // Opening a Hibernate session
-        Session session = HibernateUtil.getSessionFactory().openSession();
-        try {
-            // Retrieving the Patient entity by its primary key (patientId)
-            return session.get(Patient.class, patientId);
-        } catch (Exception e) {
-            // Printing the exception stack trace if any error occurs
-            e.printStackTrace();
-            return null;
-        } finally {
-            // Closing the session after the operation
-            session.close();
-        }
-    }
-
-    // Method to save a new Patient record to the database
-    @Override
-    public void savePatient(Patient patient) {
-        // Opening a Hibernate session
-        Session session = HibernateUtil.getSessionFactory().openSession();
-        Transaction transaction = null;  // Declaring a transaction object
-        try {
-            // Starting a new transaction
-            transaction = session.beginTransaction();
-            // Saving the Patient entity to the database
-            session.save(patient);
-            // Committing the transaction to persist the entity
-            transaction.commit();
-        } catch (Exception e) {
-            // Rolling back the transaction in case of an error
-            if (transaction != null) {
-                transaction.rollback();
-            }
-            // Printing the exception stack trace
-            e.printStackTrace();
-        } finally {
-            // Closing the session after the operation
-            session.close();
-        }
-    }
-
-    // Method to update an existing Patient record in the database
-    @Override
-    public void updatePatient(Patient patient) {
-        // Opening a Hibernate session
-        Session session = HibernateUtil.getSessionFactory().openSession();
-        Transaction transaction = null;  // Declaring a transaction object
-        try {
-            // Starting a new transaction
-            transaction = session.beginTransaction();
-            // Updating the Patient entity in the database
-            session.update(patient);
-            // Committing the transaction to apply the changes
-            transaction.commit();
-        } catch (Exception e) {
-            // Rolling back the transaction in case of an error
-            if (transaction != null) {
-                transaction.rollback();
-            }
-            // Printing the exception stack trace
-            e.printStackTrace();
-        } finally {
-            // Closing the session after the operation
-            session.close();
-        }
-    }
-
-    // Method to delete a Patient record from the database by its unique identifier (patientId)
-    @Override
-    public void deletePatient(String patientId) {
-        // Opening a Hibernate session
-        Session session = HibernateUtil.getSessionFactory().openSession();
-        Transaction transaction = null;  // Declaring a transaction object
-        try {
-            // Starting a new transaction
-            transaction = session.beginTransaction();
-            // Retrieving the Patient entity by its primary key (patientId)
-            Patient patient = session.get(Patient.class, patientId);
-            // If the Patient entity exists, delete it
-            if (patient != null) {
-                session.delete(patient);
-            }
-            // Committing the transaction to apply the deletion
-            transaction.commit();
-        } catch (Exception e) {
-            // Rolling back the transaction in case of an error
-            if (transaction != null) {
-                transaction.rollback();
-            }
-            // Printing the exception stack trace
-            e.printStackTrace();
-        } finally {
-            // Closing the session after the operation
-            session.close();
-        }
-    }
-
-    // Method to retrieve all Patient records from the database
-    @Override
-    public List<Patient> getAllPatients() {
-        // Opening a Hibernate session
-        Session session = HibernateUtil.getSessionFactory().openSession();
-        try {
-            // Creating and executing a query to retrieve all Patient entities
-            return session.createQuery("FROM Patient", Patient.class).list();
-        } catch (Exception e) {
-            // Printing the exception stack trace if any error occurs
-            e.printStackTrace();
-            return null;
-        } finally {
-            // Closing the session after the operation
-            session.close();
-        }
-    }
-}
+package com.bloodbank.dao.impl;
+
+import java.util.Collection;  // Importing Collection for bulk operations
+import java.util.List;  // Importing List for handling collections of Patient entities
+import java.util.Map;  // Importing Map for lookups keyed by id
+import java.util.function.Consumer;  // Importing Consumer for streaming callbacks
+
+import com.bloodbank.dao.PatientDAO;  // Importing the PatientDao interface
+import com.bloodbank.entity.Patient;  // Importing the Patient entity class
+import com.bloodbank.entity.PatientPatch;  // Importing PatientPatch for partial updates
+
+// Implementation of the PatientDao interface to perform CRUD operations on the Patient entity
+// Each method joins the caller's unit of work when one is active (see AbstractHibernateDAO)
+public class PatientDAOImpl extends AbstractHibernateDAO implements PatientDAO {
+
+    // Statements that delete Patient rows by id together with the rows that depend on them, in dependency order
+    private static final String[] DELETE_BY_IDS = {
+            "DELETE FROM Blood WHERE receivedBy.patientId IN :ids",
+            "UPDATE Blood SET reservedFor = null, reservedUntil = null WHERE reservedFor.patientId IN :ids",  // Held units stay in stock
+            "DELETE FROM BloodRequest WHERE patient.patientId IN :ids",
+            "DELETE FROM Patient WHERE patientId IN :ids"
+    };
+
+    // Method to retrieve a Patient record by its unique identifier (patientId)
+    @Override
+    public Patient getPatientById(String patientId) {
+        // Retrieving the Patient entity by its primary key (patientId)
+        return inSession(session -> findWithGraph(session, Patient.class, patientId, Patient.DETAILS_GRAPH));
+    }
+
+    // Method to retrieve many Patient records by their unique identifiers (patientId) in batched IN queries
+    @Override
+    public Map<String, Patient> getPatientsByIds(Collection<String> patientIds) {
+        return findByIds(Patient.class, Patient.DETAILS_GRAPH, patientIds);
+    }
+
+    // Method to save a new Patient record into the database
+    @Override
+    public void savePatient(Patient patient) {
+        // Saving the Patient entity to the database
+        inTransaction(session -> session.save(patient));
+    }
+
+    // Method to save many Patient records in one transaction using JDBC batching
+    @Override
+    public int saveAll(Collection<Patient> patients) {
+        return saveAllBatched(patients, 0);
+    }
+
+    // Method to save many Patient records using JDBC batching, committing every commitSize records
+    @Override
+    public int saveAll(Collection<Patient> patients, int commitSize) {
+        return saveAllBatched(patients, commitSize);
+    }
+
+    // Method to update an existing Patient record in the database
+    @Override
+    public void updatePatient(Patient patient) {
+        // Updating the Patient entity in the database
+        inTransaction(session -> session.update(patient));
+    }
+
+    // Method to update only the fields set in the patch with one UPDATE statement, without loading the record
+    @Override
+    public boolean patchPatient(String patientId, PatientPatch patch) {
+        return patch(Patient.class, "patientId", patientId, patch);
+    }
+
+    // Method to delete a Patient record from the database by its unique identifier (patientId)
+    @Override
+    public void deletePatient(String patientId) {
+        // Set-based delete by id: nothing is loaded into the session
+        deletePatients(List.of(patientId));
+    }
+
+    // Method to delete many Patient records (and the blood units they received, ending the holds on the units held for them) with
+    // set-based statements, dependent rows first
+    @Override
+    public int deletePatients(Collection<String> patientIds) {
+        return deleteByIds(patientIds, DELETE_BY_IDS);
+    }
+
+    // Method to retrieve all Patient records from the database
+    @Override
+    public List<Patient> getAllPatients() {
+        // Creating and executing a query to retrieve all Patient entities
+        return inSession(session -> createQuery(session, "FROM Patient", Patient.class, Patient.DETAILS_GRAPH).list());
+    }
+
+    // Method to retrieve one page of Patient records (keyset pagination on patientId)
+    @Override
+    public List<Patient> getPatientsPage(String afterPatientId, int pageSize) {
+        return keysetPage(Patient.class, Patient.DETAILS_GRAPH, "patientId", afterPatientId, pageSize);
+    }
+
+    // Method to stream every Patient record through a forward-only cursor
+    @Override
+    public long forEachPatient(Consumer<Patient> action) {
+        // registeredBy is lazy, so the export reads the employee id from the foreign key without joining
+        return scroll("FROM Patient", Patient.class, action);
+    }
+}
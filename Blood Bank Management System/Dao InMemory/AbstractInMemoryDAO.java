@@ -0,0 +1,242 @@
+package com.bloodbank.dao.inmemory;
+
+import java.util.ArrayList;  // Importing ArrayList for results and chunks
+import java.util.Collection;  // Importing Collection for bulk operations
+import java.util.Iterator;  // Importing Iterator to take chunks of ids
+import java.util.LinkedHashMap;  // Importing LinkedHashMap to key multi-get results in request order
+import java.util.List;  // Importing List for results
+import java.util.Map;  // Importing Map for table lookups
+import java.util.NavigableMap;  // Importing NavigableMap for ordered tables
+import java.util.NavigableSet;  // Importing NavigableSet for ordered index buckets
+import java.util.concurrent.CompletableFuture;  // Importing CompletableFuture for background purges
+import java.util.concurrent.ExecutorService;  // Importing ExecutorService for the purge thread
+import java.util.concurrent.Executors;  // Importing Executors to create the purge thread
+import java.util.function.Consumer;  // Importing Consumer for inserts, undos and streaming callbacks
+import java.util.function.Function;  // Importing Function to turn rows into entities
+import java.util.function.Predicate;  // Importing Predicate to re-check index hits
+import java.util.function.Supplier;  // Importing Supplier for write blocks
+import java.util.function.ToIntFunction;  // Importing ToIntFunction for per-id deletes
+
+import com.bloodbank.util.UnitOfWork;  // Importing UnitOfWork to decide how failures are reported
+import com.bloodbank.util.MethodMetrics;  // Importing MethodMetrics to count caught failures
+
+// Base class for the in-memory DAOs. It mirrors AbstractHibernateDAO: a failed write is printed and ignored,
+// unless it runs inside a unit of work, where it propagates to the caller like a failed flush would.
+public abstract class AbstractInMemoryDAO {
+
+    // Single daemon thread that runs background purges one after another
+    private static final ExecutorService PURGE_EXECUTOR = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "bloodbank-memory-purge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    protected final InMemoryDatabase db;  // Tables and indexes shared by the DAOs of one database
+
+    protected AbstractInMemoryDAO(InMemoryDatabase db) {
+        this.db = db;
+    }
+
+    // Runs a write under the database lock and returns its result (null if the standalone write fails)
+    protected <T> T inWriteReturning(Supplier<T> change) {
+        try {
+            return db.write(change);
+        } catch (RuntimeException e) {
+            if (UnitOfWork.isActive()) {
+                throw e;  // Errors propagate so the unit of work sees them
+            }
+            // Printing the exception stack trace, as the Hibernate DAOs do
+            e.printStackTrace();
+            MethodMetrics.markFailed();
+            return null;
+        }
+    }
+
+    // Runs a write under the database lock
+    protected void inWrite(Runnable change) {
+        inWriteReturning(() -> {
+            change.run();
+            return null;
+        });
+    }
+
+    // The error a database constraint would raise
+    protected static IllegalStateException violation(String message) {
+        return new IllegalStateException(message);
+    }
+
+    // Fails like a NOT NULL column, or a manually assigned id that was never set
+    protected static void requireValue(Object value, String property) {
+        if (value == null) {
+            throw violation("not-null property references a null value: " + property);
+        }
+    }
+
+    // Fails like a foreign key that references a missing row
+    protected static void requireReference(Map<String, ?> table, String id, String property) {
+        if (id != null && !table.containsKey(id)) {
+            throw violation("foreign key " + property + " references missing row '" + id + "'");
+        }
+    }
+
+    // Fails like a unique column that already holds the value for another row
+    protected static void requireUnique(Map<String, String> owners, String value, String ownerId, String column) {
+        String owner = value == null ? null : owners.get(value);
+        if (owner != null && !owner.equals(ownerId)) {
+            throw violation("duplicate entry '" + value + "' for unique column " + column);
+        }
+    }
+
+    // Fails like an insert whose primary key is taken
+    protected static void requireNew(Map<String, ?> table, String id, String entityName) {
+        requireValue(id, entityName + " id");
+        if (table.containsKey(id)) {
+            throw violation("duplicate entry '" + id + "' for " + entityName + " primary key");
+        }
+    }
+
+    // Fails like an update of a row that does not exist
+    protected static void requireExisting(Map<String, ?> table, String id, String entityName) {
+        requireValue(id, entityName + " id");
+        if (!table.containsKey(id)) {
+            throw violation(entityName + " '" + id + "' does not exist");
+        }
+    }
+
+    // Reads one row by id (null if there is none)
+    protected <R, T> T readById(Map<String, R> table, String id, Function<R, T> reader) {
+        R row = id == null ? null : table.get(id);
+        return row == null ? null : reader.apply(row);
+    }
+
+    // Reads many rows by id; returns the ones found keyed by id, in request order
+    protected <R, T> Map<String, T> readByIds(Map<String, R> table, Collection<String> ids, Function<R, T> reader) {
+        Map<String, T> found = new LinkedHashMap<>(ids.size() * 4 / 3 + 1);
+        for (String id : ids) {
+            R row = id == null ? null : table.get(id);
+            if (row != null && !found.containsKey(id)) {
+                found.put(id, reader.apply(row));
+            }
+        }
+        return found;
+    }
+
+    // Reads every row of a table in id order
+    protected <R, T> List<T> readAll(NavigableMap<String, R> table, Function<R, T> reader) {
+        List<T> result = new ArrayList<>();
+        for (R row : table.values()) {
+            result.add(reader.apply(row));
+        }
+        return result;
+    }
+
+    // Keyset pagination over a table: up to pageSize rows whose id sorts after afterId (null for the first page)
+    protected <R, T> List<T> keysetPage(NavigableMap<String, R> table, String afterId, int pageSize,
+                                        Function<R, T> reader) {
+        List<T> page = new ArrayList<>(Math.min(pageSize, 256));
+        for (R row : (afterId == null ? table : table.tailMap(afterId, false)).values()) {
+            if (page.size() >= pageSize) {
+                break;
+            }
+            page.add(reader.apply(row));
+        }
+        return page;
+    }
+
+    // Keyset pagination over an index bucket. Each hit is re-checked against its row, since reads do not wait
+    // for writers that are moving the row to another bucket.
+    protected <R, T> List<T> keysetPage(NavigableSet<String> ids, Map<String, R> table, Predicate<R> matches,
+                                        String afterId, int pageSize, Function<R, T> reader) {
+        List<T> page = new ArrayList<>(Math.min(pageSize, 256));
+        for (String id : afterId == null ? ids : ids.tailSet(afterId, false)) {
+            if (page.size() >= pageSize) {
+                break;
+            }
+            R row = table.get(id);
+            if (row != null && matches.test(row)) {
+                page.add(reader.apply(row));
+            }
+        }
+        return page;
+    }
+
+    // Hands every row to the action in id order; returns the number of rows
+    protected <R, T> long forEach(NavigableMap<String, R> table, Function<R, T> reader, Consumer<? super T> action) {
+        long count = 0;
+        for (R row : table.values()) {
+            action.accept(reader.apply(row));
+            count++;
+        }
+        return count;
+    }
+
+    // Inserts the entities commitSize at a time (0 = all at once). A failing chunk is undone, like a rolled back
+    // transaction, and stops the load; earlier chunks stay. Returns the number of entities kept.
+    protected <E> int saveAllChunked(Collection<E> entities, int commitSize, Consumer<E> insert, Consumer<E> undo) {
+        int chunkSize = commitSize > 0 ? commitSize : Math.max(1, entities.size());
+        List<E> chunk = new ArrayList<>(Math.min(chunkSize, entities.size()));
+        int committed = 0;
+        Iterator<E> iterator = entities.iterator();
+        while (iterator.hasNext()) {
+            chunk.clear();
+            while (iterator.hasNext() && chunk.size() < chunkSize) {
+                chunk.add(iterator.next());
+            }
+            Integer saved = inWriteReturning(() -> {
+                List<E> inserted = new ArrayList<>(chunk.size());
+                try {
+                    for (E entity : chunk) {
+                        insert.accept(entity);
+                        inserted.add(entity);
+                    }
+                } catch (RuntimeException e) {
+                    inserted.forEach(undo);  // Rolling back the chunk
+                    throw e;
+                }
+                return inserted.size();
+            });
+            if (saved == null) {
+                break;
+            }
+            committed += saved;
+        }
+        return committed;
+    }
+
+    // Deletes the rows (and their dependants) in one write; returns the root rows deleted, or -1 if the delete fails
+    protected int deleteByIds(Collection<String> ids, ToIntFunction<String> cascade) {
+        Integer deleted = inWriteReturning(() -> {
+            int roots = 0;
+            for (String id : ids) {
+                roots += cascade.applyAsInt(id);
+            }
+            return roots;
+        });
+        return deleted == null ? -1 : deleted;
+    }
+
+    // Deletes the rows listed in the index bucket chunkSize at a time, releasing the write lock between chunks so
+    // other writers are not held up by a very large cascade. Returns the rows deleted.
+    protected long deleteInChunks(NavigableSet<String> ids, int chunkSize, ToIntFunction<String> delete) {
+        long deleted = 0;
+        while (true) {
+            long removed = db.write(() -> {
+                long count = 0;
+                Iterator<String> iterator = ids.iterator();
+                while (iterator.hasNext() && count < chunkSize) {
+                    count += delete.applyAsInt(iterator.next());
+                }
+                return count;
+            });
+            if (removed == 0) {
+                return deleted;
+            }
+            deleted += removed;
+        }
+    }
+
+    // Runs a purge on the background purge thread; the future completes exceptionally if the purge fails
+    protected static <T> CompletableFuture<T> inBackground(Supplier<T> purge) {
+        return CompletableFuture.supplyAsync(purge, PURGE_EXECUTOR);
+    }
+}
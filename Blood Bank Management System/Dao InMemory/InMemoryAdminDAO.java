@@ -0,0 +1,87 @@
+package com.bloodbank.dao.inmemory;
+
+import java.util.Collection;  // Importing Collection for bulk operations
+import java.util.List;  // Importing List for handling collections of Admin entities
+import java.util.Map;  // Importing Map for lookups keyed by id
+
+import com.bloodbank.dao.AdminDAO;  // Importing the AdminDao interface
+import com.bloodbank.entity.Admin;  // Importing the Admin entity class
+
+// In-memory implementation of the AdminDao interface, with the same behaviour as AdminDAOImpl
+public class InMemoryAdminDAO extends AbstractInMemoryDAO implements AdminDAO {
+
+    public InMemoryAdminDAO() {
+        this(InMemoryDatabase.shared());
+    }
+
+    public InMemoryAdminDAO(InMemoryDatabase db) {
+        super(db);
+    }
+
+    // Method to retrieve an Admin record by its unique identifier (adminId)
+    @Override
+    public Admin getAdminById(String adminId) {
+        return readById(db.admins, adminId, db::readAdmin);
+    }
+
+    // Method to retrieve many Admin records by their unique identifiers (adminId)
+    @Override
+    public Map<String, Admin> getAdminsByIds(Collection<String> adminIds) {
+        return readByIds(db.admins, adminIds, db::readAdmin);
+    }
+
+    // Method to save a new Admin record
+    @Override
+    public void saveAdmin(Admin admin) {
+        inWrite(() -> {
+            requireNew(db.admins, admin.getAdminId(), "Admin");
+            check(admin);
+            db.putAdmin(Rows.toRow(admin));
+        });
+    }
+
+    // Method to update an existing Admin record
+    @Override
+    public void updateAdmin(Admin admin) {
+        inWrite(() -> {
+            requireExisting(db.admins, admin.getAdminId(), "Admin");
+            check(admin);
+            db.putAdmin(Rows.toRow(admin));
+        });
+    }
+
+    // Method to delete an Admin record by its unique identifier (adminId)
+    @Override
+    public void deleteAdmin(String adminId) {
+        deleteAdmins(List.of(adminId));
+    }
+
+    // Method to delete many Admin records (and their blood banks, with the banks' blood units and hospitals)
+    @Override
+    public int deleteAdmins(Collection<String> adminIds) {
+        return deleteByIds(adminIds, adminId -> {
+            String bloodBankId = db.bloodBankByAdmin.get(adminId);
+            if (bloodBankId != null) {
+                db.deleteBloodBankCascade(bloodBankId);
+            }
+            return db.removeAdmin(adminId) == null ? 0 : 1;
+        });
+    }
+
+    // Method to retrieve all Admin records
+    @Override
+    public List<Admin> getAllAdmins() {
+        return readAll(db.admins, db::readAdmin);
+    }
+
+    // Method to retrieve one page of Admin records (keyset pagination on adminId)
+    @Override
+    public List<Admin> getAdminsPage(String afterAdminId, int pageSize) {
+        return keysetPage(db.admins, afterAdminId, pageSize, db::readAdmin);
+    }
+
+    // The column constraints of the admin table
+    private static void check(Admin admin) {
+        requireValue(admin.getAdminName(), "Admin.adminName");
+    }
+}
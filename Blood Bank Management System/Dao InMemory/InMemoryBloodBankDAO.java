@@ -0,0 +1,129 @@
+package com.bloodbank.dao.inmemory;
+
+import java.util.Collection;  // Importing Collection for bulk operations
+import java.util.List;  // Importing List for handling collections of BloodBank entities
+import java.util.Map;  // Importing Map for lookups keyed by id
+import java.util.concurrent.CompletableFuture;  // Importing CompletableFuture for background purges
+
+import com.bloodbank.dao.BloodBankDAO;  // Importing the BloodBankDao interface
+import com.bloodbank.entity.BloodBank;  // Importing the BloodBank entity class
+
+// In-memory implementation of the BloodBankDao interface, with the same behaviour as BloodBankDAOImpl
+public class InMemoryBloodBankDAO extends AbstractInMemoryDAO implements BloodBankDAO {
+
+    public InMemoryBloodBankDAO() {
+        this(InMemoryDatabase.shared());
+    }
+
+    public InMemoryBloodBankDAO(InMemoryDatabase db) {
+        super(db);
+    }
+
+    // Method to retrieve a BloodBank record by its unique identifier (bloodBankId)
+    @Override
+    public BloodBank getBloodBankById(String bloodBankId) {
+        return readById(db.bloodBanks, bloodBankId, db::readBloodBank);
+    }
+
+    // Method to retrieve many BloodBank records by their unique identifiers (bloodBankId)
+    @Override
+    public Map<String, BloodBank> getBloodBanksByIds(Collection<String> bloodBankIds) {
+        return readByIds(db.bloodBanks, bloodBankIds, db::readBloodBank);
+    }
+
+    // Method to save a new BloodBank record
+    @Override
+    public void saveBloodBank(BloodBank bloodBank) {
+        inWrite(() -> {
+            requireNew(db.bloodBanks, bloodBank.getBloodBankId(), "BloodBank");
+            check(bloodBank);
+            db.putBloodBank(Rows.toRow(bloodBank));
+        });
+    }
+
+    // Method to update an existing BloodBank record
+    @Override
+    public void updateBloodBank(BloodBank bloodBank) {
+        inWrite(() -> {
+            requireExisting(db.bloodBanks, bloodBank.getBloodBankId(), "BloodBank");
+            check(bloodBank);
+            db.putBloodBank(Rows.toRow(bloodBank));
+        });
+    }
+
+    // Method to delete a BloodBank record by its unique identifier (bloodBankId)
+    @Override
+    public void deleteBloodBank(String bloodBankId) {
+        deleteBloodBanks(List.of(bloodBankId));
+    }
+
+    // Method to delete many BloodBank records (and their blood units and hospitals)
+    @Override
+    public int deleteBloodBanks(Collection<String> bloodBankIds) {
+        return deleteByIds(bloodBankIds, db::deleteBloodBankCascade);
+    }
+
+    // Method to retrieve all BloodBank records
+    @Override
+    public List<BloodBank> getAllBloodBanks() {
+        return readAll(db.bloodBanks, db::readBloodBank);
+    }
+
+    // Method to retrieve one page of BloodBank records (keyset pagination on bloodBankId)
+    @Override
+    public List<BloodBank> getBloodBanksPage(String afterBloodBankId, int pageSize) {
+        return keysetPage(db.bloodBanks, afterBloodBankId, pageSize, db::readBloodBank);
+    }
+
+    // Method to update the blood quantity for a specific BloodBank
+    @Override
+    public boolean updateBloodQuantity(String bloodBankId, int quantityChange) {
+        // Compare-and-set on the row, retried if another caller changed it first: like the conditional UPDATE,
+        // concurrent changes never overwrite each other and the quantity never goes below zero
+        while (true) {
+            BloodBank row = db.bloodBanks.get(bloodBankId);
+            if (row == null || row.getQuantity() + quantityChange < 0) {
+                return false;  // The blood bank does not exist or does not hold enough units
+            }
+            if (db.bloodBanks.replace(bloodBankId, row, Rows.withQuantity(row, row.getQuantity() + quantityChange))) {
+                return true;
+            }
+        }
+    }
+
+    // Method to delete a BloodBank whose cascade is too large for one write: the blood units, blood requests and hospitals are deleted
+    // chunkSize rows at a time on the background purge thread, then the BloodBank itself
+    @Override
+    public CompletableFuture<Long> purgeBloodBank(String bloodBankId, int chunkSize) {
+        return inBackground(() -> {
+            long deleted = 0;
+            // Deleting the blood units stored in the bank
+            deleted += deleteInChunks(db.bloodByBloodBank.ids(bloodBankId), chunkSize,
+                    bloodId -> db.removeBlood(bloodId) == null ? 0 : 1);
+            // Deleting the requests filled from the bank
+            deleted += deleteInChunks(db.requestsByBloodBank.ids(bloodBankId), chunkSize,
+                    requestId -> db.removeBloodRequest(requestId) == null ? 0 : 1);
+            // Deleting the hospitals linked to the bank, with their requests
+            for (String hospitalId : db.hospitalsByBloodBank.ids(bloodBankId)) {
+                deleted += deleteInChunks(db.requestsByHospital.ids(hospitalId), chunkSize,
+                        requestId -> db.removeBloodRequest(requestId) == null ? 0 : 1);
+            }
+            deleted += deleteInChunks(db.hospitalsByBloodBank.ids(bloodBankId), chunkSize,
+                    hospitalId -> db.removeHospital(hospitalId) == null ? 0 : 1);
+            int roots = deleteBloodBanks(List.of(bloodBankId));
+            if (roots < 0) {
+                throw new IllegalStateException("Failed to delete BloodBank " + bloodBankId);
+            }
+            return deleted + roots;
+        });
+    }
+
+    // The column and foreign key constraints of the bloodbank table
+    private void check(BloodBank bloodBank) {
+        requireValue(bloodBank.getName(), "BloodBank.name");
+        requireValue(bloodBank.getLocation(), "BloodBank.location");
+        String adminId = Rows.id(bloodBank.getAdmin());
+        requireReference(db.admins, adminId, "bloodbank.admin_id");
+        requireUnique(db.bloodBankByAdmin, adminId, bloodBank.getBloodBankId(), "bloodbank.admin_id");
+    }
+}
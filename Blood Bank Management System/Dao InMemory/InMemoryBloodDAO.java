@@ -0,0 +1,266 @@
+package com.bloodbank.dao.inmemory;
+
+import java.util.ArrayList;  // Importing ArrayList to collect the allocatable units
+import java.util.Collection;  // Importing Collection for bulk operations
+import java.util.Comparator;  // Importing Comparator to order units by expiry
+import java.util.Date;  // Importing Date for the expiry order
+import java.util.HashMap;  // Importing HashMap to collect the reservations
+import java.util.List;  // Importing List for handling collections of Blood entities
+import java.util.Map;  // Importing Map for lookups keyed by id
+import java.util.PriorityQueue;  // Importing PriorityQueue to keep the first-expiring units
+import java.util.function.Consumer;  // Importing Consumer for streaming callbacks
+import java.util.function.Predicate;  // Importing Predicate to filter the units in stock
+
+import com.bloodbank.dao.BloodDAO;  // Importing the BloodDao interface
+import com.bloodbank.entity.Blood;  // Importing the Blood entity class
+import com.bloodbank.entity.BloodPatch;  // Importing BloodPatch for partial updates
+import com.bloodbank.entity.Patient;  // Importing the Patient entity class for the recipient
+
+// In-memory implementation of the BloodDao interface, with the same behaviour as BloodDAOImpl
+public class InMemoryBloodDAO extends AbstractInMemoryDAO implements BloodDAO {
+
+    public InMemoryBloodDAO() {
+        this(InMemoryDatabase.shared());
+    }
+
+    public InMemoryBloodDAO(InMemoryDatabase db) {
+        super(db);
+    }
+
+    // Method to retrieve a Blood record by its unique identifier (bloodId)
+    @Override
+    public Blood getBloodById(String bloodId) {
+        return readById(db.blood, bloodId, db::readBlood);
+    }
+
+    // Method to retrieve many Blood records by their unique identifiers (bloodId)
+    @Override
+    public Map<String, Blood> getBloodUnitsByIds(Collection<String> bloodIds) {
+        return readByIds(db.blood, bloodIds, db::readBlood);
+    }
+
+    // Method to save a new Blood record
+    @Override
+    public void saveBlood(Blood blood) {
+        inWrite(() -> insert(blood));
+    }
+
+    // Method to save many Blood records in one write
+    @Override
+    public int saveAll(Collection<Blood> bloodUnits) {
+        return saveAll(bloodUnits, 0);
+    }
+
+    // Method to save many Blood records, committing every commitSize records
+    @Override
+    public int saveAll(Collection<Blood> bloodUnits, int commitSize) {
+        return saveAllChunked(bloodUnits, commitSize, this::insert, blood -> db.removeBlood(blood.getBloodId()));
+    }
+
+    // Method to update an existing Blood record
+    @Override
+    public void updateBlood(Blood blood) {
+        inWrite(() -> {
+            requireExisting(db.blood, blood.getBloodId(), "Blood");
+            check(blood);
+            db.putBlood(Rows.toRow(blood));
+        });
+    }
+
+    // Method to update only the fields set in the patch; returns false if no Blood has that bloodId
+    @Override
+    public boolean patchBlood(String bloodId, BloodPatch patch) {
+        Boolean patched = inWriteReturning(() -> {
+            Blood row = db.blood.get(bloodId);
+            if (row == null) {
+                return false;
+            }
+            Blood blood = db.readBlood(row);
+            patch.applyTo(blood);
+            check(blood);
+            db.putBlood(Rows.toRow(blood));
+            return true;
+        });
+        return patched != null && patched;
+    }
+
+    // Method to delete a Blood record by its unique identifier (bloodId)
+    @Override
+    public void deleteBlood(String bloodId) {
+        deleteBloodUnits(List.of(bloodId));
+    }
+
+    // Method to delete many Blood records
+    @Override
+    public int deleteBloodUnits(Collection<String> bloodIds) {
+        return deleteByIds(bloodIds, bloodId -> db.removeBlood(bloodId) == null ? 0 : 1);
+    }
+
+    // Method to mark many Blood records expired under one write lock
+    @Override
+    public int markExpired(Collection<String> bloodIds) {
+        Integer marked = inWriteReturning(() -> {
+            int count = 0;
+            for (String bloodId : bloodIds) {
+                Blood row = db.blood.get(bloodId);
+                if (row != null && !row.isExpired() && row.getReceivedBy() == null) {
+                    Blood expired = Rows.toRow(row);  // Stored rows are never changed in place
+                    expired.setExpired(true);
+                    db.putBlood(expired);
+                    count++;
+                }
+            }
+            return count;
+        });
+        return marked == null ? -1 : marked;
+    }
+
+    // Units without an expiry date first (as the databases sort NULL), then earliest expiry, then id
+    private static final Comparator<Blood> FIRST_EXPIRY = Comparator
+            .comparing(Blood::getExpiresAt, Comparator.nullsFirst(Comparator.<Date>naturalOrder()))
+            .thenComparing(Blood::getBloodId);
+
+    // Method to assign units to a patient; the write lock makes concurrent allocations take turns, so none can pick the same unit
+    @Override
+    public List<String> allocateUnits(String patientId, String bloodBankId, Collection<String> bloodGroups, int count) {
+        return inWriteReturning(() -> {
+            long now = System.currentTimeMillis();
+            // The units held for the patient first, as the Hibernate DAO's ORDER BY CASE
+            Comparator<Blood> order = Comparator.<Blood, Boolean>comparing(row -> !patientId.equals(Rows.id(row.getReservedFor())))
+                    .thenComparing(FIRST_EXPIRY);
+            List<Blood> chosen = inStock(bloodBankId, bloodGroups, now, count, order,
+                    row -> !row.isReservedAt(now) || patientId.equals(Rows.id(row.getReservedFor())));
+            if (!chosen.isEmpty()) {
+                requireReference(db.patients, patientId, "blood.patient_id");  // As the foreign key would on the first update
+            }
+            Patient patient = new Patient();
+            patient.setPatientId(patientId);
+            List<String> allocated = new ArrayList<>(chosen.size());
+            for (Blood row : chosen) {
+                Blood assigned = Rows.withoutReservation(row);  // Stored rows are never changed in place; an issued unit is no longer held
+                assigned.setReceivedBy(patient);
+                db.putBlood(assigned);
+                allocated.add(row.getBloodId());
+            }
+            return allocated;
+        });
+    }
+
+    // Method to hold units for a patient under the write lock
+    @Override
+    public List<String> reserveUnits(String patientId, String bloodBankId, Collection<String> bloodGroups, int count, Date until) {
+        return inWriteReturning(() -> {
+            long now = System.currentTimeMillis();
+            List<Blood> chosen = inStock(bloodBankId, bloodGroups, now, count, FIRST_EXPIRY, row -> !row.isReservedAt(now));
+            if (!chosen.isEmpty()) {
+                requireReference(db.patients, patientId, "blood.reserved_patient_id");  // As the foreign key would on the first update
+            }
+            List<String> reserved = new ArrayList<>(chosen.size());
+            for (Blood row : chosen) {
+                db.putBlood(Rows.withReservation(row, patientId, until));
+                reserved.add(row.getBloodId());
+            }
+            return reserved;
+        });
+    }
+
+    // Method to end holds under one write lock
+    @Override
+    public int releaseReservations(Collection<String> bloodIds, Date lapsedBy) {
+        Integer released = inWriteReturning(() -> {
+            int count = 0;
+            for (String bloodId : bloodIds) {
+                Blood row = db.blood.get(bloodId);
+                if (row != null && row.getReservedUntil() != null
+                        && (lapsedBy == null || !row.getReservedUntil().after(lapsedBy))) {
+                    db.putBlood(Rows.withoutReservation(row));
+                    count++;
+                }
+            }
+            return count;
+        });
+        return released == null ? -1 : released;
+    }
+
+    // Method to retrieve the end of every hold (a scan: only read when the holds are reloaded at startup)
+    @Override
+    public Map<String, Date> getReservations() {
+        Map<String, Date> reservations = new HashMap<>();
+        for (Blood row : db.blood.values()) {
+            if (row.getReservedUntil() != null) {
+                reservations.put(row.getBloodId(), new Date(row.getReservedUntil().getTime()));
+            }
+        }
+        return reservations;
+    }
+
+    // Method to retrieve the Blood records stored in a BloodBank, through the bloodbank index
+    @Override
+    public List<Blood> getBloodByBloodBankId(String bloodBankId) {
+        return getBloodByBloodBankIdPage(bloodBankId, null, Integer.MAX_VALUE);
+    }
+
+    // Method to retrieve one page of Blood records stored in a BloodBank (keyset pagination on bloodId)
+    @Override
+    public List<Blood> getBloodByBloodBankIdPage(String bloodBankId, String afterBloodId, int pageSize) {
+        return keysetPage(db.bloodByBloodBank.ids(bloodBankId), db.blood,
+                row -> bloodBankId.equals(Rows.id(row.getStoredIn())), afterBloodId, pageSize, db::readBlood);
+    }
+
+    // Method to retrieve all Blood records
+    @Override
+    public List<Blood> getAllBlood() {
+        return readAll(db.blood, db::readBlood);
+    }
+
+    // Method to retrieve one page of Blood records (keyset pagination on bloodId)
+    @Override
+    public List<Blood> getBloodPage(String afterBloodId, int pageSize) {
+        return keysetPage(db.blood, afterBloodId, pageSize, db::readBlood);
+    }
+
+    // Method to hand every Blood record to the action in id order
+    @Override
+    public long forEachBlood(Consumer<Blood> action) {
+        return forEach(db.blood, db::readBlood, action);
+    }
+
+    // The count first units in the order among the bank's unassigned, unexpired units of the given groups that pass the filter,
+    // kept in a heap whose head is the last of them: O(units log count). The caller holds the write lock
+    private List<Blood> inStock(String bloodBankId, Collection<String> bloodGroups, long now, int count, Comparator<Blood> order,
+            Predicate<Blood> filter) {
+        PriorityQueue<Blood> candidates = new PriorityQueue<>(count + 1, order.reversed());
+        for (String bloodId : db.bloodByBloodBank.ids(bloodBankId)) {
+            Blood row = db.blood.get(bloodId);
+            if (row.getReceivedBy() == null && !row.isExpired()
+                    && (row.getExpiresAt() == null || row.getExpiresAt().getTime() > now)
+                    && bloodGroups.contains(Blood.normalizeBloodGroup(row.getBloodGroup())) && filter.test(row)) {
+                candidates.add(row);
+                if (candidates.size() > count) {
+                    candidates.poll();  // Dropping the last one
+                }
+            }
+        }
+        List<Blood> chosen = new ArrayList<>(candidates);
+        chosen.sort(order);
+        return chosen;
+    }
+
+    // Inserts one Blood record (the caller holds the write lock)
+    private void insert(Blood blood) {
+        requireNew(db.blood, blood.getBloodId(), "Blood");
+        check(blood);
+        db.putBlood(Rows.toRow(blood));
+    }
+
+    // The column and foreign key constraints of the blood table
+    private void check(Blood blood) {
+        requireValue(blood.getBloodGroup(), "Blood.bloodGroup");
+        String bloodBankId = Rows.id(blood.getStoredIn());
+        requireValue(bloodBankId, "Blood.storedIn");
+        requireReference(db.bloodBanks, bloodBankId, "blood.bloodbank_id");
+        requireReference(db.donors, Rows.id(blood.getDonatedBy()), "blood.donor_id");
+        requireReference(db.patients, Rows.id(blood.getReceivedBy()), "blood.patient_id");
+        requireReference(db.patients, Rows.id(blood.getReservedFor()), "blood.reserved_patient_id");
+    }
+}
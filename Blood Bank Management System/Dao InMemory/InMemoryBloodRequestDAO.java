@@ -0,0 +1,115 @@
+package com.bloodbank.dao.inmemory;
+
+import java.util.ArrayList;  // Importing ArrayList for the pending requests
+import java.util.Comparator;  // Importing Comparator to order requests by age
+import java.util.Date;  // Importing Date for the fulfilment time
+import java.util.List;  // Importing List for handling collections of BloodRequest entities
+
+import com.bloodbank.dao.BloodRequestDAO;  // Importing the BloodRequestDao interface
+import com.bloodbank.entity.BloodRequest;  // Importing the BloodRequest entity class
+
+// In-memory implementation of the BloodRequestDao interface, with the same behaviour as BloodRequestDAOImpl
+public class InMemoryBloodRequestDAO extends AbstractInMemoryDAO implements BloodRequestDAO {
+
+    // Oldest first, as the Hibernate DAO's ORDER BY requestedAt, requestId
+    private static final Comparator<BloodRequest> OLDEST_FIRST =
+            Comparator.comparing(BloodRequest::getRequestedAt).thenComparing(BloodRequest::getRequestId);
+
+    public InMemoryBloodRequestDAO() {
+        this(InMemoryDatabase.shared());
+    }
+
+    public InMemoryBloodRequestDAO(InMemoryDatabase db) {
+        super(db);
+    }
+
+    // Method to retrieve a BloodRequest record by its unique identifier (requestId)
+    @Override
+    public BloodRequest getBloodRequestById(String requestId) {
+        return readById(db.bloodRequests, requestId, db::readBloodRequest);
+    }
+
+    // Method to save a new BloodRequest record
+    @Override
+    public void saveBloodRequest(BloodRequest request) {
+        inWrite(() -> {
+            requireNew(db.bloodRequests, request.getRequestId(), "BloodRequest");
+            check(request);
+            db.putBloodRequest(Rows.toRow(request));
+        });
+    }
+
+    // Method to retrieve the BloodRequest records of a hospital, oldest first
+    @Override
+    public List<BloodRequest> getBloodRequestsByHospital(String hospitalId) {
+        List<BloodRequest> requests = new ArrayList<>();
+        for (String requestId : db.requestsByHospital.ids(hospitalId)) {
+            BloodRequest row = db.bloodRequests.get(requestId);
+            if (row != null && hospitalId.equals(Rows.id(row.getHospital()))) {
+                requests.add(db.readBloodRequest(row));
+            }
+        }
+        requests.sort(OLDEST_FIRST);
+        return requests;
+    }
+
+    // Method to retrieve every PENDING BloodRequest record, oldest first (a scan: only read when the queue is rebuilt)
+    @Override
+    public List<BloodRequest> getPendingBloodRequests() {
+        List<BloodRequest> pending = new ArrayList<>();
+        for (BloodRequest row : db.bloodRequests.values()) {
+            if (row.getStatus() == BloodRequest.Status.PENDING) {
+                pending.add(db.readBloodRequest(row));
+            }
+        }
+        pending.sort(OLDEST_FIRST);
+        return pending;
+    }
+
+    // Method to add issued units to a pending request, closing it once all its units are issued
+    @Override
+    public boolean recordAllocation(String requestId, int units, Date at) {
+        Boolean recorded = inWriteReturning(() -> {
+            BloodRequest row = db.bloodRequests.get(requestId);
+            if (row == null || row.getStatus() != BloodRequest.Status.PENDING) {
+                return false;  // Missing, fulfilled or cancelled
+            }
+            int allocated = row.getUnitsAllocated() + units;
+            boolean fulfilled = allocated >= row.getUnits();
+            db.putBloodRequest(Rows.withProgress(row, allocated,
+                    fulfilled ? BloodRequest.Status.FULFILLED : BloodRequest.Status.PENDING, fulfilled ? at : null));
+            return true;
+        });
+        return recorded != null && recorded;
+    }
+
+    // Method to mark a pending request cancelled
+    @Override
+    public boolean cancelBloodRequest(String requestId) {
+        Boolean cancelled = inWriteReturning(() -> {
+            BloodRequest row = db.bloodRequests.get(requestId);
+            if (row == null || row.getStatus() != BloodRequest.Status.PENDING) {
+                return false;
+            }
+            db.putBloodRequest(Rows.withProgress(row, row.getUnitsAllocated(), BloodRequest.Status.CANCELLED, null));
+            return true;
+        });
+        return cancelled != null && cancelled;
+    }
+
+    // The column and foreign key constraints of the blood_request table
+    private void check(BloodRequest request) {
+        requireValue(request.getPriority(), "BloodRequest.priority");
+        requireValue(request.getStatus(), "BloodRequest.status");
+        requireValue(request.getRequestedAt(), "BloodRequest.requestedAt");
+        String hospitalId = Rows.id(request.getHospital());
+        requireValue(hospitalId, "BloodRequest.hospital");
+        requireReference(db.hospitals, hospitalId, "blood_request.hospital_id");
+        String bloodBankId = Rows.id(request.getBloodBank());
+        requireValue(bloodBankId, "BloodRequest.bloodBank");
+        requireReference(db.bloodBanks, bloodBankId, "blood_request.bloodbank_id");
+        String patientId = Rows.id(request.getPatient());
+        requireValue(patientId, "BloodRequest.patient");
+        requireReference(db.patients, patientId, "blood_request.patient_id");
+    }
+}
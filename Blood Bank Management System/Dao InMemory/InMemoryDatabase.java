@@ -0,0 +1,415 @@
+package com.bloodbank.dao.inmemory;
+
+import java.util.HashMap;  // Importing HashMap for the unique-column indexes
+import java.util.Map;  // Importing Map for the unique-column indexes
+import java.util.concurrent.ConcurrentHashMap;  // Importing ConcurrentHashMap for lock-free lookups
+import java.util.concurrent.ConcurrentNavigableMap;  // Importing ConcurrentNavigableMap for ordered tables
+import java.util.concurrent.ConcurrentSkipListMap;  // Importing ConcurrentSkipListMap for ordered tables
+import java.util.concurrent.locks.ReentrantLock;  // Importing ReentrantLock to serialize writes
+import java.util.function.Supplier;  // Importing Supplier for locked write blocks
+
+import com.bloodbank.entity.Admin;
+import com.bloodbank.entity.Blood;
+import com.bloodbank.entity.BloodBank;
+import com.bloodbank.entity.BloodRequest;
+import com.bloodbank.entity.Donor;
+import com.bloodbank.entity.EmployeeTeam;
+import com.bloodbank.entity.Hospital;
+import com.bloodbank.entity.Patient;
+
+/**
+ * The tables and indexes behind the in-memory DAOs.
+ *
+ * <p>Each table is a concurrent map ordered by id, so keyset pages are a tail view of the map. Rows are private
+ * copies that are never modified after they are stored: a row's associations hold only the referenced id, and
+ * the DAOs hand out fresh copies with the associations resolved (the same shape as the Hibernate DAOs' entity
+ * graphs). Reads are lock-free. Writes take one lock, so constraint checks, cascades and index maintenance see a
+ * consistent database, in the way a transaction would.
+ *
+ * <p>All DAOs created without an explicit database share {@link #shared()}.
+ */
+public final class InMemoryDatabase {
+
+    private static final InMemoryDatabase SHARED = new InMemoryDatabase();
+
+    // ===== Tables, keyed and ordered by id =====
+    final ConcurrentNavigableMap<String, Admin> admins = new ConcurrentSkipListMap<>();
+    final ConcurrentNavigableMap<String, BloodBank> bloodBanks = new ConcurrentSkipListMap<>();
+    final ConcurrentNavigableMap<String, Blood> blood = new ConcurrentSkipListMap<>();
+    final ConcurrentNavigableMap<String, BloodRequest> bloodRequests = new ConcurrentSkipListMap<>();
+    final ConcurrentNavigableMap<String, Donor> donors = new ConcurrentSkipListMap<>();
+    final ConcurrentNavigableMap<String, EmployeeTeam> employeeTeams = new ConcurrentSkipListMap<>();
+    final ConcurrentNavigableMap<String, Hospital> hospitals = new ConcurrentSkipListMap<>();
+    final ConcurrentNavigableMap<String, Patient> patients = new ConcurrentSkipListMap<>();
+
+    // ===== Secondary indexes (the foreign keys and the blood group) =====
+    final SecondaryIndex bloodByBloodBank = new SecondaryIndex();
+    final SecondaryIndex bloodByBloodGroup = new SecondaryIndex();
+    final SecondaryIndex bloodByDonor = new SecondaryIndex();
+    final SecondaryIndex bloodByPatient = new SecondaryIndex();
+    final SecondaryIndex bloodByReservation = new SecondaryIndex();
+    final SecondaryIndex hospitalsByBloodBank = new SecondaryIndex();
+    final SecondaryIndex requestsByHospital = new SecondaryIndex();
+    final SecondaryIndex requestsByBloodBank = new SecondaryIndex();
+    final SecondaryIndex requestsByPatient = new SecondaryIndex();
+    final SecondaryIndex donorsByEmployee = new SecondaryIndex();
+    final SecondaryIndex patientsByEmployee = new SecondaryIndex();
+    final Map<String, String> bloodBankByAdmin = new ConcurrentHashMap<>(); // bloodbank.admin_id is unique
+
+    // ===== Unique columns (only used under the write lock) =====
+    final Map<String, String> donorContacts = new HashMap<>();
+    final Map<String, String> patientContacts = new HashMap<>();
+    final Map<String, String> employeeContacts = new HashMap<>();
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /**
+     * @return The database shared by every in-memory DAO created with its no-argument constructor
+     */
+    public static InMemoryDatabase shared() {
+        return SHARED;
+    }
+
+    /**
+     * Removes every row.
+     */
+    public void clear() {
+        write(() -> {
+            admins.clear();
+            bloodBanks.clear();
+            blood.clear();
+            bloodRequests.clear();
+            donors.clear();
+            employeeTeams.clear();
+            hospitals.clear();
+            patients.clear();
+            bloodByBloodBank.clear();
+            bloodByBloodGroup.clear();
+            bloodByDonor.clear();
+            bloodByPatient.clear();
+            bloodByReservation.clear();
+            hospitalsByBloodBank.clear();
+            requestsByHospital.clear();
+            requestsByBloodBank.clear();
+            requestsByPatient.clear();
+            donorsByEmployee.clear();
+            patientsByEmployee.clear();
+            bloodBankByAdmin.clear();
+            donorContacts.clear();
+            patientContacts.clear();
+            employeeContacts.clear();
+            return null;
+        });
+    }
+
+    // Runs a change while holding the write lock
+    <T> T write(Supplier<T> change) {
+        writeLock.lock();
+        try {
+            return change.get();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // ===== Row maintenance: every put/remove keeps the indexes in step (callers hold the write lock) =====
+
+    void putAdmin(Admin row) {
+        admins.put(row.getAdminId(), row);
+    }
+
+    Admin removeAdmin(String adminId) {
+        return admins.remove(adminId);
+    }
+
+    void putBloodBank(BloodBank row) {
+        BloodBank previous = bloodBanks.put(row.getBloodBankId(), row);
+        if (previous != null && previous.getAdmin() != null) {
+            bloodBankByAdmin.remove(previous.getAdmin().getAdminId());
+        }
+        if (row.getAdmin() != null) {
+            bloodBankByAdmin.put(row.getAdmin().getAdminId(), row.getBloodBankId());
+        }
+    }
+
+    BloodBank removeBloodBank(String bloodBankId) {
+        BloodBank row = bloodBanks.remove(bloodBankId);
+        if (row != null && row.getAdmin() != null) {
+            bloodBankByAdmin.remove(row.getAdmin().getAdminId());
+        }
+        return row;
+    }
+
+    void putBlood(Blood row) {
+        Blood previous = blood.put(row.getBloodId(), row);
+        if (previous != null) {
+            unindexBlood(previous);
+        }
+        String id = row.getBloodId();
+        bloodByBloodBank.add(Rows.id(row.getStoredIn()), id);
+        bloodByBloodGroup.add(row.getBloodGroup(), id);
+        bloodByDonor.add(Rows.id(row.getDonatedBy()), id);
+        bloodByPatient.add(Rows.id(row.getReceivedBy()), id);
+        bloodByReservation.add(Rows.id(row.getReservedFor()), id);
+    }
+
+    Blood removeBlood(String bloodId) {
+        Blood row = blood.remove(bloodId);
+        if (row != null) {
+            unindexBlood(row);
+        }
+        return row;
+    }
+
+    private void unindexBlood(Blood row) {
+        String id = row.getBloodId();
+        bloodByBloodBank.remove(Rows.id(row.getStoredIn()), id);
+        bloodByBloodGroup.remove(row.getBloodGroup(), id);
+        bloodByDonor.remove(Rows.id(row.getDonatedBy()), id);
+        bloodByPatient.remove(Rows.id(row.getReceivedBy()), id);
+        bloodByReservation.remove(Rows.id(row.getReservedFor()), id);
+    }
+
+    void putBloodRequest(BloodRequest row) {
+        BloodRequest previous = bloodRequests.put(row.getRequestId(), row);
+        if (previous != null) {
+            unindexBloodRequest(previous);
+        }
+        String id = row.getRequestId();
+        requestsByHospital.add(Rows.id(row.getHospital()), id);
+        requestsByBloodBank.add(Rows.id(row.getBloodBank()), id);
+        requestsByPatient.add(Rows.id(row.getPatient()), id);
+    }
+
+    BloodRequest removeBloodRequest(String requestId) {
+        BloodRequest row = bloodRequests.remove(requestId);
+        if (row != null) {
+            unindexBloodRequest(row);
+        }
+        return row;
+    }
+
+    private void unindexBloodRequest(BloodRequest row) {
+        String id = row.getRequestId();
+        requestsByHospital.remove(Rows.id(row.getHospital()), id);
+        requestsByBloodBank.remove(Rows.id(row.getBloodBank()), id);
+        requestsByPatient.remove(Rows.id(row.getPatient()), id);
+    }
+
+    void putDonor(Donor row) {
+        Donor previous = donors.put(row.getDonorId(), row);
+        if (previous != null) {
+            unindexDonor(previous);
+        }
+        donorsByEmployee.add(Rows.id(row.getRegisteredBy()), row.getDonorId());
+        if (row.getContactNo() != null) {
+            donorContacts.put(row.getContactNo(), row.getDonorId());
+        }
+    }
+
+    Donor removeDonor(String donorId) {
+        Donor row = donors.remove(donorId);
+        if (row != null) {
+            unindexDonor(row);
+        }
+        return row;
+    }
+
+    private void unindexDonor(Donor row) {
+        donorsByEmployee.remove(Rows.id(row.getRegisteredBy()), row.getDonorId());
+        if (row.getContactNo() != null) {
+            donorContacts.remove(row.getContactNo());
+        }
+    }
+
+    void putEmployeeTeam(EmployeeTeam row) {
+        EmployeeTeam previous = employeeTeams.put(row.getEmpId(), row);
+        if (previous != null && previous.getContactNo() != null) {
+            employeeContacts.remove(previous.getContactNo());
+        }
+        if (row.getContactNo() != null) {
+            employeeContacts.put(row.getContactNo(), row.getEmpId());
+        }
+    }
+
+    EmployeeTeam removeEmployeeTeam(String empId) {
+        EmployeeTeam row = employeeTeams.remove(empId);
+        if (row != null && row.getContactNo() != null) {
+            employeeContacts.remove(row.getContactNo());
+        }
+        return row;
+    }
+
+    void putHospital(Hospital row) {
+        Hospital previous = hospitals.put(row.getHospitalId(), row);
+        if (previous != null) {
+            hospitalsByBloodBank.remove(Rows.id(previous.getContactedBloodBank()), previous.getHospitalId());
+        }
+        hospitalsByBloodBank.add(Rows.id(row.getContactedBloodBank()), row.getHospitalId());
+    }
+
+    Hospital removeHospital(String hospitalId) {
+        Hospital row = hospitals.remove(hospitalId);
+        if (row != null) {
+            hospitalsByBloodBank.remove(Rows.id(row.getContactedBloodBank()), hospitalId);
+        }
+        return row;
+    }
+
+    void putPatient(Patient row) {
+        Patient previous = patients.put(row.getPatientId(), row);
+        if (previous != null) {
+            unindexPatient(previous);
+        }
+        patientsByEmployee.add(Rows.id(row.getRegisteredBy()), row.getPatientId());
+        if (row.getContactNo() != null) {
+            patientContacts.put(row.getContactNo(), row.getPatientId());
+        }
+    }
+
+    Patient removePatient(String patientId) {
+        Patient row = patients.remove(patientId);
+        if (row != null) {
+            unindexPatient(row);
+        }
+        return row;
+    }
+
+    private void unindexPatient(Patient row) {
+        patientsByEmployee.remove(Rows.id(row.getRegisteredBy()), row.getPatientId());
+        if (row.getContactNo() != null) {
+            patientContacts.remove(row.getContactNo());
+        }
+    }
+
+    // ===== Cascading deletes, in the same dependency order as the Hibernate DAOs' DELETE statements =====
+
+    int deleteBloodBankCascade(String bloodBankId) {
+        for (String bloodId : bloodByBloodBank.ids(bloodBankId)) {
+            removeBlood(bloodId);
+        }
+        for (String requestId : requestsByBloodBank.ids(bloodBankId)) {
+            removeBloodRequest(requestId);
+        }
+        for (String hospitalId : hospitalsByBloodBank.ids(bloodBankId)) {
+            deleteHospitalCascade(hospitalId);
+        }
+        return removeBloodBank(bloodBankId) == null ? 0 : 1;
+    }
+
+    int deleteHospitalCascade(String hospitalId) {
+        for (String requestId : requestsByHospital.ids(hospitalId)) {
+            removeBloodRequest(requestId);
+        }
+        return removeHospital(hospitalId) == null ? 0 : 1;
+    }
+
+    int deleteDonorCascade(String donorId) {
+        for (String bloodId : bloodByDonor.ids(donorId)) {
+            removeBlood(bloodId);
+        }
+        return removeDonor(donorId) == null ? 0 : 1;
+    }
+
+    int deletePatientCascade(String patientId) {
+        for (String bloodId : bloodByPatient.ids(patientId)) {
+            removeBlood(bloodId);
+        }
+        for (String bloodId : bloodByReservation.ids(patientId)) {
+            putBlood(Rows.withoutReservation(blood.get(bloodId)));  // The units stay in stock, no longer held
+        }
+        for (String requestId : requestsByPatient.ids(patientId)) {
+            removeBloodRequest(requestId);
+        }
+        return removePatient(patientId) == null ? 0 : 1;
+    }
+
+    // ===== Reads: fresh copies with the associations resolved =====
+
+    Admin readAdmin(Admin row) {
+        Admin admin = Rows.copy(row);
+        String bloodBankId = bloodBankByAdmin.get(row.getAdminId());
+        BloodBank bankRow = bloodBankId == null ? null : bloodBanks.get(bloodBankId);
+        if (bankRow != null) {
+            BloodBank bloodBank = Rows.copy(bankRow);
+            bloodBank.setAdmin(admin);
+            admin.setManagedBloodBank(bloodBank);
+        }
+        return admin;
+    }
+
+    BloodBank readBloodBank(BloodBank row) {
+        BloodBank bloodBank = Rows.copy(row);
+        if (row.getAdmin() != null) {
+            Admin adminRow = admins.get(row.getAdmin().getAdminId());
+            Admin admin = Rows.copy(adminRow != null ? adminRow : row.getAdmin());
+            admin.setManagedBloodBank(bloodBank);
+            bloodBank.setAdmin(admin);
+        }
+        return bloodBank;
+    }
+
+    Blood readBlood(Blood row) {
+        Blood bloodUnit = Rows.copy(row);
+        if (row.getStoredIn() != null) {
+            BloodBank bankRow = bloodBanks.get(row.getStoredIn().getBloodBankId());
+            bloodUnit.setStoredIn(bankRow != null ? readBloodBank(bankRow) : Rows.copy(row.getStoredIn()));
+        }
+        if (row.getDonatedBy() != null) {
+            Donor donorRow = donors.get(row.getDonatedBy().getDonorId());
+            bloodUnit.setDonatedBy(donorRow != null ? readDonor(donorRow) : Rows.copy(row.getDonatedBy()));
+        }
+        if (row.getReceivedBy() != null) {
+            Patient patientRow = patients.get(row.getReceivedBy().getPatientId());
+            bloodUnit.setReceivedBy(patientRow != null ? readPatient(patientRow) : Rows.copy(row.getReceivedBy()));
+        }
+        if (row.getReservedFor() != null) {
+            bloodUnit.setReservedFor(Rows.copy(row.getReservedFor()));  // Not part of the details graph: the id only
+        }
+        return bloodUnit;
+    }
+
+    BloodRequest readBloodRequest(BloodRequest row) {
+        BloodRequest request = Rows.copy(row);
+        Hospital hospitalRow = hospitals.get(row.getHospital().getHospitalId());
+        request.setHospital(hospitalRow != null ? readHospital(hospitalRow) : Rows.copy(row.getHospital()));
+        BloodBank bankRow = bloodBanks.get(row.getBloodBank().getBloodBankId());
+        request.setBloodBank(bankRow != null ? readBloodBank(bankRow) : Rows.copy(row.getBloodBank()));
+        Patient patientRow = patients.get(row.getPatient().getPatientId());
+        request.setPatient(patientRow != null ? readPatient(patientRow) : Rows.copy(row.getPatient()));
+        return request;
+    }
+
+    Donor readDonor(Donor row) {
+        Donor donor = Rows.copy(row);
+        donor.setRegisteredBy(readEmployeeReference(row.getRegisteredBy()));
+        return donor;
+    }
+
+    EmployeeTeam readEmployeeTeam(EmployeeTeam row) {
+        return Rows.copy(row);
+    }
+
+    Hospital readHospital(Hospital row) {
+        Hospital hospital = Rows.copy(row);
+        if (row.getContactedBloodBank() != null) {
+            BloodBank bankRow = bloodBanks.get(row.getContactedBloodBank().getBloodBankId());
+            hospital.setContactedBloodBank(bankRow != null ? readBloodBank(bankRow) : Rows.copy(row.getContactedBloodBank()));
+        }
+        return hospital;
+    }
+
+    Patient readPatient(Patient row) {
+        Patient patient = Rows.copy(row);
+        patient.setRegisteredBy(readEmployeeReference(row.getRegisteredBy()));
+        return patient;
+    }
+
+    private EmployeeTeam readEmployeeReference(EmployeeTeam reference) {
+        if (reference == null) {
+            return null;
+        }
+        EmployeeTeam row = employeeTeams.get(reference.getEmpId());
+        return Rows.copy(row != null ? row : reference);
+    }
+}
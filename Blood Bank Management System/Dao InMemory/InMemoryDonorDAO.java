@@ -0,0 +1,126 @@
+package com.bloodbank.dao.inmemory;
+
+import java.util.Collection;  // Importing Collection for bulk operations
+import java.util.List;  // Importing List for handling collections of Donor entities
+import java.util.Map;  // Importing Map for lookups keyed by id
+import java.util.function.Consumer;  // Importing Consumer for streaming callbacks
+
+import com.bloodbank.dao.DonorDAO;  // Importing the DonorDao interface
+import com.bloodbank.entity.Donor;  // Importing the Donor entity class
+import com.bloodbank.entity.DonorPatch;  // Importing DonorPatch for partial updates
+
+// In-memory implementation of the DonorDao interface, with the same behaviour as DonorDAOImpl
+public class InMemoryDonorDAO extends AbstractInMemoryDAO implements DonorDAO {
+
+    public InMemoryDonorDAO() {
+        this(InMemoryDatabase.shared());
+    }
+
+    public InMemoryDonorDAO(InMemoryDatabase db) {
+        super(db);
+    }
+
+    // Method to retrieve a Donor record by its unique identifier (donorId)
+    @Override
+    public Donor getDonorById(String donorId) {
+        return readById(db.donors, donorId, db::readDonor);
+    }
+
+    // Method to retrieve many Donor records by their unique identifiers (donorId)
+    @Override
+    public Map<String, Donor> getDonorsByIds(Collection<String> donorIds) {
+        return readByIds(db.donors, donorIds, db::readDonor);
+    }
+
+    // Method to save a new Donor record
+    @Override
+    public void saveDonor(Donor donor) {
+        inWrite(() -> insert(donor));
+    }
+
+    // Method to save many Donor records in one write
+    @Override
+    public int saveAll(Collection<Donor> donors) {
+        return saveAll(donors, 0);
+    }
+
+    // Method to save many Donor records, committing every commitSize records
+    @Override
+    public int saveAll(Collection<Donor> donors, int commitSize) {
+        return saveAllChunked(donors, commitSize, this::insert, donor -> db.removeDonor(donor.getDonorId()));
+    }
+
+    // Method to update an existing Donor record
+    @Override
+    public void updateDonor(Donor donor) {
+        inWrite(() -> {
+            requireExisting(db.donors, donor.getDonorId(), "Donor");
+            check(donor);
+            db.putDonor(Rows.toRow(donor));
+        });
+    }
+
+    // Method to update only the fields set in the patch; returns false if no Donor has that donorId
+    @Override
+    public boolean patchDonor(String donorId, DonorPatch patch) {
+        Boolean patched = inWriteReturning(() -> {
+            Donor row = db.donors.get(donorId);
+            if (row == null) {
+                return false;
+            }
+            Donor donor = db.readDonor(row);
+            patch.applyTo(donor);
+            check(donor);
+            db.putDonor(Rows.toRow(donor));
+            return true;
+        });
+        return patched != null && patched;
+    }
+
+    // Method to delete a Donor record by its unique identifier (donorId)
+    @Override
+    public void deleteDonor(String donorId) {
+        deleteDonors(List.of(donorId));
+    }
+
+    // Method to delete many Donor records (and the blood units they donated)
+    @Override
+    public int deleteDonors(Collection<String> donorIds) {
+        return deleteByIds(donorIds, db::deleteDonorCascade);
+    }
+
+    // Method to retrieve all Donor records
+    @Override
+    public List<Donor> getAllDonors() {
+        return readAll(db.donors, db::readDonor);
+    }
+
+    // Method to hand every Donor record to the action in id order
+    @Override
+    public long forEachDonor(Consumer<Donor> action) {
+        return forEach(db.donors, db::readDonor, action);
+    }
+
+    // Method to retrieve one page of Donor records (keyset pagination on donorId)
+    @Override
+    public List<Donor> getDonorsPage(String afterDonorId, int pageSize) {
+        return keysetPage(db.donors, afterDonorId, pageSize, db::readDonor);
+    }
+
+    // Inserts one Donor record (the caller holds the write lock)
+    private void insert(Donor donor) {
+        requireNew(db.donors, donor.getDonorId(), "Donor");
+        check(donor);
+        db.putDonor(Rows.toRow(donor));
+    }
+
+    // The column and foreign key constraints of the donor table
+    private void check(Donor donor) {
+        requireValue(donor.getDonorName(), "Donor.donorName");
+        requireValue(donor.getBloodGroup(), "Donor.bloodGroup");
+        String empId = Rows.id(donor.getRegisteredBy());
+        requireValue(empId, "Donor.registeredBy");
+        requireReference(db.employeeTeams, empId, "donor.emp_id");
+        requireUnique(db.donorContacts, donor.getContactNo(), donor.getDonorId(), "donor.contact_no");
+    }
+}
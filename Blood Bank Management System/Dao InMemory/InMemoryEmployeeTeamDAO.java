@@ -0,0 +1,125 @@
+package com.bloodbank.dao.inmemory;
+
+import java.util.Collection;  // Importing Collection for bulk operations
+import java.util.List;  // Importing List for handling collections of EmployeeTeam entities
+import java.util.Map;  // Importing Map for lookups keyed by id
+import java.util.concurrent.CompletableFuture;  // Importing CompletableFuture for background purges
+
+import com.bloodbank.dao.EmployeeTeamDAO;  // Importing the EmployeeTeamDao interface
+import com.bloodbank.entity.EmployeeTeam;  // Importing the EmployeeTeam entity class
+
+// In-memory implementation of the EmployeeTeamDao interface, with the same behaviour as EmployeeTeamDAOImpl
+public class InMemoryEmployeeTeamDAO extends AbstractInMemoryDAO implements EmployeeTeamDAO {
+
+    public InMemoryEmployeeTeamDAO() {
+        this(InMemoryDatabase.shared());
+    }
+
+    public InMemoryEmployeeTeamDAO(InMemoryDatabase db) {
+        super(db);
+    }
+
+    // Method to retrieve an EmployeeTeam record by its unique identifier (empId)
+    @Override
+    public EmployeeTeam getEmployeeTeamById(String empId) {
+        return readById(db.employeeTeams, empId, db::readEmployeeTeam);
+    }
+
+    // Method to retrieve many EmployeeTeam records by their unique identifiers (empId)
+    @Override
+    public Map<String, EmployeeTeam> getEmployeeTeamsByIds(Collection<String> empIds) {
+        return readByIds(db.employeeTeams, empIds, db::readEmployeeTeam);
+    }
+
+    // Method to save a new EmployeeTeam record
+    @Override
+    public void saveEmployeeTeam(EmployeeTeam employeeTeam) {
+        inWrite(() -> {
+            requireNew(db.employeeTeams, employeeTeam.getEmpId(), "EmployeeTeam");
+            check(employeeTeam);
+            db.putEmployeeTeam(Rows.toRow(employeeTeam));
+        });
+    }
+
+    // Method to update an existing EmployeeTeam record
+    @Override
+    public void updateEmployeeTeam(EmployeeTeam employeeTeam) {
+        inWrite(() -> {
+            requireExisting(db.employeeTeams, employeeTeam.getEmpId(), "EmployeeTeam");
+            check(employeeTeam);
+            db.putEmployeeTeam(Rows.toRow(employeeTeam));
+        });
+    }
+
+    // Method to delete an EmployeeTeam record by its unique identifier (empId)
+    @Override
+    public void deleteEmployeeTeam(String empId) {
+        deleteEmployeeTeams(List.of(empId));
+    }
+
+    // Method to delete many EmployeeTeam records (and their donors and patients, with those people's blood units)
+    @Override
+    public int deleteEmployeeTeams(Collection<String> empIds) {
+        return deleteByIds(empIds, empId -> {
+            for (String donorId : db.donorsByEmployee.ids(empId)) {
+                db.deleteDonorCascade(donorId);
+            }
+            for (String patientId : db.patientsByEmployee.ids(empId)) {
+                db.deletePatientCascade(patientId);
+            }
+            return db.removeEmployeeTeam(empId) == null ? 0 : 1;
+        });
+    }
+
+    // Method to retrieve all EmployeeTeam records
+    @Override
+    public List<EmployeeTeam> getAllEmployeeTeams() {
+        return readAll(db.employeeTeams, db::readEmployeeTeam);
+    }
+
+    // Method to retrieve one page of EmployeeTeam records (keyset pagination on empId)
+    @Override
+    public List<EmployeeTeam> getEmployeeTeamsPage(String afterEmployeeTeamId, int pageSize) {
+        return keysetPage(db.employeeTeams, afterEmployeeTeamId, pageSize, db::readEmployeeTeam);
+    }
+
+    // Method to delete an EmployeeTeam whose cascade is too large for one write: the donors, patients, their blood units and the patients' blood requests
+    // are deleted chunkSize rows at a time on the background purge thread, then the EmployeeTeam itself
+    @Override
+    public CompletableFuture<Long> purgeEmployeeTeam(String empId, int chunkSize) {
+        return inBackground(() -> {
+            long deleted = 0;
+            // Deleting the blood units donated by the team's donors
+            for (String donorId : db.donorsByEmployee.ids(empId)) {
+                deleted += deleteInChunks(db.bloodByDonor.ids(donorId), chunkSize,
+                        bloodId -> db.removeBlood(bloodId) == null ? 0 : 1);
+            }
+            // Deleting the blood units received by the team's patients
+            for (String patientId : db.patientsByEmployee.ids(empId)) {
+                deleted += deleteInChunks(db.bloodByPatient.ids(patientId), chunkSize,
+                        bloodId -> db.removeBlood(bloodId) == null ? 0 : 1);
+            }
+            // Deleting the donors registered by the team
+            deleted += deleteInChunks(db.donorsByEmployee.ids(empId), chunkSize, db::deleteDonorCascade);
+            // Deleting the requests made for the team's patients
+            for (String patientId : db.patientsByEmployee.ids(empId)) {
+                deleted += deleteInChunks(db.requestsByPatient.ids(patientId), chunkSize,
+                        requestId -> db.removeBloodRequest(requestId) == null ? 0 : 1);
+            }
+            // Deleting the patients registered by the team
+            deleted += deleteInChunks(db.patientsByEmployee.ids(empId), chunkSize, db::deletePatientCascade);
+            int roots = deleteEmployeeTeams(List.of(empId));
+            if (roots < 0) {
+                throw new IllegalStateException("Failed to delete EmployeeTeam " + empId);
+            }
+            return deleted + roots;
+        });
+    }
+
+    // The column constraints of the employee_team table
+    private void check(EmployeeTeam employeeTeam) {
+        requireValue(employeeTeam.getEmpName(), "EmployeeTeam.empName");
+        requireValue(employeeTeam.getContactNo(), "EmployeeTeam.contactNo");
+        requireUnique(db.employeeContacts, employeeTeam.getContactNo(), employeeTeam.getEmpId(), "employee_team.contact_no");
+    }
+}
@@ -0,0 +1,85 @@
+package com.bloodbank.dao.inmemory;
+
+import java.util.Collection;  // Importing Collection for bulk operations
+import java.util.List;  // Importing List for handling collections of Hospital entities
+import java.util.Map;  // Importing Map for lookups keyed by id
+
+import com.bloodbank.dao.HospitalDAO;  // Importing the HospitalDao interface
+import com.bloodbank.entity.Hospital;  // Importing the Hospital entity class
+
+// In-memory implementation of the HospitalDao interface, with the same behaviour as HospitalDAOImpl
+public class InMemoryHospitalDAO extends AbstractInMemoryDAO implements HospitalDAO {
+
+    public InMemoryHospitalDAO() {
+        this(InMemoryDatabase.shared());
+    }
+
+    public InMemoryHospitalDAO(InMemoryDatabase db) {
+        super(db);
+    }
+
+    // Method to retrieve a Hospital record by its unique identifier (hospitalId)
+    @Override
+    public Hospital getHospitalById(String hospitalId) {
+        return readById(db.hospitals, hospitalId, db::readHospital);
+    }
+
+    // Method to retrieve many Hospital records by their unique identifiers (hospitalId)
+    @Override
+    public Map<String, Hospital> getHospitalsByIds(Collection<String> hospitalIds) {
+        return readByIds(db.hospitals, hospitalIds, db::readHospital);
+    }
+
+    // Method to save a new Hospital record
+    @Override
+    public void saveHospital(Hospital hospital) {
+        inWrite(() -> {
+            requireNew(db.hospitals, hospital.getHospitalId(), "Hospital");
+            check(hospital);
+            db.putHospital(Rows.toRow(hospital));
+        });
+    }
+
+    // Method to update an existing Hospital record
+    @Override
+    public void updateHospital(Hospital hospital) {
+        inWrite(() -> {
+            requireExisting(db.hospitals, hospital.getHospitalId(), "Hospital");
+            check(hospital);
+            db.putHospital(Rows.toRow(hospital));
+        });
+    }
+
+    // Method to delete a Hospital record by its unique identifier (hospitalId)
+    @Override
+    public void deleteHospital(String hospitalId) {
+        deleteHospitals(List.of(hospitalId));
+    }
+
+    // Method to delete many Hospital records (and their blood requests)
+    @Override
+    public int deleteHospitals(Collection<String> hospitalIds) {
+        return deleteByIds(hospitalIds, db::deleteHospitalCascade);
+    }
+
+    // Method to retrieve all Hospital records
+    @Override
+    public List<Hospital> getAllHospitals() {
+        return readAll(db.hospitals, db::readHospital);
+    }
+
+    // Method to retrieve one page of Hospital records (keyset pagination on hospitalId)
+    @Override
+    public List<Hospital> getHospitalsPage(String afterHospitalId, int pageSize) {
+        return keysetPage(db.hospitals, afterHospitalId, pageSize, db::readHospital);
+    }
+
+    // The column and foreign key constraints of the hospital table
+    private void check(Hospital hospital) {
+        requireValue(hospital.getHospitalName(), "Hospital.hospitalName");
+        requireValue(hospital.getLocation(), "Hospital.location");
+        String bloodBankId = Rows.id(hospital.getContactedBloodBank());
+        requireValue(bloodBankId, "Hospital.contactedBloodBank");
+        requireReference(db.bloodBanks, bloodBankId, "hospital.bloodbank_id");
+    }
+}
@@ -0,0 +1,126 @@
+package com.bloodbank.dao.inmemory;
+
+import java.util.Collection;  // Importing Collection for bulk operations
+import java.util.List;  // Importing List for handling collections of Patient entities
+import java.util.Map;  // Importing Map for lookups keyed by id
+import java.util.function.Consumer;  // Importing Consumer for streaming callbacks
+
+import com.bloodbank.dao.PatientDAO;  // Importing the PatientDao interface
+import com.bloodbank.entity.Patient;  // Importing the Patient entity class
+import com.bloodbank.entity.PatientPatch;  // Importing PatientPatch for partial updates
+
+// In-memory implementation of the PatientDao interface, with the same behaviour as PatientDAOImpl
+public class InMemoryPatientDAO extends AbstractInMemoryDAO implements PatientDAO {
+
+    public InMemoryPatientDAO() {
+        this(InMemoryDatabase.shared());
+    }
+
+    public InMemoryPatientDAO(InMemoryDatabase db) {
+        super(db);
+    }
+
+    // Method to retrieve a Patient record by its unique identifier (patientId)
+    @Override
+    public Patient getPatientById(String patientId) {
+        return readById(db.patients, patientId, db::readPatient);
+    }
+
+    // Method to retrieve many Patient records by their unique identifiers (patientId)
+    @Override
+    public Map<String, Patient> getPatientsByIds(Collection<String> patientIds) {
+        return readByIds(db.patients, patientIds, db::readPatient);
+    }
+
+    // Method to save a new Patient record
+    @Override
+    public void savePatient(Patient patient) {
+        inWrite(() -> insert(patient));
+    }
+
+    // Method to save many Patient records in one write
+    @Override
+    public int saveAll(Collection<Patient> patients) {
+        return saveAll(patients, 0);
+    }
+
+    // Method to save many Patient records, committing every commitSize records
+    @Override
+    public int saveAll(Collection<Patient> patients, int commitSize) {
+        return saveAllChunked(patients, commitSize, this::insert, patient -> db.removePatient(patient.getPatientId()));
+    }
+
+    // Method to update an existing Patient record
+    @Override
+    public void updatePatient(Patient patient) {
+        inWrite(() -> {
+            requireExisting(db.patients, patient.getPatientId(), "Patient");
+            check(patient);
+            db.putPatient(Rows.toRow(patient));
+        });
+    }
+
+    // Method to update only the fields set in the patch; returns false if no Patient has that patientId
+    @Override
+    public boolean patchPatient(String patientId, PatientPatch patch) {
+        Boolean patched = inWriteReturning(() -> {
+            Patient row = db.patients.get(patientId);
+            if (row == null) {
+                return false;
+            }
+            Patient patient = db.readPatient(row);
+            patch.applyTo(patient);
+            check(patient);
+            db.putPatient(Rows.toRow(patient));
+            return true;
+        });
+        return patched != null && patched;
+    }
+
+    // Method to delete a Patient record by its unique identifier (patientId)
+    @Override
+    public void deletePatient(String patientId) {
+        deletePatients(List.of(patientId));
+    }
+
+    // Method to delete many Patient records (and the blood units they received)
+    @Override
+    public int deletePatients(Collection<String> patientIds) {
+        return deleteByIds(patientIds, db::deletePatientCascade);
+    }
+
+    // Method to retrieve all Patient records
+    @Override
+    public List<Patient> getAllPatients() {
+        return readAll(db.patients, db::readPatient);
+    }
+
+    // Method to hand every Patient record to the action in id order
+    @Override
+    public long forEachPatient(Consumer<Patient> action) {
+        return forEach(db.patients, db::readPatient, action);
+    }
+
+    // Method to retrieve one page of Patient records (keyset pagination on patientId)
+    @Override
+    public List<Patient> getPatientsPage(String afterPatientId, int pageSize) {
+        return keysetPage(db.patients, afterPatientId, pageSize, db::readPatient);
+    }
+
+    // Inserts one Patient record (the caller holds the write lock)
+    private void insert(Patient patient) {
+        requireNew(db.patients, patient.getPatientId(), "Patient");
+        check(patient);
+        db.putPatient(Rows.toRow(patient));
+    }
+
+    // The column and foreign key constraints of the patient table
+    private void check(Patient patient) {
+        requireValue(patient.getPatientName(), "Patient.patientName");
+        requireValue(patient.getBloodGroup(), "Patient.bloodGroup");
+        String empId = Rows.id(patient.getRegisteredBy());
+        requireValue(empId, "Patient.registeredBy");
+        requireReference(db.employeeTeams, empId, "patient.emp_id");
+        requireUnique(db.patientContacts, patient.getContactNo(), patient.getPatientId(), "patient.contact_no");
+    }
+}
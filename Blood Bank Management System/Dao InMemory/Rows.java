@@ -0,0 +1,280 @@
+package com.bloodbank.dao.inmemory;
+
+import java.util.Date;  // Importing Date to copy the date columns
+
+import com.bloodbank.entity.Admin;
+import com.bloodbank.entity.Blood;
+import com.bloodbank.entity.BloodBank;
+import com.bloodbank.entity.BloodRequest;
+import com.bloodbank.entity.Donor;
+import com.bloodbank.entity.EmployeeTeam;
+import com.bloodbank.entity.Hospital;
+import com.bloodbank.entity.Patient;
+
+// Copies between caller-owned entities and stored rows. copy() duplicates the columns only; toRow() also keeps
+// each association as an id-only reference, like a foreign key column. Collections are never stored: the
+// Hibernate DAOs leave them uninitialized too.
+final class Rows {
+
+    private Rows() {
+    }
+
+    // ===== Column copies =====
+
+    static Admin copy(Admin source) {
+        Admin copy = new Admin();
+        copy.setAdminId(source.getAdminId());
+        copy.setAdminName(source.getAdminName());
+        copy.setLocation(source.getLocation());
+        copy.setContactNumber(source.getContactNumber());
+        return copy;
+    }
+
+    static BloodBank copy(BloodBank source) {
+        BloodBank copy = new BloodBank();
+        copy.setBloodBankId(source.getBloodBankId());
+        copy.setBloodId(source.getBloodId());
+        copy.setName(source.getName());
+        copy.setLocation(source.getLocation());
+        copy.setAvailableBloodGroups(source.getAvailableBloodGroups());
+        copy.setQuantity(source.getQuantity());
+        return copy;
+    }
+
+    static Blood copy(Blood source) {
+        Blood copy = new Blood();
+        copy.setBloodId(source.getBloodId());
+        copy.setBloodGroup(source.getBloodGroup());
+        copy.setCollectedAt(copy(source.getCollectedAt()));
+        copy.setExpiresAt(copy(source.getExpiresAt()));
+        copy.setExpired(source.isExpired());
+        copy.setReservedUntil(copy(source.getReservedUntil()));
+        return copy;
+    }
+
+    static BloodRequest copy(BloodRequest source) {
+        BloodRequest copy = new BloodRequest();
+        copy.setRequestId(source.getRequestId());
+        copy.setUnits(source.getUnits());
+        copy.setUnitsAllocated(source.getUnitsAllocated());
+        copy.setPriority(source.getPriority());
+        copy.setStatus(source.getStatus());
+        copy.setRequestedAt(copy(source.getRequestedAt()));
+        copy.setFulfilledAt(copy(source.getFulfilledAt()));
+        return copy;
+    }
+
+    static Donor copy(Donor source) {
+        Donor copy = new Donor();
+        copy.setDonorId(source.getDonorId());
+        copy.setDonorName(source.getDonorName());
+        copy.setDonorGender(source.getDonorGender());
+        copy.setDonorAddress(source.getDonorAddress());
+        copy.setContactNo(source.getContactNo());
+        copy.setAge(source.getAge());
+        copy.setBloodGroup(source.getBloodGroup());
+        copy.setDateOfDonation(copy(source.getDateOfDonation()));
+        return copy;
+    }
+
+    static EmployeeTeam copy(EmployeeTeam source) {
+        EmployeeTeam copy = new EmployeeTeam();
+        copy.setEmpId(source.getEmpId());
+        copy.setEmpName(source.getEmpName());
+        copy.setContactNo(source.getContactNo());
+        return copy;
+    }
+
+    static Hospital copy(Hospital source) {
+        Hospital copy = new Hospital();
+        copy.setHospitalId(source.getHospitalId());
+        copy.setHospitalName(source.getHospitalName());
+        copy.setLocation(source.getLocation());
+        return copy;
+    }
+
+    static Patient copy(Patient source) {
+        Patient copy = new Patient();
+        copy.setPatientId(source.getPatientId());
+        copy.setPatientName(source.getPatientName());
+        copy.setPatientGender(source.getPatientGender());
+        copy.setPatientAddress(source.getPatientAddress());
+        copy.setContactNo(source.getContactNo());
+        copy.setBloodGroup(source.getBloodGroup());
+        copy.setDateOfIntake(copy(source.getDateOfIntake()));
+        return copy;
+    }
+
+    private static Date copy(Date date) {
+        return date == null ? null : (Date) date.clone();  // Date is mutable
+    }
+
+    // ===== Stored rows: columns plus id-only references =====
+
+    static Admin toRow(Admin admin) {
+        return copy(admin);  // managedBloodBank is the inverse side; bloodbank.admin_id holds the link
+    }
+
+    static BloodBank toRow(BloodBank bloodBank) {
+        BloodBank row = copy(bloodBank);
+        if (bloodBank.getAdmin() != null) {
+            row.setAdmin(adminReference(bloodBank.getAdmin().getAdminId()));
+        }
+        return row;
+    }
+
+    static Blood toRow(Blood bloodUnit) {
+        Blood row = copy(bloodUnit);
+        if (bloodUnit.getStoredIn() != null) {
+            row.setStoredIn(bloodBankReference(bloodUnit.getStoredIn().getBloodBankId()));
+        }
+        if (bloodUnit.getDonatedBy() != null) {
+            Donor donor = new Donor();
+            donor.setDonorId(bloodUnit.getDonatedBy().getDonorId());
+            row.setDonatedBy(donor);
+        }
+        if (bloodUnit.getReceivedBy() != null) {
+            Patient patient = new Patient();
+            patient.setPatientId(bloodUnit.getReceivedBy().getPatientId());
+            row.setReceivedBy(patient);
+        }
+        if (bloodUnit.getReservedFor() != null) {
+            Patient patient = new Patient();
+            patient.setPatientId(bloodUnit.getReservedFor().getPatientId());
+            row.setReservedFor(patient);
+        }
+        return row;
+    }
+
+    static BloodRequest toRow(BloodRequest request) {
+        BloodRequest row = copy(request);
+        if (request.getHospital() != null) {
+            Hospital hospital = new Hospital();
+            hospital.setHospitalId(request.getHospital().getHospitalId());
+            row.setHospital(hospital);
+        }
+        if (request.getBloodBank() != null) {
+            row.setBloodBank(bloodBankReference(request.getBloodBank().getBloodBankId()));
+        }
+        if (request.getPatient() != null) {
+            Patient patient = new Patient();
+            patient.setPatientId(request.getPatient().getPatientId());
+            row.setPatient(patient);
+        }
+        return row;
+    }
+
+    static Donor toRow(Donor donor) {
+        Donor row = copy(donor);
+        if (donor.getRegisteredBy() != null) {
+            row.setRegisteredBy(employeeReference(donor.getRegisteredBy().getEmpId()));
+        }
+        return row;
+    }
+
+    static EmployeeTeam toRow(EmployeeTeam employeeTeam) {
+        return copy(employeeTeam);
+    }
+
+    static Hospital toRow(Hospital hospital) {
+        Hospital row = copy(hospital);
+        if (hospital.getContactedBloodBank() != null) {
+            row.setContactedBloodBank(bloodBankReference(hospital.getContactedBloodBank().getBloodBankId()));
+        }
+        return row;
+    }
+
+    static Patient toRow(Patient patient) {
+        Patient row = copy(patient);
+        if (patient.getRegisteredBy() != null) {
+            row.setRegisteredBy(employeeReference(patient.getRegisteredBy().getEmpId()));
+        }
+        return row;
+    }
+
+    // Copy of a BloodBank row with a different quantity (rows are never modified in place)
+    static BloodBank withQuantity(BloodBank row, int quantity) {
+        BloodBank updated = copy(row);
+        updated.setAdmin(row.getAdmin());  // References are immutable and can be shared
+        updated.setQuantity(quantity);
+        return updated;
+    }
+
+    // Copy of a BloodRequest row with different progress (rows are never modified in place)
+    static BloodRequest withProgress(BloodRequest row, int unitsAllocated, BloodRequest.Status status, Date fulfilledAt) {
+        BloodRequest updated = copy(row);
+        updated.setHospital(row.getHospital());  // References are immutable and can be shared
+        updated.setBloodBank(row.getBloodBank());
+        updated.setPatient(row.getPatient());
+        updated.setUnitsAllocated(unitsAllocated);
+        updated.setStatus(status);
+        updated.setFulfilledAt(copy(fulfilledAt));
+        return updated;
+    }
+
+    // Copy of a Blood row held for another patient until the given time, or not held if both are null (rows are never modified in place)
+    static Blood withReservation(Blood row, String patientId, Date until) {
+        Blood updated = copy(row);
+        updated.setStoredIn(row.getStoredIn());  // References are immutable and can be shared
+        updated.setDonatedBy(row.getDonatedBy());
+        updated.setReceivedBy(row.getReceivedBy());
+        if (patientId != null) {
+            Patient patient = new Patient();
+            patient.setPatientId(patientId);
+            updated.setReservedFor(patient);
+        }
+        updated.setReservedUntil(copy(until));
+        return updated;
+    }
+
+    // Copy of a Blood row that is no longer held
+    static Blood withoutReservation(Blood row) {
+        return withReservation(row, null, null);
+    }
+
+    // ===== References =====
+
+    private static Admin adminReference(String adminId) {
+        Admin reference = new Admin();
+        reference.setAdminId(adminId);
+        return reference;
+    }
+
+    private static BloodBank bloodBankReference(String bloodBankId) {
+        BloodBank reference = new BloodBank();
+        reference.setBloodBankId(bloodBankId);
+        return reference;
+    }
+
+    private static EmployeeTeam employeeReference(String empId) {
+        EmployeeTeam reference = new EmployeeTeam();
+        reference.setEmpId(empId);
+        return reference;
+    }
+
+    // ===== Reference ids (null for an unset association) =====
+
+    static String id(Admin admin) {
+        return admin == null ? null : admin.getAdminId();
+    }
+
+    static String id(BloodBank bloodBank) {
+        return bloodBank == null ? null : bloodBank.getBloodBankId();
+    }
+
+    static String id(Donor donor) {
+        return donor == null ? null : donor.getDonorId();
+    }
+
+    static String id(EmployeeTeam employeeTeam) {
+        return employeeTeam == null ? null : employeeTeam.getEmpId();
+    }
+
+    static String id(Hospital hospital) {
+        return hospital == null ? null : hospital.getHospitalId();
+    }
+
+    static String id(Patient patient) {
+        return patient == null ? null : patient.getPatientId();
+    }
+}
@@ -0,0 +1,44 @@
+package com.bloodbank.dao.inmemory;
+
+import java.util.Collections;  // Importing Collections for the empty result
+import java.util.NavigableSet;  // Importing NavigableSet for ordered id sets
+import java.util.concurrent.ConcurrentHashMap;  // Importing ConcurrentHashMap for the index buckets
+import java.util.concurrent.ConcurrentSkipListSet;  // Importing ConcurrentSkipListSet for ordered, concurrent id sets
+
+// Non-unique index from a column value to the ids of the rows holding it. Each bucket is ordered by id, so
+// filtered keyset pages are a tail view of the bucket. Updated under the database write lock, read lock-free.
+final class SecondaryIndex {
+
+    private final ConcurrentHashMap<String, ConcurrentSkipListSet<String>> buckets = new ConcurrentHashMap<>();
+
+    // Adds the row id under the key (null keys, like an unset foreign key, are not indexed)
+    void add(String key, String id) {
+        if (key != null) {
+            buckets.computeIfAbsent(key, k -> new ConcurrentSkipListSet<>()).add(id);
+        }
+    }
+
+    // Removes the row id from the key, dropping the bucket once it is empty
+    void remove(String key, String id) {
+        if (key == null) {
+            return;
+        }
+        ConcurrentSkipListSet<String> ids = buckets.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                buckets.remove(key, ids);
+            }
+        }
+    }
+
+    // Returns a live, ordered view of the ids stored under the key
+    NavigableSet<String> ids(String key) {
+        NavigableSet<String> ids = key == null ? null : buckets.get(key);
+        return ids != null ? ids : Collections.emptyNavigableSet();
+    }
+
+    void clear() {
+        buckets.clear();
+    }
+}
@@ -1,25 +1,36 @@
-package com.bloodbank.dao;// Declares the package this interface belongs to
-
-
-import com.bloodbank.entity.Admin;// Imports the Admin entity class
-
-import java.util.List;// Imports the List interface for handling multiple Admin objects
-
-// DAO interface for Admin entity
-public interface AdminDAO {
-
-    // Retrieve an Admin by its ID
-    Admin getAdminById(String adminId);
-
-    // Save a new Admin entity
-    void saveAdmin(Admin admin);
-
-    // Update an existing Admin entity
-    void updateAdmin(Admin admin);
-
-    // Delete an Admin by its ID
-    void deleteAdmin(String adminId);
-
-    // Retrieve a list of all Admins
-    List<Admin> getAllAdmins();
-}
+package com.bloodbank.dao;// Declares the package this interface belongs to
+
+
+import com.bloodbank.entity.Admin;// Imports the Admin entity class
+
+import java.util.Collection;  // Importing Collection for bulk operations
+import java.util.List;// Imports the List interface for handling multiple Admin objects
+import java.util.Map;  // Importing Map for lookups keyed by id
+
+// DAO interface for Admin entity
+public interface AdminDAO {
+
+    // Retrieve an Admin by its ID
+    Admin getAdminById(String adminId);
+
+    // Retrieve many Admin records by ID with batched IN queries; returns the ones found, keyed by ID
+    Map<String, Admin> getAdminsByIds(Collection<String> adminIds);
+
+    // Save a new Admin entity
+    void saveAdmin(Admin admin);
+
+    // Update an existing Admin entity
+    void updateAdmin(Admin admin);
+
+    // Delete an Admin by its ID
+    void deleteAdmin(String adminId);
+
+    // Delete many Admin records (and their blood banks, with the banks' blood units and hospitals) by ID without loading them; returns the number deleted (-1 on failure)
+    int deleteAdmins(Collection<String> adminIds);
+
+    // Retrieve a list of all Admins
+    List<Admin> getAllAdmins();
+
+    // Retrieve one page of Admin records ordered by id, starting after the given id (null for the first page)
+    List<Admin> getAdminsPage(String afterAdminId, int pageSize);
+}
@@ -1,27 +1,44 @@
-package com.bloodbank.dao;// Declares the package this interface belongs to
-
-import com.bloodbank.entity.BloodBank;// Imports the BloodBank entity class
-
-import java.util.List;// Imports the List interface for handling multiple BloodBank objects
-
-// DAO interface for BloodBank entity
-public interface BloodBankDAO {
-
-    // Retrieve a BloodBank by its ID
-    BloodBank getBloodBankById(String bloodBankId);
-
-    // Save a new BloodBank entity
-    void saveBloodBank(BloodBank bloodBank);
-
-    // Update an existing BloodBank entity
-    void updateBloodBank(BloodBank bloodBank);
-
-    // Delete a BloodBank by its ID
-    void deleteBloodBank(String bloodBankId);
-
-    // Retrieve a list of all BloodBanks
-    List<BloodBank> getAllBloodBanks();
-
-    // Increase or decrease blood quantity in a BloodBank
-    void updateBloodQuantity(String bloodBankId, int quantityChange);
-}
+package com.bloodbank.dao;// Declares the package this interface belongs to
+
+import com.bloodbank.entity.BloodBank;// Imports the BloodBank entity class
+
+import java.util.Collection;  // Importing Collection for bulk operations
+import java.util.List;// Imports the List interface for handling multiple BloodBank objects
+import java.util.Map;  // Importing Map for lookups keyed by id
+import java.util.concurrent.CompletableFuture;  // Importing CompletableFuture for background purges
+
+// DAO interface for BloodBank entity
+public interface BloodBankDAO {
+
+    // Retrieve a BloodBank by its ID
+    BloodBank getBloodBankById(String bloodBankId);
+
+    // Retrieve many BloodBank records by ID with batched IN queries; returns the ones found, keyed by ID
+    Map<String, BloodBank> getBloodBanksByIds(Collection<String> bloodBankIds);
+
+    // Save a new BloodBank entity
+    void saveBloodBank(BloodBank bloodBank);
+
+    // Update an existing BloodBank entity
+    void updateBloodBank(BloodBank bloodBank);
+
+    // Delete a BloodBank by its ID
+    void deleteBloodBank(String bloodBankId);
+
+    // Delete many BloodBank records (and their blood units and hospitals) by ID without loading them; returns the number deleted (-1 on failure)
+    int deleteBloodBanks(Collection<String> bloodBankIds);
+
+    // Delete a BloodBank with a very large cascade: its blood units, blood requests and hospitals are deleted chunkSize rows per transaction
+    // on a background thread, then the BloodBank; the future yields the number of rows deleted
+    CompletableFuture<Long> purgeBloodBank(String bloodBankId, int chunkSize);
+
+    // Retrieve a list of all BloodBanks
+    List<BloodBank> getAllBloodBanks();
+
+    // Retrieve one page of BloodBank records ordered by id, starting after the given id (null for the first page)
+    List<BloodBank> getBloodBanksPage(String afterBloodBankId, int pageSize);
+
+    // Atomically increase or decrease blood quantity in a BloodBank; returns false if the BloodBank does not exist
+    // or the change would make the quantity negative
+    boolean updateBloodQuantity(String bloodBankId, int quantityChange);
+}
@@ -1,27 +1,77 @@
-package com.bloodbank.dao;// Declares the package this interface belongs to
-
-import com.bloodbank.entity.Blood;  // Importing the Blood entity class
-import java.util.List;  // Importing the List interface to handle collections of Blood objects
-
-// Interface for CRUD operations related to the Blood entity
-public interface BloodDAO {
-
-    // Method to retrieve a Blood record by its unique identifier (bloodId)
-    Blood getBloodById(String bloodId);
-
-    // Method to save a new Blood record into the database
-    void saveBlood(Blood blood);
-
-    // Method to update an existing Blood record
-    void updateBlood(Blood blood);
-
-    // Method to delete a Blood record from the database by its unique identifier (bloodId)
-    void deleteBlood(String bloodId);
-
-    // Method to retrieve a list of Blood records associated with a specific Blood Bank by its unique identifier (bloodBankId)
-    List<Blood> getBloodByBloodBankId(String bloodBankId);
-
-    // Method to retrieve all Blood records from the database
-    List<Blood> getAllBlood();
-}
-
+package com.bloodbank.dao;// Declares the package this interface belongs to
+
+import com.bloodbank.entity.Blood;  // Importing the Blood entity class
+import com.bloodbank.entity.BloodPatch;  // Importing BloodPatch for partial updates
+import java.util.Collection;  // Importing Collection for bulk operations
+import java.util.Date;  // Importing Date for the reservation times
+import java.util.List;  // Importing the List interface to handle collections of Blood objects
+import java.util.Map;  // Importing Map for lookups keyed by id
+import java.util.function.Consumer;  // Importing Consumer for streaming callbacks
+
+// Interface for CRUD operations related to the Blood entity
+public interface BloodDAO {
+
+    // Method to retrieve a Blood record by its unique identifier (bloodId)
+    Blood getBloodById(String bloodId);
+
+    // Method to retrieve many Blood records by their unique identifiers with batched IN queries; returns the ones found, keyed by bloodId
+    Map<String, Blood> getBloodUnitsByIds(Collection<String> bloodIds);
+
+    // Method to save a new Blood record into the database
+    void saveBlood(Blood blood);
+
+    // Method to save many Blood records in one transaction using JDBC batching; returns the number saved
+    int saveAll(Collection<Blood> bloodUnits);
+
+    // Method to save many Blood records using JDBC batching, committing every commitSize records; returns the number committed
+    int saveAll(Collection<Blood> bloodUnits, int commitSize);
+
+    // Method to update an existing Blood record
+    void updateBlood(Blood blood);
+
+    // Method to update only the fields set in the patch, without loading the record; returns false if no Blood has that bloodId
+    boolean patchBlood(String bloodId, BloodPatch patch);
+
+    // Method to delete a Blood record from the database by its unique identifier (bloodId)
+    void deleteBlood(String bloodId);
+
+    // Delete many Blood records by ID without loading them; returns the number deleted (-1 on failure)
+    int deleteBloodUnits(Collection<String> bloodIds);
+
+    // Method to mark many Blood records expired with batched UPDATEs, skipping those already expired or received by a patient; returns the number marked (-1 on failure)
+    int markExpired(Collection<String> bloodIds);
+
+    // Method to assign up to count unassigned, unexpired units of the given blood groups (upper-case labels such as "AB-") stored in
+    // the Blood Bank to the patient, the units held for that patient first, then earliest expiry first; units held for another
+    // patient are passed over until their hold ends, and units locked by a concurrent allocation are skipped rather than waited
+    // for. Assigning a unit ends its hold. Returns the ids of the units assigned (null on failure)
+    List<String> allocateUnits(String patientId, String bloodBankId, Collection<String> bloodGroups, int count);
+
+    // Method to hold up to count unassigned, unexpired units of the given blood groups stored in the Blood Bank for the patient until
+    // the given time, earliest expiry first, passing over units already held and units locked by a concurrent transaction.
+    // Returns the ids of the units held (null on failure)
+    List<String> reserveUnits(String patientId, String bloodBankId, Collection<String> bloodGroups, int count, Date until);
+
+    // Method to end the holds on many Blood records with batched UPDATEs: only the holds that ended at or before lapsedBy, or every
+    // hold if lapsedBy is null. Returns the number of holds ended (-1 on failure)
+    int releaseReservations(Collection<String> bloodIds, Date lapsedBy);
+
+    // Method to retrieve when each held Blood record's hold ends, keyed by bloodId (null on failure)
+    Map<String, Date> getReservations();
+
+    // Method to retrieve a list of Blood records associated with a specific Blood Bank by its unique identifier (bloodBankId)
+    List<Blood> getBloodByBloodBankId(String bloodBankId);
+
+    // Method to retrieve one page of Blood records stored in a Blood Bank, ordered by id, starting after the given id (null for the first page)
+    List<Blood> getBloodByBloodBankIdPage(String bloodBankId, String afterBloodId, int pageSize);
+
+    // Method to retrieve all Blood records from the database
+    List<Blood> getAllBlood();
+
+    // Method to stream every Blood record to the action without loading the table into memory; returns the number of records (-1 on failure)
+    long forEachBlood(Consumer<Blood> action);
+
+    // Retrieve one page of Blood records ordered by id, starting after the given id (null for the first page)
+    List<Blood> getBloodPage(String afterBloodId, int pageSize);
+}
+
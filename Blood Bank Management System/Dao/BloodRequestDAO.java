@@ -0,0 +1,28 @@
+package com.bloodbank.dao;// Declares the package this interface belongs to
+
+import com.bloodbank.entity.BloodRequest;  // Importing the BloodRequest entity class
+import java.util.Date;  // Importing Date for the fulfilment time
+import java.util.List;  // Importing the List interface to handle collections of BloodRequest objects
+
+// Interface for the operations related to the BloodRequest entity
+public interface BloodRequestDAO {
+
+    // Method to retrieve a BloodRequest record by its unique identifier (requestId), with its hospital, blood bank and patient
+    BloodRequest getBloodRequestById(String requestId);
+
+    // Method to save a new BloodRequest record into the database
+    void saveBloodRequest(BloodRequest request);
+
+    // Method to retrieve the BloodRequest records of a hospital, oldest first
+    List<BloodRequest> getBloodRequestsByHospital(String hospitalId);
+
+    // Method to retrieve every PENDING BloodRequest record, oldest first, with its blood bank and patient (null on failure)
+    List<BloodRequest> getPendingBloodRequests();
+
+    // Method to add issued units to a PENDING request, marking it FULFILLED at the given time once all its units are issued.
+    // Returns false if the request does not exist or is no longer pending (nothing is recorded)
+    boolean recordAllocation(String requestId, int units, Date at);
+
+    // Method to mark a PENDING request CANCELLED; returns false if it does not exist or is no longer pending
+    boolean cancelBloodRequest(String requestId);
+}
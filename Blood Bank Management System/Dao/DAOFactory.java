@@ -0,0 +1,131 @@
+package com.bloodbank.dao;// Declares the package this class belongs to
+
+import java.util.Locale;  // Importing Locale to parse the backend name
+
+import com.bloodbank.dao.impl.AdminDAOImpl;
+import com.bloodbank.dao.impl.BloodBankDAOImpl;
+import com.bloodbank.dao.impl.BloodDAOImpl;
+import com.bloodbank.dao.impl.BloodRequestDAOImpl;
+import com.bloodbank.dao.impl.DonorDAOImpl;
+import com.bloodbank.dao.impl.EmployeeTeamDAOImpl;
+import com.bloodbank.dao.impl.HospitalDAOImpl;
+import com.bloodbank.dao.impl.PatientDAOImpl;
+import com.bloodbank.dao.inmemory.InMemoryAdminDAO;
+import com.bloodbank.dao.inmemory.InMemoryBloodBankDAO;
+import com.bloodbank.dao.inmemory.InMemoryBloodDAO;
+import com.bloodbank.dao.inmemory.InMemoryBloodRequestDAO;
+import com.bloodbank.dao.inmemory.InMemoryDonorDAO;
+import com.bloodbank.dao.inmemory.InMemoryEmployeeTeamDAO;
+import com.bloodbank.dao.inmemory.InMemoryHospitalDAO;
+import com.bloodbank.dao.inmemory.InMemoryPatientDAO;
+import com.bloodbank.inventory.IndexedBloodDAO;  // Importing IndexedBloodDAO to keep the inventory index in step with blood writes
+import com.bloodbank.inventory.InventoryIndex;  // Importing InventoryIndex, the available units by bank and blood group
+import com.bloodbank.util.HibernateUtil;  // Importing HibernateUtil to start and shut the Hibernate backend down
+import com.bloodbank.util.MethodMetrics;  // Importing MethodMetrics to instrument the DAOs
+
+// Creates the DAOs of the backend selected at startup with -Dbloodbank.backend=hibernate|memory (default hibernate),
+// wrapped so that every call is counted and timed (see MethodMetrics) and the blood writes reach the inventory index
+public final class DAOFactory {
+
+    // The storage behind the DAOs
+    public enum Backend {
+        HIBERNATE, // The *DAOImpl classes, backed by the database configured in hibernate.cfg.xml
+        MEMORY     // The com.bloodbank.dao.inmemory classes, backed by concurrent maps in this JVM
+    }
+
+    public static final String BACKEND_PROPERTY = "bloodbank.backend";  // System property that selects the backend
+
+    private static final Backend BACKEND = readBackend();  // Chosen once, when the class is first used
+
+    // Available blood units by bank and group, shared by every DAO of the backend; loaded on first use
+    private static final InventoryIndex INVENTORY_INDEX = new InventoryIndex(action -> newBloodDAO().forEachBlood(action));
+
+    private DAOFactory() {
+    }
+
+    // Method to get the backend selected at startup
+    public static Backend getBackend() {
+        return BACKEND;
+    }
+
+    // Method to create an AdminDAO for the selected backend
+    public static AdminDAO adminDAO() {
+        return MethodMetrics.instrument(AdminDAO.class, INVENTORY_INDEX.invalidatingOnDeletes(AdminDAO.class,
+                BACKEND == Backend.MEMORY ? new InMemoryAdminDAO() : new AdminDAOImpl()));
+    }
+
+    // Method to create a BloodBankDAO for the selected backend
+    public static BloodBankDAO bloodBankDAO() {
+        return MethodMetrics.instrument(BloodBankDAO.class, INVENTORY_INDEX.invalidatingOnDeletes(BloodBankDAO.class,
+                BACKEND == Backend.MEMORY ? new InMemoryBloodBankDAO() : new BloodBankDAOImpl()));
+    }
+
+    // Method to create a BloodDAO for the selected backend
+    public static BloodDAO bloodDAO() {
+        return MethodMetrics.instrument(BloodDAO.class, new IndexedBloodDAO(newBloodDAO(), INVENTORY_INDEX));
+    }
+
+    // Method to create a BloodRequestDAO for the selected backend
+    public static BloodRequestDAO bloodRequestDAO() {
+        return MethodMetrics.instrument(BloodRequestDAO.class, BACKEND == Backend.MEMORY ? new InMemoryBloodRequestDAO() : new BloodRequestDAOImpl());
+    }
+
+    // Method to create a DonorDAO for the selected backend
+    public static DonorDAO donorDAO() {
+        return MethodMetrics.instrument(DonorDAO.class, INVENTORY_INDEX.invalidatingOnDeletes(DonorDAO.class,
+                BACKEND == Backend.MEMORY ? new InMemoryDonorDAO() : new DonorDAOImpl()));
+    }
+
+    // Method to create an EmployeeTeamDAO for the selected backend
+    public static EmployeeTeamDAO employeeTeamDAO() {
+        return MethodMetrics.instrument(EmployeeTeamDAO.class, INVENTORY_INDEX.invalidatingOnDeletes(EmployeeTeamDAO.class,
+                BACKEND == Backend.MEMORY ? new InMemoryEmployeeTeamDAO() : new EmployeeTeamDAOImpl()));
+    }
+
+    // Method to create a HospitalDAO for the selected backend
+    public static HospitalDAO hospitalDAO() {
+        return MethodMetrics.instrument(HospitalDAO.class, BACKEND == Backend.MEMORY ? new InMemoryHospitalDAO() : new HospitalDAOImpl());
+    }
+
+    // Method to create a PatientDAO for the selected backend; deleting a patient ends the holds on its units, which
+    // then return to the index
+    public static PatientDAO patientDAO() {
+        return MethodMetrics.instrument(PatientDAO.class, INVENTORY_INDEX.invalidatingOnDeletes(PatientDAO.class,
+                BACKEND == Backend.MEMORY ? new InMemoryPatientDAO() : new PatientDAOImpl()));
+    }
+
+    // Method to get the index of available blood units by bank and group, kept in step with the blood writes
+    public static InventoryIndex inventoryIndex() {
+        return INVENTORY_INDEX;
+    }
+
+    // Method to start the backend without waiting for it (the SessionFactory is built in the background for
+    // Hibernate); the first DAO call waits until it is ready
+    public static void startInBackground() {
+        if (BACKEND == Backend.HIBERNATE) {
+            HibernateUtil.startInBackground();
+        }
+    }
+
+    // Method to release the backend's resources (the SessionFactory and connection pool for Hibernate)
+    public static void shutdown() {
+        if (BACKEND == Backend.HIBERNATE) {
+            HibernateUtil.shutdown();
+        }
+    }
+
+    // Creates the plain BloodDAO of the selected backend
+    private static BloodDAO newBloodDAO() {
+        return BACKEND == Backend.MEMORY ? new InMemoryBloodDAO() : new BloodDAOImpl();
+    }
+
+    // Reads -Dbloodbank.backend, failing fast on a value that names no backend
+    private static Backend readBackend() {
+        String value = System.getProperty(BACKEND_PROPERTY, Backend.HIBERNATE.name());
+        try {
+            return Backend.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Unknown " + BACKEND_PROPERTY + " '" + value + "'; expected hibernate or memory", e);
+        }
+    }
+}
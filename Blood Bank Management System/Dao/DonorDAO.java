@@ -1,23 +1,48 @@
-package com.bloodbank.dao;// Declares the package this interface belongs to
-
-import com.bloodbank.entity.Donor;  // Importing the Donor entity class
-import java.util.List;  // Importing the List interface to handle collections of Donor objects
-
-// Interface for CRUD operations related to the Donor entity
-public interface DonorDAO {
-
-    // Method to retrieve a Donor record by its unique identifier (donorId)
-    Donor getDonorById(String donorId);
-
-    // Method to save a new Donor record into the database
-    void saveDonor(Donor donor);
-
-    // Method to update an existing Donor record
-    void updateDonor(Donor donor);
-
-    // Method to delete a Donor record from the database by its unique identifier (donorId)
-    void deleteDonor(String donorId);
-
-    // Method to retrieve all Donor records from the database
-    List<Donor> getAllDonors();
-}
+package com.bloodbank.dao;// Declares the package this interface belongs to
+
+import com.bloodbank.entity.Donor;  // Importing the Donor entity class
+import com.bloodbank.entity.DonorPatch;  // Importing DonorPatch for partial updates
+import java.util.Collection;  // Importing Collection for bulk operations
+import java.util.List;  // Importing the List interface to handle collections of Donor objects
+import java.util.Map;  // Importing Map for lookups keyed by id
+import java.util.function.Consumer;  // Importing Consumer for streaming callbacks
+
+// Interface for CRUD operations related to the Donor entity
+public interface DonorDAO {
+
+    // Method to retrieve a Donor record by its unique identifier (donorId)
+    Donor getDonorById(String donorId);
+
+    // Method to retrieve many Donor records by their unique identifiers with batched IN queries; returns the ones found, keyed by donorId
+    Map<String, Donor> getDonorsByIds(Collection<String> donorIds);
+
+    // Method to save a new Donor record into the database
+    void saveDonor(Donor donor);
+
+    // Method to save many Donor records in one transaction using JDBC batching; returns the number saved
+    int saveAll(Collection<Donor> donors);
+
+    // Method to save many Donor records using JDBC batching, committing every commitSize records; returns the number committed
+    int saveAll(Collection<Donor> donors, int commitSize);
+
+    // Method to update an existing Donor record
+    void updateDonor(Donor donor);
+
+    // Method to update only the fields set in the patch, without loading the record; returns false if no Donor has that donorId
+    boolean patchDonor(String donorId, DonorPatch patch);
+
+    // Method to delete a Donor record from the database by its unique identifier (donorId)
+    void deleteDonor(String donorId);
+
+    // Delete many Donor records (and the blood units they donated) by ID without loading them; returns the number deleted (-1 on failure)
+    int deleteDonors(Collection<String> donorIds);
+
+    // Method to retrieve all Donor records from the database
+    List<Donor> getAllDonors();
+
+    // Method to stream every Donor record to the action without loading the table into memory; returns the number of records (-1 on failure)
+    long forEachDonor(Consumer<Donor> action);
+
+    // Retrieve one page of Donor records ordered by id, starting after the given id (null for the first page)
+    List<Donor> getDonorsPage(String afterDonorId, int pageSize);
+}
@@ -1,23 +1,39 @@
-package com.bloodbank.dao;// Declares the package this interface belongs to
-
-import com.bloodbank.entity.EmployeeTeam;  // Importing the EmployeeTeam entity class
-import java.util.List;  // Importing the List interface to handle collections of EmployeeTeam objects
-
-// Interface for CRUD operations related to the EmployeeTeam entity
-public interface EmployeeTeamDAO {
-
-    // Method to retrieve an EmployeeTeam record by its unique identifier (empId)
-    EmployeeTeam getEmployeeTeamById(String empId);
-
-    // Method to save a new EmployeeTeam record into the database
-    void saveEmployeeTeam(EmployeeTeam employeeTeam);
-
-    // Method to update an existing EmployeeTeam record
-    void updateEmployeeTeam(EmployeeTeam employeeTeam);
-
-    // Method to delete an EmployeeTeam record from the database by its unique identifier (empId)
-    void deleteEmployeeTeam(String empId);
-
-    // Method to retrieve all EmployeeTeam records from the database
-    List<EmployeeTeam> getAllEmployeeTeams();
-}
+package com.bloodbank.dao;// Declares the package this interface belongs to
+
+import com.bloodbank.entity.EmployeeTeam;  // Importing the EmployeeTeam entity class
+import java.util.Collection;  // Importing Collection for bulk operations
+import java.util.List;  // Importing the List interface to handle collections of EmployeeTeam objects
+import java.util.Map;  // Importing Map for lookups keyed by id
+import java.util.concurrent.CompletableFuture;  // Importing CompletableFuture for background purges
+
+// Interface for CRUD operations related to the EmployeeTeam entity
+public interface EmployeeTeamDAO {
+
+    // Method to retrieve an EmployeeTeam record by its unique identifier (empId)
+    EmployeeTeam getEmployeeTeamById(String empId);
+
+    // Method to retrieve many EmployeeTeam records by their unique identifiers with batched IN queries; returns the ones found, keyed by empId
+    Map<String, EmployeeTeam> getEmployeeTeamsByIds(Collection<String> empIds);
+
+    // Method to save a new EmployeeTeam record into the database
+    void saveEmployeeTeam(EmployeeTeam employeeTeam);
+
+    // Method to update an existing EmployeeTeam record
+    void updateEmployeeTeam(EmployeeTeam employeeTeam);
+
+    // Method to delete an EmployeeTeam record from the database by its unique identifier (empId)
+    void deleteEmployeeTeam(String empId);
+
+    // Delete many EmployeeTeam records (and their donors and patients, with those people's blood units) by ID without loading them; returns the number deleted (-1 on failure)
+    int deleteEmployeeTeams(Collection<String> empIds);
+
+    // Delete an EmployeeTeam with a very large cascade: its donors, patients, their blood units and the patients' blood requests are deleted chunkSize rows per transaction
+    // on a background thread, then the EmployeeTeam; the future yields the number of rows deleted
+    CompletableFuture<Long> purgeEmployeeTeam(String empId, int chunkSize);
+
+    // Method to retrieve all EmployeeTeam records from the database
+    List<EmployeeTeam> getAllEmployeeTeams();
+
+    // Retrieve one page of EmployeeTeam records ordered by id, starting after the given id (null for the first page)
+    List<EmployeeTeam> getEmployeeTeamsPage(String afterEmployeeTeamId, int pageSize);
+}
@@ -1,23 +1,34 @@
-package com.bloodbank.dao;// Declares the package this interface belongs to
-
-import com.bloodbank.entity.Hospital;  // Importing the Hospital entity class
-import java.util.List;  // Importing the List interface to handle collections of Hospital objects
-
-// Interface for CRUD operations related to the Hospital entity
-public interface HospitalDAO {
-
-    // Method to retrieve a Hospital record by its unique identifier (hospitalId)
-    Hospital getHospitalById(String hospitalId);
-
-    // Method to save a new Hospital record into the database
-    void saveHospital(Hospital hospital);
-
-    // Method to update an existing Hospital record
-    void updateHospital(Hospital hospital);
-
-    // Method to delete a Hospital record from the database by its unique identifier (hospitalId)
-    void deleteHospital(String hospitalId);
-
-    // Method to retrieve all Hospital records from the database
-    List<Hospital> getAllHospitals();
-}
+package com.bloodbank.dao;// Declares the package this interface belongs to
+
+import com.bloodbank.entity.Hospital;  // Importing the Hospital entity class
+import java.util.Collection;  // Importing Collection for bulk operations
+import java.util.List;  // Importing the List interface to handle collections of Hospital objects
+import java.util.Map;  // Importing Map for lookups keyed by id
+
+// Interface for CRUD operations related to the Hospital entity
+public interface HospitalDAO {
+
+    // Method to retrieve a Hospital record by its unique identifier (hospitalId)
+    Hospital getHospitalById(String hospitalId);
+
+    // Method to retrieve many Hospital records by their unique identifiers with batched IN queries; returns the ones found, keyed by hospitalId
+    Map<String, Hospital> getHospitalsByIds(Collection<String> hospitalIds);
+
+    // Method to save a new Hospital record into the database
+    void saveHospital(Hospital hospital);
+
+    // Method to update an existing Hospital record
+    void updateHospital(Hospital hospital);
+
+    // Method to delete a Hospital record from the database by its unique identifier (hospitalId)
+    void deleteHospital(String hospitalId);
+
+    // Delete many Hospital records by ID without loading them; returns the number deleted (-1 on failure)
+    int deleteHospitals(Collection<String> hospitalIds);
+
+    // Method to retrieve all Hospital records from the database
+    List<Hospital> getAllHospitals();
+
+    // Retrieve one page of Hospital records ordered by id, starting after the given id (null for the first page)
+    List<Hospital> getHospitalsPage(String afterHospitalId, int pageSize);
+}
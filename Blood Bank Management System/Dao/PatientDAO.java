@@ -1,23 +1,48 @@
-package com.bloodbank.dao;// Declares the package this interface belongs to
-
-import com.bloodbank.entity.Patient;  // Importing the Patient entity class
-import java.util.List;  // Importing the List interface to handle collections of Patient objects
-
-// Interface for CRUD operations related to the Patient entity
-public interface PatientDAO {
-
-    // Method to retrieve a Patient record by its unique identifier (patientId)
-    Patient getPatientById(String patientId);
-
-    // Method to save a new Patient record into the database
-    void savePatient(Patient patient);
-
-    // Method to update an existing Patient record
-    void updatePatient(Patient patient);
-
-    // Method to delete a Patient record from the database by its unique identifier (patientId)
-    void deletePatient(String patientId);
-
-    // Method to retrieve all Patient records from the database
-    List<Patient> getAllPatients();
-}
+package com.bloodbank.dao;// Declares the package this interface belongs to
+
+import com.bloodbank.entity.Patient;  // Importing the Patient entity class
+import com.bloodbank.entity.PatientPatch;  // Importing PatientPatch for partial updates
+import java.util.Collection;  // Importing Collection for bulk operations
+import java.util.List;  // Importing the List interface to handle collections of Patient objects
+import java.util.Map;  // Importing Map for lookups keyed by id
+import java.util.function.Consumer;  // Importing Consumer for streaming callbacks
+
+// Interface for CRUD operations related to the Patient entity
+public interface PatientDAO {
+
+    // Method to retrieve a Patient record by its unique identifier (patientId)
+    Patient getPatientById(String patientId);
+
+    // Method to retrieve many Patient records by their unique identifiers with batched IN queries; returns the ones found, keyed by patientId
+    Map<String, Patient> getPatientsByIds(Collection<String> patientIds);
+
+    // Method to save a new Patient record into the database
+    void savePatient(Patient patient);
+
+    // Method to save many Patient records in one transaction using JDBC batching; returns the number saved
+    int saveAll(Collection<Patient> patients);
+
+    // Method to save many Patient records using JDBC batching, committing every commitSize records; returns the number committed
+    int saveAll(Collection<Patient> patients, int commitSize);
+
+    // Method to update an existing Patient record
+    void updatePatient(Patient patient);
+
+    // Method to update only the fields set in the patch, without loading the record; returns false if no Patient has that patientId
+    boolean patchPatient(String patientId, PatientPatch patch);
+
+    // Method to delete a Patient record from the database by its unique identifier (patientId)
+    void deletePatient(String patientId);
+
+    // Delete many Patient records (and the blood units they received) by ID without loading them; returns the number deleted (-1 on failure)
+    int deletePatients(Collection<String> patientIds);
+
+    // Method to retrieve all Patient records from the database
+    List<Patient> getAllPatients();
+
+    // Method to stream every Patient record to the action without loading the table into memory; returns the number of records (-1 on failure)
+    long forEachPatient(Consumer<Patient> action);
+
+    // Retrieve one page of Patient records ordered by id, starting after the given id (null for the first page)
+    List<Patient> getPatientsPage(String afterPatientId, int pageSize);
+}
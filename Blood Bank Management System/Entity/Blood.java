@@ -1,184 +1,367 @@
-package com.bloodbank.entity; // Specifies the package where the entity class belongs
-
-// Importing the necessary JPA and Hibernate Validator annotations
-import javax.validation.constraints.NotBlank; // For validating that the field is not blank
-import javax.validation.constraints.Pattern; // For validating the field's value against a regular expression
-import javax.validation.constraints.Size; // For validating the size of the string
-
-import jakarta.persistence.*;// JPA annotations for entity mapping and relationships
-
-/**
- * Entity class representing a Blood Unit in the Blood Bank Management System.
- * This class is mapped to the 'blood' table in the database.
- */
-@Entity // Marks this class as a JPA entity, meaning it will be mapped to a table in the database
-@Table(name = "blood") // Specifies the table name in the database ('blood' table)
-public class Blood {
-
-    // ===== Primary Key: Blood ID =====
-
-    /**
-     * Unique identifier for the Blood entity. This is the primary key for the 'blood' table.
-     * The ID is a string (e.g., B1, B2), and it cannot be blank.
-     * Validates that bloodId is not blank and follows a specific format using a regex pattern.
-     */
-    @Id // Specifies that this field is the primary key of the entity
-    @NotBlank(message = "Blood ID cannot be blank") // Validates that the bloodId is not blank
-    @Pattern(regexp = "^B[0-9]+$", message = "Blood ID must start with 'B' followed by digits (e.g., B1, B2)") // Validates that the bloodId starts with 'B' and is followed by digits
-    @Size(max = 20, message = "Blood ID must not exceed 20 characters") // Ensures that the Blood ID has a maximum length of 20 characters
-    @Column(name = "blood_id", length = 20) // Maps the field to the 'blood_id' column in the table with a max length of 20
-    private String bloodId; // Declares the bloodId field as a String
-
-    // ===== Blood Group =====
-
-    /**
-     * The blood group of the blood unit. It cannot be blank and should be at most 10 characters.
-     */
-    @NotBlank(message = "Blood group is required") // Validates that the bloodGroup is not blank
-    @Size(max = 10, message = "Blood group cannot exceed 10 characters") // Validates that the blood group has a maximum length of 10
-    @Column(name = "blood_group", nullable = false, length = 10) // Maps the field to the 'blood_group' column in the table with a max length of 10
-    private String bloodGroup; // Declares the bloodGroup field as a String
-
-    // ===== Relationships =====
-
-    /**
-     * Many blood units are stored in one blood bank. This sets up a many-to-one relationship with BloodBank.
-     */
-    @ManyToOne // Specifies a many-to-one relationship with the BloodBank entity
-    @JoinColumn(name = "bloodbank_id", nullable = false) // Specifies the column in the 'blood' table that links to 'bloodbank_id' in the BloodBank table
-    private BloodBank storedIn; // Declares the storedIn field to link to a BloodBank object
-
-    /**
-     * Many blood units can be donated by one donor. This sets up a many-to-one relationship with Donor.
-     */
-    @ManyToOne // Specifies a many-to-one relationship with the Donor entity
-    @JoinColumn(name = "donor_id") // Specifies the column in the 'blood' table that links to 'donor_id' in the Donor table
-    private Donor donatedBy; // Declares the donatedBy field to link to a Donor object
-
-    /**
-     * Many blood units can be received by one patient. This sets up a many-to-one relationship with Patient.
-     */
-    @ManyToOne // Specifies a many-to-one relationship with the Patient entity
-    @JoinColumn(name = "patient_id") // Specifies the column in the 'blood' table that links to 'patient_id' in the Patient table
-    private Patient receivedBy; // Declares the receivedBy field to link to a Patient object
-
-    // ===== Constructors =====
-
-    /**
-     * Default constructor required by JPA (Java Persistence API).
-     */
-    public Blood() {}
-
-    /**
-     * Constructor to initialize the Blood object with specific values.
-     * @param bloodGroup The blood group of the blood unit.
-     * @param storedIn The blood bank where the blood unit is stored.
-     * @param donatedBy The donor who donated the blood.
-     * @param receivedBy The patient who received the blood.
-     */
-    public Blood(String bloodGroup, BloodBank storedIn, Donor donatedBy, Patient receivedBy) {
-        this.bloodGroup = bloodGroup; // Initializes bloodGroup with the provided value
-        this.storedIn = storedIn; // Initializes storedIn with the provided BloodBank object
-        this.donatedBy = donatedBy; // Initializes donatedBy with the provided Donor object
-        this.receivedBy = receivedBy; // Initializes receivedBy with the provided Patient object
-    }
-
-    // ===== Getters and Setters =====
-
-    /**
-     * Getter for bloodId.
-     * @return bloodId
-     */
-    public String getBloodId() {
-        return bloodId; // Returns the value of bloodId
-    }
-
-    /**
-     * Setter for bloodId.
-     * @param bloodId Sets the bloodId to the provided value
-     */
-    public void setBloodId(String bloodId) {
-        this.bloodId = bloodId; // Sets the value of bloodId
-    }
-
-    /**
-     * Getter for bloodGroup.
-     * @return bloodGroup
-     */
-    public String getBloodGroup() {
-        return bloodGroup; // Returns the value of bloodGroup
-    }
-
-    /**
-     * Setter for bloodGroup.
-     * @param bloodGroup Sets the bloodGroup to the provided value
-     */
-    public void setBloodGroup(String bloodGroup) {
-        this.bloodGroup = bloodGroup; // Sets the value of bloodGroup
-    }
-
-    /**
-     * Getter for storedIn (BloodBank).
-     * @return storedIn (BloodBank)
-     */
-    public BloodBank getStoredIn() {
-        return storedIn; // Returns the associated BloodBank where the blood is stored
-    }
-
-    /**
-     * Setter for storedIn (BloodBank).
-     * @param storedIn Sets the storedIn field to the provided BloodBank object
-     */
-    public void setStoredIn(BloodBank storedIn) {
-        this.storedIn = storedIn; // Sets the value of storedIn
-    }
-
-    /**
-     * Getter for donatedBy (Donor).
-     * @return donatedBy (Donor)
-     */
-    public Donor getDonatedBy() {
-        return donatedBy; // Returns the associated Donor who donated the blood unit
-    }
-
-    /**
-     * Setter for donatedBy (Donor).
-     * @param donatedBy Sets the donatedBy field to the provided Donor object
-     */
-    public void setDonatedBy(Donor donatedBy) {
-        this.donatedBy = donatedBy; // Sets the value of donatedBy
-    }
-
-    /**
-     * Getter for receivedBy (Patient).
-     * @return receivedBy (Patient)
-     */
-    public Patient getReceivedBy() {
-        return receivedBy; // Returns the associated Patient who received the blood unit
-    }
-
-    /**
-     * Setter for receivedBy (Patient).
-     * @param receivedBy Sets the receivedBy field to the provided Patient object
-     */
-    public void setReceivedBy(Patient receivedBy) {
-        this.receivedBy = receivedBy; // Sets the value of receivedBy
-    }
-
-    // ===== toString Method =====
-
-    /**
-     * Returns a string representation of the Blood object, showing all relevant fields.
-     * @return A string representation of the Blood object
-     */
-    @Override
-    public String toString() {
-        return "Blood{" +
-                "bloodId='" + bloodId + '\'' + // Displays the bloodId
-                ", bloodGroup='" + bloodGroup + '\'' + // Displays the bloodGroup
-                ", storedIn=" + storedIn + // Displays the BloodBank where the blood is stored
-                ", donatedBy=" + donatedBy + // Displays the Donor who donated the blood
-                ", receivedBy=" + receivedBy + // Displays the Patient who received the blood
-                '}'; // Closing the string representation
-    }
-}
+package com.bloodbank.entity; // Specifies the package where the entity class belongs
+
+// Importing the necessary JPA and Hibernate Validator annotations
+import javax.validation.constraints.NotBlank; // For validating that the field is not blank
+import javax.validation.constraints.Pattern; // For validating the field's value against a regular expression
+import javax.validation.constraints.Size; // For validating the size of the string
+
+import jakarta.persistence.*;// JPA annotations for entity mapping and relationships
+import org.hibernate.annotations.ColumnDefault; // For the default of the expired column on existing rows
+
+import java.util.Date; // For the collection and expiry timestamps
+import java.util.Locale; // For storing blood groups in upper case
+import java.util.concurrent.TimeUnit; // For the shelf life
+
+/**
+ * Entity class representing a Blood Unit in the Blood Bank Management System.
+ * This class is mapped to the 'blood' table in the database.
+ */
+@Entity // Marks this class as a JPA entity, meaning it will be mapped to a table in the database
+@Table(name = "blood", indexes = { // Specifies the table name in the database ('blood' table) and its secondary indexes
+        @Index(name = "idx_blood_bank_stock", columnList = "bloodbank_id, blood_group, patient_id, expired, expires_at"), // A bank's units of a group: covering for counts, and the unassigned ones in expiry order (FEFO)
+        @Index(name = "idx_blood_group_bank", columnList = "blood_group, bloodbank_id"), // Units of a group across banks, grouped by bank
+        @Index(name = "idx_blood_donor", columnList = "donor_id"), // Units donated by a donor
+        @Index(name = "idx_blood_patient", columnList = "patient_id"), // Units received by a patient
+        @Index(name = "idx_blood_expiry", columnList = "expired, expires_at"), // Unexpired units, first expiry first
+        @Index(name = "idx_blood_reserved_patient", columnList = "reserved_patient_id"), // Units held for a patient
+        @Index(name = "idx_blood_reservation", columnList = "reserved_until") }) // Units under a hold, to reload the holds at startup
+@NamedEntityGraph(name = Blood.DETAILS_GRAPH, attributeNodes = { // Fetch plan for views that print the associations
+        @NamedAttributeNode(value = "storedIn", subgraph = "bloodBank"),
+        @NamedAttributeNode(value = "donatedBy", subgraph = "registeredBy"),
+        @NamedAttributeNode(value = "receivedBy", subgraph = "registeredBy") },
+    subgraphs = {
+        @NamedSubgraph(name = "bloodBank", attributeNodes = @NamedAttributeNode("admin")),
+        @NamedSubgraph(name = "registeredBy", attributeNodes = @NamedAttributeNode("registeredBy")) })
+public class Blood {
+
+    /**
+     * Name of the entity graph that loads the blood bank (with its admin), the donor and the patient
+     * (with the employees who registered them) in the same select.
+     */
+    public static final String DETAILS_GRAPH = "Blood.details";
+
+    /**
+     * Days a red cell unit keeps from collection, used when a unit is saved without an expiry date.
+     */
+    public static final int SHELF_LIFE_DAYS = 42;
+
+    // ===== Primary Key: Blood ID =====
+
+    /**
+     * Unique identifier for the Blood entity. This is the primary key for the 'blood' table.
+     * The ID is a string (e.g., B1, B2), and it cannot be blank.
+     * Validates that bloodId is not blank and follows a specific format using a regex pattern.
+     */
+    @Id // Specifies that this field is the primary key of the entity
+    @NotBlank(message = "Blood ID cannot be blank") // Validates that the bloodId is not blank
+    @Pattern(regexp = "^B[0-9]+$", message = "Blood ID must start with 'B' followed by digits (e.g., B1, B2)") // Validates that the bloodId starts with 'B' and is followed by digits
+    @Size(max = 20, message = "Blood ID must not exceed 20 characters") // Ensures that the Blood ID has a maximum length of 20 characters
+    @Column(name = "blood_id", length = 20) // Maps the field to the 'blood_id' column in the table with a max length of 20
+    private String bloodId; // Declares the bloodId field as a String
+
+    // ===== Blood Group =====
+
+    /**
+     * The blood group of the blood unit. It cannot be blank and should be at most 10 characters.
+     */
+    @NotBlank(message = "Blood group is required") // Validates that the bloodGroup is not blank
+    @Size(max = 10, message = "Blood group cannot exceed 10 characters") // Validates that the blood group has a maximum length of 10
+    @Column(name = "blood_group", nullable = false, length = 10) // Maps the field to the 'blood_group' column in the table with a max length of 10
+    private String bloodGroup; // Declares the bloodGroup field as a String
+
+    // ===== Relationships =====
+
+    /**
+     * Many blood units are stored in one blood bank. This sets up a many-to-one relationship with BloodBank.
+     */
+    @ManyToOne(fetch = FetchType.LAZY) // Specifies a lazily loaded many-to-one relationship with the BloodBank entity
+    @JoinColumn(name = "bloodbank_id", nullable = false) // Specifies the column in the 'blood' table that links to 'bloodbank_id' in the BloodBank table
+    private BloodBank storedIn; // Declares the storedIn field to link to a BloodBank object
+
+    /**
+     * Many blood units can be donated by one donor. This sets up a many-to-one relationship with Donor.
+     */
+    @ManyToOne(fetch = FetchType.LAZY) // Specifies a lazily loaded many-to-one relationship with the Donor entity
+    @JoinColumn(name = "donor_id") // Specifies the column in the 'blood' table that links to 'donor_id' in the Donor table
+    private Donor donatedBy; // Declares the donatedBy field to link to a Donor object
+
+    /**
+     * Many blood units can be received by one patient. This sets up a many-to-one relationship with Patient.
+     */
+    @ManyToOne(fetch = FetchType.LAZY) // Specifies a lazily loaded many-to-one relationship with the Patient entity
+    @JoinColumn(name = "patient_id") // Specifies the column in the 'blood' table that links to 'patient_id' in the Patient table
+    private Patient receivedBy; // Declares the receivedBy field to link to a Patient object
+
+    // ===== Shelf Life =====
+
+    /**
+     * When the unit was collected from the donor.
+     */
+    @Temporal(TemporalType.TIMESTAMP) // Stores the date and the time
+    @Column(name = "collected_at") // Maps the field to the 'collected_at' column
+    private Date collectedAt; // Declares the collectedAt field as a Date
+
+    /**
+     * When the unit expires; from then on it may not be issued. Null for units recorded before expiry was tracked.
+     */
+    @Temporal(TemporalType.TIMESTAMP) // Stores the date and the time
+    @Column(name = "expires_at") // Maps the field to the 'expires_at' column
+    private Date expiresAt; // Declares the expiresAt field as a Date
+
+    /**
+     * Set by the expiry sweep once the unit has expired; its blood bank's quantity no longer counts it.
+     */
+    @ColumnDefault("false") // Existing rows are unexpired when the column is added
+    @Column(name = "expired", nullable = false) // Maps the field to the 'expired' column
+    private boolean expired; // Declares the expired flag
+
+    // ===== Reservation =====
+
+    /**
+     * The patient the unit is held for while it is cross-matched; no other patient may be issued it until the
+     * hold ends. Null when the unit is not held.
+     */
+    @ManyToOne(fetch = FetchType.LAZY) // Specifies a lazily loaded many-to-one relationship with the Patient entity
+    @JoinColumn(name = "reserved_patient_id") // Specifies the column in the 'blood' table that links to the held-for Patient
+    private Patient reservedFor; // Declares the reservedFor field to link to a Patient object
+
+    /**
+     * When the hold ends; from then on the unit is available to every patient again, whether or not the
+     * release has been written yet. Null when the unit is not held.
+     */
+    @Temporal(TemporalType.TIMESTAMP) // Stores the date and the time
+    @Column(name = "reserved_until") // Maps the field to the 'reserved_until' column
+    private Date reservedUntil; // Declares the reservedUntil field as a Date
+
+    // ===== Constructors =====
+
+    /**
+     * Default constructor required by JPA (Java Persistence API).
+     */
+    public Blood() {}
+
+    /**
+     * Constructor to initialize the Blood object with specific values.
+     * @param bloodGroup The blood group of the blood unit.
+     * @param storedIn The blood bank where the blood unit is stored.
+     * @param donatedBy The donor who donated the blood.
+     * @param receivedBy The patient who received the blood.
+     */
+    public Blood(String bloodGroup, BloodBank storedIn, Donor donatedBy, Patient receivedBy) {
+        this.bloodGroup = bloodGroup; // Initializes bloodGroup with the provided value
+        this.storedIn = storedIn; // Initializes storedIn with the provided BloodBank object
+        this.donatedBy = donatedBy; // Initializes donatedBy with the provided Donor object
+        this.receivedBy = receivedBy; // Initializes receivedBy with the provided Patient object
+    }
+
+    // ===== Getters and Setters =====
+
+    /**
+     * Getter for bloodId.
+     * @return bloodId
+     */
+    public String getBloodId() {
+        return bloodId; // Returns the value of bloodId
+    }
+
+    /**
+     * Setter for bloodId.
+     * @param bloodId Sets the bloodId to the provided value
+     */
+    public void setBloodId(String bloodId) {
+        this.bloodId = bloodId; // Sets the value of bloodId
+    }
+
+    /**
+     * Getter for bloodGroup.
+     * @return bloodGroup
+     */
+    public String getBloodGroup() {
+        return bloodGroup; // Returns the value of bloodGroup
+    }
+
+    /**
+     * Setter for bloodGroup. The group is stored trimmed and in upper case (e.g. "AB-"); the stock queries still
+     * compare it that way, as rows stored before may not be.
+     * @param bloodGroup Sets the bloodGroup to the provided value
+     */
+    public void setBloodGroup(String bloodGroup) {
+        this.bloodGroup = normalizeBloodGroup(bloodGroup); // Sets the value of bloodGroup
+    }
+
+    /**
+     * @param bloodGroup A blood group as entered, e.g. " ab- "
+     * @return The blood group as it is stored: trimmed and in upper case (null stays null)
+     */
+    public static String normalizeBloodGroup(String bloodGroup) {
+        return bloodGroup == null ? null : bloodGroup.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Getter for storedIn (BloodBank).
+     * @return storedIn (BloodBank)
+     */
+    public BloodBank getStoredIn() {
+        return storedIn; // Returns the associated BloodBank where the blood is stored
+    }
+
+    /**
+     * Setter for storedIn (BloodBank).
+     * @param storedIn Sets the storedIn field to the provided BloodBank object
+     */
+    public void setStoredIn(BloodBank storedIn) {
+        this.storedIn = storedIn; // Sets the value of storedIn
+    }
+
+    /**
+     * Getter for donatedBy (Donor).
+     * @return donatedBy (Donor)
+     */
+    public Donor getDonatedBy() {
+        return donatedBy; // Returns the associated Donor who donated the blood unit
+    }
+
+    /**
+     * Setter for donatedBy (Donor).
+     * @param donatedBy Sets the donatedBy field to the provided Donor object
+     */
+    public void setDonatedBy(Donor donatedBy) {
+        this.donatedBy = donatedBy; // Sets the value of donatedBy
+    }
+
+    /**
+     * Getter for receivedBy (Patient).
+     * @return receivedBy (Patient)
+     */
+    public Patient getReceivedBy() {
+        return receivedBy; // Returns the associated Patient who received the blood unit
+    }
+
+    /**
+     * Setter for receivedBy (Patient).
+     * @param receivedBy Sets the receivedBy field to the provided Patient object
+     */
+    public void setReceivedBy(Patient receivedBy) {
+        this.receivedBy = receivedBy; // Sets the value of receivedBy
+    }
+
+    /**
+     * Getter for collectedAt.
+     * @return When the unit was collected
+     */
+    public Date getCollectedAt() {
+        return collectedAt; // Returns the collection timestamp
+    }
+
+    /**
+     * Setter for collectedAt.
+     * @param collectedAt When the unit was collected
+     */
+    public void setCollectedAt(Date collectedAt) {
+        this.collectedAt = collectedAt; // Sets the collection timestamp
+    }
+
+    /**
+     * Getter for expiresAt.
+     * @return When the unit expires
+     */
+    public Date getExpiresAt() {
+        return expiresAt; // Returns the expiry timestamp
+    }
+
+    /**
+     * Setter for expiresAt.
+     * @param expiresAt When the unit expires
+     */
+    public void setExpiresAt(Date expiresAt) {
+        this.expiresAt = expiresAt; // Sets the expiry timestamp
+    }
+
+    /**
+     * Getter for expired.
+     * @return true once the expiry sweep has marked the unit expired
+     */
+    public boolean isExpired() {
+        return expired; // Returns the expired flag
+    }
+
+    /**
+     * Setter for expired.
+     * @param expired Whether the unit has been marked expired
+     */
+    public void setExpired(boolean expired) {
+        this.expired = expired; // Sets the expired flag
+    }
+
+    /**
+     * The default expiry of a unit collected at the given time: {@link #SHELF_LIFE_DAYS} later.
+     * @param collectedAt When the unit was collected
+     * @return When it expires
+     */
+    public static Date expiryFor(Date collectedAt) {
+        return new Date(collectedAt.getTime() + TimeUnit.DAYS.toMillis(SHELF_LIFE_DAYS)); // Adds the shelf life
+    }
+
+    /**
+     * Getter for reservedFor.
+     * @return reservedFor
+     */
+    public Patient getReservedFor() {
+        return reservedFor; // Returns the value of reservedFor
+    }
+
+    /**
+     * Setter for reservedFor.
+     * @param reservedFor Sets the reservedFor to the provided value
+     */
+    public void setReservedFor(Patient reservedFor) {
+        this.reservedFor = reservedFor; // Sets the reservedFor field
+    }
+
+    /**
+     * Getter for reservedUntil.
+     * @return reservedUntil
+     */
+    public Date getReservedUntil() {
+        return reservedUntil; // Returns the value of reservedUntil
+    }
+
+    /**
+     * Setter for reservedUntil.
+     * @param reservedUntil Sets the reservedUntil to the provided value
+     */
+    public void setReservedUntil(Date reservedUntil) {
+        this.reservedUntil = reservedUntil; // Sets the reservedUntil field
+    }
+
+    /**
+     * Whether the unit is held for a patient at the given time.
+     * @param now The time, in epoch milliseconds
+     * @return True if a hold is set and has not ended
+     */
+    public boolean isReservedAt(long now) {
+        return reservedUntil != null && reservedUntil.getTime() > now; // A hold that has ended no longer counts
+    }
+
+    // ===== toString Method =====
+
+    /**
+     * Returns a string representation of the Blood object, showing all relevant fields.
+     * @return A string representation of the Blood object
+     */
+    @Override
+    public String toString() {
+        return "Blood{" +
+                "bloodId='" + bloodId + '\'' + // Displays the bloodId
+                ", bloodGroup='" + bloodGroup + '\'' + // Displays the bloodGroup
+                ", storedIn=" + storedIn + // Displays the BloodBank where the blood is stored
+                ", donatedBy=" + donatedBy + // Displays the Donor who donated the blood
+                ", receivedBy=" + receivedBy + // Displays the Patient who received the blood
+                ", collectedAt=" + collectedAt + // Displays when the blood was collected
+                ", expiresAt=" + expiresAt + // Displays when the blood expires
+                ", expired=" + expired + // Displays whether the blood has been marked expired
+                ", reservedFor=" + (reservedFor == null ? null : reservedFor.getPatientId()) + // Displays the held-for patient by id only
+                ", reservedUntil=" + reservedUntil + // Displays when the hold ends
+                '}'; // Closing the string representation
+    }
+}
@@ -0,0 +1,61 @@
+package com.bloodbank.entity; // Declares the package for this class
+
+import java.util.Date; // Importing Date for the expiry timestamp
+
+/**
+ * The changed fields of a blood unit, for {@code BloodService.patchBlood}. Only the fields set here are written.
+ */
+public class BloodPatch extends EntityPatch<Blood> {
+
+    // Method to change the unit's blood group, stored trimmed and in upper case like Blood.setBloodGroup does
+    public BloodPatch bloodGroup(String bloodGroup) {
+        String normalized = Blood.normalizeBloodGroup(bloodGroup);
+        set("bloodGroup", normalized, blood -> blood.setBloodGroup(normalized));
+        return this;
+    }
+
+    // Method to change when the unit expires
+    public BloodPatch expiresAt(Date expiresAt) {
+        set("expiresAt", expiresAt, blood -> blood.setExpiresAt(expiresAt));
+        return this;
+    }
+
+    // Method to move the unit to another blood bank, by blood bank ID
+    public BloodPatch storedIn(String bloodBankId) {
+        setReference("storedIn", BloodBank.class, bloodBankId, blood -> {
+            BloodBank bloodBank = null;
+            if (bloodBankId != null) {
+                bloodBank = new BloodBank();
+                bloodBank.setBloodBankId(bloodBankId);
+            }
+            blood.setStoredIn(bloodBank);
+        });
+        return this;
+    }
+
+    // Method to change the donor of the unit, by donor ID (null: no donor)
+    public BloodPatch donatedBy(String donorId) {
+        setReference("donatedBy", Donor.class, donorId, blood -> {
+            Donor donor = null;
+            if (donorId != null) {
+                donor = new Donor();
+                donor.setDonorId(donorId);
+            }
+            blood.setDonatedBy(donor);
+        });
+        return this;
+    }
+
+    // Method to change the patient who received the unit, by patient ID (null: not issued)
+    public BloodPatch receivedBy(String patientId) {
+        setReference("receivedBy", Patient.class, patientId, blood -> {
+            Patient patient = null;
+            if (patientId != null) {
+                patient = new Patient();
+                patient.setPatientId(patientId);
+            }
+            blood.setReceivedBy(patient);
+        });
+        return this;
+    }
+}
@@ -0,0 +1,219 @@
+package com.bloodbank.entity; // Specifies the package where the entity class belongs
+
+// Importing the necessary JPA and Hibernate Validator annotations
+import javax.validation.constraints.Min; // For validating that the unit count is positive
+import javax.validation.constraints.NotBlank; // For validating that the field is not blank
+import javax.validation.constraints.NotNull; // For validating that the required references are set
+import javax.validation.constraints.Pattern; // For validating the field's value against a regular expression
+import javax.validation.constraints.Size; // For validating the size of the string
+
+import jakarta.persistence.*; // JPA annotations for entity mapping and relationships
+
+import java.util.Date; // For the request and fulfilment timestamps
+
+/**
+ * Entity class representing a hospital's request for blood units for one of its patients.
+ * This class is mapped to the 'blood_request' table in the database.
+ *
+ * A request is filled from the blood bank the hospital contacted when it was submitted, possibly over several
+ * allocations: unitsAllocated counts the units issued so far, and the request is FULFILLED once it reaches units.
+ */
+@Entity // Marks this class as a JPA entity, meaning it will be mapped to a table in the database
+@Table(name = "blood_request", indexes = { // Specifies the table name in the database and its secondary indexes
+        @Index(name = "idx_blood_request_queue", columnList = "status, priority, requested_at"), // Pending requests, by priority and age
+        @Index(name = "idx_blood_request_hospital", columnList = "hospital_id"), // Requests of a hospital
+        @Index(name = "idx_blood_request_bank", columnList = "bloodbank_id"), // Requests filled from a blood bank
+        @Index(name = "idx_blood_request_patient", columnList = "patient_id") }) // Requests for a patient
+@NamedEntityGraph(name = BloodRequest.DETAILS_GRAPH, attributeNodes = { // Fetch plan for views that read the associations
+        @NamedAttributeNode("hospital"),
+        @NamedAttributeNode("bloodBank"),
+        @NamedAttributeNode("patient") })
+public class BloodRequest {
+
+    /**
+     * Name of the entity graph that loads the hospital, the blood bank and the patient in the same select.
+     */
+    public static final String DETAILS_GRAPH = "BloodRequest.details";
+
+    /**
+     * How urgently the units are needed. Emergency requests are always served before the others; routine
+     * requests that have waited long enough are served alongside urgent ones (see RequestScheduler).
+     */
+    public enum Priority {
+        EMERGENCY, URGENT, ROUTINE
+    }
+
+    /**
+     * Where the request stands: PENDING until all its units are issued (FULFILLED) or it is withdrawn (CANCELLED).
+     */
+    public enum Status {
+        PENDING, FULFILLED, CANCELLED
+    }
+
+    // ===== Primary Key: Request ID =====
+
+    /**
+     * Unique identifier for the BloodRequest entity (e.g., R1, R2).
+     */
+    @Id // Specifies that this field is the primary key of the entity
+    @NotBlank(message = "Request ID cannot be blank") // Validates that the requestId is not blank
+    @Pattern(regexp = "^R[0-9]+$", message = "Request ID must start with 'R' followed by digits (e.g., R1, R2)") // Validates the id format
+    @Size(max = 20, message = "Request ID must not exceed 20 characters") // Restricts the maximum length
+    @Column(name = "request_id", length = 20) // Maps the field to the 'request_id' column
+    private String requestId;
+
+    // ===== Relationships =====
+
+    /**
+     * The hospital that made the request.
+     */
+    @ManyToOne(fetch = FetchType.LAZY) // Many requests are made by one hospital
+    @JoinColumn(name = "hospital_id", nullable = false) // Foreign key column 'hospital_id'
+    @NotNull(message = "Hospital reference must not be null") // Ensures this field is not null
+    private Hospital hospital;
+
+    /**
+     * The blood bank the units are issued from: the bank the hospital contacted when the request was submitted.
+     */
+    @ManyToOne(fetch = FetchType.LAZY) // Many requests are filled from one blood bank
+    @JoinColumn(name = "bloodbank_id", nullable = false) // Foreign key column 'bloodbank_id'
+    @NotNull(message = "BloodBank reference must not be null") // Ensures this field is not null
+    private BloodBank bloodBank;
+
+    /**
+     * The patient the units are issued to.
+     */
+    @ManyToOne(fetch = FetchType.LAZY) // Many requests can be made for one patient
+    @JoinColumn(name = "patient_id", nullable = false) // Foreign key column 'patient_id'
+    @NotNull(message = "Patient reference must not be null") // Ensures this field is not null
+    private Patient patient;
+
+    // ===== Request details =====
+
+    @Min(value = 1, message = "At least one unit must be requested") // Validates that the count is positive
+    @Column(name = "units", nullable = false) // Number of units requested
+    private int units;
+
+    @Column(name = "units_allocated", nullable = false) // Number of units issued so far
+    private int unitsAllocated;
+
+    @NotNull(message = "Priority is required") // Ensures this field is not null
+    @Enumerated(EnumType.STRING) // Stored by name, so reordering the constants does not change stored rows
+    @Column(name = "priority", nullable = false, length = 10) // Maps to the 'priority' column
+    private Priority priority;
+
+    @NotNull(message = "Status is required") // Ensures this field is not null
+    @Enumerated(EnumType.STRING) // Stored by name
+    @Column(name = "status", nullable = false, length = 10) // Maps to the 'status' column
+    private Status status;
+
+    @NotNull(message = "Request time is required") // Ensures this field is not null
+    @Temporal(TemporalType.TIMESTAMP) // Date and time of day
+    @Column(name = "requested_at", nullable = false) // When the request was submitted
+    private Date requestedAt;
+
+    @Temporal(TemporalType.TIMESTAMP) // Date and time of day
+    @Column(name = "fulfilled_at") // When the last unit was issued (null until then)
+    private Date fulfilledAt;
+
+    // ===== Constructors =====
+
+    /**
+     * Default constructor (required by JPA).
+     */
+    public BloodRequest() {
+    }
+
+    // ===== Getters and Setters =====
+
+    public String getRequestId() {
+        return requestId;
+    }
+    public void setRequestId(String requestId) {
+        this.requestId = requestId;
+    }
+
+    public Hospital getHospital() {
+        return hospital;
+    }
+    public void setHospital(Hospital hospital) {
+        this.hospital = hospital;
+    }
+
+    public BloodBank getBloodBank() {
+        return bloodBank;
+    }
+    public void setBloodBank(BloodBank bloodBank) {
+        this.bloodBank = bloodBank;
+    }
+
+    public Patient getPatient() {
+        return patient;
+    }
+    public void setPatient(Patient patient) {
+        this.patient = patient;
+    }
+
+    public int getUnits() {
+        return units;
+    }
+    public void setUnits(int units) {
+        this.units = units;
+    }
+
+    public int getUnitsAllocated() {
+        return unitsAllocated;
+    }
+    public void setUnitsAllocated(int unitsAllocated) {
+        this.unitsAllocated = unitsAllocated;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+    public void setPriority(Priority priority) {
+        this.priority = priority;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Date getRequestedAt() {
+        return requestedAt;
+    }
+    public void setRequestedAt(Date requestedAt) {
+        this.requestedAt = requestedAt;
+    }
+
+    public Date getFulfilledAt() {
+        return fulfilledAt;
+    }
+    public void setFulfilledAt(Date fulfilledAt) {
+        this.fulfilledAt = fulfilledAt;
+    }
+
+    // ===== toString =====
+
+    /**
+     * Prints the associations by id only, so an unloaded association is never read.
+     */
+    @Override
+    public String toString() {
+        return "BloodRequest{" +
+                "requestId='" + requestId + '\'' +
+                ", hospitalId='" + (hospital == null ? null : hospital.getHospitalId()) + '\'' +
+                ", bloodBankId='" + (bloodBank == null ? null : bloodBank.getBloodBankId()) + '\'' +
+                ", patientId='" + (patient == null ? null : patient.getPatientId()) + '\'' +
+                ", units=" + units +
+                ", unitsAllocated=" + unitsAllocated +
+                ", priority=" + priority +
+                ", status=" + status +
+                ", requestedAt=" + requestedAt +
+                ", fulfilledAt=" + fulfilledAt +
+                '}';
+    }
+}
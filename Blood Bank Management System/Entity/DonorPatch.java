@@ -0,0 +1,67 @@
+package com.bloodbank.entity; // Declares the package for this class
+
+import java.util.Date; // Importing Date for the donation date
+
+/**
+ * The changed fields of a donor, for {@code DonorService.patchDonor}. Only the fields set here are written.
+ */
+public class DonorPatch extends EntityPatch<Donor> {
+
+    // Method to change the donor's name
+    public DonorPatch donorName(String donorName) {
+        set("donorName", donorName, donor -> donor.setDonorName(donorName));
+        return this;
+    }
+
+    // Method to change the donor's gender
+    public DonorPatch donorGender(String donorGender) {
+        set("donorGender", donorGender, donor -> donor.setDonorGender(donorGender));
+        return this;
+    }
+
+    // Method to change the donor's address
+    public DonorPatch donorAddress(String donorAddress) {
+        set("donorAddress", donorAddress, donor -> donor.setDonorAddress(donorAddress));
+        return this;
+    }
+
+    // Method to change the donor's contact number
+    public DonorPatch contactNo(String contactNo) {
+        set("contactNo", contactNo, donor -> donor.setContactNo(contactNo));
+        return this;
+    }
+
+    // Method to change the donor's age
+    public DonorPatch age(int age) {
+        set("age", age, donor -> donor.setAge(age));
+        return this;
+    }
+
+    // Method to change the donor's blood group
+    public DonorPatch bloodGroup(String bloodGroup) {
+        set("bloodGroup", bloodGroup, donor -> donor.setBloodGroup(bloodGroup));
+        return this;
+    }
+
+    // Method to change the date of the last donation
+    public DonorPatch dateOfDonation(Date dateOfDonation) {
+        set("dateOfDonation", dateOfDonation, donor -> donor.setDateOfDonation(dateOfDonation));
+        return this;
+    }
+
+    // Method to change the registering employee, by employee ID
+    public DonorPatch registeredBy(String empId) {
+        setReference("registeredBy", EmployeeTeam.class, empId, donor -> donor.setRegisteredBy(employee(empId)));
+        return this;
+    }
+
+    // A detached employee holding only the ID, as the DAOs store associations
+    static EmployeeTeam employee(String empId) {
+        if (empId == null) {
+            return null;
+        }
+        EmployeeTeam employeeTeam = new EmployeeTeam();
+        employeeTeam.setEmpId(empId);
+        return employeeTeam;
+    }
+}
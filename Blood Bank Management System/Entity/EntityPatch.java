@@ -0,0 +1,109 @@
+package com.bloodbank.entity; // Declares the package for this class
+
+// Importing the collections that hold the changes
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * The changed fields of one entity, for the patch methods (e.g. {@code DonorService.patchDonor}) that update
+ * only those columns with a single UPDATE, without loading the row first.
+ *
+ * <pre>
+ * donorService.patchDonor("D7", new DonorPatch().donorAddress("12 MG Road").contactNo("9876543210"));
+ * </pre>
+ *
+ * Each subclass has one method per patchable field. A field set to null is set to NULL in the database;
+ * a field that is not set keeps its value. Associations are given by the id of the referenced row.
+ *
+ * @param <E> The patched entity
+ */
+public abstract class EntityPatch<E> {
+
+    // Attribute name -> new value, in the order the fields were set; associations hold a Reference
+    private final Map<String, Object> changes = new LinkedHashMap<>();
+
+    // The same changes as setter calls, for backends that patch an entity object
+    private final List<Consumer<E>> setters = new ArrayList<>();
+
+    /**
+     * Records a changed column.
+     * @param attribute The entity attribute (field) name
+     * @param value The new value (null for NULL)
+     * @param setter Applies the same change to an entity object
+     */
+    protected void set(String attribute, Object value, Consumer<E> setter) {
+        changes.put(attribute, value);
+        setters.add(setter);
+    }
+
+    /**
+     * Records a changed association.
+     * @param attribute The entity attribute (field) name
+     * @param type The referenced entity class
+     * @param id The id of the referenced row (null to clear the association)
+     * @param setter Applies the same change to an entity object
+     */
+    protected void setReference(String attribute, Class<?> type, String id, Consumer<E> setter) {
+        set(attribute, id == null ? null : new Reference(type, id), setter);
+    }
+
+    /**
+     * @return The changed attributes and their new values; an association's value is a {@link Reference}
+     */
+    public Map<String, Object> getChanges() {
+        return Collections.unmodifiableMap(changes);
+    }
+
+    /**
+     * @return true if no field was set
+     */
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    /**
+     * Applies the changes to an entity object, e.g. a copy of the stored row.
+     * @param entity The entity to change
+     */
+    public void applyTo(E entity) {
+        for (Consumer<E> setter : setters) {
+            setter.accept(entity);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + changes;
+    }
+
+    /**
+     * The new target of an association: the referenced entity class and row id.
+     */
+    public static final class Reference {
+
+        private final Class<?> type;
+        private final String id;
+
+        Reference(Class<?> type, String id) {
+            this.type = type;
+            this.id = id;
+        }
+
+        public Class<?> getType() {
+            return type;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public String toString() {
+            return type.getSimpleName() + "#" + id;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.bloodbank.entity; // Declares the package for this class
+
+import java.util.Date; // Importing Date for the intake date
+
+/**
+ * The changed fields of a patient, for {@code PatientService.patchPatient}. Only the fields set here are written.
+ */
+public class PatientPatch extends EntityPatch<Patient> {
+
+    // Method to change the patient's name
+    public PatientPatch patientName(String patientName) {
+        set("patientName", patientName, patient -> patient.setPatientName(patientName));
+        return this;
+    }
+
+    // Method to change the patient's gender
+    public PatientPatch patientGender(String patientGender) {
+        set("patientGender", patientGender, patient -> patient.setPatientGender(patientGender));
+        return this;
+    }
+
+    // Method to change the patient's address
+    public PatientPatch patientAddress(String patientAddress) {
+        set("patientAddress", patientAddress, patient -> patient.setPatientAddress(patientAddress));
+        return this;
+    }
+
+    // Method to change the patient's contact number
+    public PatientPatch contactNo(String contactNo) {
+        set("contactNo", contactNo, patient -> patient.setContactNo(contactNo));
+        return this;
+    }
+
+    // Method to change the patient's blood group
+    public PatientPatch bloodGroup(String bloodGroup) {
+        set("bloodGroup", bloodGroup, patient -> patient.setBloodGroup(bloodGroup));
+        return this;
+    }
+
+    // Method to change the date of intake
+    public PatientPatch dateOfIntake(Date dateOfIntake) {
+        set("dateOfIntake", dateOfIntake, patient -> patient.setDateOfIntake(dateOfIntake));
+        return this;
+    }
+
+    // Method to change the registering employee, by employee ID
+    public PatientPatch registeredBy(String empId) {
+        setReference("registeredBy", EmployeeTeam.class, empId,
+                patient -> patient.setRegisteredBy(DonorPatch.employee(empId)));
+        return this;
+    }
+}
@@ -0,0 +1,147 @@
+package com.bloodbank.inventory;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Locale;
+
+/**
+ * The eight ABO/Rh blood groups and which donor groups' red cells each recipient group can receive.
+ *
+ * <p>Compatibility is precomputed as bitmasks over the groups ({@link #bit()}), so checks and the
+ * {@link #preferredDonors()} order cost no allocation and no lookup beyond an array read:
+ * <ul>
+ * <li>ABO: O gives to all, A to A and AB, B to B and AB, AB only to AB;</li>
+ * <li>Rh: Rh- gives to Rh- and Rh+, Rh+ only to Rh+.</li>
+ * </ul>
+ *
+ * The entities keep blood groups as free-form strings ("A+", "o-", " AB+ "); {@link #parse(String)} reads them.
+ */
+public enum BloodGroup {
+
+    O_NEG("O-"), O_POS("O+"), A_NEG("A-"), A_POS("A+"), B_NEG("B-"), B_POS("B+"), AB_NEG("AB-"), AB_POS("AB+");
+
+    private static final BloodGroup[] GROUPS = values();
+
+    // Indexed by the recipient's ordinal: the groups it can receive from, as a mask of bit()
+    private static final int[] DONOR_MASKS = new int[GROUPS.length];
+
+    // Indexed by the donor's ordinal: the groups it can give to, as a mask of bit()
+    private static final int[] RECIPIENT_MASKS = new int[GROUPS.length];
+
+    // Indexed by the recipient's ordinal: its compatible donor groups, most preferred first
+    private static final BloodGroup[][] PREFERRED_DONORS = new BloodGroup[GROUPS.length][];
+
+    static {
+        for (BloodGroup recipient : GROUPS) {
+            for (BloodGroup donor : GROUPS) {
+                if (donor.givesTo(recipient)) {
+                    DONOR_MASKS[recipient.ordinal()] |= donor.bit();
+                    RECIPIENT_MASKS[donor.ordinal()] |= recipient.bit();
+                }
+            }
+        }
+        for (BloodGroup recipient : GROUPS) {
+            // The identical group first, then the least versatile donors, so universal O- units are used last
+            PREFERRED_DONORS[recipient.ordinal()] = Arrays.stream(GROUPS)
+                    .filter(donor -> recipient.canReceiveFrom(donor))
+                    .sorted(Comparator.comparing((BloodGroup donor) -> donor != recipient)
+                            .thenComparingInt(donor -> Integer.bitCount(RECIPIENT_MASKS[donor.ordinal()]))
+                            .thenComparing(donor -> donor.ordinal()))
+                    .toArray(BloodGroup[]::new);
+        }
+    }
+
+    private final String label;
+
+    BloodGroup(String label) {
+        this.label = label;
+    }
+
+    /**
+     * @return The group as the entities store it, e.g. "AB-"
+     */
+    public String label() {
+        return label;
+    }
+
+    /**
+     * @return This group's bit in the compatibility masks
+     */
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * @return The groups this recipient can receive red cells from, as a mask of {@link #bit()}
+     */
+    public int donorMask() {
+        return DONOR_MASKS[ordinal()];
+    }
+
+    /**
+     * @return The groups this donor can give red cells to, as a mask of {@link #bit()}
+     */
+    public int recipientMask() {
+        return RECIPIENT_MASKS[ordinal()];
+    }
+
+    /**
+     * @return true if a recipient of this group can receive red cells of the donor's group
+     */
+    public boolean canReceiveFrom(BloodGroup donor) {
+        return (DONOR_MASKS[ordinal()] & donor.bit()) != 0;
+    }
+
+    /**
+     * The compatible donor groups in the order units should be chosen: the identical group first, then the
+     * groups that can serve the fewest recipients, so the most versatile units (O-) stay available longest.
+     * The returned array is shared and must not be modified.
+     * @return The compatible donor groups, most preferred first
+     */
+    public BloodGroup[] preferredDonors() {
+        return PREFERRED_DONORS[ordinal()];
+    }
+
+    /**
+     * @return The group with the given ordinal (the position of its bit)
+     */
+    public static BloodGroup ofOrdinal(int ordinal) {
+        return GROUPS[ordinal];
+    }
+
+    /**
+     * Reads a blood group as stored in the entities, ignoring case and surrounding blanks.
+     * @param value e.g. "A+", "ab-"
+     * @return The group, or null if the value names none
+     */
+    public static BloodGroup parse(String value) {
+        if (value == null) {
+            return null;
+        }
+        String label = value.trim().toUpperCase(Locale.ROOT);
+        for (BloodGroup group : GROUPS) {
+            if (group.label.equals(label)) {
+                return group;
+            }
+        }
+        return null;
+    }
+
+    // The ABO and Rh rules both allow this donor to give to the recipient
+    private boolean givesTo(BloodGroup recipient) {
+        boolean abo = aboAntigens(recipient) == (aboAntigens(recipient) | aboAntigens(this));
+        boolean rh = recipient.label.endsWith("+") || label.endsWith("-");
+        return abo && rh;
+    }
+
+    // The A and B antigens of a group as bits: O = 0, A = 1, B = 2, AB = 3
+    private static int aboAntigens(BloodGroup group) {
+        String abo = group.label.substring(0, group.label.length() - 1);
+        return (abo.contains("A") ? 1 : 0) | (abo.contains("B") ? 2 : 0);
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
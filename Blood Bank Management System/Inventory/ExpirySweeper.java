@@ -0,0 +1,137 @@
+package com.bloodbank.inventory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.logging.Logger;
+
+import com.bloodbank.dao.BloodBankDAO;
+import com.bloodbank.dao.BloodDAO;
+import com.bloodbank.util.UnitOfWork;
+
+/**
+ * Marks blood units expired once their expiry time has passed, and takes them off their blood banks' quantity.
+ *
+ * <p>The units due are taken from the {@link InventoryIndex} expiry buckets, so a sweep costs work in proportion
+ * to the units that expired, not to the size of the blood table. Each batch of up to {@value #BATCH_SIZE} units
+ * is one unit of work: per blood bank, one bulk UPDATE marking its units expired ({@link BloodDAO#markExpired})
+ * and one UPDATE lowering its quantity by the number marked. The blood DAO must be the indexed one, so the
+ * marked units leave the index when the batch commits.
+ *
+ * <p>{@link #start()} sweeps on a daemon thread every {@value #INTERVAL_PROPERTY} minutes (default
+ * {@value #DEFAULT_INTERVAL_MINUTES}; 0 turns the schedule off). {@link #sweep(long)} runs one sweep on the
+ * calling thread. Results are logged to the {@value #LOGGER} category.
+ */
+public final class ExpirySweeper {
+
+    public static final String INTERVAL_PROPERTY = "bloodbank.expiry.sweepMinutes";
+    public static final String LOGGER = "com.bloodbank.EXPIRY";
+
+    static final int DEFAULT_INTERVAL_MINUTES = 15;
+    static final int BATCH_SIZE = 500; // Units marked per unit of work
+
+    private static final Logger LOG = Logger.getLogger(LOGGER);
+
+    private final InventoryIndex index;
+    private final BloodDAO bloodDao;
+    private final BloodBankDAO bloodBankDao;
+    private final Object sweepLock = new Object(); // One sweep at a time
+    private ScheduledExecutorService scheduler; // Guarded by this
+
+    /**
+     * @param index The index the units due are read from
+     * @param bloodDao The blood DAO keeping that index up to date (see {@link IndexedBloodDAO})
+     * @param bloodBankDao The DAO whose quantities are lowered
+     */
+    public ExpirySweeper(InventoryIndex index, BloodDAO bloodDao, BloodBankDAO bloodBankDao) {
+        this.index = index;
+        this.bloodDao = bloodDao;
+        this.bloodBankDao = bloodBankDao;
+    }
+
+    /**
+     * Starts sweeping on a background thread every {@value #INTERVAL_PROPERTY} minutes; the first sweep runs one
+     * minute from now, to catch up on units that expired while the application was down. Does nothing if
+     * already started or if the interval is 0.
+     */
+    public synchronized void start() {
+        int minutes = Integer.getInteger(INTERVAL_PROPERTY, DEFAULT_INTERVAL_MINUTES);
+        if (scheduler != null || minutes <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "bloodbank-expiry-sweep");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> sweep(System.currentTimeMillis()),
+                Math.min(1, minutes), minutes, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Stops the schedule; a sweep in progress finishes its current batch.
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Marks every available unit that expired at or before the given time.
+     * @param now The time to sweep up to, in epoch milliseconds
+     * @return The number of units marked expired
+     */
+    public int sweep(long now) {
+        synchronized (sweepLock) {
+            long start = System.nanoTime();
+            int marked = 0;
+            int batches = 0;
+            try {
+                List<MatchedUnit> due;
+                while (!(due = index.expiredUnits(now, BATCH_SIZE)).isEmpty()) {
+                    marked += markBatch(due);
+                    batches++;
+                }
+            } catch (RuntimeException e) {
+                // The batch rolled back and its units stay in the index; the next sweep retries them
+                LOG.errorf(e, "Expiry sweep stopped after %d units", marked);
+            }
+            if (batches > 0) {
+                LOG.infof("Expiry sweep: %d units marked expired in %d batches, %d ms", marked, batches,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+            return marked;
+        }
+    }
+
+    // Marks one batch in one unit of work, one bulk UPDATE per blood bank plus its quantity change
+    private int markBatch(List<MatchedUnit> due) {
+        Map<String, List<String>> byBank = new LinkedHashMap<>();
+        for (MatchedUnit unit : due) {
+            byBank.computeIfAbsent(unit.getBloodBankId(), id -> new ArrayList<>()).add(unit.getBloodId());
+        }
+        return UnitOfWork.execute(() -> {
+            int marked = 0;
+            for (Map.Entry<String, List<String>> bank : byBank.entrySet()) {
+                int count = bloodDao.markExpired(bank.getValue());
+                if (count < 0) {
+                    throw new IllegalStateException("Could not mark units of blood bank " + bank.getKey() + " expired");
+                }
+                if (count > 0 && !bloodBankDao.updateBloodQuantity(bank.getKey(), -count)) {
+                    // The quantity is maintained by hand and may already be lower than the units on record
+                    LOG.warnf("Blood bank %s: %d units expired but its quantity is lower; quantity left unchanged",
+                            bank.getKey(), count);
+                }
+                marked += count;
+            }
+            return marked;
+        });
+    }
+}
@@ -0,0 +1,240 @@
+package com.bloodbank.inventory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.bloodbank.dao.BloodDAO;
+import com.bloodbank.entity.Blood;
+import com.bloodbank.entity.BloodPatch;
+import com.bloodbank.util.MethodMetrics;
+import com.bloodbank.util.UnitOfWork;
+
+/**
+ * A BloodDAO that keeps an {@link InventoryIndex} in step with the blood writes it passes on.
+ *
+ * <p>The index is updated only for writes that succeeded, and only once they are committed: inside a unit of
+ * work the update waits for the commit and is dropped on rollback (see {@link UnitOfWork#afterCommit}). Writes
+ * that report a failure in their result (null, false or -1) are judged by it. Those that return nothing are run
+ * in a unit of work of their own, where a failing DAO throws instead of printing, so their failure is seen; the
+ * failure is then reported the way the DAO would have reported it.
+ */
+public class IndexedBloodDAO implements BloodDAO {
+
+    private final BloodDAO delegate;
+    private final InventoryIndex index;
+
+    public IndexedBloodDAO(BloodDAO delegate, InventoryIndex index) {
+        this.delegate = delegate;
+        this.index = index;
+    }
+
+    // ===== Writes, followed by the index =====
+
+    @Override
+    public void saveBlood(Blood blood) {
+        if (succeeded(() -> delegate.saveBlood(blood))) {
+            indexAfterCommit(List.of(blood));
+        }
+    }
+
+    @Override
+    public int saveAll(Collection<Blood> bloodUnits) {
+        return indexSaved(bloodUnits, delegate.saveAll(bloodUnits));
+    }
+
+    @Override
+    public int saveAll(Collection<Blood> bloodUnits, int commitSize) {
+        return indexSaved(bloodUnits, delegate.saveAll(bloodUnits, commitSize));
+    }
+
+    @Override
+    public void updateBlood(Blood blood) {
+        if (succeeded(() -> delegate.updateBlood(blood))) {
+            indexAfterCommit(List.of(blood));
+        }
+    }
+
+    @Override
+    public boolean patchBlood(String bloodId, BloodPatch patch) {
+        boolean patched = delegate.patchBlood(bloodId, patch);
+        if (patched && !patch.isEmpty()) {
+            // The patch may leave the group, the bank or the recipient unchanged; re-reading the unit is simpler
+            // and as cheap as working out its new state from the old one
+            UnitOfWork.afterCommit(() -> refresh(bloodId));
+        }
+        return patched;
+    }
+
+    @Override
+    public void deleteBlood(String bloodId) {
+        if (succeeded(() -> delegate.deleteBlood(bloodId))) {
+            UnitOfWork.afterCommit(() -> index.remove(bloodId));
+        }
+    }
+
+    @Override
+    public int deleteBloodUnits(Collection<String> bloodIds) {
+        int deleted = delegate.deleteBloodUnits(bloodIds);
+        if (deleted >= 0) {
+            List<String> removed = new ArrayList<>(bloodIds);
+            UnitOfWork.afterCommit(() -> removed.forEach(index::remove));
+        }
+        return deleted;
+    }
+
+    @Override
+    public int markExpired(Collection<String> bloodIds) {
+        int marked = delegate.markExpired(bloodIds);
+        if (marked >= 0) {
+            // Units that were not marked (already expired, or received) are not available either
+            List<String> expired = new ArrayList<>(bloodIds);
+            UnitOfWork.afterCommit(() -> expired.forEach(index::remove));
+        }
+        return marked;
+    }
+
+    @Override
+    public List<String> allocateUnits(String patientId, String bloodBankId, Collection<String> bloodGroups, int count) {
+        List<String> allocated = delegate.allocateUnits(patientId, bloodBankId, bloodGroups, count);
+        if (allocated != null && !allocated.isEmpty()) {
+            UnitOfWork.afterCommit(() -> allocated.forEach(index::remove));
+        }
+        return allocated;
+    }
+
+    @Override
+    public List<String> reserveUnits(String patientId, String bloodBankId, Collection<String> bloodGroups, int count, Date until) {
+        List<String> reserved = delegate.reserveUnits(patientId, bloodBankId, bloodGroups, count, until);
+        if (reserved != null && !reserved.isEmpty()) {
+            UnitOfWork.afterCommit(() -> reserved.forEach(index::remove)); // Held units are not available to others
+        }
+        return reserved;
+    }
+
+    @Override
+    public int releaseReservations(Collection<String> bloodIds, Date lapsedBy) {
+        int released = delegate.releaseReservations(bloodIds, lapsedBy);
+        if (released > 0) {
+            // Which of the units were released is not returned, and a released unit may have expired or been
+            // deleted meanwhile; re-reading them, in batched IN queries, indexes what is stored
+            List<String> units = new ArrayList<>(bloodIds);
+            UnitOfWork.afterCommit(() -> refresh(units));
+        }
+        return released;
+    }
+
+    // ===== Reads, passed through =====
+
+    @Override
+    public Blood getBloodById(String bloodId) {
+        return delegate.getBloodById(bloodId);
+    }
+
+    @Override
+    public Map<String, Blood> getBloodUnitsByIds(Collection<String> bloodIds) {
+        return delegate.getBloodUnitsByIds(bloodIds);
+    }
+
+    @Override
+    public List<Blood> getBloodByBloodBankId(String bloodBankId) {
+        return delegate.getBloodByBloodBankId(bloodBankId);
+    }
+
+    @Override
+    public List<Blood> getBloodByBloodBankIdPage(String bloodBankId, String afterBloodId, int pageSize) {
+        return delegate.getBloodByBloodBankIdPage(bloodBankId, afterBloodId, pageSize);
+    }
+
+    @Override
+    public List<Blood> getAllBlood() {
+        return delegate.getAllBlood();
+    }
+
+    @Override
+    public long forEachBlood(Consumer<Blood> action) {
+        return delegate.forEachBlood(action);
+    }
+
+    @Override
+    public List<Blood> getBloodPage(String afterBloodId, int pageSize) {
+        return delegate.getBloodPage(afterBloodId, pageSize);
+    }
+
+    @Override
+    public Map<String, Date> getReservations() {
+        return delegate.getReservations();
+    }
+
+    // ===== Internals =====
+
+    // Runs a write that returns nothing in a unit of work, joining the caller's if there is one. A failure
+    // propagates to the caller's unit; on its own, it is printed and marked as the DAO would, and false returned.
+    private static boolean succeeded(Runnable write) {
+        try {
+            UnitOfWork.run(write);
+            return true;
+        } catch (RuntimeException e) {
+            if (UnitOfWork.isActive()) {
+                throw e;
+            }
+            e.printStackTrace();
+            MethodMetrics.markFailed();
+            return false;
+        }
+    }
+
+    // Indexes the first saved units: the save methods commit their chunks in order
+    private int indexSaved(Collection<Blood> bloodUnits, int saved) {
+        if (saved > 0) {
+            List<Blood> committed = new ArrayList<>(saved);
+            for (Blood blood : bloodUnits) {
+                if (committed.size() == saved) {
+                    break;
+                }
+                committed.add(blood);
+            }
+            indexAfterCommit(committed);
+        }
+        return saved;
+    }
+
+    // Captures the indexed columns now (the caller may change the entities afterwards) and applies them after the commit
+    private void indexAfterCommit(List<Blood> bloodUnits) {
+        List<InventoryIndex.Snapshot> snapshots = new ArrayList<>(bloodUnits.size());
+        for (Blood blood : bloodUnits) {
+            snapshots.add(InventoryIndex.Snapshot.of(blood));
+        }
+        UnitOfWork.afterCommit(() -> snapshots.forEach(index::put));
+    }
+
+    // Re-reads many units and indexes their stored state
+    private void refresh(List<String> bloodIds) {
+        Map<String, Blood> stored = delegate.getBloodUnitsByIds(bloodIds);
+        if (stored == null) {
+            index.invalidate(); // Could not read them: the next search reloads the index
+            return;
+        }
+        for (String bloodId : bloodIds) {
+            Blood blood = stored.get(bloodId);
+            if (blood == null) {
+                index.remove(bloodId);
+            } else {
+                index.put(blood);
+            }
+        }
+    }
+
+    // Re-reads one unit and indexes its stored state
+    private void refresh(String bloodId) {
+        Blood blood = delegate.getBloodById(bloodId);
+        if (blood == null) {
+            index.remove(bloodId);
+        } else {
+            index.put(blood);
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package com.bloodbank.inventory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+import com.bloodbank.entity.Blood;
+import com.bloodbank.util.UnitOfWork;
+
+/**
+ * The available blood units of every blood bank, by blood group, held in memory so that "which compatible
+ * units does bank B have" is answered without SQL.
+ *
+ * <p>A unit is available while no patient has received it, it has not been marked expired and it is not held for a
+ * patient (see {@link ReservationTimer}). The index is loaded from the blood table on first
+ * use and then kept in step with the blood writes by {@link IndexedBloodDAO}. Deletes made through the other
+ * DAOs that cascade to blood units (a blood bank, donor, employee, patient or admin with its units) cannot be followed
+ * unit by unit; DAOs wrapped with {@link #invalidatingOnDeletes} mark the index stale instead, and the next
+ * search reloads it with one streaming query.
+ *
+ * <p>Searches read concurrent sets without locking and, apart from the result list, allocate nothing: the
+ * per-group counts of each bank are plain array reads checked against the recipient's compatibility mask.
+ * Updates and reloads are serialized; every update is idempotent, so one that races a reload leaves the same
+ * state as if it had run before or after it.
+ *
+ * <p>The available units are also filed by expiry time in hourly buckets, so that {@link #expiredUnits} (used by
+ * {@link ExpirySweeper}) visits only the buckets that have come due, not every unit. A unit past its expiry
+ * stays counted until the sweep marks it expired, but {@link #findCompatible} no longer returns it.
+ */
+public final class InventoryIndex {
+
+    private static final int GROUPS = BloodGroup.values().length;
+    private static final long BUCKET_MILLIS = TimeUnit.HOURS.toMillis(1); // Width of one expiry bucket
+    private static final long NO_EXPIRY = Long.MAX_VALUE; // Units without an expiry date are never due
+
+    private final ToLongFunction<Consumer<Blood>> loader; // Streams every stored unit; returns -1 on failure
+    private final Object lock = new Object(); // Serializes updates and reloads
+    private final Map<String, BankStock> banks = new ConcurrentHashMap<>(); // Blood bank id -> its available units
+    private final Map<String, Slot> units = new ConcurrentHashMap<>(); // Indexed unit id -> where it is indexed
+    private final NavigableMap<Long, Set<String>> expiry = new TreeMap<>(); // Expiry hour -> units due in it; guarded by lock
+    private volatile boolean stale = true; // Loaded lazily, and again after an invalidation
+
+    /**
+     * @param loader Streams every stored blood unit to the consumer and returns how many, or -1 if the read
+     * fails; e.g. {@code bloodDao::forEachBlood}
+     */
+    public InventoryIndex(ToLongFunction<Consumer<Blood>> loader) {
+        this.loader = loader;
+    }
+
+    // ===== Searches =====
+
+    /**
+     * Finds available units a recipient can receive, searching the banks in the given order (e.g. the
+     * patient's bank, then the nearby ones). Within a bank, units of the recipient's own group come first,
+     * then those of the least versatile compatible groups (see {@link BloodGroup#preferredDonors()}).
+     * @param recipient The recipient's blood group
+     * @param bloodBankIds The banks to search, in order; unknown ids are skipped
+     * @param limit The largest number of units to return
+     * @return Up to limit unexpired units, best match first
+     */
+    public List<MatchedUnit> findCompatible(BloodGroup recipient, List<String> bloodBankIds, int limit) {
+        ensureLoaded();
+        long now = System.currentTimeMillis();
+        List<MatchedUnit> found = new ArrayList<>(Math.min(limit, 64));
+        for (String bloodBankId : bloodBankIds) {
+            BankStock stock = banks.get(bloodBankId);
+            if (stock == null || (stock.availableMask() & recipient.donorMask()) == 0) {
+                continue; // Nothing compatible here
+            }
+            for (BloodGroup donor : recipient.preferredDonors()) {
+                for (String bloodId : stock.units.get(donor.ordinal())) {
+                    if (found.size() >= limit) {
+                        return found;
+                    }
+                    Slot slot = units.get(bloodId);
+                    if (slot == null || slot.expiresAt <= now) {
+                        continue; // Removed meanwhile, or expired and not yet swept
+                    }
+                    found.add(new MatchedUnit(bloodId, bloodBankId, donor));
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @return The number of available units in the bank that the recipient can receive
+     */
+    public int countCompatible(BloodGroup recipient, String bloodBankId) {
+        ensureLoaded();
+        BankStock stock = banks.get(bloodBankId);
+        if (stock == null) {
+            return 0;
+        }
+        int count = 0;
+        int mask = recipient.donorMask();
+        while (mask != 0) {
+            int group = Integer.numberOfTrailingZeros(mask);
+            count += stock.counts.get(group);
+            mask &= mask - 1; // Clearing the lowest set bit
+        }
+        return count;
+    }
+
+    /**
+     * @return The number of available units of one group in the bank
+     */
+    public int count(String bloodBankId, BloodGroup group) {
+        ensureLoaded();
+        BankStock stock = banks.get(bloodBankId);
+        return stock == null ? 0 : stock.counts.get(group.ordinal());
+    }
+
+    /**
+     * @return The number of available units in all banks
+     */
+    public int size() {
+        ensureLoaded();
+        return units.size();
+    }
+
+    /**
+     * Finds the available units whose expiry time has passed, earliest first by hour; the buckets that are not
+     * yet due are not visited.
+     * @param now The current time, in epoch milliseconds
+     * @param limit The largest number of units to return
+     * @return Up to limit units that expired at or before now
+     */
+    public List<MatchedUnit> expiredUnits(long now, int limit) {
+        ensureLoaded();
+        List<MatchedUnit> due = new ArrayList<>();
+        synchronized (lock) {
+            for (Set<String> bucket : expiry.headMap(bucketOf(now), true).values()) {
+                for (String bloodId : bucket) {
+                    if (due.size() >= limit) {
+                        return due;
+                    }
+                    Slot slot = units.get(bloodId);
+                    if (slot.expiresAt <= now) { // The current hour's bucket also holds units due later in it
+                        due.add(new MatchedUnit(bloodId, slot.bloodBankId, slot.group));
+                    }
+                }
+            }
+        }
+        return due;
+    }
+
+    // ===== Updates =====
+
+    /**
+     * Indexes the unit's current state: adds or moves it if it is available, removes it otherwise (received
+     * by a patient, marked expired, held, or with no bank or no recognizable blood group).
+     */
+    public void put(Blood unit) {
+        put(Snapshot.of(unit));
+    }
+
+    // Indexes a state captured earlier
+    void put(Snapshot unit) {
+        synchronized (lock) {
+            putLocked(unit);
+        }
+    }
+
+    /**
+     * Removes the unit, if it is indexed.
+     */
+    public void remove(String bloodId) {
+        synchronized (lock) {
+            removeLocked(bloodId);
+        }
+    }
+
+    /**
+     * Marks the index stale; the next search reloads it from the blood table.
+     */
+    public void invalidate() {
+        stale = true;
+    }
+
+    /**
+     * Wraps a DAO whose deletes cascade to blood units, so that every delete and purge invalidates the index
+     * once it has committed (a purge: once it has finished).
+     * @param type The DAO interface, e.g. BloodBankDAO.class
+     * @param target The DAO to delegate to
+     * @return A DAO implementing the interface
+     */
+    public <T> T invalidatingOnDeletes(Class<T> type, T target) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause(); // Callers see the original exception
+            }
+            String name = method.getName();
+            if (name.startsWith("delete") || name.startsWith("purge")) {
+                if (result instanceof CompletableFuture) {
+                    ((CompletableFuture<?>) result).whenComplete((value, failure) -> invalidate());
+                }
+                UnitOfWork.afterCommit(this::invalidate);
+            }
+            return result;
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler));
+    }
+
+    // ===== Internals =====
+
+    private void ensureLoaded() {
+        if (!stale) {
+            return;
+        }
+        synchronized (lock) {
+            if (!stale) {
+                return; // Another thread reloaded it
+            }
+            stale = false; // An invalidation during the reload makes the next search reload again
+            clearLocked();
+            long loaded = loader.applyAsLong(unit -> putLocked(Snapshot.of(unit)));
+            if (loaded < 0) {
+                stale = true; // Searches find nothing until a reload succeeds
+                clearLocked();
+            }
+        }
+    }
+
+    private void putLocked(Snapshot unit) {
+        removeLocked(unit.bloodId);
+        if (!unit.available || unit.bloodBankId == null || unit.group == null) {
+            return;
+        }
+        BankStock stock = banks.computeIfAbsent(unit.bloodBankId, id -> new BankStock());
+        stock.units.get(unit.group.ordinal()).add(unit.bloodId);
+        stock.counts.incrementAndGet(unit.group.ordinal());
+        units.put(unit.bloodId, new Slot(unit.bloodBankId, unit.group, unit.expiresAt));
+        if (unit.expiresAt != NO_EXPIRY) {
+            expiry.computeIfAbsent(bucketOf(unit.expiresAt), hour -> new HashSet<>()).add(unit.bloodId);
+        }
+    }
+
+    private void removeLocked(String bloodId) {
+        Slot slot = units.remove(bloodId);
+        if (slot != null) {
+            BankStock stock = banks.get(slot.bloodBankId);
+            stock.units.get(slot.group.ordinal()).remove(bloodId);
+            stock.counts.decrementAndGet(slot.group.ordinal());
+            if (slot.expiresAt != NO_EXPIRY) {
+                long hour = bucketOf(slot.expiresAt);
+                Set<String> bucket = expiry.get(hour);
+                bucket.remove(bloodId);
+                if (bucket.isEmpty()) {
+                    expiry.remove(hour);
+                }
+            }
+        }
+    }
+
+    private void clearLocked() {
+        banks.clear();
+        units.clear();
+        expiry.clear();
+    }
+
+    private static long bucketOf(long epochMillis) {
+        return Math.floorDiv(epochMillis, BUCKET_MILLIS);
+    }
+
+    // The available units of one bank, by group ordinal, in id order
+    private static final class BankStock {
+
+        final List<NavigableSet<String>> units = new ArrayList<>(GROUPS);
+        final AtomicIntegerArray counts = new AtomicIntegerArray(GROUPS);
+
+        BankStock() {
+            for (int i = 0; i < GROUPS; i++) {
+                units.add(new ConcurrentSkipListSet<>());
+            }
+        }
+
+        // The groups with at least one available unit, as a mask of BloodGroup.bit()
+        int availableMask() {
+            int mask = 0;
+            for (int i = 0; i < GROUPS; i++) {
+                if (counts.get(i) > 0) {
+                    mask |= 1 << i;
+                }
+            }
+            return mask;
+        }
+    }
+
+    // Where an available unit is indexed, and when it expires
+    private static final class Slot {
+
+        final String bloodBankId;
+        final BloodGroup group;
+        final long expiresAt;
+
+        Slot(String bloodBankId, BloodGroup group, long expiresAt) {
+            this.bloodBankId = bloodBankId;
+            this.group = group;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    // The indexed columns of a unit, read when it was written (the entity may change before the index is updated)
+    static final class Snapshot {
+
+        final String bloodId;
+        final String bloodBankId;
+        final BloodGroup group;
+        final long expiresAt;
+        final boolean available;
+
+        private Snapshot(Blood unit) {
+            this.bloodId = unit.getBloodId();
+            this.bloodBankId = unit.getStoredIn() == null ? null : unit.getStoredIn().getBloodBankId();
+            this.group = BloodGroup.parse(unit.getBloodGroup());
+            Date expiresAt = unit.getExpiresAt();
+            this.expiresAt = expiresAt == null ? NO_EXPIRY : expiresAt.getTime();
+            this.available = unit.getReceivedBy() == null && !unit.isExpired() && unit.getReservedUntil() == null;
+        }
+
+        static Snapshot of(Blood unit) {
+            return new Snapshot(unit);
+        }
+    }
+}
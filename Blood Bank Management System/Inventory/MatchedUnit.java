@@ -0,0 +1,34 @@
+package com.bloodbank.inventory;
+
+/**
+ * An available blood unit found by the compatibility search: its id, where it is stored and its group.
+ */
+public final class MatchedUnit {
+
+    private final String bloodId;
+    private final String bloodBankId;
+    private final BloodGroup bloodGroup;
+
+    MatchedUnit(String bloodId, String bloodBankId, BloodGroup bloodGroup) {
+        this.bloodId = bloodId;
+        this.bloodBankId = bloodBankId;
+        this.bloodGroup = bloodGroup;
+    }
+
+    public String getBloodId() {
+        return bloodId;
+    }
+
+    public String getBloodBankId() {
+        return bloodBankId;
+    }
+
+    public BloodGroup getBloodGroup() {
+        return bloodGroup;
+    }
+
+    @Override
+    public String toString() {
+        return bloodId + " (" + bloodGroup + ", blood bank " + bloodBankId + ")";
+    }
+}
@@ -0,0 +1,157 @@
+package com.bloodbank.inventory;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.logging.Logger;
+
+import com.bloodbank.dao.BloodDAO;
+import com.bloodbank.util.HashedTimingWheel;
+
+/**
+ * Ends the holds on blood units when their time is up, so that a unit held for a patient while it is
+ * cross-matched returns to stock without anyone releasing it.
+ *
+ * <p>The holds are stored on the units themselves ({@code reserved_patient_id}, {@code reserved_until}); this
+ * timer only tracks when each one ends, in a {@link HashedTimingWheel} ticking every {@value #TICK_PROPERTY}
+ * milliseconds (default {@value #DEFAULT_TICK_MILLIS}). Nothing polls the database: a tick with no hold ending
+ * costs a few array reads, and the holds that end on a tick are released together with one bulk UPDATE
+ * ({@link BloodDAO#releaseReservations}) that keeps any hold renewed meanwhile. The blood DAO must be the
+ * indexed one, so the released units return to the {@link InventoryIndex}.
+ *
+ * <p>{@link #start()} first files the holds stored in the blood table, so holds survive a restart; those that
+ * ended while the application was down are released on the first tick. New holds are filed with {@link #hold}
+ * once they are committed. Results are logged to the {@value #LOGGER} category.
+ */
+public final class ReservationTimer {
+
+    public static final String TICK_PROPERTY = "bloodbank.reservations.tickMillis";
+    public static final String LOGGER = "com.bloodbank.RESERVATIONS";
+
+    static final int DEFAULT_TICK_MILLIS = 1000;
+    static final int WHEEL_SLOTS = 4096; // One turn is over an hour at the default tick
+
+    private static final Logger LOG = Logger.getLogger(LOGGER);
+
+    private final BloodDAO bloodDao;
+    private final Runnable onRelease;
+    private final HashedTimingWheel<String> wheel; // Blood id -> when its hold ends
+    private final Object releaseLock = new Object(); // One release at a time
+    private volatile boolean loaded; // The stored holds have been filed
+    private ScheduledExecutorService scheduler; // Guarded by this
+
+    /**
+     * @param bloodDao The blood DAO the holds are read and released through (see {@link IndexedBloodDAO})
+     * @param onRelease Run after units were released, e.g. to let waiting requests take them
+     */
+    public ReservationTimer(BloodDAO bloodDao, Runnable onRelease) {
+        this.bloodDao = bloodDao;
+        this.onRelease = onRelease;
+        this.wheel = new HashedTimingWheel<>(Math.max(1, Integer.getInteger(TICK_PROPERTY, DEFAULT_TICK_MILLIS)),
+                WHEEL_SLOTS, System.currentTimeMillis());
+    }
+
+    /**
+     * Starts ticking on a background thread; the first tick files the stored holds. Does nothing if already started.
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "bloodbank-reservation-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long tick = wheel.getTickMillis();
+        scheduler.scheduleAtFixedRate(() -> releaseDue(System.currentTimeMillis()), 0, tick, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops ticking; the holds stay stored and are filed again by the next start.
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Files a committed hold, replacing the unit's previous one.
+     * @param bloodId The held unit
+     * @param until When the hold ends
+     */
+    public void hold(String bloodId, Date until) {
+        wheel.schedule(bloodId, until.getTime());
+    }
+
+    /**
+     * Stops tracking a unit whose hold was released or consumed by an allocation.
+     * @param bloodId The unit
+     */
+    public void cancel(String bloodId) {
+        wheel.cancel(bloodId);
+    }
+
+    /**
+     * @return The number of holds being tracked
+     */
+    public int size() {
+        return wheel.size();
+    }
+
+    /**
+     * Releases the holds that ended at or before the given time.
+     * @param now The time, in epoch milliseconds
+     * @return The number of holds released
+     */
+    public int releaseDue(long now) {
+        synchronized (releaseLock) {
+            if (!loaded) {
+                load(); // If it fails, the next tick tries again; the holds placed since startup are still released
+            }
+            List<String> due = wheel.advance(now);
+            if (due.isEmpty()) {
+                return 0;
+            }
+            int released;
+            try {
+                released = bloodDao.releaseReservations(due, new Date(now));
+            } catch (RuntimeException e) {
+                LOG.error("Releasing lapsed holds failed", e); // Caught so that the schedule keeps ticking
+                released = -1;
+            }
+            if (released < 0) {
+                // Filing them again for the next tick; a hold renewed meanwhile is refiled by its renewal
+                LOG.errorf("Could not release %d lapsed holds; retrying on the next tick", due.size());
+                due.forEach(bloodId -> wheel.scheduleIfAbsent(bloodId, now));
+                return 0;
+            }
+            if (released > 0) {
+                LOG.infof("Released %d lapsed holds", released);
+                onRelease.run();
+            }
+            return released;
+        }
+    }
+
+    // Files the stored holds, once
+    private void load() {
+        Map<String, Date> stored = bloodDao.getReservations();
+        if (stored == null) {
+            LOG.error("Could not read the stored holds; retrying on the next tick");
+            return;
+        }
+        // A hold filed since startup was read from a later commit than the stored one, or the same
+        stored.forEach((bloodId, until) -> wheel.scheduleIfAbsent(bloodId, until.getTime()));
+        loaded = true;
+        if (!stored.isEmpty()) {
+            LOG.infof("Tracking %d stored holds", stored.size());
+        }
+    }
+}
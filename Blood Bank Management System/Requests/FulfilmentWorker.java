@@ -0,0 +1,238 @@
+package com.bloodbank.requests;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.jboss.logging.Logger;
+
+import com.bloodbank.dao.BloodRequestDAO;
+import com.bloodbank.entity.BloodRequest;
+import com.bloodbank.entity.BloodRequest.Priority;
+import com.bloodbank.inventory.InventoryIndex;
+import com.bloodbank.service.AllocationService;
+import com.bloodbank.util.UnitOfWork;
+
+/**
+ * Issues blood units to the pending requests, in the order the {@link RequestScheduler} gives.
+ *
+ * <p>A drain takes requests {@value #BATCH_SIZE_PROPERTY} at a time (default {@value #DEFAULT_BATCH_SIZE}) and
+ * tries each pending request once. Before any SQL, a request is checked against the {@link InventoryIndex}: if
+ * its blood bank holds no unit the patient can receive, it is skipped without a transaction. Otherwise one unit
+ * of work checks that the request is still pending, allocates what the bank has
+ * ({@link AllocationService#allocateUnits}, first expiry first) and records it on the request. A request
+ * cancelled after the check is not recorded, and its units go back to stock
+ * ({@link AllocationService#releaseUnits}). With Hibernate the unit of work also rolls back; the in-memory
+ * backend has no rollback, so this release is what returns the units there.
+ * Requests left short are queued again when the drain ends, so a drain always finishes, and are retried by the
+ * next one. When an emergency request is queued in the middle of a batch, the rest of the batch goes back to the
+ * queue and the emergency is served first.
+ *
+ * <p>{@link #start()} rebuilds the queue from the stored pending requests and then drains on a daemon thread
+ * whenever {@link #signal()} is called (a request was submitted, blood was added) and every
+ * {@value #INTERVAL_PROPERTY} seconds (default {@value #DEFAULT_INTERVAL_SECONDS}; 0 drains on signals only).
+ * {@link #drain()} runs one drain on the calling thread. Results are logged to the {@value #LOGGER} category.
+ */
+public final class FulfilmentWorker {
+
+    public static final String INTERVAL_PROPERTY = "bloodbank.requests.pollSeconds";
+    public static final String BATCH_SIZE_PROPERTY = "bloodbank.requests.batchSize";
+    public static final String LOGGER = "com.bloodbank.REQUESTS";
+
+    static final int DEFAULT_INTERVAL_SECONDS = 60;
+    static final int DEFAULT_BATCH_SIZE = 50;
+
+    private static final Logger LOG = Logger.getLogger(LOGGER);
+
+    private final RequestScheduler scheduler;
+    private final InventoryIndex index;
+    private final BloodRequestDAO requestDao;
+    private final AllocationService allocationService;
+    private final int batchSize = Math.max(1, Integer.getInteger(BATCH_SIZE_PROPERTY, DEFAULT_BATCH_SIZE));
+    private final Object drainLock = new Object(); // One drain at a time
+    private final AtomicBoolean drainQueued = new AtomicBoolean(); // Coalesces signals into one waiting drain
+    private volatile boolean loaded; // The stored pending requests have been queued
+    private ScheduledExecutorService executor; // Guarded by this
+
+    /**
+     * @param scheduler The queue of pending requests
+     * @param index The inventory index the requests are checked against before allocating
+     * @param requestDao The DAO the requests' progress is recorded through
+     * @param allocationService The service issuing the units
+     */
+    public FulfilmentWorker(RequestScheduler scheduler, InventoryIndex index, BloodRequestDAO requestDao,
+            AllocationService allocationService) {
+        this.scheduler = scheduler;
+        this.index = index;
+        this.requestDao = requestDao;
+        this.allocationService = allocationService;
+    }
+
+    /**
+     * @return The queue this worker drains
+     */
+    public RequestScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Starts the background thread: it first drains (queueing the stored pending requests), then drains on
+     * every signal and every {@value #INTERVAL_PROPERTY} seconds. Does nothing if already started.
+     */
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "bloodbank-request-fulfilment");
+            thread.setDaemon(true);
+            return thread;
+        });
+        int seconds = Integer.getInteger(INTERVAL_PROPERTY, DEFAULT_INTERVAL_SECONDS);
+        if (seconds > 0) {
+            executor.scheduleWithFixedDelay(this::drain, 0, seconds, TimeUnit.SECONDS);
+        } else {
+            signal();
+        }
+    }
+
+    /**
+     * Stops the background thread; a drain in progress finishes the request it is on.
+     */
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * Asks the background thread to drain soon. Signals that arrive while a drain is waiting to run are merged
+     * into it. Does nothing if the worker is not started.
+     */
+    public synchronized void signal() {
+        if (executor != null && drainQueued.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                drainQueued.set(false);
+                drain();
+            });
+        }
+    }
+
+    /**
+     * Queues a newly submitted request and signals the background thread.
+     * @param request A pending request, with its blood bank and patient loaded
+     */
+    public void enqueue(BloodRequest request) {
+        if (scheduler.submit(QueuedRequest.of(request))) {
+            signal();
+        }
+    }
+
+    /**
+     * Tries every queued request once, highest priority first.
+     * @return The number of requests fulfilled
+     */
+    public int drain() {
+        synchronized (drainLock) {
+            if (!loaded && !load()) {
+                return 0; // The next drain tries to load them again
+            }
+            long start = System.nanoTime();
+            List<QueuedRequest> retry = new ArrayList<>();
+            int fulfilled = 0;
+            int issued = 0;
+            int batches = 0;
+            try {
+                List<QueuedRequest> batch;
+                while (!Thread.currentThread().isInterrupted()
+                        && !(batch = scheduler.pollBatch(batchSize, System.currentTimeMillis())).isEmpty()) {
+                    batches++;
+                    for (int i = 0; i < batch.size(); i++) {
+                        QueuedRequest request = batch.get(i);
+                        if (request.getPriority() != Priority.EMERGENCY && scheduler.emergencyWaiting()) {
+                            // Handing the untried rest back: the next poll takes the emergency first
+                            batch.subList(i, batch.size()).forEach(scheduler::requeue);
+                            break;
+                        }
+                        int units = fulfil(request);
+                        if (units < 0) {
+                            scheduler.done(request, false, System.currentTimeMillis()); // Cancelled or deleted
+                            continue;
+                        }
+                        issued += units;
+                        if (request.getRemainingUnits() <= 0) {
+                            scheduler.done(request, true, System.currentTimeMillis());
+                            fulfilled++;
+                        } else {
+                            retry.add(request); // Tried once in this drain; waits for more stock
+                        }
+                    }
+                }
+            } finally {
+                retry.forEach(scheduler::requeue);
+            }
+            if (issued > 0) {
+                LOG.infof("Request drain: %d units issued, %d requests fulfilled, %d left short, %d batches, %d ms",
+                        issued, fulfilled, retry.size(), batches, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+            return fulfilled;
+        }
+    }
+
+    // Queues the stored pending requests, once; returns false if they could not be read
+    private boolean load() {
+        List<BloodRequest> pending = requestDao.getPendingBloodRequests();
+        if (pending == null) {
+            LOG.error("Could not read the pending blood requests; the queue holds only those submitted since startup");
+            return false;
+        }
+        for (BloodRequest request : pending) {
+            scheduler.submit(QueuedRequest.of(request)); // Requests submitted meanwhile are already held
+        }
+        loaded = true;
+        if (!pending.isEmpty()) {
+            LOG.infof("Queued %d pending blood requests", pending.size());
+        }
+        return true;
+    }
+
+    // Issues what the request's blood bank can give it; returns the units issued, or -1 if the request is closed
+    private int fulfil(QueuedRequest request) {
+        if (request.getRecipient() != null && index.countCompatible(request.getRecipient(), request.getBloodBankId()) == 0) {
+            return 0; // Nothing compatible in stock: no transaction (an unrecognized group is left to the allocation)
+        }
+        try {
+            List<String> units = UnitOfWork.execute(() -> {
+                BloodRequest current = requestDao.getBloodRequestById(request.getRequestId());
+                if (current == null || current.getStatus() != BloodRequest.Status.PENDING) {
+                    throw new CancellationException("Blood request " + request.getRequestId() + " is no longer pending");
+                }
+                List<String> allocated = allocationService.allocateUnits(request.getPatientId(), request.getBloodBankId(),
+                        request.getRemainingUnits());
+                if (allocated == null) {
+                    throw new CancellationException("Patient " + request.getPatientId() + " no longer exists");
+                }
+                if (!allocated.isEmpty() && !requestDao.recordAllocation(request.getRequestId(), allocated.size(), new Date())) {
+                    // Cancelled since the check: the units return to stock, then the unit of work rolls back
+                    allocationService.releaseUnits(request.getBloodBankId(), allocated);
+                    throw new CancellationException("Blood request " + request.getRequestId() + " is no longer pending");
+                }
+                return allocated;
+            });
+            request.unitsIssued(units.size());
+            return units.size();
+        } catch (CancellationException e) {
+            LOG.debugf("Dropping %s: %s", request, e.getMessage());
+            return -1;
+        } catch (RuntimeException e) {
+            LOG.errorf(e, "Could not fulfil %s; it is retried by the next drain", request);
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.bloodbank.requests;
+
+import com.bloodbank.entity.BloodRequest;
+import com.bloodbank.inventory.BloodGroup;
+
+/**
+ * A pending blood request as the {@link RequestScheduler} holds it: what the {@link FulfilmentWorker} needs to
+ * issue its units without reading the request again.
+ *
+ * <p>The units still to issue are changed only by the worker. The scheduling fields are guarded by the
+ * scheduler's lock.
+ */
+public final class QueuedRequest {
+
+    private final String requestId;
+    private final BloodRequest.Priority priority;
+    private final long requestedAt;
+    private final String bloodBankId;
+    private final String patientId;
+    private final BloodGroup recipient;
+    private volatile int remainingUnits;
+
+    long sequence; // Submission order, breaking ties between requests made in the same millisecond
+    boolean queued; // In its priority queue (not taken)
+    boolean dispatched; // Taken at least once; its queue wait has been recorded
+    boolean cancelled; // Withdrawn; skipped when polled and not queued again
+
+    private QueuedRequest(BloodRequest request) {
+        this.requestId = request.getRequestId();
+        this.priority = request.getPriority();
+        this.requestedAt = request.getRequestedAt().getTime();
+        this.bloodBankId = request.getBloodBank().getBloodBankId();
+        this.patientId = request.getPatient().getPatientId();
+        this.recipient = BloodGroup.parse(request.getPatient().getBloodGroup());
+        this.remainingUnits = request.getUnits() - request.getUnitsAllocated();
+    }
+
+    /**
+     * @param request A pending request, with its blood bank and patient loaded
+     */
+    public static QueuedRequest of(BloodRequest request) {
+        return new QueuedRequest(request);
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public BloodRequest.Priority getPriority() {
+        return priority;
+    }
+
+    /**
+     * @return When the request was submitted, in epoch milliseconds
+     */
+    public long getRequestedAt() {
+        return requestedAt;
+    }
+
+    public String getBloodBankId() {
+        return bloodBankId;
+    }
+
+    public String getPatientId() {
+        return patientId;
+    }
+
+    /**
+     * @return The patient's blood group when the request was queued, or null if it names no ABO/Rh group
+     */
+    public BloodGroup getRecipient() {
+        return recipient;
+    }
+
+    /**
+     * @return The units not yet issued
+     */
+    public int getRemainingUnits() {
+        return remainingUnits;
+    }
+
+    // Called by the worker once units are issued
+    void unitsIssued(int units) {
+        remainingUnits -= units;
+    }
+
+    @Override
+    public String toString() {
+        return requestId + " (" + priority + ", " + remainingUnits + " unit(s) for patient " + patientId
+                + " from blood bank " + bloodBankId + ")";
+    }
+}
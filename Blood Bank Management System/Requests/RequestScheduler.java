@@ -0,0 +1,251 @@
+package com.bloodbank.requests;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+import com.bloodbank.entity.BloodRequest.Priority;
+import com.bloodbank.util.LatencyHistogram;
+
+/**
+ * Orders the pending blood requests for the {@link FulfilmentWorker}: one queue per priority, oldest request first.
+ *
+ * <p>Each request taken is the first of:
+ * <ol>
+ * <li>the oldest EMERGENCY request: emergencies always go first;</li>
+ * <li>otherwise the oldest URGENT request, or the oldest ROUTINE request if it has waited
+ * {@value #AGING_PROPERTY} minutes (default {@value #DEFAULT_AGING_MINUTES}) and did so before the urgent one
+ * was made. An aged routine request is served as if it had been made urgent when its wait ran out, so a steady
+ * stream of urgent requests cannot hold routine ones back for ever. Aging never lifts a request above the
+ * emergencies;</li>
+ * <li>otherwise the oldest ROUTINE request.</li>
+ * </ol>
+ * Each step looks at queue heads only, so taking a request costs O(log n). Cancelled requests stay in their
+ * queue until they reach its head, where they are dropped.
+ *
+ * <p>Per priority the scheduler counts the requests queued and taken, and records how long requests waited in
+ * the queue before they were first taken and how long they took to fulfil (see {@link #report()}).
+ */
+public final class RequestScheduler {
+
+    public static final String AGING_PROPERTY = "bloodbank.requests.agingMinutes";
+
+    static final int DEFAULT_AGING_MINUTES = 30;
+
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private static final Comparator<QueuedRequest> OLDEST_FIRST = Comparator
+            .comparingLong(QueuedRequest::getRequestedAt)
+            .thenComparingLong(request -> request.sequence);
+
+    private final long agingMillis;
+    private final Object lock = new Object(); // Guards everything below
+    private final List<PriorityQueue<QueuedRequest>> queues = new ArrayList<>(); // By priority ordinal
+    private final Map<String, QueuedRequest> held = new HashMap<>(); // Queued or taken and not yet done, by request id
+    private final int[] depths = new int[PRIORITIES.length]; // Queued and not cancelled, by priority ordinal
+    private final long[] taken = new long[PRIORITIES.length]; // First dispatches, by priority ordinal
+    private long aged; // Routine requests first dispatched after waiting out the aging threshold
+    private long nextSequence;
+
+    // Histograms are thread-safe; they are recorded under the lock only because the caller holds it anyway
+    private final LatencyHistogram[] waits = newHistograms(); // Submission to first dispatch
+    private final LatencyHistogram[] fulfilments = newHistograms(); // Submission to the last unit issued
+
+    /**
+     * Creates a scheduler aging routine requests after {@value #AGING_PROPERTY} minutes.
+     */
+    public RequestScheduler() {
+        this(TimeUnit.MINUTES.toMillis(Integer.getInteger(AGING_PROPERTY, DEFAULT_AGING_MINUTES)));
+    }
+
+    /**
+     * @param agingMillis How long a routine request waits before it is served alongside urgent ones
+     */
+    public RequestScheduler(long agingMillis) {
+        this.agingMillis = agingMillis;
+        for (int i = 0; i < PRIORITIES.length; i++) {
+            queues.add(new PriorityQueue<>(OLDEST_FIRST));
+        }
+    }
+
+    // ===== Queueing =====
+
+    /**
+     * Queues a request.
+     * @return false if the request is already held (queued, or taken and not yet done)
+     */
+    public boolean submit(QueuedRequest request) {
+        synchronized (lock) {
+            if (held.putIfAbsent(request.getRequestId(), request) != null) {
+                return false;
+            }
+            request.sequence = nextSequence++;
+            enqueueLocked(request);
+            return true;
+        }
+    }
+
+    /**
+     * Withdraws a request: it is skipped if queued, and not queued again if it is being worked on.
+     * @return false if the request is not held
+     */
+    public boolean cancel(String requestId) {
+        synchronized (lock) {
+            QueuedRequest request = held.remove(requestId);
+            if (request == null) {
+                return false;
+            }
+            request.cancelled = true;
+            if (request.queued) {
+                depths[request.getPriority().ordinal()]--; // It leaves its queue when it reaches the head
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Takes up to max requests, in the order described above. Each request taken is held until it is passed
+     * back to {@link #requeue} or {@link #done}.
+     * @param now The current time, in epoch milliseconds
+     */
+    public List<QueuedRequest> pollBatch(int max, long now) {
+        List<QueuedRequest> batch = new ArrayList<>(Math.min(max, 64));
+        synchronized (lock) {
+            QueuedRequest next;
+            while (batch.size() < max && (next = nextLocked(now)) != null) {
+                batch.add(next);
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Queues a taken request again, keeping its place by submission time; a cancelled one is dropped.
+     */
+    public void requeue(QueuedRequest request) {
+        synchronized (lock) {
+            if (!request.cancelled) {
+                enqueueLocked(request);
+            }
+        }
+    }
+
+    /**
+     * Releases a taken request that needs no more work.
+     * @param fulfilled true if all its units were issued, to record its fulfilment time
+     * @param now The current time, in epoch milliseconds
+     */
+    public void done(QueuedRequest request, boolean fulfilled, long now) {
+        synchronized (lock) {
+            held.remove(request.getRequestId(), request);
+            if (fulfilled) {
+                fulfilments[request.getPriority().ordinal()].record(elapsedNanos(request, now));
+            }
+        }
+    }
+
+    /**
+     * @return true if an emergency request is queued; the worker then stops a batch of lesser ones to serve it
+     */
+    public boolean emergencyWaiting() {
+        return depth(Priority.EMERGENCY) > 0;
+    }
+
+    /**
+     * @return The number of requests of the priority waiting in the queue (not those being worked on)
+     */
+    public int depth(Priority priority) {
+        synchronized (lock) {
+            return depths[priority.ordinal()];
+        }
+    }
+
+    // ===== Metrics =====
+
+    /**
+     * @return A table of the queue depth, first dispatches and wait and fulfilment times per priority, in seconds
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder(String.format("%-10s %7s %9s %7s %10s %10s %10s %10s %9s %10s %10s",
+                "Priority", "queued", "taken", "aged", "wait mean", "wait p50", "wait p99", "wait max", "fulfilled",
+                "fill p50", "fill p99"));
+        synchronized (lock) {
+            for (Priority priority : PRIORITIES) {
+                int i = priority.ordinal();
+                LatencyHistogram.Snapshot wait = waits[i].snapshot();
+                LatencyHistogram.Snapshot fill = fulfilments[i].snapshot();
+                report.append(System.lineSeparator()).append(String.format(
+                        "%-10s %7d %9d %7d %10.1f %10.1f %10.1f %10.1f %9d %10.1f %10.1f",
+                        priority, depths[i], taken[i], priority == Priority.ROUTINE ? aged : 0, wait.getMean() / 1e9,
+                        wait.getValueAtPercentile(50) / 1e9, wait.getValueAtPercentile(99) / 1e9, wait.getMax() / 1e9,
+                        fill.getCount(), fill.getValueAtPercentile(50) / 1e9, fill.getValueAtPercentile(99) / 1e9));
+            }
+        }
+        return report.toString();
+    }
+
+    // ===== Internals =====
+
+    private void enqueueLocked(QueuedRequest request) {
+        queues.get(request.getPriority().ordinal()).add(request);
+        request.queued = true;
+        depths[request.getPriority().ordinal()]++;
+    }
+
+    // Removes and returns the next request to serve, or null if none is queued
+    private QueuedRequest nextLocked(long now) {
+        QueuedRequest emergency = headLocked(Priority.EMERGENCY);
+        if (emergency != null) {
+            return takeLocked(emergency, now);
+        }
+        QueuedRequest urgent = headLocked(Priority.URGENT);
+        QueuedRequest routine = headLocked(Priority.ROUTINE);
+        if (routine != null && (urgent == null || (now - routine.getRequestedAt() >= agingMillis
+                && routine.getRequestedAt() + agingMillis < urgent.getRequestedAt()))) {
+            return takeLocked(routine, now);
+        }
+        return urgent == null ? null : takeLocked(urgent, now);
+    }
+
+    // The oldest live request of the priority, dropping cancelled ones found at the head
+    private QueuedRequest headLocked(Priority priority) {
+        PriorityQueue<QueuedRequest> queue = queues.get(priority.ordinal());
+        QueuedRequest head;
+        while ((head = queue.peek()) != null && head.cancelled) {
+            queue.poll(); // Already taken off the depth when it was cancelled
+        }
+        return head;
+    }
+
+    private QueuedRequest takeLocked(QueuedRequest request, long now) {
+        int i = request.getPriority().ordinal();
+        queues.get(i).poll();
+        request.queued = false;
+        depths[i]--;
+        if (!request.dispatched) {
+            request.dispatched = true;
+            taken[i]++;
+            waits[i].record(elapsedNanos(request, now));
+            if (request.getPriority() == Priority.ROUTINE && now - request.getRequestedAt() >= agingMillis) {
+                aged++;
+            }
+        }
+        return request;
+    }
+
+    private static long elapsedNanos(QueuedRequest request, long now) {
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, now - request.getRequestedAt()));
+    }
+
+    private static LatencyHistogram[] newHistograms() {
+        LatencyHistogram[] histograms = new LatencyHistogram[PRIORITIES.length];
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+        return histograms;
+    }
+}
@@ -0,0 +1,67 @@
+package com.bloodbank.service.async;
+
+import java.util.Collection;  // Importing Collection for bulk operations
+import java.util.List;  // Importing List for results
+import java.util.Map;  // Importing Map for lookups keyed by id
+import java.util.concurrent.CompletableFuture;  // Importing CompletableFuture for asynchronous results
+
+import com.bloodbank.entity.Admin;  // Importing the Admin entity class
+import com.bloodbank.service.AdminService;  // Importing the AdminService interface
+
+// Asynchronous facade over an AdminService: every operation runs on the AsyncExecutor and returns a CompletableFuture,
+// so independent calls can be started together and their database latency overlapped
+public class AsyncAdminService {
+
+    private final AdminService adminService;  // The blocking service the calls are delegated to
+    private final AsyncExecutor executor;  // Runs the calls, at most its maxConcurrency at a time
+
+    // Creates a facade that runs its calls on the shared AsyncExecutor
+    public AsyncAdminService(AdminService adminService) {
+        this(adminService, AsyncExecutor.shared());
+    }
+
+    public AsyncAdminService(AdminService adminService, AsyncExecutor executor) {
+        this.adminService = adminService;
+        this.executor = executor;
+    }
+
+    // Method to retrieve an Admin entity by its unique identifier (id)
+    public CompletableFuture<Admin> getAdminById(String id) {
+        return executor.supply(() -> adminService.getAdminById(id));
+    }
+
+    // Method to retrieve many Admin entities by their unique identifiers in batched lookups; returns the ones found, keyed by id
+    public CompletableFuture<Map<String, Admin>> getAdminsByIds(Collection<String> adminIds) {
+        return executor.supply(() -> adminService.getAdminsByIds(adminIds));
+    }
+
+    // Method to save a new Admin entity to the database
+    public CompletableFuture<Void> saveAdmin(Admin admin) {
+        return executor.run(() -> adminService.saveAdmin(admin));
+    }
+
+    // Method to update an existing Admin entity in the database
+    public CompletableFuture<Void> updateAdmin(Admin admin) {
+        return executor.run(() -> adminService.updateAdmin(admin));
+    }
+
+    // Method to delete an Admin entity from the database by its unique identifier (id)
+    public CompletableFuture<Void> deleteAdmin(String id) {
+        return executor.run(() -> adminService.deleteAdmin(id));
+    }
+
+    // Method to delete many Admin records (and their blood banks, with the banks' blood units and hospitals) by their IDs without loading them; returns the number deleted (-1 on failure)
+    public CompletableFuture<Integer> deleteAdmins(Collection<String> adminIds) {
+        return executor.supply(() -> adminService.deleteAdmins(adminIds));
+    }
+
+    // Method to retrieve all Admin entities from the database
+    public CompletableFuture<List<Admin>> getAllAdmins() {
+        return executor.supply(() -> adminService.getAllAdmins());
+    }
+
+    // Method to retrieve one page of Admin entities ordered by id, starting after the given id (null for the first page)
+    public CompletableFuture<List<Admin>> getAdminsPage(String afterAdminId, int pageSize) {
+        return executor.supply(() -> adminService.getAdminsPage(afterAdminId, pageSize));
+    }
+}
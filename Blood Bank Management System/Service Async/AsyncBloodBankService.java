@@ -0,0 +1,79 @@
+package com.bloodbank.service.async;
+
+import java.util.Collection;  // Importing Collection for bulk operations
+import java.util.List;  // Importing List for results
+import java.util.Map;  // Importing Map for lookups keyed by id
+import java.util.concurrent.CompletableFuture;  // Importing CompletableFuture for asynchronous results
+
+import com.bloodbank.entity.BloodBank;  // Importing the BloodBank entity class
+import com.bloodbank.service.BloodBankService;  // Importing the BloodBankService interface
+
+// Asynchronous facade over a BloodBankService: every operation runs on the AsyncExecutor and returns a CompletableFuture,
+// so independent calls can be started together and their database latency overlapped
+public class AsyncBloodBankService {
+
+    private final BloodBankService bloodBankService;  // The blocking service the calls are delegated to
+    private final AsyncExecutor executor;  // Runs the calls, at most its maxConcurrency at a time
+
+    // Creates a facade that runs its calls on the shared AsyncExecutor
+    public AsyncBloodBankService(BloodBankService bloodBankService) {
+        this(bloodBankService, AsyncExecutor.shared());
+    }
+
+    public AsyncBloodBankService(BloodBankService bloodBankService, AsyncExecutor executor) {
+        this.bloodBankService = bloodBankService;
+        this.executor = executor;
+    }
+
+    // Method to retrieve a BloodBank entity by its unique identifier (id)
+    public CompletableFuture<BloodBank> getBloodBankById(String id) {
+        return executor.supply(() -> bloodBankService.getBloodBankById(id));
+    }
+
+    // Method to retrieve many BloodBank entities by their unique identifiers in batched lookups; returns the ones found, keyed by id
+    public CompletableFuture<Map<String, BloodBank>> getBloodBanksByIds(Collection<String> bloodBankIds) {
+        return executor.supply(() -> bloodBankService.getBloodBanksByIds(bloodBankIds));
+    }
+
+    // Method to save a new BloodBank entity to the database
+    public CompletableFuture<Void> saveBloodBank(BloodBank bloodBank) {
+        return executor.run(() -> bloodBankService.saveBloodBank(bloodBank));
+    }
+
+    // Method to update an existing BloodBank entity in the database
+    public CompletableFuture<Void> updateBloodBank(BloodBank bloodBank) {
+        return executor.run(() -> bloodBankService.updateBloodBank(bloodBank));
+    }
+
+    // Method to delete a BloodBank entity from the database by its unique identifier (id)
+    public CompletableFuture<Void> deleteBloodBank(String id) {
+        return executor.run(() -> bloodBankService.deleteBloodBank(id));
+    }
+
+    // Method to delete many BloodBank records (and their blood units and hospitals) by their IDs without loading them; returns the number deleted (-1 on failure)
+    public CompletableFuture<Integer> deleteBloodBanks(Collection<String> bloodBankIds) {
+        return executor.supply(() -> bloodBankService.deleteBloodBanks(bloodBankIds));
+    }
+
+    // Method to delete a BloodBank with a very large cascade: its blood units, blood requests and hospitals are deleted chunkSize rows per transaction
+    // on a background thread, then the BloodBank; the future yields the number of rows deleted
+    public CompletableFuture<Long> purgeBloodBank(String bloodBankId, int chunkSize) {
+        return bloodBankService.purgeBloodBank(bloodBankId, chunkSize);  // Already asynchronous
+    }
+
+    // Method to retrieve all BloodBank entities from the database
+    public CompletableFuture<List<BloodBank>> getAllBloodBanks() {
+        return executor.supply(() -> bloodBankService.getAllBloodBanks());
+    }
+
+    // Method to retrieve one page of BloodBank entities ordered by id, starting after the given id (null for the first page)
+    public CompletableFuture<List<BloodBank>> getBloodBanksPage(String afterBloodBankId, int pageSize) {
+        return executor.supply(() -> bloodBankService.getBloodBanksPage(afterBloodBankId, pageSize));
+    }
+
+    // Atomically increase or decrease blood quantity in a BloodBank; returns false if the BloodBank does not exist
+    // or the change would make the quantity negative
+    public CompletableFuture<Boolean> updateBloodQuantity(String bloodBankId, int quantityChange) {
+        return executor.supply(() -> bloodBankService.updateBloodQuantity(bloodBankId, quantityChange));
+    }
+}
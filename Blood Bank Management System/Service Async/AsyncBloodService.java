@@ -0,0 +1,100 @@
+package com.bloodbank.service.async;
+
+import java.nio.file.Path;  // Importing Path for export targets
+import java.util.Collection;  // Importing Collection for bulk operations
+import java.util.List;  // Importing List for results
+import java.util.Map;  // Importing Map for lookups keyed by id
+import java.util.concurrent.CompletableFuture;  // Importing CompletableFuture for asynchronous results
+
+import com.bloodbank.entity.Blood;  // Importing the Blood entity class
+import com.bloodbank.entity.BloodPatch;  // Importing BloodPatch for partial updates
+import com.bloodbank.service.BloodService;  // Importing the BloodService interface
+import com.bloodbank.util.ExportFormat;  // Importing ExportFormat to choose CSV or JSON Lines
+
+// Asynchronous facade over a BloodService: every operation runs on the AsyncExecutor and returns a CompletableFuture,
+// so independent calls can be started together and their database latency overlapped
+public class AsyncBloodService {
+
+    private final BloodService bloodService;  // The blocking service the calls are delegated to
+    private final AsyncExecutor executor;  // Runs the calls, at most its maxConcurrency at a time
+
+    // Creates a facade that runs its calls on the shared AsyncExecutor
+    public AsyncBloodService(BloodService bloodService) {
+        this(bloodService, AsyncExecutor.shared());
+    }
+
+    public AsyncBloodService(BloodService bloodService, AsyncExecutor executor) {
+        this.bloodService = bloodService;
+        this.executor = executor;
+    }
+
+    // Method to retrieve a Blood entity by its unique identifier (id)
+    public CompletableFuture<Blood> getBloodById(String id) {
+        return executor.supply(() -> bloodService.getBloodById(id));
+    }
+
+    // Method to retrieve many Blood entities by their unique identifiers in batched lookups; returns the ones found, keyed by id
+    public CompletableFuture<Map<String, Blood>> getBloodUnitsByIds(Collection<String> bloodIds) {
+        return executor.supply(() -> bloodService.getBloodUnitsByIds(bloodIds));
+    }
+
+    // Method to save a new Blood entity to the database
+    public CompletableFuture<Void> saveBlood(Blood blood) {
+        return executor.run(() -> bloodService.saveBlood(blood));
+    }
+
+    // Method to save many Blood entities in one batched transaction, all or none; completes with the number saved
+    public CompletableFuture<Integer> saveAll(Collection<Blood> bloodUnits) {
+        return executor.supply(() -> bloodService.saveAll(bloodUnits));
+    }
+
+    // Method to save many Blood entities in batches, committing every commitSize entities; returns the number committed
+    public CompletableFuture<Integer> saveAll(Collection<Blood> bloodUnits, int commitSize) {
+        return executor.supply(() -> bloodService.saveAll(bloodUnits, commitSize));
+    }
+
+    // Method to update an existing Blood entity in the database
+    public CompletableFuture<Void> updateBlood(Blood blood) {
+        return executor.run(() -> bloodService.updateBlood(blood));
+    }
+
+    // Update only the fields set in the patch; completes with false if no Blood has the given ID
+    public CompletableFuture<Boolean> patchBlood(String bloodId, BloodPatch patch) {
+        return executor.supply(() -> bloodService.patchBlood(bloodId, patch));
+    }
+
+    // Method to delete a Blood entity from the database by its unique identifier (id)
+    public CompletableFuture<Void> deleteBlood(String id) {
+        return executor.run(() -> bloodService.deleteBlood(id));
+    }
+
+    // Method to delete many Blood records by their IDs without loading them; returns the number deleted (-1 on failure)
+    public CompletableFuture<Integer> deleteBloodUnits(Collection<String> bloodIds) {
+        return executor.supply(() -> bloodService.deleteBloodUnits(bloodIds));
+    }
+
+    // Method to retrieve a list of Blood entities stored in a specific BloodBank
+    public CompletableFuture<List<Blood>> getBloodByBloodBankId(String bloodBankId) {
+        return executor.supply(() -> bloodService.getBloodByBloodBankId(bloodBankId));
+    }
+
+    // Method to retrieve one page of Blood entities stored in a specific BloodBank, starting after the given id (null for the first page)
+    public CompletableFuture<List<Blood>> getBloodByBloodBankIdPage(String bloodBankId, String afterBloodId, int pageSize) {
+        return executor.supply(() -> bloodService.getBloodByBloodBankIdPage(bloodBankId, afterBloodId, pageSize));
+    }
+
+    // Method to retrieve all Blood entities from the database
+    public CompletableFuture<List<Blood>> getAllBlood() {
+        return executor.supply(() -> bloodService.getAllBlood());
+    }
+
+    // Method to export every Blood entity to a CSV or JSON Lines file in constant memory; returns the number exported (-1 on failure)
+    public CompletableFuture<Long> exportBlood(Path file, ExportFormat format) {
+        return executor.supply(() -> bloodService.exportBlood(file, format));
+    }
+
+    // Method to retrieve one page of Blood entities ordered by id, starting after the given id (null for the first page)
+    public CompletableFuture<List<Blood>> getBloodPage(String afterBloodId, int pageSize) {
+        return executor.supply(() -> bloodService.getBloodPage(afterBloodId, pageSize));
+    }
+}
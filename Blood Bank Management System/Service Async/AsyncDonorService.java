@@ -0,0 +1,101 @@
+package com.bloodbank.service.async;
+
+import java.nio.file.Path;  // Importing Path for export targets
+import java.util.Collection;  // Importing Collection for bulk operations
+import java.util.List;  // Importing List for results
+import java.util.Map;  // Importing Map for lookups keyed by id
+import java.util.concurrent.CompletableFuture;  // Importing CompletableFuture for asynchronous results
+
+import com.bloodbank.entity.Donor;  // Importing the Donor entity class
+import com.bloodbank.entity.DonorPatch;  // Importing DonorPatch for partial updates
+import com.bloodbank.service.DonorService;  // Importing the DonorService interface
+import com.bloodbank.util.ExportFormat;  // Importing ExportFormat to choose CSV or JSON Lines
+
+// Asynchronous facade over a DonorService: every operation runs on the AsyncExecutor and returns a CompletableFuture,
+// so independent calls can be started together and their database latency overlapped
+public class AsyncDonorService {
+
+    private final DonorService donorService;  // The blocking service the calls are delegated to
+    private final AsyncExecutor executor;  // Runs the calls, at most its maxConcurrency at a time
+
+    // Creates a facade that runs its calls on the shared AsyncExecutor
+    public AsyncDonorService(DonorService donorService) {
+        this(donorService, AsyncExecutor.shared());
+    }
+
+    public AsyncDonorService(DonorService donorService, AsyncExecutor executor) {
+        this.donorService = donorService;
+        this.executor = executor;
+    }
+
+    // Retrieve a Donor by its ID
+    // This method will return a Donor object if found by the provided ID
+    public CompletableFuture<Donor> getDonorById(String id) {
+        return executor.supply(() -> donorService.getDonorById(id));
+    }
+
+    // Retrieve many Donors by their IDs
+    // This method will load the Donor objects in batched lookups (one query per batch instead of one per ID) and return the ones found, keyed by ID
+    public CompletableFuture<Map<String, Donor>> getDonorsByIds(Collection<String> donorIds) {
+        return executor.supply(() -> donorService.getDonorsByIds(donorIds));
+    }
+
+    // Save a new Donor entity
+    // This method will be used to persist a Donor object into the database
+    public CompletableFuture<Void> saveDonor(Donor donor) {
+        return executor.run(() -> donorService.saveDonor(donor));
+    }
+
+    // Save many Donor entities at once
+    // This method will insert all Donor objects in one batched transaction, all or none, and complete with the number saved
+    public CompletableFuture<Integer> saveAll(Collection<Donor> donors) {
+        return executor.supply(() -> donorService.saveAll(donors));
+    }
+
+    // Save many Donor entities in chunks
+    // This method will insert the Donor objects in batches, committing every commitSize objects, and return the number committed
+    public CompletableFuture<Integer> saveAll(Collection<Donor> donors, int commitSize) {
+        return executor.supply(() -> donorService.saveAll(donors, commitSize));
+    }
+
+    // Update an existing Donor entity
+    // This method will update an existing Donor record in the database with the provided Donor object
+    public CompletableFuture<Void> updateDonor(Donor donor) {
+        return executor.run(() -> donorService.updateDonor(donor));
+    }
+
+    // Update only the fields set in the patch; completes with false if no Donor has the given ID
+    public CompletableFuture<Boolean> patchDonor(String donorId, DonorPatch patch) {
+        return executor.supply(() -> donorService.patchDonor(donorId, patch));
+    }
+
+    // Delete a Donor by its ID
+    // This method will delete the Donor record from the database corresponding to the given ID
+    public CompletableFuture<Void> deleteDonor(String id) {
+        return executor.run(() -> donorService.deleteDonor(id));
+    }
+
+    // Delete many Donor records by their IDs
+    // This method will delete the given Donor records (and the blood units they donated) with set-based statements and return the number deleted (-1 on failure)
+    public CompletableFuture<Integer> deleteDonors(Collection<String> donorIds) {
+        return executor.supply(() -> donorService.deleteDonors(donorIds));
+    }
+
+    // Retrieve a list of all Donors
+    // This method will return a list of all Donor objects available in the database
+    public CompletableFuture<List<Donor>> getAllDonors() {
+        return executor.supply(() -> donorService.getAllDonors());
+    }
+
+    // Export all Donors to a file
+    // This method will stream every Donor record into a CSV or JSON Lines file in constant memory and return the number exported (-1 on failure)
+    public CompletableFuture<Long> exportDonors(Path file, ExportFormat format) {
+        return executor.supply(() -> donorService.exportDonors(file, format));
+    }
+
+    // Retrieve one page of Donors
+    // This method will return at most pageSize Donor objects ordered by id, starting after the given id (null for the first page)
+    public CompletableFuture<List<Donor>> getDonorsPage(String afterDonorId, int pageSize) {
+        return executor.supply(() -> donorService.getDonorsPage(afterDonorId, pageSize));
+    }
+}
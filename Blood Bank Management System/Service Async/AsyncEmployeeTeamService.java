@@ -0,0 +1,81 @@
+package com.bloodbank.service.async;
+
+import java.util.Collection;  // Importing Collection for bulk operations
+import java.util.List;  // Importing List for results
+import java.util.Map;  // Importing Map for lookups keyed by id
+import java.util.concurrent.CompletableFuture;  // Importing CompletableFuture for asynchronous results
+
+import com.bloodbank.entity.EmployeeTeam;  // Importing the EmployeeTeam entity class
+import com.bloodbank.service.EmployeeTeamService;  // Importing the EmployeeTeamService interface
+
+// Asynchronous facade over an EmployeeTeamService: every operation runs on the AsyncExecutor and returns a CompletableFuture,
+// so independent calls can be started together and their database latency overlapped
+public class AsyncEmployeeTeamService {
+
+    private final EmployeeTeamService employeeTeamService;  // The blocking service the calls are delegated to
+    private final AsyncExecutor executor;  // Runs the calls, at most its maxConcurrency at a time
+
+    // Creates a facade that runs its calls on the shared AsyncExecutor
+    public AsyncEmployeeTeamService(EmployeeTeamService employeeTeamService) {
+        this(employeeTeamService, AsyncExecutor.shared());
+    }
+
+    public AsyncEmployeeTeamService(EmployeeTeamService employeeTeamService, AsyncExecutor executor) {
+        this.employeeTeamService = employeeTeamService;
+        this.executor = executor;
+    }
+
+    // Retrieve an EmployeeTeam by its ID
+    // This method will return an EmployeeTeam object if found by the provided ID
+    public CompletableFuture<EmployeeTeam> getEmployeeTeamById(String id) {
+        return executor.supply(() -> employeeTeamService.getEmployeeTeamById(id));
+    }
+
+    // Retrieve many EmployeeTeams by their IDs
+    // This method will load the EmployeeTeam objects in batched lookups (one query per batch instead of one per ID) and return the ones found, keyed by ID
+    public CompletableFuture<Map<String, EmployeeTeam>> getEmployeeTeamsByIds(Collection<String> empIds) {
+        return executor.supply(() -> employeeTeamService.getEmployeeTeamsByIds(empIds));
+    }
+
+    // Save a new EmployeeTeam entity
+    // This method will be used to persist an EmployeeTeam object into the database
+    public CompletableFuture<Void> saveEmployeeTeam(EmployeeTeam employeeTeam) {
+        return executor.run(() -> employeeTeamService.saveEmployeeTeam(employeeTeam));
+    }
+
+    // Update an existing EmployeeTeam entity
+    // This method will update an existing EmployeeTeam record in the database with the provided EmployeeTeam object
+    public CompletableFuture<Void> updateEmployeeTeam(EmployeeTeam employeeTeam) {
+        return executor.run(() -> employeeTeamService.updateEmployeeTeam(employeeTeam));
+    }
+
+    // Delete an EmployeeTeam by its ID
+    // This method will delete the EmployeeTeam record from the database corresponding to the given ID
+    public CompletableFuture<Void> deleteEmployeeTeam(String id) {
+        return executor.run(() -> employeeTeamService.deleteEmployeeTeam(id));
+    }
+
+    // Delete many EmployeeTeam records by their IDs
+    // This method will delete the given EmployeeTeam records (and their donors and patients, with those people's blood units) with set-based statements and return the number deleted (-1 on failure)
+    public CompletableFuture<Integer> deleteEmployeeTeams(Collection<String> empIds) {
+        return executor.supply(() -> employeeTeamService.deleteEmployeeTeams(empIds));
+    }
+
+    // Purge an EmployeeTeam with a very large cascade
+    // This method will delete the donors, patients and their blood units in chunks of chunkSize rows per transaction on a background thread, then the EmployeeTeam; the future yields the rows deleted
+    public CompletableFuture<Long> purgeEmployeeTeam(String empId, int chunkSize) {
+        return employeeTeamService.purgeEmployeeTeam(empId, chunkSize);  // Already asynchronous
+    }
+
+    // Retrieve a list of all EmployeeTeams
+    // This method will return a list of all EmployeeTeam objects available in the database
+    public CompletableFuture<List<EmployeeTeam>> getAllEmployeeTeams() {
+        return executor.supply(() -> employeeTeamService.getAllEmployeeTeams());
+    }
+
+    // Retrieve one page of EmployeeTeams
+    // This method will return at most pageSize EmployeeTeam objects ordered by id, starting after the given id (null for the first page)
+    public CompletableFuture<List<EmployeeTeam>> getEmployeeTeamsPage(String afterEmployeeTeamId, int pageSize) {
+        return executor.supply(() -> employeeTeamService.getEmployeeTeamsPage(afterEmployeeTeamId, pageSize));
+    }
+}
@@ -0,0 +1,142 @@
+package com.bloodbank.service.async;
+
+import java.lang.reflect.Method;  // Importing Method to look up the virtual-thread executor factory
+import java.util.concurrent.CompletableFuture;  // Importing CompletableFuture for asynchronous results
+import java.util.concurrent.ExecutorService;  // Importing ExecutorService to run the operations
+import java.util.concurrent.Executors;  // Importing Executors to create the executor
+import java.util.concurrent.Semaphore;  // Importing Semaphore to bound database concurrency
+import java.util.concurrent.TimeUnit;  // Importing TimeUnit for shutdown
+import java.util.concurrent.atomic.AtomicInteger;  // Importing AtomicInteger to number the fallback threads
+import java.util.function.Supplier;  // Importing Supplier for operations that return a result
+
+/**
+ * Runs blocking service calls asynchronously for the Async*Service facades.
+ *
+ * <p>Each call gets its own virtual thread (Java 21+), so thousands of calls can wait on the database at the
+ * same time without tying up platform threads. A semaphore caps how many calls run at once, so the facades never
+ * ask for more connections than the pool holds: extra calls wait for a permit, not for a pooled connection with
+ * a timeout. The limit is {@code -Dbloodbank.async.maxConcurrency}, falling back to
+ * {@code -Dbloodbank.pool.maximumPoolSize} and then to 20 (hikari.maximumPoolSize in Hibernate.cfg.xml).
+ *
+ * <p>On a JDK without virtual threads the calls run on a fixed pool of that many daemon threads instead.
+ *
+ * <p>The calls run on other threads, so they never join the caller's {@link com.bloodbank.util.UnitOfWork}:
+ * each one uses its own session, as if it were called outside a unit of work.
+ */
+public final class AsyncExecutor implements AutoCloseable {
+
+    public static final String MAX_CONCURRENCY_PROPERTY = "bloodbank.async.maxConcurrency"; // Limit on concurrent calls
+    private static final String POOL_SIZE_PROPERTY = "bloodbank.pool.maximumPoolSize"; // Connection pool size override
+    private static final int DEFAULT_MAX_CONCURRENCY = 20; // hikari.maximumPoolSize in Hibernate.cfg.xml
+
+    private static final AsyncExecutor SHARED = new AsyncExecutor();
+
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final boolean virtualThreads;
+
+    /**
+     * Creates an executor limited by the configured maximum concurrency.
+     */
+    public AsyncExecutor() {
+        this(Integer.getInteger(MAX_CONCURRENCY_PROPERTY, Integer.getInteger(POOL_SIZE_PROPERTY, DEFAULT_MAX_CONCURRENCY)));
+    }
+
+    /**
+     * @param maxConcurrency The largest number of calls that may run at the same time
+     */
+    public AsyncExecutor(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1: " + maxConcurrency);
+        }
+        this.maxConcurrency = maxConcurrency;
+        this.permits = new Semaphore(maxConcurrency, true);
+        ExecutorService virtual = newVirtualThreadPerTaskExecutor();
+        this.virtualThreads = virtual != null;
+        this.executor = virtual != null ? virtual : newPlatformThreadPool(maxConcurrency);
+    }
+
+    /**
+     * @return The executor shared by the facades created without an explicit executor
+     */
+    public static AsyncExecutor shared() {
+        return SHARED;
+    }
+
+    /**
+     * Runs the operation asynchronously once a permit is free.
+     * @return A future that completes with the operation's result, or exceptionally with what it threw
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> operation) {
+        return CompletableFuture.supplyAsync(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                return operation.get();
+            } finally {
+                permits.release();
+            }
+        }, executor);
+    }
+
+    /**
+     * Runs the operation asynchronously once a permit is free.
+     * @return A future that completes when the operation returns, or exceptionally with what it threw
+     */
+    public CompletableFuture<Void> run(Runnable operation) {
+        return supply(() -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    /**
+     * @return The largest number of calls that run at the same time
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * @return true when each call runs on its own virtual thread, false when the platform thread pool is used
+     */
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Stops accepting calls and waits up to 30 seconds for the running ones to finish.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() is looked up at run time, so the code still compiles and runs
+    // on JDKs older than 21 (null there, or when the JDK has virtual threads only as a disabled preview)
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    private static ExecutorService newPlatformThreadPool(int threads) {
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "bloodbank-async-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
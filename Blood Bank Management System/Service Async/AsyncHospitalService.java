@@ -0,0 +1,75 @@
+package com.bloodbank.service.async;
+
+import java.util.Collection;  // Importing Collection for bulk operations
+import java.util.List;  // Importing List for results
+import java.util.Map;  // Importing Map for lookups keyed by id
+import java.util.concurrent.CompletableFuture;  // Importing CompletableFuture for asynchronous results
+
+import com.bloodbank.entity.Hospital;  // Importing the Hospital entity class
+import com.bloodbank.service.HospitalService;  // Importing the HospitalService interface
+
+// Asynchronous facade over a HospitalService: every operation runs on the AsyncExecutor and returns a CompletableFuture,
+// so independent calls can be started together and their database latency overlapped
+public class AsyncHospitalService {
+
+    private final HospitalService hospitalService;  // The blocking service the calls are delegated to
+    private final AsyncExecutor executor;  // Runs the calls, at most its maxConcurrency at a time
+
+    // Creates a facade that runs its calls on the shared AsyncExecutor
+    public AsyncHospitalService(HospitalService hospitalService) {
+        this(hospitalService, AsyncExecutor.shared());
+    }
+
+    public AsyncHospitalService(HospitalService hospitalService, AsyncExecutor executor) {
+        this.hospitalService = hospitalService;
+        this.executor = executor;
+    }
+
+    // Retrieve a Hospital by its ID
+    // This method will return a Hospital object if found by the provided ID
+    public CompletableFuture<Hospital> getHospitalById(String id) {
+        return executor.supply(() -> hospitalService.getHospitalById(id));
+    }
+
+    // Retrieve many Hospitals by their IDs
+    // This method will load the Hospital objects in batched lookups (one query per batch instead of one per ID) and return the ones found, keyed by ID
+    public CompletableFuture<Map<String, Hospital>> getHospitalsByIds(Collection<String> hospitalIds) {
+        return executor.supply(() -> hospitalService.getHospitalsByIds(hospitalIds));
+    }
+
+    // Save a new Hospital entity
+    // This method will be used to persist a new Hospital object in the database
+    public CompletableFuture<Void> saveHospital(Hospital hospital) {
+        return executor.run(() -> hospitalService.saveHospital(hospital));
+    }
+
+    // Update an existing Hospital entity
+    // This method will update the Hospital record in the database with the provided Hospital object
+    public CompletableFuture<Void> updateHospital(Hospital hospital) {
+        return executor.run(() -> hospitalService.updateHospital(hospital));
+    }
+
+    // Delete a Hospital by its ID
+    // This method will delete the Hospital record from the database that corresponds to the given ID
+    public CompletableFuture<Void> deleteHospital(String id) {
+        return executor.run(() -> hospitalService.deleteHospital(id));
+    }
+
+    // Delete many Hospital records by their IDs
+    // This method will delete the given Hospital records with set-based statements and return the number deleted (-1 on failure)
+    public CompletableFuture<Integer> deleteHospitals(Collection<String> hospitalIds) {
+        return executor.supply(() -> hospitalService.deleteHospitals(hospitalIds));
+    }
+
+    // Retrieve a list of all Hospitals
+    // This method will return a list of all Hospital objects available in the database
+    public CompletableFuture<List<Hospital>> getAllHospitals() {
+        return executor.supply(() -> hospitalService.getAllHospitals());
+    }
+
+    // Retrieve one page of Hospitals
+    // This method will return at most pageSize Hospital objects ordered by id, starting after the given id (null for the first page)
+    public CompletableFuture<List<Hospital>> getHospitalsPage(String afterHospitalId, int pageSize) {
+        return executor.supply(() -> hospitalService.getHospitalsPage(afterHospitalId, pageSize));
+    }
+}
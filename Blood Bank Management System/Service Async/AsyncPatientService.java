@@ -0,0 +1,101 @@
+package com.bloodbank.service.async;
+
+import java.nio.file.Path;  // Importing Path for export targets
+import java.util.Collection;  // Importing Collection for bulk operations
+import java.util.List;  // Importing List for results
+import java.util.Map;  // Importing Map for lookups keyed by id
+import java.util.concurrent.CompletableFuture;  // Importing CompletableFuture for asynchronous results
+
+import com.bloodbank.entity.Patient;  // Importing the Patient entity class
+import com.bloodbank.entity.PatientPatch;  // Importing PatientPatch for partial updates
+import com.bloodbank.service.PatientService;  // Importing the PatientService interface
+import com.bloodbank.util.ExportFormat;  // Importing ExportFormat to choose CSV or JSON Lines
+
+// Asynchronous facade over a PatientService: every operation runs on the AsyncExecutor and returns a CompletableFuture,
+// so independent calls can be started together and their database latency overlapped
+public class AsyncPatientService {
+
+    private final PatientService patientService;  // The blocking service the calls are delegated to
+    private final AsyncExecutor executor;  // Runs the calls, at most its maxConcurrency at a time
+
+    // Creates a facade that runs its calls on the shared AsyncExecutor
+    public AsyncPatientService(PatientService patientService) {
+        this(patientService, AsyncExecutor.shared());
+    }
+
+    public AsyncPatientService(PatientService patientService, AsyncExecutor executor) {
+        this.patientService = patientService;
+        this.executor = executor;
+    }
+
+    // Retrieve a Patient by its ID
+    // This method will return a Patient object if found by the provided ID
+    public CompletableFuture<Patient> getPatientById(String id) {
+        return executor.supply(() -> patientService.getPatientById(id));
+    }
+
+    // Retrieve many Patients by their IDs
+    // This method will load the Patient objects in batched lookups (one query per batch instead of one per ID) and return the ones found, keyed by ID
+    public CompletableFuture<Map<String, Patient>> getPatientsByIds(Collection<String> patientIds) {
+        return executor.supply(() -> patientService.getPatientsByIds(patientIds));
+    }
+
+    // Save a new Patient entity
+    // This method will be used to persist a new Patient object in the database
+    public CompletableFuture<Void> savePatient(Patient patient) {
+        return executor.run(() -> patientService.savePatient(patient));
+    }
+
+    // Save many Patient entities at once
+    // This method will insert all Patient objects in one batched transaction, all or none, and complete with the number saved
+    public CompletableFuture<Integer> saveAll(Collection<Patient> patients) {
+        return executor.supply(() -> patientService.saveAll(patients));
+    }
+
+    // Save many Patient entities in chunks
+    // This method will insert the Patient objects in batches, committing every commitSize objects, and return the number committed
+    public CompletableFuture<Integer> saveAll(Collection<Patient> patients, int commitSize) {
+        return executor.supply(() -> patientService.saveAll(patients, commitSize));
+    }
+
+    // Update an existing Patient entity
+    // This method will update the Patient record in the database with the provided Patient object
+    public CompletableFuture<Void> updatePatient(Patient patient) {
+        return executor.run(() -> patientService.updatePatient(patient));
+    }
+
+    // Update only the fields set in the patch; completes with false if no Patient has the given ID
+    public CompletableFuture<Boolean> patchPatient(String patientId, PatientPatch patch) {
+        return executor.supply(() -> patientService.patchPatient(patientId, patch));
+    }
+
+    // Delete a Patient by its ID
+    // This method will delete the Patient record from the database that corresponds to the given ID
+    public CompletableFuture<Void> deletePatient(String id) {
+        return executor.run(() -> patientService.deletePatient(id));
+    }
+
+    // Delete many Patient records by their IDs
+    // This method will delete the given Patient records (and the blood units they received) with set-based statements and return the number deleted (-1 on failure)
+    public CompletableFuture<Integer> deletePatients(Collection<String> patientIds) {
+        return executor.supply(() -> patientService.deletePatients(patientIds));
+    }
+
+    // Retrieve a list of all Patients
+    // This method will return a list of all Patient objects available in the database
+    public CompletableFuture<List<Patient>> getAllPatients() {
+        return executor.supply(() -> patientService.getAllPatients());
+    }
+
+    // Export all Patients to a file
+    // This method will stream every Patient record into a CSV or JSON Lines file in constant memory and return the number exported (-1 on failure)
+    public CompletableFuture<Long> exportPatients(Path file, ExportFormat format) {
+        return executor.supply(() -> patientService.exportPatients(file, format));
+    }
+
+    // Retrieve one page of Patients
+    // This method will return at most pageSize Patient objects ordered by id, starting after the given id (null for the first page)
+    public CompletableFuture<List<Patient>> getPatientsPage(String afterPatientId, int pageSize) {
+        return executor.supply(() -> patientService.getPatientsPage(afterPatientId, pageSize));
+    }
+}
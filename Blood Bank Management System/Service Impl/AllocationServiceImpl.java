@@ -0,0 +1,88 @@
+// Package declaration to specify the location of this class in the project structure
+package com.bloodbank.service.impl;
+
+import java.util.ArrayList; // Importing ArrayList for the compatible group labels
+import java.util.List; // Importing List for the allocated unit ids
+
+import org.jboss.logging.Logger; // Importing Logger to report quantities that could not be lowered
+
+// Importing required classes and interfaces
+import com.bloodbank.dao.BloodBankDAO;
+import com.bloodbank.dao.BloodDAO;
+import com.bloodbank.dao.PatientDAO;
+import com.bloodbank.entity.BloodPatch;
+import com.bloodbank.entity.Patient;
+import com.bloodbank.inventory.BloodGroup;
+import com.bloodbank.service.AllocationService;
+import com.bloodbank.util.UnitOfWork;
+
+// Implementation class for the AllocationService interface
+public class AllocationServiceImpl implements AllocationService {
+
+    private static final Logger LOG = Logger.getLogger(AllocationServiceImpl.class);
+
+    // Dependencies on the DAO layer for the patient, the units and the bank's quantity
+    private final PatientDAO patientDao;
+    private final BloodDAO bloodDao;
+    private final BloodBankDAO bloodBankDao;
+
+    // Constructor to initialize the DAOs via dependency injection
+    public AllocationServiceImpl(PatientDAO patientDao, BloodDAO bloodDao, BloodBankDAO bloodBankDao) {
+        this.patientDao = patientDao;
+        this.bloodDao = bloodDao;
+        this.bloodBankDao = bloodBankDao;
+    }
+
+    // Method to assign compatible units to a patient, earliest expiry first
+    @Override
+    public List<String> allocateUnits(String patientId, String bloodBankId, int count) {
+        return UnitOfWork.execute(() -> {
+            Patient patient = patientDao.getPatientById(patientId);
+            if (patient == null) {
+                return null;  // No such patient
+            }
+            BloodGroup recipient = BloodGroup.parse(patient.getBloodGroup());
+            if (recipient == null || count <= 0) {
+                return new ArrayList<String>();  // Free-form group that names no ABO/Rh group: nothing can be issued safely
+            }
+            List<String> bloodGroups = new ArrayList<>();
+            for (BloodGroup donor : recipient.preferredDonors()) {
+                bloodGroups.add(donor.label());
+            }
+            List<String> allocated = bloodDao.allocateUnits(patientId, bloodBankId, bloodGroups, count);
+            if (allocated == null) {
+                throw new IllegalStateException("Could not allocate units from blood bank " + bloodBankId);
+            }
+            if (!allocated.isEmpty()) {
+                // Lowered after the commit, in its own short transaction: doing it in this one would hold the bank row's lock
+                // until the end, and every other allocation from the bank would queue behind it
+                int units = allocated.size();
+                UnitOfWork.afterCommit(() -> {
+                    if (!bloodBankDao.updateBloodQuantity(bloodBankId, -units)) {
+                        // The quantity is maintained by hand and may be lower than the units on record, as when units were
+                        // added without raising it: the units are issued all the same, like the expiry sweep does
+                        LOG.warnf("Blood bank %s: %d units issued but its quantity is lower; quantity left unchanged",
+                                bloodBankId, units);
+                    }
+                });
+            }
+            return allocated;
+        });
+    }
+
+    // Method to return issued units to stock
+    @Override
+    public boolean releaseUnits(String bloodBankId, List<String> bloodIds) {
+        return UnitOfWork.execute(() -> {
+            unassign(bloodIds);
+            return bloodIds.isEmpty() || bloodBankDao.updateBloodQuantity(bloodBankId, bloodIds.size());
+        });
+    }
+
+    // Clears the recipient of each unit, which puts it back in stock
+    private void unassign(List<String> bloodIds) {
+        for (String bloodId : bloodIds) {
+            bloodDao.patchBlood(bloodId, new BloodPatch().receivedBy(null));
+        }
+    }
+}
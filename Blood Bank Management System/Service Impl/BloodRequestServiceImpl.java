@@ -0,0 +1,83 @@
+// Package declaration to specify the location of this class in the project structure
+package com.bloodbank.service.impl;
+
+import java.util.Date; // Importing Date for the submission time
+import java.util.List; // Importing List for the requests of a hospital
+
+// Importing required classes and interfaces
+import com.bloodbank.dao.BloodRequestDAO;
+import com.bloodbank.dao.HospitalDAO;
+import com.bloodbank.dao.PatientDAO;
+import com.bloodbank.entity.BloodRequest;
+import com.bloodbank.entity.Hospital;
+import com.bloodbank.entity.Patient;
+import com.bloodbank.requests.FulfilmentWorker;
+import com.bloodbank.service.BloodRequestService;
+import com.bloodbank.util.UnitOfWork;
+
+// Implementation class for the BloodRequestService interface
+public class BloodRequestServiceImpl implements BloodRequestService {
+
+    // Dependencies on the DAO layer for the requests, the hospital and the patient
+    private final BloodRequestDAO requestDao;
+    private final HospitalDAO hospitalDao;
+    private final PatientDAO patientDao;
+
+    // The worker that queues and fulfils the saved requests
+    private final FulfilmentWorker worker;
+
+    // Constructor to initialize the DAOs and the worker via dependency injection
+    public BloodRequestServiceImpl(BloodRequestDAO requestDao, HospitalDAO hospitalDao, PatientDAO patientDao, FulfilmentWorker worker) {
+        this.requestDao = requestDao;
+        this.hospitalDao = hospitalDao;
+        this.patientDao = patientDao;
+        this.worker = worker;
+    }
+
+    // Method to save a new pending request and queue it once committed
+    @Override
+    public BloodRequest submitRequest(String requestId, String hospitalId, String patientId, int units, BloodRequest.Priority priority) {
+        return UnitOfWork.execute(() -> {
+            Hospital hospital = hospitalDao.getHospitalById(hospitalId);
+            Patient patient = patientDao.getPatientById(patientId);
+            if (hospital == null || patient == null) {
+                return null;  // No such hospital or patient
+            }
+            BloodRequest request = new BloodRequest();
+            request.setRequestId(requestId);
+            request.setHospital(hospital);
+            request.setBloodBank(hospital.getContactedBloodBank());
+            request.setPatient(patient);
+            request.setUnits(units);
+            request.setPriority(priority);
+            request.setStatus(BloodRequest.Status.PENDING);
+            request.setRequestedAt(new Date());
+            requestDao.saveBloodRequest(request);
+            // Queued only once the row is committed, so the worker never works on a request that was rolled back
+            UnitOfWork.afterCommit(() -> worker.enqueue(request));
+            return request;
+        });
+    }
+
+    // Method to retrieve a request by its ID
+    @Override
+    public BloodRequest getRequestById(String requestId) {
+        return requestDao.getBloodRequestById(requestId);
+    }
+
+    // Method to retrieve the requests of a hospital
+    @Override
+    public List<BloodRequest> getRequestsByHospital(String hospitalId) {
+        return requestDao.getBloodRequestsByHospital(hospitalId);
+    }
+
+    // Method to cancel a pending request and take it off the queue
+    @Override
+    public boolean cancelRequest(String requestId) {
+        boolean cancelled = requestDao.cancelBloodRequest(requestId);
+        if (cancelled) {
+            worker.getScheduler().cancel(requestId);
+        }
+        return cancelled;
+    }
+}
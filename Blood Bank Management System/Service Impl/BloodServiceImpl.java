@@ -1,57 +1,132 @@
-// Package declaration to specify the location of this class in the project structure
-package com.bloodbank.service.impl;
-
-import java.util.List; // Importing List for handling collections of Blood objects
-
-// Importing required classes and interfaces
-import com.bloodbank.dao.BloodDAO;
-import com.bloodbank.entity.Blood;
-import com.bloodbank.service.BloodService;
-
-// Implementation class for the BloodService interface
-public class BloodServiceImpl implements BloodService {
-
-    // Dependency on the DAO layer to perform database operations
-    private final BloodDAO bloodDao;
-
-    // Constructor to initialize BloodDao via dependency injection
-    public BloodServiceImpl(BloodDAO bloodDao) {
-        this.bloodDao = bloodDao;
-    }
-
-    // Method to retrieve a Blood record based on its ID
-    @Override
-    public Blood getBloodById(String id) {
-        return bloodDao.getBloodById(id);
-    }
-
-    // Method to save a new Blood record to the database
-    @Override
-    public void saveBlood(Blood blood) {
-        bloodDao.saveBlood(blood);
-    }
-
-    // Method to update an existing Blood record in the database
-    @Override
-    public void updateBlood(Blood blood) {
-        bloodDao.updateBlood(blood);
-    }
-
-    // Method to delete a Blood record based on its ID
-    @Override
-    public void deleteBlood(String id) {
-        bloodDao.deleteBlood(id);
-    }
-
-    // Method to retrieve all Blood records associated with a specific Blood Bank ID
-    @Override
-    public List<Blood> getBloodByBloodBankId(String bloodBankId) {
-        return bloodDao.getBloodByBloodBankId(bloodBankId);
-    }
-
-    // Method to retrieve all Blood records from the database
-    @Override
-    public List<Blood> getAllBlood() {
-        return bloodDao.getAllBlood();
-    }
-}
+// Package declaration to specify the location of this class in the project structure
+package com.bloodbank.service.impl;
+
+import java.io.IOException; // Importing IOException for export failures
+import java.io.UncheckedIOException; // Importing UncheckedIOException raised while writing rows
+import java.nio.file.Path; // Importing Path for export targets
+import java.util.Collection;  // Importing Collection for bulk operations
+import java.util.List; // Importing List for handling collections of Blood objects
+import java.util.Map; // Importing Map for lookups keyed by id
+
+// Importing required classes and interfaces
+import com.bloodbank.dao.BloodDAO;
+import com.bloodbank.entity.Blood;
+import com.bloodbank.entity.BloodPatch;
+import com.bloodbank.service.BloodService;
+import com.bloodbank.util.ExportFormat;
+import com.bloodbank.util.ExportWriter;
+import com.bloodbank.util.MethodMetrics;
+
+// Implementation class for the BloodService interface
+public class BloodServiceImpl implements BloodService {
+
+    // Dependency on the DAO layer to perform database operations
+    private final BloodDAO bloodDao;
+
+    // Constructor to initialize BloodDao via dependency injection
+    public BloodServiceImpl(BloodDAO bloodDao) {
+        this.bloodDao = bloodDao;
+    }
+
+    // Method to retrieve a Blood record based on its ID
+    @Override
+    public Blood getBloodById(String id) {
+        return bloodDao.getBloodById(id);
+    }
+
+    // Retrieves many Blood records by their IDs in batched lookups by delegating to the DAO layer
+    @Override
+    public Map<String, Blood> getBloodUnitsByIds(Collection<String> bloodIds) {
+        return bloodDao.getBloodUnitsByIds(bloodIds);
+    }
+
+    // Method to save a new Blood record to the database
+    @Override
+    public void saveBlood(Blood blood) {
+        bloodDao.saveBlood(blood);
+    }
+
+    // Method to save many Blood records in batches (one transaction, or one per commitSize records)
+    @Override
+    public int saveAll(Collection<Blood> bloodUnits) {
+        return bloodDao.saveAll(bloodUnits);
+    }
+
+    @Override
+    public int saveAll(Collection<Blood> bloodUnits, int commitSize) {
+        return bloodDao.saveAll(bloodUnits, commitSize);
+    }
+
+    // Method to update an existing Blood record in the database
+    @Override
+    public void updateBlood(Blood blood) {
+        bloodDao.updateBlood(blood);
+    }
+
+    // Updates only the fields set in the patch
+    @Override
+    public boolean patchBlood(String bloodId, BloodPatch patch) {
+        return bloodDao.patchBlood(bloodId, patch);
+    }
+
+    // Method to delete a Blood record based on its ID
+    @Override
+    public void deleteBlood(String id) {
+        bloodDao.deleteBlood(id);
+    }
+
+    // Delete many Blood records by their IDs (set-based, without loading them)
+    @Override
+    public int deleteBloodUnits(Collection<String> bloodIds) {
+        return bloodDao.deleteBloodUnits(bloodIds);
+    }
+
+    // Method to retrieve all Blood records associated with a specific Blood Bank ID
+    @Override
+    public List<Blood> getBloodByBloodBankId(String bloodBankId) {
+        return bloodDao.getBloodByBloodBankId(bloodBankId);
+    }
+
+    // Method to retrieve one page of Blood records associated with a specific Blood Bank ID
+    @Override
+    public List<Blood> getBloodByBloodBankIdPage(String bloodBankId, String afterBloodId, int pageSize) {
+        return bloodDao.getBloodByBloodBankIdPage(bloodBankId, afterBloodId, pageSize);
+    }
+
+    // Method to retrieve all Blood records from the database
+    @Override
+    public List<Blood> getAllBlood() {
+        return bloodDao.getAllBlood();
+    }
+
+    // Streams every Blood record from the DAO straight into the export file
+    @Override
+    public long exportBlood(Path file, ExportFormat format) {
+        try (ExportWriter writer = new ExportWriter(file, format,
+                "blood_id", "blood_group", "bloodbank_id", "donor_id", "patient_id", "collected_at", "expires_at", "expired",
+                "reserved_patient_id", "reserved_until")) {
+            return bloodDao.forEachBlood(bloodUnit -> writer.writeRow(
+                        bloodUnit.getBloodId(),
+                        bloodUnit.getBloodGroup(),
+                        bloodUnit.getStoredIn() == null ? null : bloodUnit.getStoredIn().getBloodBankId(),
+                        bloodUnit.getDonatedBy() == null ? null : bloodUnit.getDonatedBy().getDonorId(),
+                        bloodUnit.getReceivedBy() == null ? null : bloodUnit.getReceivedBy().getPatientId(),
+                        bloodUnit.getCollectedAt(),
+                        bloodUnit.getExpiresAt(),
+                        bloodUnit.isExpired(),
+                        bloodUnit.getReservedFor() == null ? null : bloodUnit.getReservedFor().getPatientId(),
+                        bloodUnit.getReservedUntil()));
+        } catch (IOException | UncheckedIOException e) {
+            // Printing the exception stack trace if the file cannot be written
+            e.printStackTrace();
+            MethodMetrics.markFailed();
+            return -1;
+        }
+    }
+
+    // Retrieve one page of Blood records (keyset pagination)
+    @Override
+    public List<Blood> getBloodPage(String afterBloodId, int pageSize) {
+        return bloodDao.getBloodPage(afterBloodId, pageSize);
+    }
+}
@@ -1,51 +1,118 @@
-// Declares the package where this class resides
-package com.bloodbank.service.impl;
-
-import java.util.List; // Importing List interface for handling multiple donor objects
-
-// Importing DAO and entity classes
-import com.bloodbank.dao.DonorDAO;
-import com.bloodbank.entity.Donor;
-import com.bloodbank.service.DonorService;
-
-// This class implements the DonorService interface and provides service layer logic for donor operations
-public class DonorServiceImpl implements DonorService {
-
-    // Reference to the DonorDao to perform database-related operations
-    private final DonorDAO donorDao;
-
-    // Constructor that injects the DonorDao dependency
-    public DonorServiceImpl(DonorDAO donorDao) {
-        this.donorDao = donorDao;
-    }
-
-    // Retrieves a donor by their unique ID by delegating to the DAO layer
-    @Override
-    public Donor getDonorById(String id) {
-        return donorDao.getDonorById(id);
-    }
-
-    // Saves a new donor record to the database
-    @Override
-    public void saveDonor(Donor donor) {
-        donorDao.saveDonor(donor);
-    }
-
-    // Updates an existing donor record in the database
-    @Override
-    public void updateDonor(Donor donor) {
-        donorDao.updateDonor(donor);
-    }
-
-    // Deletes a donor record by their unique ID
-    @Override
-    public void deleteDonor(String id) {
-        donorDao.deleteDonor(id);
-    }
-
-    // Retrieves a list of all donor records from the database
-    @Override
-    public List<Donor> getAllDonors() {
-        return donorDao.getAllDonors();
-    }
-}
+// Declares the package where this class resides
+package com.bloodbank.service.impl;
+
+import java.io.IOException; // Importing IOException for export failures
+import java.io.UncheckedIOException; // Importing UncheckedIOException raised while writing rows
+import java.nio.file.Path; // Importing Path for export targets
+import java.util.Collection;  // Importing Collection for bulk operations
+import java.util.List; // Importing List interface for handling multiple donor objects
+import java.util.Map; // Importing Map for lookups keyed by id
+
+// Importing DAO and entity classes
+import com.bloodbank.dao.DonorDAO;
+import com.bloodbank.entity.Donor;
+import com.bloodbank.entity.DonorPatch;
+import com.bloodbank.service.DonorService;
+import com.bloodbank.util.ExportFormat;
+import com.bloodbank.util.ExportWriter;
+import com.bloodbank.util.MethodMetrics;
+
+// This class implements the DonorService interface and provides service layer logic for donor operations
+public class DonorServiceImpl implements DonorService {
+
+    // Reference to the DonorDao to perform database-related operations
+    private final DonorDAO donorDao;
+
+    // Constructor that injects the DonorDao dependency
+    public DonorServiceImpl(DonorDAO donorDao) {
+        this.donorDao = donorDao;
+    }
+
+    // Retrieves a donor by their unique ID by delegating to the DAO layer
+    @Override
+    public Donor getDonorById(String id) {
+        return donorDao.getDonorById(id);
+    }
+
+    // Retrieves many Donor records by their IDs in batched lookups by delegating to the DAO layer
+    @Override
+    public Map<String, Donor> getDonorsByIds(Collection<String> donorIds) {
+        return donorDao.getDonorsByIds(donorIds);
+    }
+
+    // Saves a new donor record to the database
+    @Override
+    public void saveDonor(Donor donor) {
+        donorDao.saveDonor(donor);
+    }
+
+    // Saves many donor records in batches (one transaction, or one per commitSize records)
+    @Override
+    public int saveAll(Collection<Donor> donors) {
+        return donorDao.saveAll(donors);
+    }
+
+    @Override
+    public int saveAll(Collection<Donor> donors, int commitSize) {
+        return donorDao.saveAll(donors, commitSize);
+    }
+
+    // Updates an existing donor record in the database
+    @Override
+    public void updateDonor(Donor donor) {
+        donorDao.updateDonor(donor);
+    }
+
+    // Updates only the fields set in the patch
+    @Override
+    public boolean patchDonor(String donorId, DonorPatch patch) {
+        return donorDao.patchDonor(donorId, patch);
+    }
+
+    // Deletes a donor record by their unique ID
+    @Override
+    public void deleteDonor(String id) {
+        donorDao.deleteDonor(id);
+    }
+
+    // Delete many Donor records by their IDs (set-based, without loading them)
+    @Override
+    public int deleteDonors(Collection<String> donorIds) {
+        return donorDao.deleteDonors(donorIds);
+    }
+
+    // Retrieves a list of all donor records from the database
+    @Override
+    public List<Donor> getAllDonors() {
+        return donorDao.getAllDonors();
+    }
+
+    // Streams every Donor record from the DAO straight into the export file
+    @Override
+    public long exportDonors(Path file, ExportFormat format) {
+        try (ExportWriter writer = new ExportWriter(file, format,
+                "donor_id", "donor_name", "donor_gender", "donor_address", "contact_no", "age", "blood_group", "date_of_donation", "emp_id")) {
+            return donorDao.forEachDonor(donor -> writer.writeRow(
+                        donor.getDonorId(),
+                        donor.getDonorName(),
+                        donor.getDonorGender(),
+                        donor.getDonorAddress(),
+                        donor.getContactNo(),
+                        donor.getAge(),
+                        donor.getBloodGroup(),
+                        donor.getDateOfDonation(),
+                        donor.getRegisteredBy() == null ? null : donor.getRegisteredBy().getEmpId()));
+        } catch (IOException | UncheckedIOException e) {
+            // Printing the exception stack trace if the file cannot be written
+            e.printStackTrace();
+            MethodMetrics.markFailed();
+            return -1;
+        }
+    }
+
+    // Retrieve one page of Donor records (keyset pagination)
+    @Override
+    public List<Donor> getDonorsPage(String afterDonorId, int pageSize) {
+        return donorDao.getDonorsPage(afterDonorId, pageSize);
+    }
+}
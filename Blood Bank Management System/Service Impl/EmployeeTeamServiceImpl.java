@@ -1,51 +1,78 @@
-// Declares the package this class belongs to
-package com.bloodbank.service.impl;
-
-import java.util.List; // Importing List interface to work with collections of EmployeeTeam objects
-
-// Importing DAO and entity classes required for service logic
-import com.bloodbank.dao.EmployeeTeamDAO;
-import com.bloodbank.entity.EmployeeTeam;
-import com.bloodbank.service.EmployeeTeamService;
-
-// Service implementation class for managing EmployeeTeam entities
-public class EmployeeTeamServiceImpl implements EmployeeTeamService {
-
-    // DAO instance to interact with the database layer
-    private final EmployeeTeamDAO employeeTeamDao;
-
-    // Constructor to initialize the DAO instance via dependency injection
-    public EmployeeTeamServiceImpl(EmployeeTeamDAO employeeTeamDao) {
-        this.employeeTeamDao = employeeTeamDao;
-    }
-
-    // Retrieves an EmployeeTeam record by its unique ID
-    @Override
-    public EmployeeTeam getEmployeeTeamById(String id) {
-        return employeeTeamDao.getEmployeeTeamById(id);
-    }
-
-    // Saves a new EmployeeTeam record into the database
-    @Override
-    public void saveEmployeeTeam(EmployeeTeam employeeTeam) {
-        employeeTeamDao.saveEmployeeTeam(employeeTeam);
-    }
-
-    // Updates an existing EmployeeTeam record in the database
-    @Override
-    public void updateEmployeeTeam(EmployeeTeam employeeTeam) {
-        employeeTeamDao.updateEmployeeTeam(employeeTeam);
-    }
-
-    // Deletes an EmployeeTeam record from the database using its ID
-    @Override
-    public void deleteEmployeeTeam(String id) {
-        employeeTeamDao.deleteEmployeeTeam(id);
-    }
-
-    // Retrieves all EmployeeTeam records from the database
-    @Override
-    public List<EmployeeTeam> getAllEmployeeTeams() {
-        return employeeTeamDao.getAllEmployeeTeams();
-    }
-}
+// Declares the package this class belongs to
+package com.bloodbank.service.impl;
+
+import java.util.Collection;  // Importing Collection for bulk operations
+import java.util.List; // Importing List interface to work with collections of EmployeeTeam objects
+import java.util.Map; // Importing Map for lookups keyed by id
+import java.util.concurrent.CompletableFuture;  // Importing CompletableFuture for background purges
+
+// Importing DAO and entity classes required for service logic
+import com.bloodbank.dao.EmployeeTeamDAO;
+import com.bloodbank.entity.EmployeeTeam;
+import com.bloodbank.service.EmployeeTeamService;
+
+// Service implementation class for managing EmployeeTeam entities
+public class EmployeeTeamServiceImpl implements EmployeeTeamService {
+
+    // DAO instance to interact with the database layer
+    private final EmployeeTeamDAO employeeTeamDao;
+
+    // Constructor to initialize the DAO instance via dependency injection
+    public EmployeeTeamServiceImpl(EmployeeTeamDAO employeeTeamDao) {
+        this.employeeTeamDao = employeeTeamDao;
+    }
+
+    // Retrieves an EmployeeTeam record by its unique ID
+    @Override
+    public EmployeeTeam getEmployeeTeamById(String id) {
+        return employeeTeamDao.getEmployeeTeamById(id);
+    }
+
+    // Retrieves many EmployeeTeam records by their IDs in batched lookups by delegating to the DAO layer
+    @Override
+    public Map<String, EmployeeTeam> getEmployeeTeamsByIds(Collection<String> empIds) {
+        return employeeTeamDao.getEmployeeTeamsByIds(empIds);
+    }
+
+    // Saves a new EmployeeTeam record into the database
+    @Override
+    public void saveEmployeeTeam(EmployeeTeam employeeTeam) {
+        employeeTeamDao.saveEmployeeTeam(employeeTeam);
+    }
+
+    // Updates an existing EmployeeTeam record in the database
+    @Override
+    public void updateEmployeeTeam(EmployeeTeam employeeTeam) {
+        employeeTeamDao.updateEmployeeTeam(employeeTeam);
+    }
+
+    // Deletes an EmployeeTeam record from the database using its ID
+    @Override
+    public void deleteEmployeeTeam(String id) {
+        employeeTeamDao.deleteEmployeeTeam(id);
+    }
+
+    // Delete many EmployeeTeam records by their IDs (set-based, without loading them)
+    @Override
+    public int deleteEmployeeTeams(Collection<String> empIds) {
+        return employeeTeamDao.deleteEmployeeTeams(empIds);
+    }
+
+    // Purge an EmployeeTeam and its large cascade in chunks on a background thread
+    @Override
+    public CompletableFuture<Long> purgeEmployeeTeam(String empId, int chunkSize) {
+        return employeeTeamDao.purgeEmployeeTeam(empId, chunkSize);
+    }
+
+    // Retrieves all EmployeeTeam records from the database
+    @Override
+    public List<EmployeeTeam> getAllEmployeeTeams() {
+        return employeeTeamDao.getAllEmployeeTeams();
+    }
+
+    // Retrieve one page of EmployeeTeam records (keyset pagination)
+    @Override
+    public List<EmployeeTeam> getEmployeeTeamsPage(String afterEmployeeTeamId, int pageSize) {
+        return employeeTeamDao.getEmployeeTeamsPage(afterEmployeeTeamId, pageSize);
+    }
+}
@@ -0,0 +1,62 @@
+// Package declaration to specify the location of this class in the project structure
+package com.bloodbank.service.impl;
+
+import java.util.ArrayList; // Importing ArrayList to list the banks to search
+import java.util.List; // Importing List for the banks to search and the matches found
+
+// Importing required classes and interfaces
+import com.bloodbank.dao.PatientDAO;
+import com.bloodbank.entity.Patient;
+import com.bloodbank.inventory.BloodGroup;
+import com.bloodbank.inventory.InventoryIndex;
+import com.bloodbank.inventory.MatchedUnit;
+import com.bloodbank.service.MatchingService;
+
+// Implementation class for the MatchingService interface, answering from the in-memory inventory index
+public class MatchingServiceImpl implements MatchingService {
+
+    // The available units by bank and blood group, kept in step with the blood writes
+    private final InventoryIndex inventoryIndex;
+
+    // Dependency on the DAO layer to read the patient's blood group
+    private final PatientDAO patientDao;
+
+    // Constructor to initialize the index and PatientDao via dependency injection
+    public MatchingServiceImpl(InventoryIndex inventoryIndex, PatientDAO patientDao) {
+        this.inventoryIndex = inventoryIndex;
+        this.patientDao = patientDao;
+    }
+
+    // Method to find compatible available units in the blood bank, then in the nearby banks
+    @Override
+    public List<MatchedUnit> findCompatibleUnits(BloodGroup recipient, String bloodBankId, List<String> nearbyBloodBankIds, int limit) {
+        List<String> bloodBankIds = new ArrayList<>(nearbyBloodBankIds.size() + 1);
+        bloodBankIds.add(bloodBankId);
+        for (String nearby : nearbyBloodBankIds) {
+            if (!bloodBankIds.contains(nearby)) {
+                bloodBankIds.add(nearby);  // Searching each bank once
+            }
+        }
+        return inventoryIndex.findCompatible(recipient, bloodBankIds, limit);
+    }
+
+    // Method to find compatible available units for a patient, by the patient's blood group
+    @Override
+    public List<MatchedUnit> findCompatibleUnitsForPatient(String patientId, String bloodBankId, List<String> nearbyBloodBankIds, int limit) {
+        Patient patient = patientDao.getPatientById(patientId);
+        if (patient == null) {
+            return null;  // No such patient
+        }
+        BloodGroup recipient = BloodGroup.parse(patient.getBloodGroup());
+        if (recipient == null) {
+            return new ArrayList<>();  // Free-form group that names no ABO/Rh group: nothing can be matched safely
+        }
+        return findCompatibleUnits(recipient, bloodBankId, nearbyBloodBankIds, limit);
+    }
+
+    // Method to count compatible available units in one blood bank
+    @Override
+    public int countCompatibleUnits(BloodGroup recipient, String bloodBankId) {
+        return inventoryIndex.countCompatible(recipient, bloodBankId);
+    }
+}
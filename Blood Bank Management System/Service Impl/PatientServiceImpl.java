@@ -1,51 +1,117 @@
-// Declares the package where this class is located
-package com.bloodbank.service.impl;
-
-import java.util.List; // Importing List to handle multiple Patient records
-
-// Importing necessary DAO, entity, and service interface
-import com.bloodbank.dao.PatientDAO;
-import com.bloodbank.entity.Patient;
-import com.bloodbank.service.PatientService;
-
-// Service implementation class that provides business logic for Patient-related operations
-public class PatientServiceImpl implements PatientService {
-
-    // DAO reference to handle database interactions for the Patient entity
-    private final PatientDAO patientDao;
-
-    // Constructor for injecting the PatientDao dependency
-    public PatientServiceImpl(PatientDAO patientDao) {
-        this.patientDao = patientDao;
-    }
-
-    // Fetches a Patient record based on the given patient ID
-    @Override
-    public Patient getPatientById(String id) {
-        return patientDao.getPatientById(id);
-    }
-
-    // Saves a new Patient record to the database
-    @Override
-    public void savePatient(Patient patient) {
-        patientDao.savePatient(patient);
-    }
-
-    // Updates an existing Patient record in the database
-    @Override
-    public void updatePatient(Patient patient) {
-        patientDao.updatePatient(patient);
-    }
-
-    // Deletes a Patient record from the database using its ID
-    @Override
-    public void deletePatient(String id) {
-        patientDao.deletePatient(id);
-    }
-
-    // Retrieves all Patient records from the database
-    @Override
-    public List<Patient> getAllPatients() {
-        return patientDao.getAllPatients();
-    }
-}
+// Declares the package where this class is located
+package com.bloodbank.service.impl;
+
+import java.io.IOException; // Importing IOException for export failures
+import java.io.UncheckedIOException; // Importing UncheckedIOException raised while writing rows
+import java.nio.file.Path; // Importing Path for export targets
+import java.util.Collection;  // Importing Collection for bulk operations
+import java.util.List; // Importing List to handle multiple Patient records
+import java.util.Map; // Importing Map for lookups keyed by id
+
+// Importing necessary DAO, entity, and service interface
+import com.bloodbank.dao.PatientDAO;
+import com.bloodbank.entity.Patient;
+import com.bloodbank.entity.PatientPatch;
+import com.bloodbank.service.PatientService;
+import com.bloodbank.util.ExportFormat;
+import com.bloodbank.util.ExportWriter;
+import com.bloodbank.util.MethodMetrics;
+
+// Service implementation class that provides business logic for Patient-related operations
+public class PatientServiceImpl implements PatientService {
+
+    // DAO reference to handle database interactions for the Patient entity
+    private final PatientDAO patientDao;
+
+    // Constructor for injecting the PatientDao dependency
+    public PatientServiceImpl(PatientDAO patientDao) {
+        this.patientDao = patientDao;
+    }
+
+    // Fetches a Patient record based on the given patient ID
+    @Override
+    public Patient getPatientById(String id) {
+        return patientDao.getPatientById(id);
+    }
+
+    // Retrieves many Patient records by their IDs in batched lookups by delegating to the DAO layer
+    @Override
+    public Map<String, Patient> getPatientsByIds(Collection<String> patientIds) {
+        return patientDao.getPatientsByIds(patientIds);
+    }
+
+    // Saves a new Patient record to the database
+    @Override
+    public void savePatient(Patient patient) {
+        patientDao.savePatient(patient);
+    }
+
+    // Saves many Patient records in batches (one transaction, or one per commitSize records)
+    @Override
+    public int saveAll(Collection<Patient> patients) {
+        return patientDao.saveAll(patients);
+    }
+
+    @Override
+    public int saveAll(Collection<Patient> patients, int commitSize) {
+        return patientDao.saveAll(patients, commitSize);
+    }
+
+    // Updates an existing Patient record in the database
+    @Override
+    public void updatePatient(Patient patient) {
+        patientDao.updatePatient(patient);
+    }
+
+    // Updates only the fields set in the patch
+    @Override
+    public boolean patchPatient(String patientId, PatientPatch patch) {
+        return patientDao.patchPatient(patientId, patch);
+    }
+
+    // Deletes a Patient record from the database using its ID
+    @Override
+    public void deletePatient(String id) {
+        patientDao.deletePatient(id);
+    }
+
+    // Delete many Patient records by their IDs (set-based, without loading them)
+    @Override
+    public int deletePatients(Collection<String> patientIds) {
+        return patientDao.deletePatients(patientIds);
+    }
+
+    // Retrieves all Patient records from the database
+    @Override
+    public List<Patient> getAllPatients() {
+        return patientDao.getAllPatients();
+    }
+
+    // Streams every Patient record from the DAO straight into the export file
+    @Override
+    public long exportPatients(Path file, ExportFormat format) {
+        try (ExportWriter writer = new ExportWriter(file, format,
+                "patient_id", "patient_name", "patient_gender", "patient_address", "contact_no", "blood_group", "date_of_intake", "emp_id")) {
+            return patientDao.forEachPatient(patient -> writer.writeRow(
+                        patient.getPatientId(),
+                        patient.getPatientName(),
+                        patient.getPatientGender(),
+                        patient.getPatientAddress(),
+                        patient.getContactNo(),
+                        patient.getBloodGroup(),
+                        patient.getDateOfIntake(),
+                        patient.getRegisteredBy() == null ? null : patient.getRegisteredBy().getEmpId()));
+        } catch (IOException | UncheckedIOException e) {
+            // Printing the exception stack trace if the file cannot be written
+            e.printStackTrace();
+            MethodMetrics.markFailed();
+            return -1;
+        }
+    }
+
+    // Retrieve one page of Patient records (keyset pagination)
+    @Override
+    public List<Patient> getPatientsPage(String afterPatientId, int pageSize) {
+        return patientDao.getPatientsPage(afterPatientId, pageSize);
+    }
+}
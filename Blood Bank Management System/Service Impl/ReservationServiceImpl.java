@@ -0,0 +1,70 @@
+// Package declaration to specify the location of this class in the project structure
+package com.bloodbank.service.impl;
+
+import java.util.ArrayList; // Importing ArrayList for the compatible group labels
+import java.util.Date; // Importing Date for the end of the holds
+import java.util.List; // Importing List for the held unit ids
+import java.util.concurrent.TimeUnit; // Importing TimeUnit for the hold time
+
+// Importing required classes and interfaces
+import com.bloodbank.dao.BloodDAO;
+import com.bloodbank.dao.PatientDAO;
+import com.bloodbank.entity.Patient;
+import com.bloodbank.inventory.BloodGroup;
+import com.bloodbank.inventory.ReservationTimer;
+import com.bloodbank.service.ReservationService;
+import com.bloodbank.util.UnitOfWork;
+
+// Implementation class for the ReservationService interface
+public class ReservationServiceImpl implements ReservationService {
+
+    // Dependencies on the DAO layer for the patient and the units
+    private final PatientDAO patientDao;
+    private final BloodDAO bloodDao;
+
+    // The timer that ends the holds when their time is up
+    private final ReservationTimer timer;
+
+    // Constructor to initialize the DAOs and the timer via dependency injection
+    public ReservationServiceImpl(PatientDAO patientDao, BloodDAO bloodDao, ReservationTimer timer) {
+        this.patientDao = patientDao;
+        this.bloodDao = bloodDao;
+        this.timer = timer;
+    }
+
+    // Method to hold compatible units for a patient, earliest expiry first
+    @Override
+    public List<String> reserveUnits(String patientId, String bloodBankId, int count, int minutes) {
+        return UnitOfWork.execute(() -> {
+            Patient patient = patientDao.getPatientById(patientId);
+            if (patient == null) {
+                return null;  // No such patient
+            }
+            BloodGroup recipient = BloodGroup.parse(patient.getBloodGroup());
+            if (recipient == null || count <= 0 || minutes <= 0) {
+                return new ArrayList<String>();  // Free-form group that names no ABO/Rh group: nothing can be held safely
+            }
+            List<String> bloodGroups = new ArrayList<>();
+            for (BloodGroup donor : recipient.preferredDonors()) {
+                bloodGroups.add(donor.label());
+            }
+            Date until = new Date(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(minutes));
+            List<String> reserved = bloodDao.reserveUnits(patientId, bloodBankId, bloodGroups, count, until);
+            // Timed only once the holds are committed, so a rolled-back hold is never released
+            UnitOfWork.afterCommit(() -> reserved.forEach(bloodId -> timer.hold(bloodId, until)));
+            return reserved;
+        });
+    }
+
+    // Method to end a hold at once and stop timing it
+    @Override
+    public boolean releaseReservation(String bloodId) {
+        return UnitOfWork.execute(() -> {
+            boolean released = bloodDao.releaseReservations(List.of(bloodId), null) > 0;
+            if (released) {
+                UnitOfWork.afterCommit(() -> timer.cancel(bloodId));
+            }
+            return released;
+        });
+    }
+}
@@ -1,23 +1,34 @@
-package com.bloodbank.service;
-
-import java.util.List;  // Importing List to handle collections of Admin entities
-import com.bloodbank.entity.Admin;  // Importing the Admin entity class
-
-// Interface defining the service layer methods for CRUD operations on Admin entities
-public interface AdminService {
-
-    // Method to retrieve an Admin entity by its unique identifier (id)
-    Admin getAdminById(String id);
-
-    // Method to save a new Admin entity to the database
-    void saveAdmin(Admin admin);
-
-    // Method to update an existing Admin entity in the database
-    void updateAdmin(Admin admin);
-
-    // Method to delete an Admin entity from the database by its unique identifier (id)
-    void deleteAdmin(String id);
-
-    // Method to retrieve all Admin entities from the database
-    List<Admin> getAllAdmins();
-}
+package com.bloodbank.service;
+
+import java.util.Collection;  // Importing Collection for bulk operations
+import java.util.List;  // Importing List to handle collections of Admin entities
+import java.util.Map;  // Importing Map for lookups keyed by id
+import com.bloodbank.entity.Admin;  // Importing the Admin entity class
+
+// Interface defining the service layer methods for CRUD operations on Admin entities
+public interface AdminService {
+
+    // Method to retrieve an Admin entity by its unique identifier (id)
+    Admin getAdminById(String id);
+
+    // Method to retrieve many Admin entities by their unique identifiers in batched lookups; returns the ones found, keyed by id
+    Map<String, Admin> getAdminsByIds(Collection<String> adminIds);
+
+    // Method to save a new Admin entity to the database
+    void saveAdmin(Admin admin);
+
+    // Method to update an existing Admin entity in the database
+    void updateAdmin(Admin admin);
+
+    // Method to delete an Admin entity from the database by its unique identifier (id)
+    void deleteAdmin(String id);
+
+    // Method to delete many Admin records (and their blood banks, with the banks' blood units and hospitals) by their IDs without loading them; returns the number deleted (-1 on failure)
+    int deleteAdmins(Collection<String> adminIds);
+
+    // Method to retrieve all Admin entities from the database
+    List<Admin> getAllAdmins();
+
+    // Method to retrieve one page of Admin entities ordered by id, starting after the given id (null for the first page)
+    List<Admin> getAdminsPage(String afterAdminId, int pageSize);
+}
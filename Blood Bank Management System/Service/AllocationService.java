@@ -0,0 +1,19 @@
+package com.bloodbank.service;
+
+import java.util.List;  // Importing List for the allocated unit ids
+
+// Interface defining the service layer method that issues blood units to patients
+public interface AllocationService {
+
+    // Method to assign up to count units the patient can receive from the blood bank, earliest expiry first, in one transaction;
+    // concurrent allocations never wait for or assign the same units. The bank's quantity is lowered by the number assigned once
+    // the transaction has committed (left unchanged, with a warning, if it is lower). Returns the ids of the units assigned (fewer
+    // than count, or none, if the bank has fewer), null if the patient does not exist, and an empty list if the patient's blood
+    // group is not recognized. Throws if the allocation fails (nothing is assigned)
+    List<String> allocateUnits(String patientId, String bloodBankId, int count);
+
+    // Method to return units issued by allocateUnits to stock, e.g. when the request they were issued for was withdrawn meanwhile:
+    // the units are unassigned and the bank's quantity is raised by their number, in one transaction. Returns false if the
+    // quantity could not be raised (the units are unassigned all the same outside a transaction that rolls back)
+    boolean releaseUnits(String bloodBankId, List<String> bloodIds);
+}
@@ -1,26 +1,43 @@
-package com.bloodbank.service;
-
-import java.util.List;  // Importing List to handle collections of BloodBank entities
-import com.bloodbank.entity.BloodBank;  // Importing the BloodBank entity class
-
-// Interface defining the service layer methods for CRUD operations on BloodBank entities
-public interface BloodBankService {
-
-    // Method to retrieve a BloodBank entity by its unique identifier (id)
-    BloodBank getBloodBankById(String id);
-
-    // Method to save a new BloodBank entity to the database
-    void saveBloodBank(BloodBank bloodBank);
-
-    // Method to update an existing BloodBank entity in the database
-    void updateBloodBank(BloodBank bloodBank);
-
-    // Method to delete a BloodBank entity from the database by its unique identifier (id)
-    void deleteBloodBank(String id);
-
-    // Method to retrieve all BloodBank entities from the database
-    List<BloodBank> getAllBloodBanks();
-    
- // Increase or decrease blood quantity in a BloodBank
-    void updateBloodQuantity(String bloodBankId, int quantityChange);
-}
+package com.bloodbank.service;
+
+import java.util.Collection;  // Importing Collection for bulk operations
+import java.util.List;  // Importing List to handle collections of BloodBank entities
+import java.util.Map;  // Importing Map for lookups keyed by id
+import java.util.concurrent.CompletableFuture;  // Importing CompletableFuture for background purges
+import com.bloodbank.entity.BloodBank;  // Importing the BloodBank entity class
+
+// Interface defining the service layer methods for CRUD operations on BloodBank entities
+public interface BloodBankService {
+
+    // Method to retrieve a BloodBank entity by its unique identifier (id)
+    BloodBank getBloodBankById(String id);
+
+    // Method to retrieve many BloodBank entities by their unique identifiers in batched lookups; returns the ones found, keyed by id
+    Map<String, BloodBank> getBloodBanksByIds(Collection<String> bloodBankIds);
+
+    // Method to save a new BloodBank entity to the database
+    void saveBloodBank(BloodBank bloodBank);
+
+    // Method to update an existing BloodBank entity in the database
+    void updateBloodBank(BloodBank bloodBank);
+
+    // Method to delete a BloodBank entity from the database by its unique identifier (id)
+    void deleteBloodBank(String id);
+
+    // Method to delete many BloodBank records (and their blood units and hospitals) by their IDs without loading them; returns the number deleted (-1 on failure)
+    int deleteBloodBanks(Collection<String> bloodBankIds);
+
+    // Method to delete a BloodBank with a very large cascade: its blood units, blood requests and hospitals are deleted chunkSize rows per transaction
+    // on a background thread, then the BloodBank; the future yields the number of rows deleted
+    CompletableFuture<Long> purgeBloodBank(String bloodBankId, int chunkSize);
+
+    // Method to retrieve all BloodBank entities from the database
+    List<BloodBank> getAllBloodBanks();
+
+    // Method to retrieve one page of BloodBank entities ordered by id, starting after the given id (null for the first page)
+    List<BloodBank> getBloodBanksPage(String afterBloodBankId, int pageSize);
+    
+ // Atomically increase or decrease blood quantity in a BloodBank; returns false if the BloodBank does not exist
+ // or the change would make the quantity negative
+    boolean updateBloodQuantity(String bloodBankId, int quantityChange);
+}
@@ -0,0 +1,23 @@
+package com.bloodbank.service;  // Declares the package this interface belongs to
+
+import java.util.List;  // Importing List for the requests of a hospital
+
+import com.bloodbank.entity.BloodRequest;  // Imports the BloodRequest entity class
+
+// Service interface for the hospitals' blood requests, fulfilled in the background in priority order
+public interface BloodRequestService {
+
+    // Submit a request for units for a patient, to be filled from the blood bank the hospital contacts; it is queued for the
+    // fulfilment worker once saved. Returns the saved request, or null if the hospital or the patient does not exist.
+    // Throws if the request cannot be saved (e.g. its ID is taken)
+    BloodRequest submitRequest(String requestId, String hospitalId, String patientId, int units, BloodRequest.Priority priority);
+
+    // Retrieve a request by its ID, with its progress
+    BloodRequest getRequestById(String requestId);
+
+    // Retrieve the requests of a hospital, oldest first
+    List<BloodRequest> getRequestsByHospital(String hospitalId);
+
+    // Withdraw a pending request; units already issued stay with the patient. Returns false if it is not pending
+    boolean cancelRequest(String requestId);
+}
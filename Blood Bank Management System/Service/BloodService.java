@@ -1,26 +1,56 @@
-package com.bloodbank.service;
-
-import java.util.List;  // Importing List to handle collections of Blood entities
-import com.bloodbank.entity.Blood;  // Importing the Blood entity class
-
-// Interface defining the service layer methods for CRUD operations on Blood entities
-public interface BloodService {
-
-    // Method to retrieve a Blood entity by its unique identifier (id)
-    Blood getBloodById(String id);
-
-    // Method to save a new Blood entity to the database
-    void saveBlood(Blood blood);
-
-    // Method to update an existing Blood entity in the database
-    void updateBlood(Blood blood);
-
-    // Method to delete a Blood entity from the database by its unique identifier (id)
-    void deleteBlood(String id);
-
-    // Method to retrieve a list of Blood entities stored in a specific BloodBank
-    List<Blood> getBloodByBloodBankId(String bloodBankId);
-
-    // Method to retrieve all Blood entities from the database
-    List<Blood> getAllBlood();
-}
+package com.bloodbank.service;
+
+import java.nio.file.Path;  // Importing Path for export targets
+import java.util.Collection;  // Importing Collection for bulk operations
+import java.util.List;  // Importing List to handle collections of Blood entities
+import java.util.Map;  // Importing Map for lookups keyed by id
+import com.bloodbank.entity.Blood;  // Importing the Blood entity class
+import com.bloodbank.entity.BloodPatch;  // Importing BloodPatch for partial updates
+import com.bloodbank.util.ExportFormat;  // Importing ExportFormat to choose CSV or JSON Lines
+
+// Interface defining the service layer methods for CRUD operations on Blood entities
+public interface BloodService {
+
+    // Method to retrieve a Blood entity by its unique identifier (id)
+    Blood getBloodById(String id);
+
+    // Method to retrieve many Blood entities by their unique identifiers in batched lookups; returns the ones found, keyed by id
+    Map<String, Blood> getBloodUnitsByIds(Collection<String> bloodIds);
+
+    // Method to save a new Blood entity to the database
+    void saveBlood(Blood blood);
+
+    // Method to save many Blood entities in one batched transaction; returns the number saved
+    int saveAll(Collection<Blood> bloodUnits);
+
+    // Method to save many Blood entities in batches, committing every commitSize entities; returns the number committed
+    int saveAll(Collection<Blood> bloodUnits, int commitSize);
+
+    // Method to update an existing Blood entity in the database
+    void updateBlood(Blood blood);
+
+    // Update only the fields set in the patch, with one statement and without loading the record first
+    // Returns false if no Blood has the given ID
+    boolean patchBlood(String bloodId, BloodPatch patch);
+
+    // Method to delete a Blood entity from the database by its unique identifier (id)
+    void deleteBlood(String id);
+
+    // Method to delete many Blood records by their IDs without loading them; returns the number deleted (-1 on failure)
+    int deleteBloodUnits(Collection<String> bloodIds);
+
+    // Method to retrieve a list of Blood entities stored in a specific BloodBank
+    List<Blood> getBloodByBloodBankId(String bloodBankId);
+
+    // Method to retrieve one page of Blood entities stored in a specific BloodBank, starting after the given id (null for the first page)
+    List<Blood> getBloodByBloodBankIdPage(String bloodBankId, String afterBloodId, int pageSize);
+
+    // Method to retrieve all Blood entities from the database
+    List<Blood> getAllBlood();
+
+    // Method to export every Blood entity to a CSV or JSON Lines file in constant memory; returns the number exported (-1 on failure)
+    long exportBlood(Path file, ExportFormat format);
+
+    // Method to retrieve one page of Blood entities ordered by id, starting after the given id (null for the first page)
+    List<Blood> getBloodPage(String afterBloodId, int pageSize);
+}
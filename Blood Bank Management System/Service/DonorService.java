@@ -1,29 +1,62 @@
-package com.bloodbank.service;  // Declares the package this interface belongs to
-
-import java.util.List;  // Imports the List interface to handle multiple Donor objects
-
-import com.bloodbank.entity.Donor;  // Imports the Donor entity class
-
-// Service interface for Donor entity
-public interface DonorService {
-
-    // Retrieve a Donor by its ID
-    // This method will return a Donor object if found by the provided ID
-    Donor getDonorById(String id);
-
-    // Save a new Donor entity
-    // This method will be used to persist a Donor object into the database
-    void saveDonor(Donor donor);
-
-    // Update an existing Donor entity
-    // This method will update an existing Donor record in the database with the provided Donor object
-    void updateDonor(Donor donor);
-
-    // Delete a Donor by its ID
-    // This method will delete the Donor record from the database corresponding to the given ID
-    void deleteDonor(String id);
-
-    // Retrieve a list of all Donors
-    // This method will return a list of all Donor objects available in the database
-    List<Donor> getAllDonors();
-}
+package com.bloodbank.service;  // Declares the package this interface belongs to
+
+import java.nio.file.Path;  // Importing Path for export targets
+import java.util.Collection;  // Importing Collection for bulk operations
+import java.util.List;  // Imports the List interface to handle multiple Donor objects
+import java.util.Map;  // Importing Map for lookups keyed by id
+
+import com.bloodbank.entity.Donor;  // Imports the Donor entity class
+import com.bloodbank.entity.DonorPatch;  // Importing DonorPatch for partial updates
+import com.bloodbank.util.ExportFormat;  // Importing ExportFormat to choose CSV or JSON Lines
+
+// Service interface for Donor entity
+public interface DonorService {
+
+    // Retrieve a Donor by its ID
+    // This method will return a Donor object if found by the provided ID
+    Donor getDonorById(String id);
+
+    // Retrieve many Donors by their IDs
+    // This method will load the Donor objects in batched lookups (one query per batch instead of one per ID) and return the ones found, keyed by ID
+    Map<String, Donor> getDonorsByIds(Collection<String> donorIds);
+
+    // Save a new Donor entity
+    // This method will be used to persist a Donor object into the database
+    void saveDonor(Donor donor);
+
+    // Save many Donor entities at once
+    // This method will insert all Donor objects in one batched transaction and return the number saved
+    int saveAll(Collection<Donor> donors);
+
+    // Save many Donor entities in chunks
+    // This method will insert the Donor objects in batches, committing every commitSize objects, and return the number committed
+    int saveAll(Collection<Donor> donors, int commitSize);
+
+    // Update an existing Donor entity
+    // This method will update an existing Donor record in the database with the provided Donor object
+    void updateDonor(Donor donor);
+
+    // Update only the fields set in the patch, with one statement and without loading the record first
+    // Returns false if no Donor has the given ID
+    boolean patchDonor(String donorId, DonorPatch patch);
+
+    // Delete a Donor by its ID
+    // This method will delete the Donor record from the database corresponding to the given ID
+    void deleteDonor(String id);
+
+    // Delete many Donor records by their IDs
+    // This method will delete the given Donor records (and the blood units they donated) with set-based statements and return the number deleted (-1 on failure)
+    int deleteDonors(Collection<String> donorIds);
+
+    // Retrieve a list of all Donors
+    // This method will return a list of all Donor objects available in the database
+    List<Donor> getAllDonors();
+
+    // Export all Donors to a file
+    // This method will stream every Donor record into a CSV or JSON Lines file in constant memory and return the number exported (-1 on failure)
+    long exportDonors(Path file, ExportFormat format);
+
+    // Retrieve one page of Donors
+    // This method will return at most pageSize Donor objects ordered by id, starting after the given id (null for the first page)
+    List<Donor> getDonorsPage(String afterDonorId, int pageSize);
+}
@@ -1,29 +1,48 @@
-package com.bloodbank.service;  // Declares the package this interface belongs to
-
-import java.util.List;  // Imports the List interface to handle multiple EmployeeTeam objects
-
-import com.bloodbank.entity.EmployeeTeam;  // Imports the EmployeeTeam entity class
-
-// Service interface for EmployeeTeam entity
-public interface EmployeeTeamService {
-
-    // Retrieve an EmployeeTeam by its ID
-    // This method will return an EmployeeTeam object if found by the provided ID
-    EmployeeTeam getEmployeeTeamById(String id);
-
-    // Save a new EmployeeTeam entity
-    // This method will be used to persist an EmployeeTeam object into the database
-    void saveEmployeeTeam(EmployeeTeam employeeTeam);
-
-    // Update an existing EmployeeTeam entity
-    // This method will update an existing EmployeeTeam record in the database with the provided EmployeeTeam object
-    void updateEmployeeTeam(EmployeeTeam employeeTeam);
-
-    // Delete an EmployeeTeam by its ID
-    // This method will delete the EmployeeTeam record from the database corresponding to the given ID
-    void deleteEmployeeTeam(String id);
-
-    // Retrieve a list of all EmployeeTeams
-    // This method will return a list of all EmployeeTeam objects available in the database
-    List<EmployeeTeam> getAllEmployeeTeams();
-}
+package com.bloodbank.service;  // Declares the package this interface belongs to
+
+import java.util.Collection;  // Importing Collection for bulk operations
+import java.util.List;  // Imports the List interface to handle multiple EmployeeTeam objects
+import java.util.Map;  // Importing Map for lookups keyed by id
+import java.util.concurrent.CompletableFuture;  // Importing CompletableFuture for background purges
+
+import com.bloodbank.entity.EmployeeTeam;  // Imports the EmployeeTeam entity class
+
+// Service interface for EmployeeTeam entity
+public interface EmployeeTeamService {
+
+    // Retrieve an EmployeeTeam by its ID
+    // This method will return an EmployeeTeam object if found by the provided ID
+    EmployeeTeam getEmployeeTeamById(String id);
+
+    // Retrieve many EmployeeTeams by their IDs
+    // This method will load the EmployeeTeam objects in batched lookups (one query per batch instead of one per ID) and return the ones found, keyed by ID
+    Map<String, EmployeeTeam> getEmployeeTeamsByIds(Collection<String> empIds);
+
+    // Save a new EmployeeTeam entity
+    // This method will be used to persist an EmployeeTeam object into the database
+    void saveEmployeeTeam(EmployeeTeam employeeTeam);
+
+    // Update an existing EmployeeTeam entity
+    // This method will update an existing EmployeeTeam record in the database with the provided EmployeeTeam object
+    void updateEmployeeTeam(EmployeeTeam employeeTeam);
+
+    // Delete an EmployeeTeam by its ID
+    // This method will delete the EmployeeTeam record from the database corresponding to the given ID
+    void deleteEmployeeTeam(String id);
+
+    // Delete many EmployeeTeam records by their IDs
+    // This method will delete the given EmployeeTeam records (and their donors and patients, with those people's blood units) with set-based statements and return the number deleted (-1 on failure)
+    int deleteEmployeeTeams(Collection<String> empIds);
+
+    // Purge an EmployeeTeam with a very large cascade
+    // This method will delete the donors, patients and their blood units in chunks of chunkSize rows per transaction on a background thread, then the EmployeeTeam; the future yields the rows deleted
+    CompletableFuture<Long> purgeEmployeeTeam(String empId, int chunkSize);
+
+    // Retrieve a list of all EmployeeTeams
+    // This method will return a list of all EmployeeTeam objects available in the database
+    List<EmployeeTeam> getAllEmployeeTeams();
+
+    // Retrieve one page of EmployeeTeams
+    // This method will return at most pageSize EmployeeTeam objects ordered by id, starting after the given id (null for the first page)
+    List<EmployeeTeam> getEmployeeTeamsPage(String afterEmployeeTeamId, int pageSize);
+}
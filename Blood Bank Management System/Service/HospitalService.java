@@ -1,29 +1,43 @@
-package com.bloodbank.service;  // Declares the package this interface belongs to
-
-import java.util.List;  // Imports the List interface for handling multiple Hospital objects
-
-import com.bloodbank.entity.Hospital;  // Imports the Hospital entity class
-
-// Service interface for Hospital entity
-public interface HospitalService {
-
-    // Retrieve a Hospital by its ID
-    // This method will return a Hospital object if found by the provided ID
-    Hospital getHospitalById(String id);
-
-    // Save a new Hospital entity
-    // This method will be used to persist a new Hospital object in the database
-    void saveHospital(Hospital hospital);
-
-    // Update an existing Hospital entity
-    // This method will update the Hospital record in the database with the provided Hospital object
-    void updateHospital(Hospital hospital);
-
-    // Delete a Hospital by its ID
-    // This method will delete the Hospital record from the database that corresponds to the given ID
-    void deleteHospital(String id);
-
-    // Retrieve a list of all Hospitals
-    // This method will return a list of all Hospital objects available in the database
-    List<Hospital> getAllHospitals();
-}
+package com.bloodbank.service;  // Declares the package this interface belongs to
+
+import java.util.Collection;  // Importing Collection for bulk operations
+import java.util.List;  // Imports the List interface for handling multiple Hospital objects
+import java.util.Map;  // Importing Map for lookups keyed by id
+
+import com.bloodbank.entity.Hospital;  // Imports the Hospital entity class
+
+// Service interface for Hospital entity
+public interface HospitalService {
+
+    // Retrieve a Hospital by its ID
+    // This method will return a Hospital object if found by the provided ID
+    Hospital getHospitalById(String id);
+
+    // Retrieve many Hospitals by their IDs
+    // This method will load the Hospital objects in batched lookups (one query per batch instead of one per ID) and return the ones found, keyed by ID
+    Map<String, Hospital> getHospitalsByIds(Collection<String> hospitalIds);
+
+    // Save a new Hospital entity
+    // This method will be used to persist a new Hospital object in the database
+    void saveHospital(Hospital hospital);
+
+    // Update an existing Hospital entity
+    // This method will update the Hospital record in the database with the provided Hospital object
+    void updateHospital(Hospital hospital);
+
+    // Delete a Hospital by its ID
+    // This method will delete the Hospital record from the database that corresponds to the given ID
+    void deleteHospital(String id);
+
+    // Delete many Hospital records by their IDs
+    // This method will delete the given Hospital records with set-based statements and return the number deleted (-1 on failure)
+    int deleteHospitals(Collection<String> hospitalIds);
+
+    // Retrieve a list of all Hospitals
+    // This method will return a list of all Hospital objects available in the database
+    List<Hospital> getAllHospitals();
+
+    // Retrieve one page of Hospitals
+    // This method will return at most pageSize Hospital objects ordered by id, starting after the given id (null for the first page)
+    List<Hospital> getHospitalsPage(String afterHospitalId, int pageSize);
+}
@@ -0,0 +1,20 @@
+package com.bloodbank.service;
+
+import java.util.List;  // Importing List for the banks to search and the matches found
+import com.bloodbank.inventory.BloodGroup;  // Importing BloodGroup for the recipient's group
+import com.bloodbank.inventory.MatchedUnit;  // Importing MatchedUnit for the units found
+
+// Interface defining the service layer methods that match patients with compatible available blood units
+public interface MatchingService {
+
+    // Method to find available units a recipient of the given group can receive, in the blood bank and then the nearby
+    // banks in the given order; the identical group comes first within each bank. Answered from the inventory index, without SQL
+    List<MatchedUnit> findCompatibleUnits(BloodGroup recipient, String bloodBankId, List<String> nearbyBloodBankIds, int limit);
+
+    // Method to find available units the patient can receive (one lookup for the patient's blood group, then as above);
+    // returns null if the patient does not exist, and an empty list if the patient's blood group is not recognized
+    List<MatchedUnit> findCompatibleUnitsForPatient(String patientId, String bloodBankId, List<String> nearbyBloodBankIds, int limit);
+
+    // Method to count the available units in a blood bank that a recipient of the given group can receive
+    int countCompatibleUnits(BloodGroup recipient, String bloodBankId);
+}
@@ -1,29 +1,62 @@
-package com.bloodbank.service;  // Declares the package this interface belongs to
-
-import java.util.List;  // Imports the List interface for handling multiple Patient objects
-
-import com.bloodbank.entity.Patient;  // Imports the Patient entity class
-
-// Service interface for Patient entity
-public interface PatientService {
-
-    // Retrieve a Patient by its ID
-    // This method will return a Patient object if found by the provided ID
-    Patient getPatientById(String id);
-
-    // Save a new Patient entity
-    // This method will be used to persist a new Patient object in the database
-    void savePatient(Patient patient);
-
-    // Update an existing Patient entity
-    // This method will update the Patient record in the database with the provided Patient object
-    void updatePatient(Patient patient);
-
-    // Delete a Patient by its ID
-    // This method will delete the Patient record from the database that corresponds to the given ID
-    void deletePatient(String id);
-
-    // Retrieve a list of all Patients
-    // This method will return a list of all Patient objects available in the database
-    List<Patient> getAllPatients();
-}
+package com.bloodbank.service;  // Declares the package this interface belongs to
+
+import java.nio.file.Path;  // Importing Path for export targets
+import java.util.Collection;  // Importing Collection for bulk operations
+import java.util.List;  // Imports the List interface for handling multiple Patient objects
+import java.util.Map;  // Importing Map for lookups keyed by id
+
+import com.bloodbank.entity.Patient;  // Imports the Patient entity class
+import com.bloodbank.entity.PatientPatch;  // Importing PatientPatch for partial updates
+import com.bloodbank.util.ExportFormat;  // Importing ExportFormat to choose CSV or JSON Lines
+
+// Service interface for Patient entity
+public interface PatientService {
+
+    // Retrieve a Patient by its ID
+    // This method will return a Patient object if found by the provided ID
+    Patient getPatientById(String id);
+
+    // Retrieve many Patients by their IDs
+    // This method will load the Patient objects in batched lookups (one query per batch instead of one per ID) and return the ones found, keyed by ID
+    Map<String, Patient> getPatientsByIds(Collection<String> patientIds);
+
+    // Save a new Patient entity
+    // This method will be used to persist a new Patient object in the database
+    void savePatient(Patient patient);
+
+    // Save many Patient entities at once
+    // This method will insert all Patient objects in one batched transaction and return the number saved
+    int saveAll(Collection<Patient> patients);
+
+    // Save many Patient entities in chunks
+    // This method will insert the Patient objects in batches, committing every commitSize objects, and return the number committed
+    int saveAll(Collection<Patient> patients, int commitSize);
+
+    // Update an existing Patient entity
+    // This method will update the Patient record in the database with the provided Patient object
+    void updatePatient(Patient patient);
+
+    // Update only the fields set in the patch, with one statement and without loading the record first
+    // Returns false if no Patient has the given ID
+    boolean patchPatient(String patientId, PatientPatch patch);
+
+    // Delete a Patient by its ID
+    // This method will delete the Patient record from the database that corresponds to the given ID
+    void deletePatient(String id);
+
+    // Delete many Patient records by their IDs
+    // This method will delete the given Patient records (and the blood units they received) with set-based statements and return the number deleted (-1 on failure)
+    int deletePatients(Collection<String> patientIds);
+
+    // Retrieve a list of all Patients
+    // This method will return a list of all Patient objects available in the database
+    List<Patient> getAllPatients();
+
+    // Export all Patients to a file
+    // This method will stream every Patient record into a CSV or JSON Lines file in constant memory and return the number exported (-1 on failure)
+    long exportPatients(Path file, ExportFormat format);
+
+    // Retrieve one page of Patients
+    // This method will return at most pageSize Patient objects ordered by id, starting after the given id (null for the first page)
+    List<Patient> getPatientsPage(String afterPatientId, int pageSize);
+}
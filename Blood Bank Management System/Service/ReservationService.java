@@ -0,0 +1,16 @@
+package com.bloodbank.service;  // Declares the package this interface belongs to
+
+import java.util.List;  // Importing List for the held unit ids
+
+// Service interface for holding blood units for a patient while they are cross-matched; a hold ends by itself after its time
+public interface ReservationService {
+
+    // Hold up to count units the patient can receive from the blood bank for the given number of minutes, earliest expiry first,
+    // in one transaction. While held, the units are issued to no other patient; the patient's own allocations take them first.
+    // Returns the ids of the units held (fewer than count, or none, if the bank has fewer), null if the patient does not exist,
+    // and an empty list if the patient's blood group is not recognized. Throws if the hold fails (nothing is held)
+    List<String> reserveUnits(String patientId, String bloodBankId, int count, int minutes);
+
+    // End the hold on a unit before its time; returns false if the unit is not held
+    boolean releaseReservation(String bloodId);
+}
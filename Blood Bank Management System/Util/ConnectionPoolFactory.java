@@ -0,0 +1,126 @@
+package com.bloodbank.util;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Builds the bounded HikariCP connection pools that back the Hibernate SessionFactory.
+ *
+ * Pool settings come from the {@code hibernate.hikari.*} properties in Hibernate.cfg.xml
+ * and can be overridden per deployment with {@code -Dbloodbank.pool.<setting>=<value>}
+ * system properties (e.g. {@code -Dbloodbank.pool.maximumPoolSize=40}).
+ *
+ * <p>The query methods can be given a second pool of read-only connections (see {@link #createReadOnly}) with
+ * {@code -Dbloodbank.readPool.enabled=true}; otherwise they run on the main pool. The read-only pool takes
+ * the main pool's settings unless overridden with {@code -Dbloodbank.readPool.<setting>=<value>}, and its
+ * connections come on top of the main pool's: a deployment that turns it on should split its connection
+ * budget between the two, e.g. {@code -Dbloodbank.pool.maximumPoolSize=14 -Dbloodbank.readPool.maximumPoolSize=6}
+ * where the database allows 20 connections to the application.
+ */
+public final class ConnectionPoolFactory {
+
+    static final String CONFIG_PREFIX = "hibernate.hikari."; // Pool settings inside Hibernate.cfg.xml
+    static final String OVERRIDE_PREFIX = "bloodbank.pool."; // Per-deployment overrides from the command line
+    static final String READ_POOL_PREFIX = "bloodbank.readPool."; // Overrides for the read-only pool only
+    static final String READ_POOL_ENABLED = READ_POOL_PREFIX + "enabled"; // Set to true to give the queries their own pool
+
+    private ConnectionPoolFactory() {
+    }
+
+    /**
+     * Creates the pool from the Hibernate connection settings and warms it up.
+     * @param settings The Hibernate configuration properties (connection.* and hikari.*)
+     * @param metrics The metrics sink that will receive wait-time and usage measurements
+     * @return A started, warmed-up pool
+     */
+    public static HikariDataSource create(Properties settings, ConnectionPoolMetrics metrics) {
+        return create(poolProperties(settings), settings, metrics, "bloodbank-pool");
+    }
+
+    /**
+     * Creates the pool of read-only connections for the query methods and warms it up. The connections are
+     * made read-only once, when they are opened, so borrowing one costs no extra round trip.
+     * @param settings The Hibernate configuration properties (connection.* and hikari.*)
+     * @param metrics The metrics sink for this pool
+     * @return A started, warmed-up pool
+     */
+    public static HikariDataSource createReadOnly(Properties settings, ConnectionPoolMetrics metrics) {
+        Properties pool = poolProperties(settings);
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if (key.startsWith(READ_POOL_PREFIX) && !key.equals(READ_POOL_ENABLED)) {
+                pool.setProperty(key.substring(READ_POOL_PREFIX.length()), System.getProperty(key).trim());
+            }
+        }
+        pool.setProperty("readOnly", "true");
+        return create(pool, settings, metrics, "bloodbank-read-pool");
+    }
+
+    /**
+     * @return true when {@code -Dbloodbank.readPool.enabled=true} turned the read-only pool on (it is off by default)
+     */
+    public static boolean isReadPoolEnabled() {
+        return Boolean.parseBoolean(System.getProperty(READ_POOL_ENABLED, "false").trim());
+    }
+
+    private static HikariDataSource create(Properties pool, Properties settings, ConnectionPoolMetrics metrics, String poolName) {
+        HikariConfig config = new HikariConfig(pool);
+        config.setPoolName(poolName);
+        config.setJdbcUrl(trimmed(settings.getProperty("hibernate.connection.url")));
+        config.setUsername(trimmed(settings.getProperty("hibernate.connection.username")));
+        config.setPassword(settings.getProperty("hibernate.connection.password"));
+        config.setDriverClassName(trimmed(settings.getProperty("hibernate.connection.driver_class")));
+        config.setMetricsTrackerFactory(metrics);
+
+        HikariDataSource dataSource = new HikariDataSource(config);
+        warmUp(dataSource, config.getMinimumIdle());
+        return dataSource;
+    }
+
+    // Collects hikari.* settings from the configuration, then applies bloodbank.pool.* overrides on top
+    static Properties poolProperties(Properties settings) {
+        Properties pool = new Properties();
+        for (Map.Entry<Object, Object> entry : settings.entrySet()) {
+            String key = String.valueOf(entry.getKey());
+            if (key.startsWith(CONFIG_PREFIX)) {
+                pool.setProperty(key.substring(CONFIG_PREFIX.length()), String.valueOf(entry.getValue()).trim());
+            }
+        }
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if (key.startsWith(OVERRIDE_PREFIX)) {
+                pool.setProperty(key.substring(OVERRIDE_PREFIX.length()), System.getProperty(key).trim());
+            }
+        }
+        return pool;
+    }
+
+    // Opens minimumIdle connections up front so the first intake desks don't pay for connection creation
+    private static void warmUp(HikariDataSource dataSource, int connections) {
+        List<Connection> borrowed = new ArrayList<>();
+        try {
+            for (int i = 0; i < connections; i++) {
+                borrowed.add(dataSource.getConnection());
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        } finally {
+            for (Connection connection : borrowed) {
+                try {
+                    connection.close(); // Returns the connection to the pool
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    private static String trimmed(String value) {
+        return value == null ? null : value.trim();
+    }
+}
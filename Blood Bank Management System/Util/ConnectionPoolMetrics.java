@@ -0,0 +1,132 @@
+package com.bloodbank.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+/**
+ * Lightweight metrics sink for the HikariCP pool built by {@link ConnectionPoolFactory}.
+ * Records how long callers wait for a connection, how long connections stay checked out,
+ * how many acquisitions timed out, and exposes the live pool gauges (active, idle, waiting).
+ */
+public class ConnectionPoolMetrics implements MetricsTrackerFactory, IMetricsTracker {
+
+    private final LongAdder acquisitions = new LongAdder(); // Number of successful connection checkouts
+    private final LongAdder acquireNanos = new LongAdder(); // Total time spent waiting for a connection
+    private final AtomicLong maxAcquireNanos = new AtomicLong(); // Longest single wait for a connection
+    private final LongAdder timeouts = new LongAdder(); // Checkouts that gave up after connectionTimeout
+    private final LongAdder connectionsCreated = new LongAdder(); // Physical connections opened by the pool
+    private final LongAdder creationMillis = new LongAdder(); // Total time spent opening physical connections
+    private final LongAdder usages = new LongAdder(); // Number of connections returned to the pool
+    private final LongAdder usageMillis = new LongAdder(); // Total time connections were held by callers
+    private final AtomicLong maxUsageMillis = new AtomicLong(); // Longest single checkout
+
+    private volatile PoolStats poolStats; // Live gauges, supplied by Hikari when the pool starts
+
+    // Called once by Hikari when the pool is created; the pool then reports into this instance
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        this.poolStats = poolStats;
+        return this;
+    }
+
+    @Override
+    public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+        connectionsCreated.increment();
+        creationMillis.add(connectionCreatedMillis);
+    }
+
+    @Override
+    public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+        acquisitions.increment();
+        acquireNanos.add(elapsedAcquiredNanos);
+        maxAcquireNanos.accumulateAndGet(elapsedAcquiredNanos, Math::max);
+    }
+
+    @Override
+    public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+        usages.increment();
+        usageMillis.add(elapsedBorrowedMillis);
+        maxUsageMillis.accumulateAndGet(elapsedBorrowedMillis, Math::max);
+    }
+
+    @Override
+    public void recordConnectionTimeout() {
+        timeouts.increment();
+    }
+
+    public long getAcquisitionCount() {
+        return acquisitions.sum();
+    }
+
+    public long getTimeoutCount() {
+        return timeouts.sum();
+    }
+
+    public long getConnectionsCreated() {
+        return connectionsCreated.sum();
+    }
+
+    // Average wait for a connection, in microseconds
+    public long getAverageAcquireMicros() {
+        long count = acquisitions.sum();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(acquireNanos.sum() / count);
+    }
+
+    // Longest wait for a connection, in microseconds
+    public long getMaxAcquireMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(maxAcquireNanos.get());
+    }
+
+    // Average time a connection was held before being returned, in milliseconds
+    public long getAverageUsageMillis() {
+        long count = usages.sum();
+        return count == 0 ? 0 : usageMillis.sum() / count;
+    }
+
+    public long getMaxUsageMillis() {
+        return maxUsageMillis.get();
+    }
+
+    public int getActiveConnections() {
+        PoolStats stats = poolStats;
+        return stats == null ? 0 : stats.getActiveConnections();
+    }
+
+    public int getIdleConnections() {
+        PoolStats stats = poolStats;
+        return stats == null ? 0 : stats.getIdleConnections();
+    }
+
+    // Threads currently blocked waiting for a connection
+    public int getPendingThreads() {
+        PoolStats stats = poolStats;
+        return stats == null ? 0 : stats.getPendingThreads();
+    }
+
+    public int getMaxConnections() {
+        PoolStats stats = poolStats;
+        return stats == null ? 0 : stats.getMaxConnections();
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionPoolMetrics{" +
+                "active=" + getActiveConnections() +
+                ", idle=" + getIdleConnections() +
+                ", pending=" + getPendingThreads() +
+                ", max=" + getMaxConnections() +
+                ", acquisitions=" + getAcquisitionCount() +
+                ", avgAcquireMicros=" + getAverageAcquireMicros() +
+                ", maxAcquireMicros=" + getMaxAcquireMicros() +
+                ", timeouts=" + getTimeoutCount() +
+                ", avgUsageMillis=" + getAverageUsageMillis() +
+                ", maxUsageMillis=" + getMaxUsageMillis() +
+                ", connectionsCreated=" + getConnectionsCreated() +
+                '}';
+    }
+}
@@ -0,0 +1,87 @@
+package com.bloodbank.util;
+
+import java.util.Locale;
+import java.util.Properties;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+
+/**
+ * The database {@link HibernateUtil} connects to, chosen at startup with {@code -Dbloodbank.db=mysql|h2}
+ * (default mysql).
+ *
+ * <ul>
+ * <li>{@link #MYSQL} uses the connection settings in Hibernate.cfg.xml unchanged.</li>
+ * <li>{@link #H2} replaces them with an embedded, in-memory H2 database in MySQL compatibility mode, so the
+ * DAO stack, the benchmarks and the concurrency checks run without an external server, and every run starts
+ * from the same empty schema. H2 (before 2.2) has no SKIP LOCKED, so row locks that MySQL skips are waited
+ * for; the lock timeout is raised to 10 s so that contended rows queue instead of failing after H2's default 1 s.</li>
+ * </ul>
+ *
+ * Either profile's JDBC URL can be replaced with {@code -Dbloodbank.db.url=<url>}, e.g. a file-backed H2
+ * database ({@code jdbc:h2:./target/bloodbank;MODE=MySQL;DATABASE_TO_LOWER=TRUE}).
+ */
+public enum DatabaseProfile {
+
+    MYSQL(null, null, null, null, null),
+
+    H2("org.h2.Driver",
+            "jdbc:h2:mem:bloodbank_management_system;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+            "org.hibernate.dialect.H2Dialect", "sa", "");
+
+    public static final String PROFILE_PROPERTY = "bloodbank.db"; // Selects the profile
+    public static final String URL_PROPERTY = "bloodbank.db.url"; // Overrides the profile's JDBC URL
+
+    private static final String DRIVER_DATA_SOURCE_PREFIX = "hibernate.hikari.dataSource."; // Settings passed to the JDBC driver
+
+    private final String driverClass;
+    private final String url;
+    private final String dialect;
+    private final String username;
+    private final String password;
+
+    DatabaseProfile(String driverClass, String url, String dialect, String username, String password) {
+        this.driverClass = driverClass;
+        this.url = url;
+        this.dialect = dialect;
+        this.username = username;
+        this.password = password;
+    }
+
+    /**
+     * @return The profile named by {@code -Dbloodbank.db}, or {@link #MYSQL} when it is not set
+     * @throws IllegalStateException if the property names no profile
+     */
+    public static DatabaseProfile current() {
+        String value = System.getProperty(PROFILE_PROPERTY, MYSQL.name());
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Unknown " + PROFILE_PROPERTY + " '" + value + "'; expected mysql or h2", e);
+        }
+    }
+
+    /**
+     * Points the configuration at this profile's database. Must be called before the connection pool and the
+     * SessionFactory are built from it.
+     * @param configuration The configuration loaded from Hibernate.cfg.xml
+     */
+    public void apply(Configuration configuration) {
+        if (driverClass != null) {
+            configuration.setProperty(AvailableSettings.DRIVER, driverClass);
+            configuration.setProperty(AvailableSettings.URL, url);
+            configuration.setProperty(AvailableSettings.DIALECT, dialect);
+            configuration.setProperty(AvailableSettings.USER, username);
+            configuration.setProperty(AvailableSettings.PASS, password);
+            // The driver settings in the file are MySQL Connector/J options that other drivers reject
+            Properties properties = configuration.getProperties();
+            properties.stringPropertyNames().stream()
+                    .filter(key -> key.startsWith(DRIVER_DATA_SOURCE_PREFIX))
+                    .forEach(properties::remove);
+        }
+        String overrideUrl = System.getProperty(URL_PROPERTY);
+        if (overrideUrl != null && !overrideUrl.isBlank()) {
+            configuration.setProperty(AvailableSettings.URL, overrideUrl.trim());
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.bloodbank.util;
+
+/**
+ * File formats supported by {@link ExportWriter}.
+ */
+public enum ExportFormat {
+
+    CSV, // Comma-separated values with a header row
+
+    JSON_LINES // One JSON object per line (JSON Lines / NDJSON)
+}
@@ -0,0 +1,177 @@
+package com.bloodbank.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes rows as CSV or JSON Lines straight to a file channel through a fixed-size buffer,
+ * so exports of any size run in constant memory.
+ *
+ * <pre>
+ * try (ExportWriter writer = new ExportWriter(path, ExportFormat.CSV, "blood_id", "blood_group")) {
+ *     writer.writeRow("B1", "O+");
+ * }
+ * </pre>
+ */
+public class ExportWriter implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024; // Bytes buffered before each write to the channel
+
+    private final FileChannel channel;
+    private final ExportFormat format;
+    private final String[] columns;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final StringBuilder line = new StringBuilder(256); // Reused for every row
+    private long rows;
+
+    /**
+     * Creates (or truncates) the file and, for CSV, writes the header row.
+     * @param file The file to write
+     * @param format CSV or JSON Lines
+     * @param columns Column names, in the order values are passed to {@link #writeRow(Object...)}
+     */
+    public ExportWriter(Path file, ExportFormat format, String... columns) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.format = format;
+        this.columns = columns.clone();
+        if (format == ExportFormat.CSV) {
+            line.setLength(0);
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) {
+                    line.append(',');
+                }
+                appendCsv(columns[i]);
+            }
+            emitLine();
+        }
+    }
+
+    /**
+     * Writes one row; values are matched to the columns by position.
+     * @throws UncheckedIOException if the file cannot be written (so it can be used from a Consumer)
+     */
+    public void writeRow(Object... values) {
+        line.setLength(0);
+        if (format == ExportFormat.CSV) {
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) {
+                    line.append(',');
+                }
+                Object value = i < values.length ? values[i] : null;
+                if (value != null) {
+                    appendCsv(String.valueOf(value));
+                }
+            }
+        } else {
+            line.append('{');
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) {
+                    line.append(',');
+                }
+                appendJsonString(columns[i]);
+                line.append(':');
+                Object value = i < values.length ? values[i] : null;
+                if (value == null) {
+                    line.append("null");
+                } else if (value instanceof Number || value instanceof Boolean) {
+                    line.append(value);
+                } else {
+                    appendJsonString(String.valueOf(value));
+                }
+            }
+            line.append('}');
+        }
+        try {
+            emitLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        rows++;
+    }
+
+    /**
+     * @return The number of data rows written so far (the CSV header is not counted)
+     */
+    public long getRowCount() {
+        return rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+    }
+
+    // Quotes the value only when it contains a separator, quote or line break
+    private void appendCsv(String value) {
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"'); // Quotes are escaped by doubling them
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    private void appendJsonString(String value) {
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': line.append("\\\""); break;
+                case '\\': line.append("\\\\"); break;
+                case '\n': line.append("\\n"); break;
+                case '\r': line.append("\\r"); break;
+                case '\t': line.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+            }
+        }
+        line.append('"');
+    }
+
+    // Encodes the current line plus a newline into the buffer, writing the buffer out whenever it fills up
+    private void emitLine() throws IOException {
+        line.append('\n');
+        byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, length);
+            offset += length;
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
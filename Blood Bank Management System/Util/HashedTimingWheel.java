@@ -0,0 +1,155 @@
+package com.bloodbank.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hashed timing wheel: a ring of slots, one per tick, that keys are filed into by their deadline, so scheduling,
+ * cancelling and expiring a key each cost O(1) however many keys are waiting.
+ *
+ * <p>A key due at tick T goes into slot {@code T mod slots} with the number of whole turns of the wheel left
+ * before T. Each {@link #advance(long)} visits the slots of the ticks that have passed since the last one: a key
+ * with no turns left expires, the others count one turn down. A deadline is never expired early, and at most one
+ * tick late from the time {@link #advance(long)} is called. Deadlines beyond one turn cost one visit per turn, so
+ * size the wheel to cover the usual deadlines in a single turn.
+ *
+ * <p>The wheel holds no thread: the owner calls {@link #advance(long)} once a tick and handles the expired keys.
+ * Methods are synchronized; a key is held at most once, and scheduling it again replaces its deadline.
+ *
+ * @param <K> The type of the keys, which must be usable as hash keys
+ */
+public final class HashedTimingWheel<K> {
+
+    private final long tickMillis;
+    private final long startMillis; // Time of tick 0
+    private final int mask; // Slots - 1, the slot count being a power of two
+    private final List<Set<K>> slots;
+    private final Map<K, Entry> entries = new HashMap<>(); // Key -> where it is filed
+    private long tick; // The next tick to visit
+
+    /**
+     * @param tickMillis The length of one tick in milliseconds, the precision of the deadlines
+     * @param slots The number of slots, rounded up to a power of two; one turn of the wheel is slots ticks
+     * @param startMillis The time of the first tick, in epoch milliseconds
+     */
+    public HashedTimingWheel(long tickMillis, int slots, long startMillis) {
+        if (tickMillis <= 0 || slots <= 0) {
+            throw new IllegalArgumentException("tickMillis and slots must be positive");
+        }
+        int size = Integer.highestOneBit(slots);
+        size = size < slots ? size << 1 : size;
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.mask = size - 1;
+        this.slots = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            this.slots.add(new HashSet<>());
+        }
+    }
+
+    /**
+     * @return The length of one tick in milliseconds
+     */
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    /**
+     * Files the key to expire at the deadline, replacing its previous deadline if it is already held. A deadline
+     * that has passed expires on the next {@link #advance(long)}.
+     * @param key The key
+     * @param deadlineMillis When the key expires, in epoch milliseconds
+     */
+    public synchronized void schedule(K key, long deadlineMillis) {
+        remove(key);
+        // The first tick at or after the deadline, so that the key never expires early
+        long due = Math.max(tick, Math.floorDiv(deadlineMillis - startMillis + tickMillis - 1, tickMillis));
+        int slot = (int) (due & mask);
+        slots.get(slot).add(key);
+        entries.put(key, new Entry(slot, (due - tick) / slots.size()));
+    }
+
+    /**
+     * Files the key to expire at the deadline unless it is already held.
+     * @param key The key
+     * @param deadlineMillis When the key expires, in epoch milliseconds
+     * @return True if the key was filed
+     */
+    public synchronized boolean scheduleIfAbsent(K key, long deadlineMillis) {
+        if (entries.containsKey(key)) {
+            return false;
+        }
+        schedule(key, deadlineMillis);
+        return true;
+    }
+
+    /**
+     * Takes the key off the wheel without expiring it.
+     * @param key The key
+     * @return True if it was held
+     */
+    public synchronized boolean cancel(K key) {
+        return remove(key);
+    }
+
+    /**
+     * Visits the ticks that have passed up to the given time.
+     * @param nowMillis The current time, in epoch milliseconds
+     * @return The keys that expired, removed from the wheel
+     */
+    public synchronized List<K> advance(long nowMillis) {
+        List<K> expired = new ArrayList<>();
+        for (; startMillis + tick * tickMillis <= nowMillis; tick++) {
+            Set<K> slot = slots.get((int) (tick & mask));
+            if (slot.isEmpty()) {
+                continue;
+            }
+            for (Iterator<K> keys = slot.iterator(); keys.hasNext(); ) {
+                K key = keys.next();
+                Entry entry = entries.get(key);
+                if (entry.rounds > 0) {
+                    entry.rounds--; // Due on a later turn
+                } else {
+                    keys.remove();
+                    entries.remove(key);
+                    expired.add(key);
+                }
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * @return The number of keys held
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // Takes the key out of its slot; the caller holds the lock
+    private boolean remove(K key) {
+        Entry entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        slots.get(entry.slot).remove(key);
+        return true;
+    }
+
+    // Where a key is filed, and the turns of the wheel left before it is due
+    private static final class Entry {
+
+        final int slot;
+        long rounds;
+
+        Entry(int slot, long rounds) {
+            this.slot = slot;
+            this.rounds = rounds;
+        }
+    }
+}
@@ -1,27 +1,216 @@
-package com.bloodbank.util;
-
-import org.hibernate.SessionFactory;
-import org.hibernate.cfg.Configuration;
-
-public class HibernateUtil {
-    private static SessionFactory sessionFactory;
-
-    static {
-        try {
-            sessionFactory = new Configuration().configure("hibernate.cfg.xml").buildSessionFactory();
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new ExceptionInInitializerError("SessionFactory creation failed!");
-        }
-    }
-
-    public static SessionFactory getSessionFactory() {
-        return sessionFactory;
-    }
-
-    public static void shutdown() {
-        if (sessionFactory != null) {
-            sessionFactory.close();
-        }
-    }
-}
+package com.bloodbank.util;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import jakarta.persistence.metamodel.EntityType;
+
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.SessionBuilder;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.exception.JDBCConnectionException;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Builds and holds the SessionFactory of the Hibernate backend, with its connection pools.
+ *
+ * <p>Building the SessionFactory takes seconds: it opens the pools and, unless turned off, checks or updates
+ * the schema. {@link #startInBackground()} starts the build on a daemon thread so the console can show its
+ * menu meanwhile; {@link #getSessionFactory()} waits for it (or builds on the calling thread if nothing
+ * started it). The phases are timed in {@link StartupTimings}.
+ *
+ * <p>The schema action comes from hbm2ddl.auto in Hibernate.cfg.xml ({@code update}, which reads the whole
+ * schema on every launch) unless overridden with {@code -Dbloodbank.schema=update|validate|none}. Production
+ * deployments, whose schema is managed separately, should use {@code validate} (fail fast on a mismatch) or
+ * {@code none} (no schema access at all).
+ */
+public class HibernateUtil {
+
+    public static final String SCHEMA_PROPERTY = "bloodbank.schema"; // Overrides hbm2ddl.auto: update, validate or none
+
+    private static final String[] SCHEMA_ACTIONS = { "update", "validate", "none" };
+
+    private static final CompletableFuture<SessionFactory> sessionFactory = new CompletableFuture<>();
+    private static final AtomicBoolean started = new AtomicBoolean();
+    private static volatile HikariDataSource dataSource;
+    private static volatile HikariDataSource readDataSource; // Read-only connections for the query methods (null unless turned on)
+    private static final ConnectionPoolMetrics poolMetrics = new ConnectionPoolMetrics();
+    private static final ConnectionPoolMetrics readPoolMetrics = new ConnectionPoolMetrics();
+    private static final DatabaseProfile profile = DatabaseProfile.current();
+
+    /**
+     * Starts building the SessionFactory on a background thread, unless it was already started.
+     * @return Completes with the SessionFactory, or exceptionally if the build fails
+     */
+    public static CompletableFuture<SessionFactory> startInBackground() {
+        if (started.compareAndSet(false, true)) {
+            Thread thread = new Thread(HibernateUtil::build, "bloodbank-startup");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        return sessionFactory;
+    }
+
+    /**
+     * @return The SessionFactory, once it is built; the first call builds it unless it is already being built
+     * @throws IllegalStateException if the build failed
+     */
+    public static SessionFactory getSessionFactory() {
+        if (started.compareAndSet(false, true)) {
+            build();
+        }
+        try {
+            return sessionFactory.join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("SessionFactory creation failed!", e.getCause());
+        }
+    }
+
+    // Builds the pools and the SessionFactory, timing each phase, and completes the future with the result
+    private static void build() {
+        try {
+            Configuration configuration = StartupTimings.time("configuration", () -> {
+                Configuration loaded = new Configuration().configure("hibernate.cfg.xml");
+                // Point the configuration at the selected database (-Dbloodbank.db=mysql|h2)
+                profile.apply(loaded);
+                // Replace the schema action for this launch (-Dbloodbank.schema=update|validate|none)
+                applySchemaAction(loaded);
+                // Count the SQL statements and log slow queries (-Dbloodbank.sql.slowQueryMillis)
+                SqlStatistics.configure(loaded);
+                return loaded;
+            });
+            StartupTimings.time("connection pools", () -> {
+                // Hand Hibernate a pooled DataSource instead of its built-in, non-production connection provider
+                dataSource = ConnectionPoolFactory.create(configuration.getProperties(), poolMetrics);
+                configuration.getProperties().put(AvailableSettings.DATASOURCE, dataSource);
+                if (ConnectionPoolFactory.isReadPoolEnabled()) {
+                    readDataSource = ConnectionPoolFactory.createReadOnly(configuration.getProperties(), readPoolMetrics);
+                }
+                return null;
+            });
+            // The pool owns the credentials; Hibernate would otherwise call getConnection(user, password), which Hikari rejects
+            for (String credential : new String[] { AvailableSettings.USER, AvailableSettings.PASS }) {
+                configuration.getProperties().remove(credential);
+                configuration.getStandardServiceRegistryBuilder().getSettings().remove(credential);
+            }
+            SessionFactory built = StartupTimings.time("session factory (schema " + configuration.getProperty(AvailableSettings.HBM2DDL_AUTO) + ")",
+                    configuration::buildSessionFactory);
+            StartupTimings.time("query warm-up", () -> warmUp(built));
+            StartupTimings.milestone("session factory ready");
+            StartupTimings.LOG.info(StartupTimings.report());
+            sessionFactory.complete(built);
+        } catch (Throwable e) {
+            e.printStackTrace();
+            if (dataSource != null) {
+                dataSource.close();
+            }
+            if (readDataSource != null) {
+                readDataSource.close();
+            }
+            sessionFactory.completeExceptionally(e);
+        }
+    }
+
+    // Replaces hbm2ddl.auto with -Dbloodbank.schema when it is set
+    private static void applySchemaAction(Configuration configuration) {
+        String action = System.getProperty(SCHEMA_PROPERTY);
+        if (action == null || action.isBlank()) {
+            return;
+        }
+        action = action.trim().toLowerCase(Locale.ROOT);
+        if (!Arrays.asList(SCHEMA_ACTIONS).contains(action)) {
+            throw new IllegalStateException("Unknown " + SCHEMA_PROPERTY + " '" + action + "'; expected update, validate or none");
+        }
+        configuration.setProperty(AvailableSettings.HBM2DDL_AUTO, action);
+    }
+
+    // Compiles the "FROM <entity>" query of every entity (the list and streaming queries of the DAOs) into
+    // Hibernate's query plan cache, so the first listing does not pay for loading and running the HQL parser.
+    // Nothing is executed. Returns the number of queries compiled.
+    private static int warmUp(SessionFactory factory) {
+        int compiled = 0;
+        try (Session session = factory.openSession()) {
+            for (EntityType<?> entity : factory.getMetamodel().getEntities()) {
+                session.createQuery("FROM " + entity.getName(), entity.getJavaType());
+                compiled++;
+            }
+        }
+        return compiled;
+    }
+
+    /**
+     * Runs a query in a session of its own that is only used for reading: entities are loaded read-only, so
+     * Hibernate keeps no snapshot of their state for dirty checking, the session never flushes, and its JDBC
+     * connection comes from the read-only pool when that is turned on (the main pool otherwise). Entities
+     * returned by the work stay usable after the session is closed, like those of any other closed session, and
+     * can be passed to the update methods as usual.
+     * @param work The query to run
+     * @return Whatever the work returns
+     * @throws JDBCConnectionException if no read-only connection can be obtained
+     */
+    public static <T> T inReadOnlySession(Function<Session, T> work) {
+        Connection connection = null;
+        SessionBuilder<?> builder = getSessionFactory().withOptions().flushMode(FlushMode.MANUAL);
+        if (readDataSource != null) {
+            try {
+                connection = readDataSource.getConnection();
+            } catch (SQLException e) {
+                throw new JDBCConnectionException("Could not obtain a read-only connection", e);
+            }
+            builder.connection(connection);
+        }
+        try (Session session = builder.openSession()) {
+            session.setDefaultReadOnly(true);
+            return work.apply(session);
+        } finally {
+            if (connection != null) {
+                try {
+                    connection.close(); // A connection handed to the session is returned to the pool by its owner
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    public static DatabaseProfile getDatabaseProfile() {
+        return profile;
+    }
+
+    public static ConnectionPoolMetrics getConnectionPoolMetrics() {
+        return poolMetrics;
+    }
+
+    public static ConnectionPoolMetrics getReadConnectionPoolMetrics() {
+        return readPoolMetrics;
+    }
+
+    /**
+     * Closes the SessionFactory and the pools; waits for a build in progress first.
+     */
+    public static void shutdown() {
+        if (started.get()) {
+            try {
+                sessionFactory.join().close();
+            } catch (CompletionException e) {
+                // The build failed and already closed the pools
+            }
+        }
+        if (dataSource != null) {
+            dataSource.close();
+        }
+        if (readDataSource != null) {
+            readDataSource.close();
+        }
+    }
+}
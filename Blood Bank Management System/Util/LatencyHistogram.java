@@ -0,0 +1,143 @@
+package com.bloodbank.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with HDR-style log-linear buckets: values below 64 ns get a bucket each, and every
+ * power of two above that is split into 32 equal buckets, so any recorded value is reported within about 3% of
+ * its true value, from nanoseconds up to years, in a fixed 1,888-bucket array.
+ *
+ * <p>{@link #record(long)} is a handful of atomic increments: it takes no lock and allocates nothing, so it can
+ * sit on every service and DAO call. Reading ({@link #snapshot()}) copies the counters without stopping writers;
+ * a snapshot taken while calls are being recorded may miss the calls in flight, but never blocks them.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5; // 32 buckets per power of two (about 3% precision)
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2; // Values below this get one bucket each
+    private static final int LINEAR_EXPONENT = SUB_BUCKET_BITS + 1; // log2(LINEAR_LIMIT)
+    private static final int BUCKETS = LINEAR_LIMIT + (63 - LINEAR_EXPONENT) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder(); // Sum of all recorded values, for the mean
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Records one value (negative values are recorded as 0).
+     * @param nanos The measured latency in nanoseconds
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketOf(value));
+        total.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * @return A copy of the counters to compute percentiles from
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        return new Snapshot(copy, count, total.sum(), max.get());
+    }
+
+    /**
+     * Clears every counter.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        total.reset();
+        max.reset();
+    }
+
+    // Bucket for a value: the value itself below LINEAR_LIMIT, then 32 buckets per power of two
+    static int bucketOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value); // floor(log2(value)), at least LINEAR_EXPONENT
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS; // The 5 bits below the leading one
+        return LINEAR_LIMIT + (exponent - LINEAR_EXPONENT) * SUB_BUCKETS + subBucket;
+    }
+
+    // Largest value that falls into the bucket
+    static long highestValueIn(int bucket) {
+        if (bucket < LINEAR_LIMIT) {
+            return bucket;
+        }
+        int exponent = (bucket - LINEAR_LIMIT) / SUB_BUCKETS + LINEAR_EXPONENT;
+        int shift = exponent - SUB_BUCKET_BITS;
+        long lowest = (long) (SUB_BUCKETS + (bucket - LINEAR_LIMIT) % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * Point-in-time copy of a histogram.
+     */
+    public static final class Snapshot {
+
+        private final long[] counts;
+        private final long count;
+        private final long total;
+        private final long max;
+
+        private Snapshot(long[] counts, long count, long total, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.total = total;
+            this.max = max;
+        }
+
+        /**
+         * @return The number of recorded values
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return The mean of the recorded values in nanoseconds (0 when empty)
+         */
+        public double getMean() {
+            return count == 0 ? 0 : (double) total / count;
+        }
+
+        /**
+         * @return The largest recorded value in nanoseconds (0 when empty)
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * @param percentile Between 0 and 100, e.g. 99.9
+         * @return The value at or below which the given share of recorded values fall, in nanoseconds (0 when
+         * empty); reported as the top of its bucket, and never above the recorded maximum
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(highestValueIn(i), max);
+                }
+            }
+            return max;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.bloodbank.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-method call counts, error counts, SQL statement counts and latency histograms for the service and DAO layers.
+ *
+ * <pre>
+ * DonorDAO donorDao = MethodMetrics.instrument(DonorDAO.class, new DonorDAOImpl());
+ * ...
+ * System.out.println(MethodMetrics.report());
+ * </pre>
+ *
+ * {@link #instrument(Class, Object)} wraps an implementation in a dynamic proxy that times every interface method.
+ * A call counts as an error when it throws, or when the DAO layer catches and prints a failure during the call
+ * (see {@link #markFailed()}), since most DAO methods report failures by returning null or -1. The SQL statements
+ * a call makes are those Hibernate prepares on the calling thread while it runs (see {@link SqlStatistics}); a
+ * list method whose statements per call grow with the size of the list is loading rows one by one.
+ *
+ * <p>Recording takes no lock and allocates nothing: the per-method entries are created when the proxy is built,
+ * and each call only bumps atomic counters (the proxy mechanism itself still boxes the arguments). Recording can
+ * be switched off with {@code -Dbloodbank.metrics=false}, in which case instrument() returns the target as is.
+ */
+public final class MethodMetrics {
+
+    public static final String ENABLED_PROPERTY = "bloodbank.metrics"; // Set to false to skip instrumentation
+
+    private static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty(ENABLED_PROPERTY, "true").trim());
+
+    // Every instrumented method, keyed by "Interface.method(ParameterTypes)"; proxies of the same interface share entries
+    private static final ConcurrentMap<String, MethodStats> METHODS = new ConcurrentHashMap<>();
+
+    // Failures caught and printed by the DAO layer on this thread; a call failed if the count moved while it ran
+    private static final ThreadLocal<long[]> FAILURES = ThreadLocal.withInitial(() -> new long[1]);
+
+    private MethodMetrics() {
+    }
+
+    /**
+     * @return false when {@code -Dbloodbank.metrics=false} switched recording off
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Wraps the target so that every call through the interface is counted and timed.
+     * @param type The interface to instrument, e.g. DonorDAO.class
+     * @param target The implementation to delegate to
+     * @return A proxy implementing the interface (the target itself when metrics are disabled)
+     */
+    public static <T> T instrument(Class<T> type, T target) {
+        if (!ENABLED) {
+            return target;
+        }
+        // Resolving each method's entry once, so the call path is a plain map lookup
+        Map<Method, MethodStats> stats = new HashMap<>();
+        for (Method method : type.getMethods()) {
+            String name = type.getSimpleName() + "." + method.getName() + parameterList(method);
+            stats.put(method, METHODS.computeIfAbsent(name, MethodStats::new));
+        }
+        InvocationHandler handler = (proxy, method, args) -> {
+            MethodStats entry = stats.get(method);
+            if (entry == null) {
+                return method.invoke(target, args); // equals, hashCode and toString are not measured
+            }
+            long[] failures = FAILURES.get();
+            long failuresBefore = failures[0];
+            long statementsBefore = SqlStatistics.currentThreadStatementCount();
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                Object result = method.invoke(target, args);
+                failed = failures[0] != failuresBefore;
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause(); // Callers see the original exception
+            } finally {
+                entry.record(System.nanoTime() - start, failed, SqlStatistics.currentThreadStatementCount() - statementsBefore);
+            }
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler));
+    }
+
+    /**
+     * Marks the instrumented calls running on this thread as failed. Called wherever a failure is caught and
+     * printed instead of being thrown.
+     */
+    public static void markFailed() {
+        FAILURES.get()[0]++;
+    }
+
+    /**
+     * @return A snapshot of every method that has been called at least once, slowest p99 first
+     */
+    public static List<MethodSnapshot> snapshot() {
+        List<MethodSnapshot> snapshots = new ArrayList<>();
+        for (MethodStats stats : METHODS.values()) {
+            if (stats.calls.sum() > 0) {
+                snapshots.add(new MethodSnapshot(stats.name, stats.calls.sum(), stats.errors.sum(), stats.statements.sum(),
+                        stats.latency.snapshot()));
+            }
+        }
+        snapshots.sort((a, b) -> Long.compare(b.p99, a.p99));
+        return snapshots;
+    }
+
+    /**
+     * @return One line per called method with calls, errors, SQL statements per call and latency percentiles in
+     * milliseconds
+     */
+    public static String report() {
+        StringBuilder report = new StringBuilder(String.format("%-60s %9s %7s %10s %9s %9s %9s %9s %9s",
+                "Method", "calls", "errors", "stmts/call", "mean ms", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        for (MethodSnapshot method : snapshot()) {
+            LatencyHistogram.Snapshot latency = method.getLatency();
+            report.append(System.lineSeparator()).append(String.format("%-60s %9d %7d %10.1f %9.3f %9.3f %9.3f %9.3f %9.3f",
+                    method.getName(), method.getCalls(), method.getErrors(), method.getStatementsPerCall(), latency.getMean() / 1e6,
+                    latency.getValueAtPercentile(50) / 1e6, latency.getValueAtPercentile(99) / 1e6,
+                    latency.getValueAtPercentile(99.9) / 1e6, latency.getMax() / 1e6));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Clears the counters of every method.
+     */
+    public static void reset() {
+        for (MethodStats stats : METHODS.values()) {
+            stats.calls.reset();
+            stats.errors.reset();
+            stats.statements.reset();
+            stats.latency.reset();
+        }
+    }
+
+    private static String parameterList(Method method) {
+        StringBuilder parameters = new StringBuilder("(");
+        for (Class<?> parameter : method.getParameterTypes()) {
+            if (parameters.length() > 1) {
+                parameters.append(", ");
+            }
+            parameters.append(parameter.getSimpleName());
+        }
+        return parameters.append(')').toString();
+    }
+
+    // Counters for one interface method
+    private static final class MethodStats {
+
+        private final String name;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder statements = new LongAdder(); // SQL statements prepared during the calls
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        private MethodStats(String name) {
+            this.name = name;
+        }
+
+        private void record(long nanos, boolean failed, long statementCount) {
+            calls.increment();
+            if (failed) {
+                errors.increment();
+            }
+            if (statementCount > 0) {
+                statements.add(statementCount);
+            }
+            latency.record(nanos);
+        }
+    }
+
+    /**
+     * Counters of one method at the time {@link #snapshot()} was called.
+     */
+    public static final class MethodSnapshot {
+
+        private final String name;
+        private final long calls;
+        private final long errors;
+        private final long statements;
+        private final LatencyHistogram.Snapshot latency;
+        private final long p99; // Sort key for snapshot()
+
+        private MethodSnapshot(String name, long calls, long errors, long statements, LatencyHistogram.Snapshot latency) {
+            this.name = name;
+            this.calls = calls;
+            this.errors = errors;
+            this.statements = statements;
+            this.latency = latency;
+            this.p99 = latency.getValueAtPercentile(99);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCalls() {
+            return calls;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        /**
+         * @return The SQL statements prepared during all the calls (0 for the in-memory backend)
+         */
+        public long getStatements() {
+            return statements;
+        }
+
+        public double getStatementsPerCall() {
+            return calls == 0 ? 0 : (double) statements / calls;
+        }
+
+        public LatencyHistogram.Snapshot getLatency() {
+            return latency;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.bloodbank.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Read-only view of the second-level cache hit/miss counters collected by Hibernate
+ * (hibernate.generate_statistics must be enabled in Hibernate.cfg.xml).
+ */
+public final class SecondLevelCacheStatistics {
+
+    private SecondLevelCacheStatistics() {
+    }
+
+    public static long getHitCount() {
+        return statistics().getSecondLevelCacheHitCount();
+    }
+
+    public static long getMissCount() {
+        return statistics().getSecondLevelCacheMissCount();
+    }
+
+    public static long getPutCount() {
+        return statistics().getSecondLevelCachePutCount();
+    }
+
+    /**
+     * @return Statistics for every second-level cache region, keyed by region name (the entity class name)
+     */
+    public static Map<String, CacheRegionStatistics> byRegion() {
+        Statistics statistics = statistics();
+        Map<String, CacheRegionStatistics> regions = new LinkedHashMap<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            regions.put(region, statistics.getDomainDataRegionStatistics(region));
+        }
+        return regions;
+    }
+
+    /**
+     * @return One line per region with hits, misses, puts, hit ratio and cached entry count
+     */
+    public static String report() {
+        StringBuilder report = new StringBuilder("Second-level cache: hits=" + getHitCount()
+                + ", misses=" + getMissCount() + ", puts=" + getPutCount());
+        for (Map.Entry<String, CacheRegionStatistics> region : byRegion().entrySet()) {
+            CacheRegionStatistics stats = region.getValue();
+            long lookups = stats.getHitCount() + stats.getMissCount();
+            report.append(System.lineSeparator())
+                    .append("  ").append(region.getKey())
+                    .append(": hits=").append(stats.getHitCount())
+                    .append(", misses=").append(stats.getMissCount())
+                    .append(", puts=").append(stats.getPutCount())
+                    .append(", hitRatio=").append(lookups == 0 ? "n/a" : String.format("%.1f%%", 100.0 * stats.getHitCount() / lookups));
+            if (stats.getElementCountInMemory() >= 0) { // Negative when the cache provider doesn't report sizes
+                report.append(", entries=").append(stats.getElementCountInMemory());
+            }
+        }
+        return report.toString();
+    }
+
+    private static Statistics statistics() {
+        return HibernateUtil.getSessionFactory().getStatistics();
+    }
+}
@@ -0,0 +1,236 @@
+package com.bloodbank.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.hibernate.stat.internal.StatisticsImpl;
+import org.hibernate.stat.internal.StatisticsInitiator;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.hibernate.stat.spi.StatisticsImplementor;
+import org.jboss.logging.Logger;
+
+/**
+ * SQL statement counts and the slow-query log of the Hibernate backend, on top of Hibernate's own statistics
+ * (hibernate.generate_statistics must be enabled in Hibernate.cfg.xml).
+ *
+ * <ul>
+ * <li>A {@link StatementInspector} counts every SQL statement Hibernate prepares, by kind, both in total and
+ * per thread. {@link MethodMetrics} uses the per-thread count to report statements per service and DAO call,
+ * so a method that issues one query per row (N+1) shows up as a high statements-per-call figure.</li>
+ * <li>Queries slower than {@code -Dbloodbank.sql.slowQueryMillis} (default: the value in Hibernate.cfg.xml)
+ * are logged to the {@value #SLOW_QUERY_LOGGER} category: each HQL query with its execution time and row count,
+ * and, through Hibernate's own slow-query log ({@code org.hibernate.SQL_SLOW}), each SQL statement. 0 turns
+ * the log off.</li>
+ * </ul>
+ *
+ * A JDBC batch is prepared once, so it counts as one statement however many rows it writes.
+ */
+public final class SqlStatistics {
+
+    public static final String SLOW_QUERY_PROPERTY = "bloodbank.sql.slowQueryMillis"; // Overrides the configured threshold
+    public static final String SLOW_QUERY_LOGGER = "com.bloodbank.SQL_SLOW"; // Log category of slow HQL queries
+
+    private static final Logger SLOW_QUERY_LOG = Logger.getLogger(SLOW_QUERY_LOGGER);
+
+    private static final StatementKind[] KINDS = StatementKind.values();
+    private static final LongAdder[] STATEMENTS = new LongAdder[KINDS.length]; // Indexed by StatementKind.ordinal()
+    private static final LongAdder SLOW_QUERIES = new LongAdder();
+
+    // Statements prepared on this thread; MethodMetrics compares it before and after each call
+    private static final ThreadLocal<long[]> THREAD_STATEMENTS = ThreadLocal.withInitial(() -> new long[1]);
+
+    private static volatile long slowQueryMillis;
+
+    static {
+        for (int i = 0; i < STATEMENTS.length; i++) {
+            STATEMENTS[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * The first keyword of a statement.
+     */
+    public enum StatementKind {
+        SELECT, INSERT, UPDATE, DELETE, OTHER
+    }
+
+    private SqlStatistics() {
+    }
+
+    /**
+     * Installs the statement counter and the slow-query log. Must be called before the SessionFactory is built.
+     * @param configuration The configuration loaded from Hibernate.cfg.xml
+     */
+    static void configure(Configuration configuration) {
+        String threshold = System.getProperty(SLOW_QUERY_PROPERTY,
+                configuration.getProperties().getProperty(AvailableSettings.LOG_SLOW_QUERY, "0"));
+        try {
+            slowQueryMillis = Math.max(0, Long.parseLong(threshold.trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Invalid " + SLOW_QUERY_PROPERTY + " '" + threshold + "'; expected milliseconds", e);
+        }
+        configuration.setProperty(AvailableSettings.LOG_SLOW_QUERY, Long.toString(slowQueryMillis));
+        configuration.getProperties().put(AvailableSettings.STATEMENT_INSPECTOR, new Inspector());
+        configuration.getProperties().put(StatisticsInitiator.STATS_BUILDER, new Factory());
+    }
+
+    /**
+     * @return The number of SQL statements prepared since startup (or the last {@link #reset()})
+     */
+    public static long getStatementCount() {
+        long total = 0;
+        for (LongAdder statements : STATEMENTS) {
+            total += statements.sum();
+        }
+        return total;
+    }
+
+    /**
+     * @return The number of statements of one kind prepared since startup (or the last {@link #reset()})
+     */
+    public static long getStatementCount(StatementKind kind) {
+        return STATEMENTS[kind.ordinal()].sum();
+    }
+
+    /**
+     * @return The number of statements prepared by the calling thread since it started; only differences
+     * between two readings are meaningful
+     */
+    public static long currentThreadStatementCount() {
+        return THREAD_STATEMENTS.get()[0];
+    }
+
+    /**
+     * @return The number of HQL queries logged as slow
+     */
+    public static long getSlowQueryCount() {
+        return SLOW_QUERIES.sum();
+    }
+
+    /**
+     * @return The slow-query threshold in milliseconds (0: the log is off)
+     */
+    public static long getSlowQueryThresholdMillis() {
+        return slowQueryMillis;
+    }
+
+    /**
+     * @return Statement counts by kind, the Hibernate counters that reveal lazy loading, and the queries that
+     * took the most time in total
+     */
+    public static String report() {
+        Statistics statistics = statistics();
+        StringBuilder report = new StringBuilder("SQL statements: ").append(getStatementCount());
+        for (StatementKind kind : KINDS) {
+            report.append(", ").append(kind.name().toLowerCase(Locale.ROOT)).append('=').append(getStatementCount(kind));
+        }
+        report.append(System.lineSeparator())
+                .append("  sessions=").append(statistics.getSessionOpenCount())
+                .append(", transactions=").append(statistics.getTransactionCount())
+                .append(", flushes=").append(statistics.getFlushCount())
+                .append(", connections=").append(statistics.getConnectCount())
+                .append(System.lineSeparator())
+                // A fetch is a lazy association or collection initialized by its own query
+                .append("  entity loads=").append(statistics.getEntityLoadCount())
+                .append(", entity fetches=").append(statistics.getEntityFetchCount())
+                .append(", collection loads=").append(statistics.getCollectionLoadCount())
+                .append(", collection fetches=").append(statistics.getCollectionFetchCount())
+                .append(System.lineSeparator())
+                .append("  queries=").append(statistics.getQueryExecutionCount())
+                .append(", slow queries=").append(getSlowQueryCount())
+                .append(" (threshold ").append(slowQueryMillis == 0 ? "off" : slowQueryMillis + " ms").append(')');
+        List<String> queries = new ArrayList<>(List.of(statistics.getQueries()));
+        queries.sort((a, b) -> Long.compare(statistics.getQueryStatistics(b).getExecutionTotalTime(),
+                statistics.getQueryStatistics(a).getExecutionTotalTime()));
+        for (String query : queries.subList(0, Math.min(5, queries.size()))) {
+            QueryStatistics stats = statistics.getQueryStatistics(query);
+            report.append(System.lineSeparator()).append(String.format("  %6d runs %8d ms total %6d ms max  %s",
+                    stats.getExecutionCount(), stats.getExecutionTotalTime(), stats.getExecutionMaxTime(), query));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Clears the statement counts and Hibernate's statistics.
+     */
+    public static void reset() {
+        for (LongAdder statements : STATEMENTS) {
+            statements.reset();
+        }
+        SLOW_QUERIES.reset();
+        statistics().clear();
+    }
+
+    static StatementKind kindOf(String sql) {
+        int start = 0;
+        while (start < sql.length() && (Character.isWhitespace(sql.charAt(start)) || sql.charAt(start) == '(')) {
+            start++;
+        }
+        if (sql.startsWith("/*", start)) { // Hibernate's query comments come first when enabled
+            int end = sql.indexOf("*/", start);
+            return end < 0 ? StatementKind.OTHER : kindOf(sql.substring(end + 2));
+        }
+        for (StatementKind kind : KINDS) {
+            String keyword = kind.name();
+            if (kind != StatementKind.OTHER && sql.regionMatches(true, start, keyword, 0, keyword.length())) {
+                return kind;
+            }
+        }
+        return StatementKind.OTHER;
+    }
+
+    private static Statistics statistics() {
+        return HibernateUtil.getSessionFactory().getStatistics();
+    }
+
+    // Counts each statement as Hibernate prepares it; the SQL itself is passed on unchanged
+    static final class Inspector implements StatementInspector {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS[kindOf(sql).ordinal()].increment();
+            THREAD_STATEMENTS.get()[0]++;
+            return sql;
+        }
+    }
+
+    // Builds the SessionFactory's statistics with the slow HQL log
+    static final class Factory implements StatisticsFactory {
+
+        @Override
+        public StatisticsImplementor buildStatistics(SessionFactoryImplementor sessionFactory) {
+            return new SlowQueryStatistics(sessionFactory);
+        }
+    }
+
+    // Hibernate's statistics, plus a log line for every HQL query that ran longer than the threshold
+    static final class SlowQueryStatistics extends StatisticsImpl {
+
+        private static final long serialVersionUID = 1L;
+
+        SlowQueryStatistics(SessionFactoryImplementor sessionFactory) {
+            super(sessionFactory);
+        }
+
+        @Override
+        public void queryExecuted(String hql, int rows, long time) {
+            super.queryExecuted(hql, rows, time);
+            long threshold = slowQueryMillis;
+            if (threshold > 0 && time >= threshold) {
+                SLOW_QUERIES.increment();
+                SLOW_QUERY_LOG.infof("Slow query: %d ms, %d rows, thread %s. HQL: %s", time, rows,
+                        Thread.currentThread().getName(), hql);
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.bloodbank.util;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.jboss.logging.Logger;
+
+/**
+ * How long each phase of startup took, so boot time can be tracked from release to release.
+ *
+ * <p>Phases are timed where they run ({@link #time}); milestones record how long after JVM start something
+ * became available ({@link #milestone}), e.g. the first menu and the SessionFactory. {@link #report()} lists
+ * both in the order they were recorded; {@link HibernateUtil} logs it to the {@value #LOGGER} category once the
+ * SessionFactory is ready.
+ */
+public final class StartupTimings {
+
+    public static final String LOGGER = "com.bloodbank.STARTUP"; // Log category of the startup report
+
+    static final Logger LOG = Logger.getLogger(LOGGER);
+
+    private static final Map<String, Long> PHASES = new LinkedHashMap<>(); // Phase -> duration in milliseconds
+    private static final Map<String, Long> MILESTONES = new LinkedHashMap<>(); // Milestone -> JVM uptime in milliseconds
+
+    private StartupTimings() {
+    }
+
+    /**
+     * Runs one startup phase and records how long it took.
+     * @param phase The name shown in the report
+     * @param work The phase
+     * @return Whatever the work returns
+     */
+    public static <T> T time(String phase, Supplier<T> work) {
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            synchronized (PHASES) {
+                PHASES.put(phase, millis);
+            }
+        }
+    }
+
+    /**
+     * Records that something became available now, as the time since the JVM started.
+     * @param milestone The name shown in the report
+     */
+    public static void milestone(String milestone) {
+        long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+        synchronized (PHASES) {
+            MILESTONES.putIfAbsent(milestone, uptime);
+        }
+    }
+
+    /**
+     * @return The phases recorded so far with their durations, then the milestones with their time since JVM start
+     */
+    public static String report() {
+        StringBuilder report = new StringBuilder("Startup phases:");
+        synchronized (PHASES) {
+            if (PHASES.isEmpty() && MILESTONES.isEmpty()) {
+                return report.append(" none recorded").toString();
+            }
+            PHASES.forEach((phase, millis) -> report.append(System.lineSeparator())
+                    .append(String.format("  %-36s %8d ms", phase, millis)));
+            MILESTONES.forEach((milestone, uptime) -> report.append(System.lineSeparator())
+                    .append(String.format("  %-36s %8d ms after JVM start", milestone, uptime)));
+        }
+        return report.toString();
+    }
+}
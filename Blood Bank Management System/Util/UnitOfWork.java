@@ -0,0 +1,126 @@
+package com.bloodbank.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+
+import com.bloodbank.dao.DAOFactory;
+
+/**
+ * Binds one Hibernate Session and one transaction to the current thread for the duration of a
+ * business operation, so that several DAO calls share a single connection checkout and commit.
+ *
+ * <pre>
+ * Blood saved = UnitOfWork.execute(() -&gt; {
+ *     BloodBank bank = bloodBankService.getBloodBankById(bankId);
+ *     Donor donor = donorService.getDonorById(donorId);
+ *     ...
+ *     bloodService.saveBlood(blood);
+ *     return blood;
+ * });
+ * </pre>
+ *
+ * DAO methods called inside the block join the bound transaction instead of opening their own.
+ * Nested calls join the outer unit of work. Any runtime exception rolls the whole unit back and is
+ * rethrown to the caller.
+ *
+ * <p>With the in-memory backend ({@link DAOFactory.Backend#MEMORY}) there is no session: the work runs
+ * directly, each DAO call is applied as it is made, and DAO failures are rethrown to the caller as they
+ * are inside a Hibernate unit of work, but earlier calls are not undone.
+ */
+public final class UnitOfWork {
+
+    private static final ThreadLocal<Session> CURRENT = new ThreadLocal<>(); // Session bound to the running unit of work
+    private static final ThreadLocal<Boolean> NON_TRANSACTIONAL = new ThreadLocal<>(); // Set while in-memory work runs
+    private static final ThreadLocal<List<Runnable>> AFTER_COMMIT = new ThreadLocal<>(); // Actions waiting for the commit
+
+    private UnitOfWork() {
+    }
+
+    /**
+     * Runs the work in a single session and transaction, committing when it returns normally.
+     * @param work The business operation to run
+     * @return Whatever the work returns
+     */
+    public static <T> T execute(Supplier<T> work) {
+        if (isActive()) {
+            return work.get(); // Already inside a unit of work: join it
+        }
+        if (DAOFactory.getBackend() != DAOFactory.Backend.HIBERNATE) {
+            NON_TRANSACTIONAL.set(Boolean.TRUE);
+            try {
+                return work.get();
+            } finally {
+                NON_TRANSACTIONAL.remove();
+            }
+        }
+        Session session = HibernateUtil.getSessionFactory().openSession();
+        Transaction transaction = null;
+        CURRENT.set(session);
+        AFTER_COMMIT.set(new ArrayList<>());
+        List<Runnable> afterCommit;
+        T result;
+        try {
+            transaction = session.beginTransaction();
+            result = work.get();
+            transaction.commit();
+            afterCommit = AFTER_COMMIT.get();
+        } catch (RuntimeException e) {
+            if (transaction != null && transaction.isActive()) {
+                transaction.rollback(); // Undo every DAO call made in this unit of work
+            }
+            throw e;
+        } finally {
+            CURRENT.remove();
+            AFTER_COMMIT.remove(); // Dropped on rollback
+            session.close();
+        }
+        for (Runnable action : afterCommit) {
+            action.run();
+        }
+        return result;
+    }
+
+    /**
+     * Runs the work in a single session and transaction, committing when it returns normally.
+     * @param work The business operation to run
+     */
+    public static void run(Runnable work) {
+        execute(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs the action once the current unit of work has committed, or at once when the change it follows is
+     * already applied: outside a unit of work, and with the in-memory backend. Nothing runs if the unit rolls
+     * back. Used to keep in-memory state (such as the inventory index) in line with what was committed.
+     * @param action The action to run after the commit
+     */
+    public static void afterCommit(Runnable action) {
+        List<Runnable> pending = AFTER_COMMIT.get();
+        if (pending != null) {
+            pending.add(action);
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * @return The session bound to the current thread's unit of work, or null when none is active
+     */
+    public static Session currentSession() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @return true when the current thread is running inside a unit of work
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null || NON_TRANSACTIONAL.get() != null;
+    }
+}
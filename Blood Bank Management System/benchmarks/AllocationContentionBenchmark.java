@@ -0,0 +1,129 @@
+package com.bloodbank.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bloodbank.entity.Blood;
+
+/**
+ * allocateUnits from {@value #ISSUERS} issuers at once, all drawing on one blood bank (the worst case).
+ *
+ * <p>Before each iteration a new bank is stocked, outside the measurement, with exactly the units the iteration's
+ * calls ask for ({@value #ISSUERS} threads x {@value #BATCH_SIZE} calls x unitsPerCall), all O- so any patient can
+ * receive them, with expiry dates spread over the shelf life. Every issuer wants the same earliest-expiring units;
+ * with SKIP LOCKED each passes over the ones another has locked instead of waiting for its commit. Each reported
+ * score is the time one issuer took for its batch.
+ *
+ * <p>After every iteration the run fails if a unit was handed out twice or if the units assigned in the database
+ * differ from the ones reported. Calls that got fewer units than they asked for (the rest were locked by other
+ * issuers at that moment) are printed; the units they missed stay in stock.
+ *
+ * <p>With the hibernate backend, give the connection pool one connection per issuer
+ * ({@code -jvmArgsAppend -Dbloodbank.pool.maximumPoolSize=32}), or the issuers queue for connections instead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, batchSize = AllocationContentionBenchmark.BATCH_SIZE)
+@Measurement(iterations = 5, batchSize = AllocationContentionBenchmark.BATCH_SIZE)
+@Threads(AllocationContentionBenchmark.ISSUERS)
+@Fork(1)
+public class AllocationContentionBenchmark {
+
+    static final int ISSUERS = 32;
+    static final int BATCH_SIZE = 50; // Calls per issuer per iteration; -bs must not be larger
+
+    private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    @Param({ "hibernate", "memory" })
+    public String backend;
+
+    @Param({ "1", "4" })
+    public int unitsPerCall;
+
+    private String bloodBankId;
+    private final Set<String> allocated = ConcurrentHashMap.newKeySet(); // Every unit handed out this iteration
+    private final LongAdder shortCalls = new LongAdder();
+
+    @Setup
+    public void setUp() {
+        BenchmarkStack.start(backend);
+    }
+
+    @Setup(Level.Iteration)
+    public void stockBloodBank() {
+        int stock = ISSUERS * BATCH_SIZE * unitsPerCall;
+        bloodBankId = EntityFixture.BloodBank.id(EntityFixture.BloodBank.next());
+        BenchmarkStack.bloodBankService.saveBloodBank(BenchmarkStack.bloodBank(bloodBankId, stock));
+        List<Blood> units = new ArrayList<>(stock);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < stock; i++) {
+            Blood unit = EntityFixture.blood(EntityFixture.Blood.next(), bloodBankId);
+            unit.setBloodGroup("O-");
+            unit.setCollectedAt(new Date(now - (i % Blood.SHELF_LIFE_DAYS) * DAY_MILLIS));
+            unit.setExpiresAt(Blood.expiryFor(unit.getCollectedAt()));
+            units.add(unit);
+        }
+        if (BenchmarkStack.bloodService.saveAll(units) != stock) {
+            throw new IllegalStateException("Could not stock blood bank " + bloodBankId);
+        }
+        allocated.clear();
+        shortCalls.reset();
+    }
+
+    @TearDown(Level.Iteration)
+    public void checkAllocations() {
+        int assigned = 0;
+        for (Blood unit : BenchmarkStack.bloodService.getBloodByBloodBankId(bloodBankId)) {
+            if (unit.getReceivedBy() != null) {
+                assigned++;
+            }
+        }
+        if (assigned != allocated.size()) {
+            throw new IllegalStateException(assigned + " units are assigned in the database, " + allocated.size() + " were reported");
+        }
+        if (shortCalls.sum() > 0) {
+            System.out.printf("%n%d calls got fewer than %d units; %d units left in stock%n", shortCalls.sum(), unitsPerCall,
+                    ISSUERS * BATCH_SIZE * unitsPerCall - assigned);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkStack.stop();
+    }
+
+    @Benchmark
+    public int allocateUnits() {
+        List<String> units = BenchmarkStack.allocationService.allocateUnits(BenchmarkStack.PATIENT_ID, bloodBankId, unitsPerCall);
+        for (String bloodId : units) {
+            if (!allocated.add(bloodId)) {
+                throw new IllegalStateException(bloodId + " was allocated twice");
+            }
+        }
+        if (units.size() < unitsPerCall) {
+            shortCalls.increment();
+        }
+        return units.size();
+    }
+}
@@ -0,0 +1,195 @@
+package com.bloodbank.benchmarks;
+
+import java.util.Date;
+
+import com.bloodbank.dao.DAOFactory;
+import com.bloodbank.entity.BloodBank;
+import com.bloodbank.entity.Donor;
+import com.bloodbank.entity.EmployeeTeam;
+import com.bloodbank.entity.Patient;
+import com.bloodbank.service.AdminService;
+import com.bloodbank.service.AllocationService;
+import com.bloodbank.service.BloodBankService;
+import com.bloodbank.service.BloodService;
+import com.bloodbank.service.DonorService;
+import com.bloodbank.service.EmployeeTeamService;
+import com.bloodbank.service.HospitalService;
+import com.bloodbank.service.PatientService;
+import com.bloodbank.service.impl.AdminServiceImpl;
+import com.bloodbank.service.impl.AllocationServiceImpl;
+import com.bloodbank.service.impl.BloodBankServiceImpl;
+import com.bloodbank.service.impl.BloodServiceImpl;
+import com.bloodbank.service.impl.DonorServiceImpl;
+import com.bloodbank.service.impl.EmployeeTeamServiceImpl;
+import com.bloodbank.service.impl.HospitalServiceImpl;
+import com.bloodbank.service.impl.PatientServiceImpl;
+import com.bloodbank.util.DatabaseProfile;
+import com.bloodbank.util.MethodMetrics;
+
+/**
+ * The services the benchmarks call, wired the way AllOperations wires them: each service over the DAO that
+ * DAOFactory creates for the selected backend, so every measured call goes through the service and the DAO.
+ *
+ * <p>The backend and the database are chosen with system properties that are read once per JVM, which is
+ * why the benchmarks must run forked (JMH's default): each benchmark and parameter combination gets a fresh
+ * JVM and a fresh, empty in-memory database. Unless set on the command line:
+ * <ul>
+ * <li>{@code bloodbank.db} defaults to h2, so no database server is needed;</li>
+ * <li>{@code bloodbank.metrics} defaults to false, so the numbers measure the DAOs rather than the call
+ * statistics proxy (run with {@code -jvmArgsAppend -Dbloodbank.metrics=true} to include it).</li>
+ * </ul>
+ *
+ * Every benchmark starts from the same parent rows: employee E0 registers the donors and patients, and
+ * blood bank B0 stores the blood units and is contacted by the hospitals.
+ */
+final class BenchmarkStack {
+
+    static final String EMPLOYEE_ID = "E0";
+    static final String BLOOD_BANK_ID = "B0";
+    static final String DONOR_ID = "D0";
+    static final String PATIENT_ID = "P0";
+
+    static final String[] BLOOD_GROUPS = { "A+", "A-", "B+", "B-", "AB+", "AB-", "O+", "O-" };
+
+    private static String startedBackend;
+
+    static AdminService adminService;
+    static AllocationService allocationService;
+    static BloodBankService bloodBankService;
+    static BloodService bloodService;
+    static DonorService donorService;
+    static EmployeeTeamService employeeTeamService;
+    static HospitalService hospitalService;
+    static PatientService patientService;
+
+    private BenchmarkStack() {
+    }
+
+    /**
+     * Selects the backend, builds the services and inserts the parent rows. Later calls with the same backend
+     * do nothing.
+     * @param backend hibernate or memory
+     * @throws IllegalStateException if this JVM already runs another backend (the benchmark was not forked)
+     */
+    static synchronized void start(String backend) {
+        if (startedBackend != null) {
+            if (!startedBackend.equals(backend)) {
+                throw new IllegalStateException("This JVM already runs the " + startedBackend
+                        + " backend; run the benchmarks with forks > 0");
+            }
+            return;
+        }
+        System.setProperty(DAOFactory.BACKEND_PROPERTY, backend);
+        if (System.getProperty(DatabaseProfile.PROFILE_PROPERTY) == null) {
+            System.setProperty(DatabaseProfile.PROFILE_PROPERTY, DatabaseProfile.H2.name());
+        }
+        if (System.getProperty(MethodMetrics.ENABLED_PROPERTY) == null) {
+            System.setProperty(MethodMetrics.ENABLED_PROPERTY, "false");
+        }
+        if (!DAOFactory.getBackend().name().equalsIgnoreCase(backend)) {
+            throw new IllegalStateException("DAOFactory was initialized before the benchmark selected " + backend);
+        }
+
+        adminService = new AdminServiceImpl(DAOFactory.adminDAO());
+        bloodBankService = new BloodBankServiceImpl(DAOFactory.bloodBankDAO());
+        bloodService = new BloodServiceImpl(DAOFactory.bloodDAO());
+        donorService = new DonorServiceImpl(DAOFactory.donorDAO());
+        employeeTeamService = new EmployeeTeamServiceImpl(DAOFactory.employeeTeamDAO());
+        hospitalService = new HospitalServiceImpl(DAOFactory.hospitalDAO());
+        patientService = new PatientServiceImpl(DAOFactory.patientDAO());
+        allocationService = new AllocationServiceImpl(DAOFactory.patientDAO(), DAOFactory.bloodDAO(), DAOFactory.bloodBankDAO());
+
+        employeeTeamService.saveEmployeeTeam(employeeTeam(EMPLOYEE_ID, 0));
+        bloodBankService.saveBloodBank(bloodBank(BLOOD_BANK_ID, 0));
+        donorService.saveDonor(donor(DONOR_ID, 0));
+        patientService.savePatient(patient(PATIENT_ID, 0));
+        if (bloodBankService.getBloodBankById(BLOOD_BANK_ID) == null) {
+            throw new IllegalStateException("Could not insert the benchmark parent rows");
+        }
+        startedBackend = backend;
+    }
+
+    /**
+     * Closes the SessionFactory and connection pool (nothing for the memory backend).
+     */
+    static synchronized void stop() {
+        if (startedBackend != null) {
+            DAOFactory.shutdown();
+        }
+    }
+
+    // ===== Rows with every required column set; number makes the unique columns unique =====
+
+    static EmployeeTeam employeeTeam(String empId, int number) {
+        EmployeeTeam employeeTeam = new EmployeeTeam();
+        employeeTeam.setEmpId(empId);
+        employeeTeam.setEmpName("Employee " + number);
+        employeeTeam.setContactNo(contactNumber(number));
+        return employeeTeam;
+    }
+
+    static BloodBank bloodBank(String bloodBankId, int quantity) {
+        BloodBank bloodBank = new BloodBank();
+        bloodBank.setBloodBankId(bloodBankId);
+        bloodBank.setBloodId("B0");
+        bloodBank.setName("Blood Bank " + bloodBankId);
+        bloodBank.setLocation("Pune");
+        bloodBank.setAvailableBloodGroups("A+,B+,O+");
+        bloodBank.setQuantity(quantity);
+        return bloodBank;
+    }
+
+    static Donor donor(String donorId, int number) {
+        Donor donor = new Donor();
+        donor.setDonorId(donorId);
+        donor.setDonorName("Donor " + number);
+        donor.setDonorGender(number % 2 == 0 ? "Female" : "Male");
+        donor.setContactNo(contactNumber(number));
+        donor.setAge(18 + number % 60);
+        donor.setBloodGroup(BLOOD_GROUPS[number % BLOOD_GROUPS.length]);
+        donor.setDateOfDonation(new Date());
+        donor.setRegisteredBy(employeeReference());
+        return donor;
+    }
+
+    static Patient patient(String patientId, int number) {
+        Patient patient = new Patient();
+        patient.setPatientId(patientId);
+        patient.setPatientName("Patient " + number);
+        patient.setPatientGender(number % 2 == 0 ? "Male" : "Female");
+        patient.setContactNo(contactNumber(number));
+        patient.setBloodGroup(BLOOD_GROUPS[number % BLOOD_GROUPS.length]);
+        patient.setDateOfIntake(new Date());
+        patient.setRegisteredBy(employeeReference());
+        return patient;
+    }
+
+    // Detached references to the parent rows, as a caller that only knows the ids would pass them
+    static EmployeeTeam employeeReference() {
+        EmployeeTeam employeeTeam = new EmployeeTeam();
+        employeeTeam.setEmpId(EMPLOYEE_ID);
+        return employeeTeam;
+    }
+
+    static BloodBank bloodBankReference(String bloodBankId) {
+        BloodBank bloodBank = new BloodBank();
+        bloodBank.setBloodBankId(bloodBankId);
+        return bloodBank;
+    }
+
+    static Donor donorReference() {
+        Donor donor = new Donor();
+        donor.setDonorId(DONOR_ID);
+        return donor;
+    }
+
+    static Patient patientReference() {
+        Patient patient = new Patient();
+        patient.setPatientId(PATIENT_ID);
+        return patient;
+    }
+
+    private static String contactNumber(int number) {
+        return String.format("9%09d", number); // 10 digits
+    }
+}
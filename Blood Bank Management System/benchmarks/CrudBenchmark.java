@@ -0,0 +1,75 @@
+package com.bloodbank.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Single-row reads and updates by id, for every entity and both backends.
+ *
+ * <p>Each operation picks one of the seeded rows at random, so with the Hibernate backend the numbers include
+ * the second-level cache for the cached entities and a database round trip for the others.
+ *
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar CrudBenchmark -p entity=Donor,Blood
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CrudBenchmark {
+
+    @Param({ "hibernate", "memory" })
+    public String backend;
+
+    @Param({ "Admin", "BloodBank", "Blood", "Donor", "EmployeeTeam", "Hospital", "Patient" })
+    public EntityFixture entity;
+
+    @Param({ "1000" })
+    public int rows;
+
+    private int[] numbers; // Row numbers of the seeded rows
+    private String[] ids;
+
+    @Setup
+    public void setUp() {
+        BenchmarkStack.start(backend);
+        List<Integer> seeded = entity.seed(rows);
+        numbers = seeded.stream().mapToInt(Integer::intValue).toArray();
+        ids = new String[numbers.length];
+        for (int i = 0; i < numbers.length; i++) {
+            ids[i] = entity.id(numbers[i]);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkStack.stop();
+    }
+
+    @Benchmark
+    public Object getById() {
+        return entity.get(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    public void update() {
+        entity.update(numbers[ThreadLocalRandom.current().nextInt(numbers.length)]);
+    }
+}
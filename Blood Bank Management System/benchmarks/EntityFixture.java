@@ -0,0 +1,297 @@
+package com.bloodbank.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.bloodbank.entity.Admin;
+import com.bloodbank.entity.Blood;
+import com.bloodbank.entity.Donor;
+import com.bloodbank.entity.EmployeeTeam;
+import com.bloodbank.entity.Hospital;
+import com.bloodbank.entity.Patient;
+
+/**
+ * The single-row operations of one entity, so that each benchmark is written once and run for every DAO
+ * with {@code @Param} entity. Rows are numbered: {@link #id(int)} is the id of row n, and {@link #next()}
+ * hands out numbers that no other row of the entity has used in this JVM, which keeps the ids and the
+ * unique contact numbers of new rows unique.
+ *
+ * <p>Public because the code JMH generates for the benchmarks sets the parameter.
+ */
+public enum EntityFixture {
+
+    Admin("A") {
+        @Override
+        Object get(String id) {
+            return BenchmarkStack.adminService.getAdminById(id);
+        }
+
+        @Override
+        void save(int number) {
+            BenchmarkStack.adminService.saveAdmin(admin(number, "Pune"));
+        }
+
+        @Override
+        void update(int number) {
+            BenchmarkStack.adminService.updateAdmin(admin(number, "Mumbai"));
+        }
+
+        @Override
+        void delete(String id) {
+            BenchmarkStack.adminService.deleteAdmin(id);
+        }
+
+        @Override
+        List<?> getAll() {
+            return BenchmarkStack.adminService.getAllAdmins();
+        }
+
+        private Admin admin(int number, String location) {
+            Admin admin = new Admin();
+            admin.setAdminId(id(number));
+            admin.setAdminName("Admin " + number);
+            admin.setLocation(location);
+            admin.setContactNumber(String.format("8%09d", number));
+            return admin;
+        }
+    },
+
+    BloodBank("B") {
+        @Override
+        Object get(String id) {
+            return BenchmarkStack.bloodBankService.getBloodBankById(id);
+        }
+
+        @Override
+        void save(int number) {
+            BenchmarkStack.bloodBankService.saveBloodBank(BenchmarkStack.bloodBank(id(number), 0));
+        }
+
+        @Override
+        void update(int number) {
+            BenchmarkStack.bloodBankService.updateBloodBank(BenchmarkStack.bloodBank(id(number), number % 100));
+        }
+
+        @Override
+        void delete(String id) {
+            BenchmarkStack.bloodBankService.deleteBloodBank(id);
+        }
+
+        @Override
+        List<?> getAll() {
+            return BenchmarkStack.bloodBankService.getAllBloodBanks();
+        }
+    },
+
+    Blood("B") {
+        @Override
+        Object get(String id) {
+            return BenchmarkStack.bloodService.getBloodById(id);
+        }
+
+        @Override
+        void save(int number) {
+            BenchmarkStack.bloodService.saveBlood(blood(number, BenchmarkStack.BLOOD_BANK_ID));
+        }
+
+        @Override
+        void update(int number) {
+            Blood blood = blood(number, BenchmarkStack.BLOOD_BANK_ID);
+            blood.setBloodGroup(BenchmarkStack.BLOOD_GROUPS[(number + 1) % BenchmarkStack.BLOOD_GROUPS.length]);
+            BenchmarkStack.bloodService.updateBlood(blood);
+        }
+
+        @Override
+        void delete(String id) {
+            BenchmarkStack.bloodService.deleteBlood(id);
+        }
+
+        @Override
+        List<?> getAll() {
+            return BenchmarkStack.bloodService.getAllBlood();
+        }
+    },
+
+    Donor("D") {
+        @Override
+        Object get(String id) {
+            return BenchmarkStack.donorService.getDonorById(id);
+        }
+
+        @Override
+        void save(int number) {
+            BenchmarkStack.donorService.saveDonor(BenchmarkStack.donor(id(number), number));
+        }
+
+        @Override
+        void update(int number) {
+            Donor donor = BenchmarkStack.donor(id(number), number);
+            donor.setDonorAddress("Address " + number);
+            BenchmarkStack.donorService.updateDonor(donor);
+        }
+
+        @Override
+        void delete(String id) {
+            BenchmarkStack.donorService.deleteDonor(id);
+        }
+
+        @Override
+        List<?> getAll() {
+            return BenchmarkStack.donorService.getAllDonors();
+        }
+    },
+
+    EmployeeTeam("E") {
+        @Override
+        Object get(String id) {
+            return BenchmarkStack.employeeTeamService.getEmployeeTeamById(id);
+        }
+
+        @Override
+        void save(int number) {
+            BenchmarkStack.employeeTeamService.saveEmployeeTeam(BenchmarkStack.employeeTeam(id(number), number));
+        }
+
+        @Override
+        void update(int number) {
+            EmployeeTeam employeeTeam = BenchmarkStack.employeeTeam(id(number), number);
+            employeeTeam.setEmpName("Employee " + number + " (updated)");
+            BenchmarkStack.employeeTeamService.updateEmployeeTeam(employeeTeam);
+        }
+
+        @Override
+        void delete(String id) {
+            BenchmarkStack.employeeTeamService.deleteEmployeeTeam(id);
+        }
+
+        @Override
+        List<?> getAll() {
+            return BenchmarkStack.employeeTeamService.getAllEmployeeTeams();
+        }
+    },
+
+    Hospital("H") {
+        @Override
+        Object get(String id) {
+            return BenchmarkStack.hospitalService.getHospitalById(id);
+        }
+
+        @Override
+        void save(int number) {
+            BenchmarkStack.hospitalService.saveHospital(hospital(number, "Pune"));
+        }
+
+        @Override
+        void update(int number) {
+            BenchmarkStack.hospitalService.updateHospital(hospital(number, "Mumbai"));
+        }
+
+        @Override
+        void delete(String id) {
+            BenchmarkStack.hospitalService.deleteHospital(id);
+        }
+
+        @Override
+        List<?> getAll() {
+            return BenchmarkStack.hospitalService.getAllHospitals();
+        }
+
+        private Hospital hospital(int number, String location) {
+            Hospital hospital = new Hospital();
+            hospital.setHospitalId(id(number));
+            hospital.setHospitalName("Hospital " + number);
+            hospital.setLocation(location);
+            hospital.setContactedBloodBank(BenchmarkStack.bloodBankReference(BenchmarkStack.BLOOD_BANK_ID));
+            return hospital;
+        }
+    },
+
+    Patient("P") {
+        @Override
+        Object get(String id) {
+            return BenchmarkStack.patientService.getPatientById(id);
+        }
+
+        @Override
+        void save(int number) {
+            BenchmarkStack.patientService.savePatient(BenchmarkStack.patient(id(number), number));
+        }
+
+        @Override
+        void update(int number) {
+            Patient patient = BenchmarkStack.patient(id(number), number);
+            patient.setPatientAddress("Address " + number);
+            BenchmarkStack.patientService.updatePatient(patient);
+        }
+
+        @Override
+        void delete(String id) {
+            BenchmarkStack.patientService.deletePatient(id);
+        }
+
+        @Override
+        List<?> getAll() {
+            return BenchmarkStack.patientService.getAllPatients();
+        }
+    };
+
+    private final String prefix;
+    private final AtomicInteger lastNumber = new AtomicInteger(); // Row 0 is reserved for the parent rows
+
+    EntityFixture(String prefix) {
+        this.prefix = prefix;
+    }
+
+    /**
+     * @return The id of row number n, e.g. D42
+     */
+    String id(int number) {
+        return prefix + number;
+    }
+
+    /**
+     * @return A row number no row of this entity has used yet
+     */
+    int next() {
+        return lastNumber.incrementAndGet();
+    }
+
+    /**
+     * Inserts rows through the service, as a caller would.
+     * @return The numbers of the inserted rows
+     */
+    List<Integer> seed(int rows) {
+        List<Integer> numbers = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            int number = next();
+            save(number);
+            numbers.add(number);
+        }
+        if (get(id(numbers.get(numbers.size() - 1))) == null) {
+            throw new IllegalStateException("Could not insert the " + name() + " benchmark rows");
+        }
+        return numbers;
+    }
+
+    abstract Object get(String id);
+
+    abstract void save(int number);
+
+    // Replaces row n with a copy that differs in one non-key column, like an edit form submitting the whole row
+    abstract void update(int number);
+
+    abstract void delete(String id);
+
+    abstract List<?> getAll();
+
+    // A blood unit stored in the bank, donated by D0, cycling through the blood groups
+    static Blood blood(int number, String bloodBankId) {
+        Blood blood = new Blood();
+        blood.setBloodId("B" + number);
+        blood.setBloodGroup(BenchmarkStack.BLOOD_GROUPS[number % BenchmarkStack.BLOOD_GROUPS.length]);
+        blood.setStoredIn(BenchmarkStack.bloodBankReference(bloodBankId));
+        blood.setDonatedBy(BenchmarkStack.donorReference());
+        return blood;
+    }
+}
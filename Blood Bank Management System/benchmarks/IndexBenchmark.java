@@ -0,0 +1,315 @@
+package com.bloodbank.benchmarks;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import com.bloodbank.entity.Blood;
+import com.bloodbank.entity.Donor;
+import com.bloodbank.entity.Hospital;
+import com.bloodbank.entity.Patient;
+
+/**
+ * Shows the query plans and latencies of the hot lookup queries with and without the secondary indexes
+ * declared in the entity {@code @Table} mappings.
+ *
+ * <p>Loads a synthetic dataset (10M blood units by default) into a separate benchmark schema, runs every
+ * query without the indexes, creates the indexes read from the entity annotations, and runs the queries
+ * again. For each query it prints the EXPLAIN plan and the median and p95 latency of both runs.
+ *
+ * <pre>
+ * java -cp &lt;application classes, jakarta.persistence-api, mysql-connector-j&gt; \
+ *      -Dbench.url=jdbc:mysql://localhost:3306/bloodbank_bench -Dbench.user=root -Dbench.password=... \
+ *      -Dbench.rows=10000000 com.bloodbank.benchmarks.IndexBenchmark
+ * </pre>
+ *
+ * The benchmark tables have no foreign keys, so the indexes can be dropped and recreated freely.
+ * Set -Dbench.reload=false to reuse the tables loaded by a previous run.
+ */
+public class IndexBenchmark {
+
+    private static final String[] BLOOD_GROUPS = { "A+", "A-", "B+", "B-", "AB+", "AB-", "O+", "O-" };
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+    private static final int BATCH_SIZE = 5_000;
+
+    private final Connection connection;
+    private final long rows;
+    private final int banks;
+    private final long people;
+    private final int samples;
+    private final Random random = new Random(42); // Fixed seed so runs are comparable
+
+    private IndexBenchmark(Connection connection, long rows, int samples) {
+        this.connection = connection;
+        this.rows = rows;
+        this.banks = (int) Math.max(10, rows / 10_000);
+        this.people = Math.max(100, rows / 10);
+        this.samples = samples;
+    }
+
+    public static void main(String[] args) throws SQLException {
+        String url = System.getProperty("bench.url",
+                "jdbc:mysql://localhost:3306/bloodbank_bench?createDatabaseIfNotExist=true&rewriteBatchedStatements=true");
+        try (Connection connection = DriverManager.getConnection(url,
+                System.getProperty("bench.user", "root"), System.getProperty("bench.password", ""))) {
+            IndexBenchmark benchmark = new IndexBenchmark(connection,
+                    Long.getLong("bench.rows", 10_000_000L), Integer.getInteger("bench.samples", 50));
+            if (Boolean.parseBoolean(System.getProperty("bench.reload", "true"))) {
+                benchmark.load();
+            }
+            benchmark.run();
+        }
+    }
+
+    // One query under test, with a generator for its random parameter values
+    private interface ParameterSource {
+        Object[] next();
+    }
+
+    private static final class Scenario {
+        final String name;
+        final String sql;
+        final ParameterSource parameters;
+
+        Scenario(String name, String sql, ParameterSource parameters) {
+            this.name = name;
+            this.sql = sql;
+            this.parameters = parameters;
+        }
+    }
+
+    private List<Scenario> scenarios() {
+        List<Scenario> scenarios = new ArrayList<>();
+        scenarios.add(new Scenario("blood page by bank",
+                "SELECT blood_id, blood_group, donor_id, patient_id FROM blood WHERE bloodbank_id = ? AND blood_id > ? "
+                        + "ORDER BY blood_id LIMIT 20",
+                () -> new Object[] { bankId(), "B" + (long) (random.nextDouble() * rows) }));
+        scenarios.add(new Scenario("blood count by bank and group",
+                "SELECT COUNT(*) FROM blood WHERE bloodbank_id = ? AND blood_group = ?",
+                () -> new Object[] { bankId(), bloodGroup() }));
+        scenarios.add(new Scenario("blood of a group per bank",
+                "SELECT bloodbank_id, COUNT(*) FROM blood WHERE blood_group = ? GROUP BY bloodbank_id",
+                () -> new Object[] { bloodGroup() }));
+        scenarios.add(new Scenario("blood by donor",
+                "SELECT blood_id FROM blood WHERE donor_id = ?",
+                () -> new Object[] { "D" + random.nextInt((int) people) }));
+        scenarios.add(new Scenario("blood by patient",
+                "SELECT blood_id FROM blood WHERE patient_id = ?",
+                () -> new Object[] { "P" + random.nextInt((int) people) }));
+        scenarios.add(new Scenario("eligible donors of a group",
+                "SELECT donor_id FROM donor WHERE blood_group = ? AND date_of_donation < ? LIMIT 100",
+                () -> new Object[] { bloodGroup(), new java.sql.Date(System.currentTimeMillis() - 90 * DAY_MILLIS) }));
+        scenarios.add(new Scenario("donations in a week",
+                "SELECT COUNT(*) FROM donor WHERE date_of_donation BETWEEN ? AND ?",
+                () -> {
+                    long from = System.currentTimeMillis() - random.nextInt(700) * DAY_MILLIS;
+                    return new Object[] { new java.sql.Date(from), new java.sql.Date(from + 7 * DAY_MILLIS) };
+                }));
+        scenarios.add(new Scenario("patients of a group",
+                "SELECT patient_id FROM patient WHERE blood_group = ? LIMIT 100",
+                () -> new Object[] { bloodGroup() }));
+        scenarios.add(new Scenario("hospitals of a bank",
+                "SELECT hospital_id, hospital_name FROM hospital WHERE bloodbank_id = ?",
+                () -> new Object[] { bankId() }));
+        return scenarios;
+    }
+
+    private String bankId() {
+        return "BB" + random.nextInt(banks);
+    }
+
+    private String bloodGroup() {
+        return BLOOD_GROUPS[random.nextInt(BLOOD_GROUPS.length)];
+    }
+
+    // ===== Dataset =====
+
+    private void load() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String table : new String[] { "blood", "donor", "patient", "hospital" }) {
+                statement.execute("DROP TABLE IF EXISTS " + table);
+            }
+            // Same columns as the Hibernate mappings, without foreign keys and secondary indexes
+            statement.execute("CREATE TABLE blood (blood_id VARCHAR(20) PRIMARY KEY, blood_group VARCHAR(10) NOT NULL, "
+                    + "bloodbank_id VARCHAR(20) NOT NULL, donor_id VARCHAR(20), patient_id VARCHAR(20))");
+            statement.execute("CREATE TABLE donor (donor_id VARCHAR(20) PRIMARY KEY, donor_name VARCHAR(50) NOT NULL, "
+                    + "blood_group VARCHAR(10) NOT NULL, date_of_donation DATE, emp_id VARCHAR(20) NOT NULL)");
+            statement.execute("CREATE TABLE patient (patient_id VARCHAR(20) PRIMARY KEY, patient_name VARCHAR(50) NOT NULL, "
+                    + "blood_group VARCHAR(10) NOT NULL, date_of_intake DATE, emp_id VARCHAR(20) NOT NULL)");
+            statement.execute("CREATE TABLE hospital (hospital_id VARCHAR(20) PRIMARY KEY, hospital_name VARCHAR(100) NOT NULL, "
+                    + "location VARCHAR(255) NOT NULL, bloodbank_id VARCHAR(20) NOT NULL)");
+        }
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            long now = System.currentTimeMillis();
+            insert("INSERT INTO donor VALUES (?, ?, ?, ?, ?)", people, (ps, i) -> {
+                ps.setString(1, "D" + i);
+                ps.setString(2, "Donor " + i);
+                ps.setString(3, bloodGroup());
+                ps.setDate(4, new java.sql.Date(now - random.nextInt(730) * DAY_MILLIS));
+                ps.setString(5, "E" + (i % 100));
+            });
+            insert("INSERT INTO patient VALUES (?, ?, ?, ?, ?)", people, (ps, i) -> {
+                ps.setString(1, "P" + i);
+                ps.setString(2, "Patient " + i);
+                ps.setString(3, bloodGroup());
+                ps.setDate(4, new java.sql.Date(now - random.nextInt(730) * DAY_MILLIS));
+                ps.setString(5, "E" + (i % 100));
+            });
+            insert("INSERT INTO hospital VALUES (?, ?, ?, ?)", banks * 5L, (ps, i) -> {
+                ps.setString(1, "H" + i);
+                ps.setString(2, "Hospital " + i);
+                ps.setString(3, "City " + (i % 50));
+                ps.setString(4, "BB" + (i % banks));
+            });
+            insert("INSERT INTO blood VALUES (?, ?, ?, ?, ?)", rows, (ps, i) -> {
+                ps.setString(1, "B" + i);
+                ps.setString(2, bloodGroup());
+                ps.setString(3, bankId());
+                ps.setString(4, "D" + (i % people));
+                ps.setString(5, random.nextInt(4) == 0 ? "P" + random.nextInt((int) people) : null); // A quarter is issued
+            });
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        try (Statement statement = connection.createStatement()) {
+            for (String table : new String[] { "blood", "donor", "patient", "hospital" }) {
+                statement.execute("ANALYZE TABLE " + table);
+            }
+        }
+    }
+
+    private interface RowWriter {
+        void write(PreparedStatement statement, long index) throws SQLException;
+    }
+
+    private void insert(String sql, long count, RowWriter writer) throws SQLException {
+        long start = System.nanoTime();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (long i = 0; i < count; i++) {
+                writer.write(statement, i);
+                statement.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    statement.executeBatch();
+                    connection.commit();
+                }
+            }
+            statement.executeBatch();
+            connection.commit();
+        }
+        System.out.printf("Loaded %,d rows with %s in %,d ms%n", count, sql.substring(0, sql.indexOf('(')).trim(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // ===== Measurement =====
+
+    private void run() throws SQLException {
+        List<Scenario> scenarios = scenarios();
+        setIndexes(false);
+        long[][] without = new long[scenarios.size()][];
+        List<String> plansWithout = new ArrayList<>();
+        for (int i = 0; i < scenarios.size(); i++) {
+            plansWithout.add(explain(scenarios.get(i)));
+            without[i] = measure(scenarios.get(i));
+        }
+        setIndexes(true);
+        System.out.printf("%n%-32s %14s %14s %14s %14s%n", "query", "median before", "p95 before", "median after", "p95 after");
+        StringBuilder plans = new StringBuilder();
+        for (int i = 0; i < scenarios.size(); i++) {
+            Scenario scenario = scenarios.get(i);
+            long[] with = measure(scenario);
+            System.out.printf("%-32s %11d us %11d us %11d us %11d us%n", scenario.name,
+                    percentile(without[i], 50), percentile(without[i], 95), percentile(with, 50), percentile(with, 95));
+            plans.append(System.lineSeparator()).append("== ").append(scenario.name).append(System.lineSeparator())
+                    .append(scenario.sql).append(System.lineSeparator())
+                    .append("-- without indexes").append(System.lineSeparator()).append(plansWithout.get(i))
+                    .append("-- with indexes").append(System.lineSeparator()).append(explain(scenario));
+        }
+        System.out.println(plans);
+    }
+
+    // Drops or (re)creates every index declared in the entity @Table mappings
+    private void setIndexes(boolean present) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (Class<?> entity : Arrays.asList(Blood.class, Donor.class, Patient.class, Hospital.class)) {
+                Table table = entity.getAnnotation(Table.class);
+                for (Index index : table.indexes()) {
+                    try {
+                        statement.execute("DROP INDEX " + index.name() + " ON " + table.name());
+                    } catch (SQLException e) {
+                        // Not created yet
+                    }
+                    if (present) {
+                        long start = System.nanoTime();
+                        statement.execute("CREATE INDEX " + index.name() + " ON " + table.name() + " (" + index.columnList() + ")");
+                        System.out.printf("Created %s on %s(%s) in %,d ms%n", index.name(), table.name(), index.columnList(),
+                                (System.nanoTime() - start) / 1_000_000);
+                    }
+                }
+                if (present) {
+                    statement.execute("ANALYZE TABLE " + table.name());
+                }
+            }
+        }
+    }
+
+    private String explain(Scenario scenario) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + scenario.sql)) {
+            bind(statement, scenario.parameters.next());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                int columns = resultSet.getMetaData().getColumnCount();
+                while (resultSet.next()) {
+                    for (int c = 1; c <= columns; c++) {
+                        plan.append(c > 1 ? " | " : "  ").append(resultSet.getMetaData().getColumnLabel(c))
+                                .append('=').append(resultSet.getString(c));
+                    }
+                    plan.append(System.lineSeparator());
+                }
+            }
+        }
+        return plan.toString();
+    }
+
+    // Runs the query with samples random parameter sets (after a few warm-up runs) and returns the latencies in microseconds
+    private long[] measure(Scenario scenario) throws SQLException {
+        long[] latencies = new long[samples];
+        try (PreparedStatement statement = connection.prepareStatement(scenario.sql)) {
+            for (int i = -Math.min(5, samples); i < samples; i++) {
+                bind(statement, scenario.parameters.next());
+                long start = System.nanoTime();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        // Reading every row so the whole result is transferred
+                    }
+                }
+                if (i >= 0) {
+                    latencies[i] = (System.nanoTime() - start) / 1_000;
+                }
+            }
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private static void bind(PreparedStatement statement, Object[] parameters) throws SQLException {
+        for (int i = 0; i < parameters.length; i++) {
+            statement.setObject(i + 1, parameters[i]);
+        }
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile / 100.0 * sorted.length) - 1)];
+    }
+}
@@ -0,0 +1,104 @@
+package com.bloodbank.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The list queries: the blood units of one blood bank, and getAll* for every entity, at a few table sizes.
+ *
+ * <p>The two benchmarks take separate state objects so that each only runs over its own parameters
+ * (getBloodByBloodBankId does not depend on the entity).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListQueryBenchmark {
+
+    /**
+     * A blood bank holding the given number of blood units, next to bank B0 which holds as many again, so the
+     * query has to pick its bank's rows out of the table.
+     */
+    @State(Scope.Benchmark)
+    public static class BloodBankWithUnits {
+
+        @Param({ "hibernate", "memory" })
+        public String backend;
+
+        @Param({ "100", "1000" })
+        public int rows;
+
+        String bloodBankId;
+
+        @Setup
+        public void setUp() {
+            BenchmarkStack.start(backend);
+            bloodBankId = EntityFixture.BloodBank.id(EntityFixture.BloodBank.next());
+            BenchmarkStack.bloodBankService.saveBloodBank(BenchmarkStack.bloodBank(bloodBankId, 0));
+            for (int i = 0; i < rows; i++) {
+                BenchmarkStack.bloodService.saveBlood(EntityFixture.blood(EntityFixture.Blood.next(), bloodBankId));
+                BenchmarkStack.bloodService.saveBlood(EntityFixture.blood(EntityFixture.Blood.next(),
+                        BenchmarkStack.BLOOD_BANK_ID));
+            }
+            if (BenchmarkStack.bloodService.getBloodByBloodBankId(bloodBankId).size() != rows) {
+                throw new IllegalStateException("Could not insert the blood units of " + bloodBankId);
+            }
+        }
+
+        @TearDown
+        public void tearDown() {
+            BenchmarkStack.stop();
+        }
+    }
+
+    /**
+     * A table of the given size.
+     */
+    @State(Scope.Benchmark)
+    public static class EntityTable {
+
+        @Param({ "hibernate", "memory" })
+        public String backend;
+
+        @Param({ "Admin", "BloodBank", "Blood", "Donor", "EmployeeTeam", "Hospital", "Patient" })
+        public EntityFixture entity;
+
+        @Param({ "100", "1000" })
+        public int rows;
+
+        @Setup
+        public void setUp() {
+            BenchmarkStack.start(backend);
+            entity.seed(rows);
+        }
+
+        @TearDown
+        public void tearDown() {
+            BenchmarkStack.stop();
+        }
+    }
+
+    @Benchmark
+    public List<?> getBloodByBloodBankId(BloodBankWithUnits state) {
+        return BenchmarkStack.bloodService.getBloodByBloodBankId(state.bloodBankId);
+    }
+
+    @Benchmark
+    public List<?> getAll(EntityTable state) {
+        return state.entity.getAll();
+    }
+}
@@ -0,0 +1,108 @@
+package com.bloodbank.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bloodbank.entity.BloodBank;
+
+/**
+ * updateBloodQuantity from many threads at once, all on one blood bank (the worst case) or spread over 16.
+ *
+ * <p>Each call adds or takes one unit at random. Banks start empty, so some takes are refused, which exercises
+ * the below-zero guard as well as the increment. After every iteration the stored quantities are checked
+ * against the changes that were reported as applied: a lost or double-applied update fails the run instead of
+ * silently producing a number.
+ *
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar QuantityContentionBenchmark -t 64
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class QuantityContentionBenchmark {
+
+    @Param({ "hibernate", "memory" })
+    public String backend;
+
+    @Param({ "1", "16" })
+    public int banks;
+
+    private String[] bloodBankIds;
+    private long quantityBefore; // Sum over the banks when the iteration started
+    private final LongAdder appliedChange = new LongAdder(); // Sum of the changes reported as applied
+
+    @Setup
+    public void setUp() {
+        BenchmarkStack.start(backend);
+        bloodBankIds = new String[banks];
+        for (int i = 0; i < banks; i++) {
+            bloodBankIds[i] = EntityFixture.BloodBank.id(EntityFixture.BloodBank.next());
+            BenchmarkStack.bloodBankService.saveBloodBank(BenchmarkStack.bloodBank(bloodBankIds[i], 0));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void recordQuantity() {
+        quantityBefore = totalQuantity();
+        appliedChange.reset();
+    }
+
+    @TearDown(Level.Iteration)
+    public void checkQuantity() {
+        long expected = quantityBefore + appliedChange.sum();
+        long actual = totalQuantity();
+        if (actual != expected) {
+            throw new IllegalStateException("Lost updates: the banks hold " + actual + " units, expected " + expected);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkStack.stop();
+    }
+
+    @Benchmark
+    public boolean updateBloodQuantity() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int change = random.nextBoolean() ? 1 : -1;
+        boolean applied = BenchmarkStack.bloodBankService.updateBloodQuantity(bloodBankIds[random.nextInt(banks)], change);
+        if (applied) {
+            appliedChange.add(change);
+        }
+        return applied;
+    }
+
+    // Reads every bank; a negative quantity means the guard let a take through
+    private long totalQuantity() {
+        long total = 0;
+        for (String bloodBankId : bloodBankIds) {
+            BloodBank bloodBank = BenchmarkStack.bloodBankService.getBloodBankById(bloodBankId);
+            if (bloodBank.getQuantity() < 0) {
+                throw new IllegalStateException(bloodBankId + " holds " + bloodBank.getQuantity() + " units");
+            }
+            total += bloodBank.getQuantity();
+        }
+        return total;
+    }
+}
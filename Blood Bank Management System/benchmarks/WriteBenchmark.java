@@ -0,0 +1,78 @@
+package com.bloodbank.benchmarks;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Single-row inserts and deletes, for every entity and both backends.
+ *
+ * <p>A delete needs a row to delete, so both are measured as batches of {@value #BATCH_SIZE} calls: before
+ * each batch the rows the deletes will consume are inserted, outside the measurement. Each reported score is
+ * the time of one batch; divide by {@value #BATCH_SIZE} for the time per call. Every save inserts a new row,
+ * so the tables grow with every iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, batchSize = WriteBenchmark.BATCH_SIZE)
+@Measurement(iterations = 10, batchSize = WriteBenchmark.BATCH_SIZE)
+@Fork(1)
+public class WriteBenchmark {
+
+    static final int BATCH_SIZE = 1000; // Calls per measured batch; -bs must not be larger
+
+    @Param({ "hibernate", "memory" })
+    public String backend;
+
+    @Param({ "Admin", "BloodBank", "Blood", "Donor", "EmployeeTeam", "Hospital", "Patient" })
+    public EntityFixture entity;
+
+    private final Deque<String> deletable = new ArrayDeque<>(BATCH_SIZE);
+
+    @Setup
+    public void setUp() {
+        BenchmarkStack.start(backend);
+    }
+
+    @Setup(Level.Iteration)
+    public void insertRowsToDelete() {
+        deletable.clear();
+        for (int number : entity.seed(BATCH_SIZE)) {
+            deletable.add(entity.id(number));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkStack.stop();
+    }
+
+    @Benchmark
+    public void save() {
+        entity.save(entity.next());
+    }
+
+    @Benchmark
+    public void delete() {
+        String id = deletable.poll();
+        if (id == null) {
+            throw new IllegalStateException("More than " + BATCH_SIZE + " deletes in one batch; lower -bs");
+        }
+        entity.delete(id);
+    }
+}
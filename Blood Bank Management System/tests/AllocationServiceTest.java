@@ -0,0 +1,136 @@
+package com.bloodbank.service.impl;
+
+import java.util.Date;
+import java.util.List;
+
+import com.bloodbank.dao.BloodBankDAO;
+import com.bloodbank.dao.BloodDAO;
+import com.bloodbank.dao.EmployeeTeamDAO;
+import com.bloodbank.dao.PatientDAO;
+import com.bloodbank.dao.impl.BloodBankDAOImpl;
+import com.bloodbank.dao.impl.BloodDAOImpl;
+import com.bloodbank.dao.impl.EmployeeTeamDAOImpl;
+import com.bloodbank.dao.impl.PatientDAOImpl;
+import com.bloodbank.dao.inmemory.InMemoryBloodBankDAO;
+import com.bloodbank.dao.inmemory.InMemoryBloodDAO;
+import com.bloodbank.dao.inmemory.InMemoryDatabase;
+import com.bloodbank.dao.inmemory.InMemoryEmployeeTeamDAO;
+import com.bloodbank.dao.inmemory.InMemoryPatientDAO;
+import com.bloodbank.entity.Blood;
+import com.bloodbank.entity.BloodBank;
+import com.bloodbank.entity.EmployeeTeam;
+import com.bloodbank.entity.Patient;
+import com.bloodbank.service.AllocationService;
+import com.bloodbank.service.BloodService;
+import com.bloodbank.util.UnitOfWork;
+
+import junit.framework.TestCase;
+
+/**
+ * Allocation from a blood bank stocked the way "Add Blood" does it, through {@link BloodService#saveBlood}, which
+ * leaves the bank's hand-kept quantity alone. The units are issued all the same, and the quantity is lowered
+ * only when it holds enough, on both backends. Units whose group was stored untrimmed or in lower case, before
+ * {@link Blood#setBloodGroup} normalized it, are still found.
+ */
+public class AllocationServiceTest extends TestCase {
+
+    public void testInMemoryBackend() {
+        InMemoryDatabase db = new InMemoryDatabase();
+        allocate(new InMemoryEmployeeTeamDAO(db), new InMemoryBloodBankDAO(db), new InMemoryPatientDAO(db),
+                new InMemoryBloodDAO(db), "9001");
+    }
+
+    public void testHibernateBackend() {
+        allocate(new EmployeeTeamDAOImpl(), new BloodBankDAOImpl(), new PatientDAOImpl(), new BloodDAOImpl(), "9002");
+    }
+
+    public void testHibernateFindsUnnormalizedGroups() {
+        BloodDAO bloodDao = new BloodDAOImpl();
+        allocate(new EmployeeTeamDAOImpl(), new BloodBankDAOImpl(), new PatientDAOImpl(), bloodDao, "9003", () ->
+                // Stored as an older version of the application could have stored it
+                UnitOfWork.run(() -> UnitOfWork.currentSession()
+                        .createNativeMutationQuery("UPDATE blood SET blood_group = ' o+ ' WHERE bloodbank_id = 'B9003'")
+                        .executeUpdate()));
+    }
+
+    private void allocate(EmployeeTeamDAO employeeTeamDao, BloodBankDAO bloodBankDao, PatientDAO patientDao,
+            BloodDAO bloodDao, String suffix) {
+        allocate(employeeTeamDao, bloodBankDao, patientDao, bloodDao, suffix, () -> { });
+    }
+
+    private void allocate(EmployeeTeamDAO employeeTeamDao, BloodBankDAO bloodBankDao, PatientDAO patientDao,
+            BloodDAO bloodDao, String suffix, Runnable afterStocking) {
+        String empId = "E" + suffix, bloodBankId = "B" + suffix, patientId = "P" + suffix;
+        employeeTeamDao.saveEmployeeTeam(employee(empId, "90000" + suffix));
+        bloodBankDao.saveBloodBank(bloodBank(bloodBankId));
+        patientDao.savePatient(patient(patientId, "91000" + suffix, empId));
+        BloodService bloodService = new BloodServiceImpl(bloodDao);
+        for (int i = 1; i <= 3; i++) {
+            bloodService.saveBlood(blood("U" + suffix + "-" + i, bloodBankId));
+        }
+        afterStocking.run();
+        AllocationService allocationService = new AllocationServiceImpl(patientDao, bloodDao, bloodBankDao);
+        try {
+            // The bank's quantity is still 0: the units are issued and the quantity is left as it is
+            List<String> issued = allocationService.allocateUnits(patientId, bloodBankId, 2);
+            assertEquals(2, issued.size());
+            for (String bloodId : issued) {
+                assertEquals(patientId, bloodDao.getBloodById(bloodId).getReceivedBy().getPatientId());
+            }
+            assertEquals(0, bloodBankDao.getBloodBankById(bloodBankId).getQuantity());
+
+            // Once the quantity is brought in line, it follows the units issued
+            assertTrue(bloodBankDao.updateBloodQuantity(bloodBankId, 1));
+            assertEquals(1, allocationService.allocateUnits(patientId, bloodBankId, 2).size());
+            assertEquals(0, bloodBankDao.getBloodBankById(bloodBankId).getQuantity());
+            assertTrue(allocationService.allocateUnits(patientId, bloodBankId, 2).isEmpty());
+        } finally {
+            patientDao.deletePatient(patientId);
+            bloodBankDao.deleteBloodBank(bloodBankId);
+            employeeTeamDao.deleteEmployeeTeam(empId);
+        }
+    }
+
+    private static EmployeeTeam employee(String empId, String contactNo) {
+        EmployeeTeam employeeTeam = new EmployeeTeam();
+        employeeTeam.setEmpId(empId);
+        employeeTeam.setEmpName("Employee " + empId);
+        employeeTeam.setContactNo(contactNo);
+        return employeeTeam;
+    }
+
+    private static BloodBank bloodBank(String bloodBankId) {
+        BloodBank bloodBank = new BloodBank();
+        bloodBank.setBloodBankId(bloodBankId);
+        bloodBank.setBloodId("B0");
+        bloodBank.setName("Blood Bank " + bloodBankId);
+        bloodBank.setLocation("Pune");
+        bloodBank.setAvailableBloodGroups("A+,B+,O+");
+        bloodBank.setQuantity(0);
+        return bloodBank;
+    }
+
+    private static Patient patient(String patientId, String contactNo, String empId) {
+        EmployeeTeam registeredBy = new EmployeeTeam();
+        registeredBy.setEmpId(empId);
+        Patient patient = new Patient();
+        patient.setPatientId(patientId);
+        patient.setPatientName("Patient " + patientId);
+        patient.setPatientGender("Male");
+        patient.setContactNo(contactNo);
+        patient.setBloodGroup("O+");
+        patient.setDateOfIntake(new Date());
+        patient.setRegisteredBy(registeredBy);
+        return patient;
+    }
+
+    private static Blood blood(String bloodId, String bloodBankId) {
+        BloodBank storedIn = new BloodBank();
+        storedIn.setBloodBankId(bloodBankId);
+        Blood blood = new Blood();
+        blood.setBloodId(bloodId);
+        blood.setBloodGroup("O+");
+        blood.setStoredIn(storedIn);
+        return blood;
+    }
+}
@@ -0,0 +1,100 @@
+package com.bloodbank.dao;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+import com.bloodbank.dao.impl.BloodBankDAOImpl;
+import com.bloodbank.dao.inmemory.InMemoryBloodBankDAO;
+import com.bloodbank.dao.inmemory.InMemoryDatabase;
+import com.bloodbank.entity.BloodBank;
+
+import junit.framework.TestCase;
+
+/**
+ * updateBloodQuantity from 64 threads at once, all on one blood bank, on both backends. The stored quantity is
+ * checked against the changes that were reported as applied, so a lost or double-applied update fails the test,
+ * and the threads then drain the bank to check that the below-zero guard refuses exactly the surplus takes.
+ *
+ * <p>The thread count can be changed with {@code -Dbloodbank.test.threads}.
+ */
+public class BloodQuantityStressTest extends TestCase {
+
+    static final int THREADS = Integer.getInteger("bloodbank.test.threads", 64);
+    static final int CHANGES_PER_THREAD = 50;
+
+    public void testInMemoryBackend() throws Exception {
+        hammer(new InMemoryBloodBankDAO(new InMemoryDatabase()), "B9001");
+    }
+
+    public void testHibernateBackend() throws Exception {
+        hammer(new BloodBankDAOImpl(), "B9002");
+    }
+
+    private void hammer(BloodBankDAO dao, String bloodBankId) throws Exception {
+        dao.saveBloodBank(bloodBank(bloodBankId));
+        try {
+            // Random adds and takes from an empty bank: some takes are refused, the rest must all be applied
+            int applied = run(CHANGES_PER_THREAD, () -> {
+                int change = ThreadLocalRandom.current().nextBoolean() ? 1 : -1;
+                return dao.updateBloodQuantity(bloodBankId, change) ? change : 0;
+            });
+            assertTrue("The applied changes took more than was stored", applied >= 0);
+            assertEquals(applied, dao.getBloodBankById(bloodBankId).getQuantity());
+
+            // Every thread tries to take more than its share: exactly the stock is taken, the rest refused
+            int stock = applied + run(CHANGES_PER_THREAD, () -> dao.updateBloodQuantity(bloodBankId, 1) ? 1 : 0);
+            assertEquals(stock, dao.getBloodBankById(bloodBankId).getQuantity());
+            int taken = run(stock / THREADS + CHANGES_PER_THREAD,
+                    () -> dao.updateBloodQuantity(bloodBankId, -1) ? 1 : 0);
+            assertEquals(stock, taken);
+            assertEquals(0, dao.getBloodBankById(bloodBankId).getQuantity());
+        } finally {
+            dao.deleteBloodBank(bloodBankId);
+        }
+    }
+
+    // Runs the change the given number of times on each thread, all threads released together; returns the sum
+    private static int run(int times, IntSupplier change) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    int sum = 0;
+                    for (int i = 0; i < times; i++) {
+                        sum += change.getAsInt();
+                    }
+                    return sum;
+                }));
+            }
+            start.countDown();
+            int total = 0;
+            for (Future<Integer> result : results) {
+                total += result.get(2, TimeUnit.MINUTES);
+            }
+            return total;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static BloodBank bloodBank(String bloodBankId) {
+        BloodBank bloodBank = new BloodBank();
+        bloodBank.setBloodBankId(bloodBankId);
+        bloodBank.setBloodId("B0");
+        bloodBank.setName("Blood Bank " + bloodBankId);
+        bloodBank.setLocation("Pune");
+        bloodBank.setAvailableBloodGroups("A+,B+,O+");
+        bloodBank.setQuantity(0);
+        return bloodBank;
+    }
+}
@@ -0,0 +1,84 @@
+package com.bloodbank.util;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+/**
+ * The timing wheel's deadlines: never expired early, at most one tick late, across several turns of the wheel,
+ * and after cancelling or rescheduling.
+ */
+public class HashedTimingWheelTest extends TestCase {
+
+    // Ticks of 10 ms from time 0; 6 slots are rounded up to 8, so one turn is 80 ms
+    private final HashedTimingWheel<String> wheel = new HashedTimingWheel<>(10, 6, 0);
+
+    public void testExpiresAtTheFirstTickAtOrAfterTheDeadline() {
+        wheel.schedule("a", 5);
+        wheel.schedule("b", 100); // On the second turn
+        wheel.schedule("c", 25);
+        wheel.schedule("d", 30);
+        assertTrue(wheel.cancel("d"));
+        assertFalse(wheel.cancel("d"));
+
+        assertEquals(Collections.emptyList(), wheel.advance(4));
+        assertEquals(Arrays.asList("a"), wheel.advance(10));
+        assertEquals(Collections.emptyList(), wheel.advance(29));
+        assertEquals(Arrays.asList("c"), wheel.advance(99));
+        assertEquals(Arrays.asList("b"), wheel.advance(100));
+        assertEquals(0, wheel.size());
+    }
+
+    public void testDeadlinesSeveralTurnsAhead() {
+        wheel.schedule("far", 1000); // 100 ticks: twelve turns and four slots
+        wheel.schedule("near", 40); // Same slot, this turn
+        assertEquals(Arrays.asList("near"), wheel.advance(40));
+        for (long now = 50; now < 1000; now += 10) {
+            assertEquals("Expired early at " + now, Collections.emptyList(), wheel.advance(now));
+        }
+        assertEquals(Arrays.asList("far"), wheel.advance(1000));
+    }
+
+    public void testAdvanceCatchesUpOnMissedTicks() {
+        wheel.schedule("a", 15);
+        wheel.schedule("b", 300);
+        wheel.schedule("c", 700);
+        assertEquals(new HashSet<>(Arrays.asList("a", "b")), new HashSet<>(wheel.advance(650)));
+        assertEquals(1, wheel.size());
+        assertEquals(Arrays.asList("c"), wheel.advance(5000));
+    }
+
+    public void testRescheduleReplacesTheDeadline() {
+        wheel.schedule("e", 50);
+        wheel.schedule("e", 300);
+        assertEquals(1, wheel.size());
+        assertEquals(Collections.emptyList(), wheel.advance(299));
+        assertEquals(Arrays.asList("e"), wheel.advance(300));
+
+        wheel.schedule("f", 500);
+        assertFalse(wheel.scheduleIfAbsent("f", 400));
+        assertTrue(wheel.scheduleIfAbsent("g", 400));
+        List<String> due = wheel.advance(450);
+        assertEquals(Arrays.asList("g"), due);
+    }
+
+    public void testPastDeadlinesExpireOnTheNextTick() {
+        wheel.advance(200);
+        wheel.schedule("late", 20);
+        assertEquals(Collections.emptyList(), wheel.advance(200)); // The tick at 200 has been visited
+        assertEquals(Arrays.asList("late"), wheel.advance(210));
+    }
+
+    public void testTickLength() {
+        assertEquals(10, wheel.getTickMillis());
+        try {
+            new HashedTimingWheel<String>(0, 8, 0);
+            fail("A tick must be positive");
+        } catch (IllegalArgumentException expected) {
+            // Rejected
+        }
+    }
+}
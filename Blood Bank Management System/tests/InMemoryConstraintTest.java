@@ -0,0 +1,199 @@
+package com.bloodbank.dao.inmemory;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Date;
+
+import com.bloodbank.entity.Blood;
+import com.bloodbank.entity.BloodBank;
+import com.bloodbank.entity.Donor;
+import com.bloodbank.entity.EmployeeTeam;
+import com.bloodbank.entity.Hospital;
+import com.bloodbank.entity.Patient;
+
+import junit.framework.TestCase;
+
+/**
+ * The constraints the in-memory DAOs enforce in place of the database's: primary keys, NOT NULL columns,
+ * foreign keys and unique columns, the rollback of a failing saveAll chunk, and the cascading deletes. Every
+ * write here runs outside a unit of work, so a violation is reported by leaving the tables unchanged.
+ */
+public class InMemoryConstraintTest extends TestCase {
+
+    private InMemoryDatabase db;
+    private InMemoryEmployeeTeamDAO employeeTeamDao;
+    private InMemoryBloodBankDAO bloodBankDao;
+    private InMemoryDonorDAO donorDao;
+    private InMemoryPatientDAO patientDao;
+    private InMemoryHospitalDAO hospitalDao;
+    private InMemoryBloodDAO bloodDao;
+    private PrintStream err;
+
+    @Override
+    protected void setUp() {
+        db = new InMemoryDatabase();
+        employeeTeamDao = new InMemoryEmployeeTeamDAO(db);
+        bloodBankDao = new InMemoryBloodBankDAO(db);
+        donorDao = new InMemoryDonorDAO(db);
+        patientDao = new InMemoryPatientDAO(db);
+        hospitalDao = new InMemoryHospitalDAO(db);
+        bloodDao = new InMemoryBloodDAO(db);
+        employeeTeamDao.saveEmployeeTeam(employee("E1", "9000000001"));
+        bloodBankDao.saveBloodBank(bloodBank("B1"));
+        // The DAOs print the stack trace of a failed write, as the Hibernate DAOs do; the tests expect them
+        err = System.err;
+        System.setErr(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @Override
+    protected void tearDown() {
+        System.setErr(err);
+    }
+
+    public void testDuplicatePrimaryKeyIsRejected() {
+        EmployeeTeam duplicate = employee("E1", "9000000002");
+        duplicate.setEmpName("Someone else");
+        employeeTeamDao.saveEmployeeTeam(duplicate);
+        assertEquals("Employee E1", employeeTeamDao.getEmployeeTeamById("E1").getEmpName());
+    }
+
+    public void testNullRequiredValueIsRejected() {
+        Donor donor = donor("D1", "9100000001");
+        donor.setBloodGroup(null);
+        donorDao.saveDonor(donor);
+        assertNull(donorDao.getDonorById("D1"));
+    }
+
+    public void testMissingForeignKeyIsRejected() {
+        bloodDao.saveBlood(blood("B10", "B404"));
+        assertNull(bloodDao.getBloodById("B10"));
+        bloodDao.saveBlood(blood("B10", "B1"));
+        assertNotNull(bloodDao.getBloodById("B10"));
+    }
+
+    public void testDuplicateUniqueValueIsRejected() {
+        donorDao.saveDonor(donor("D1", "9100000001"));
+        donorDao.saveDonor(donor("D2", "9100000001"));
+        assertNull(donorDao.getDonorById("D2"));
+
+        // A row keeps its own value when it is updated
+        Donor donor = donorDao.getDonorById("D1");
+        donor.setDonorName("Renamed");
+        donorDao.updateDonor(donor);
+        assertEquals("Renamed", donorDao.getDonorById("D1").getDonorName());
+    }
+
+    public void testUpdateOfMissingRowIsRejected() {
+        donorDao.updateDonor(donor("D9", "9100000009"));
+        assertNull(donorDao.getDonorById("D9"));
+    }
+
+    public void testFailingChunkIsUndone() {
+        // The third unit references a missing bank: its chunk is undone and the load stops, the first chunk stays
+        int saved = bloodDao.saveAll(Arrays.asList(blood("B11", "B1"), blood("B12", "B1"), blood("B13", "B404"),
+                blood("B14", "B1"), blood("B15", "B1")), 2);
+        assertEquals(2, saved);
+        assertNotNull(bloodDao.getBloodById("B12"));
+        assertNull(bloodDao.getBloodById("B13"));
+        assertNull(bloodDao.getBloodById("B14"));
+
+        // Without a commit size the whole load is one chunk
+        assertEquals(0, bloodDao.saveAll(Arrays.asList(blood("B16", "B1"), blood("B17", "B404"))));
+        assertNull(bloodDao.getBloodById("B16"));
+    }
+
+    public void testDeletingBloodBankCascades() {
+        hospitalDao.saveHospital(hospital("H1", "B1"));
+        bloodDao.saveBlood(blood("B10", "B1"));
+        bloodBankDao.deleteBloodBank("B1");
+        assertNull(bloodBankDao.getBloodBankById("B1"));
+        assertNull(hospitalDao.getHospitalById("H1"));
+        assertNull(bloodDao.getBloodById("B10"));
+        assertTrue(db.bloodByBloodBank.ids("B1").isEmpty());
+    }
+
+    public void testDeletingPatientReleasesHeldUnits() {
+        patientDao.savePatient(patient("P1", "9200000001"));
+        Blood received = blood("B10", "B1");
+        received.setReceivedBy(patientReference("P1"));
+        Blood held = blood("B11", "B1");
+        held.setReservedFor(patientReference("P1"));
+        held.setReservedUntil(new Date(System.currentTimeMillis() + 60_000));
+        bloodDao.saveAll(Arrays.asList(received, held));
+
+        patientDao.deletePatient("P1");
+        assertNull(patientDao.getPatientById("P1"));
+        assertNull(bloodDao.getBloodById("B10")); // Transfused units go with the patient
+        Blood released = bloodDao.getBloodById("B11"); // Held units return to stock
+        assertNotNull(released);
+        assertNull(released.getReservedFor());
+        assertNull(released.getReservedUntil());
+    }
+
+    private static EmployeeTeam employee(String empId, String contactNo) {
+        EmployeeTeam employeeTeam = new EmployeeTeam();
+        employeeTeam.setEmpId(empId);
+        employeeTeam.setEmpName("Employee " + empId);
+        employeeTeam.setContactNo(contactNo);
+        return employeeTeam;
+    }
+
+    private static BloodBank bloodBank(String bloodBankId) {
+        BloodBank bloodBank = new BloodBank();
+        bloodBank.setBloodBankId(bloodBankId);
+        bloodBank.setBloodId("B0");
+        bloodBank.setName("Blood Bank " + bloodBankId);
+        bloodBank.setLocation("Pune");
+        bloodBank.setAvailableBloodGroups("A+,B+,O+");
+        return bloodBank;
+    }
+
+    private static Donor donor(String donorId, String contactNo) {
+        Donor donor = new Donor();
+        donor.setDonorId(donorId);
+        donor.setDonorName("Donor " + donorId);
+        donor.setDonorGender("Female");
+        donor.setContactNo(contactNo);
+        donor.setAge(30);
+        donor.setBloodGroup("O+");
+        donor.setDateOfDonation(new Date());
+        donor.setRegisteredBy(employee("E1", null));
+        return donor;
+    }
+
+    private static Patient patient(String patientId, String contactNo) {
+        Patient patient = new Patient();
+        patient.setPatientId(patientId);
+        patient.setPatientName("Patient " + patientId);
+        patient.setPatientGender("Male");
+        patient.setContactNo(contactNo);
+        patient.setBloodGroup("O+");
+        patient.setDateOfIntake(new Date());
+        patient.setRegisteredBy(employee("E1", null));
+        return patient;
+    }
+
+    private static Patient patientReference(String patientId) {
+        Patient patient = new Patient();
+        patient.setPatientId(patientId);
+        return patient;
+    }
+
+    private static Hospital hospital(String hospitalId, String bloodBankId) {
+        Hospital hospital = new Hospital();
+        hospital.setHospitalId(hospitalId);
+        hospital.setHospitalName("Hospital " + hospitalId);
+        hospital.setLocation("Pune");
+        hospital.setContactedBloodBank(bloodBank(bloodBankId));
+        return hospital;
+    }
+
+    private static Blood blood(String bloodId, String bloodBankId) {
+        Blood blood = new Blood();
+        blood.setBloodId(bloodId);
+        blood.setBloodGroup("O+");
+        blood.setStoredIn(bloodBank(bloodBankId));
+        return blood;
+    }
+}
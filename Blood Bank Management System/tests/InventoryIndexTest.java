@@ -0,0 +1,180 @@
+package com.bloodbank.inventory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+
+import com.bloodbank.entity.Blood;
+import com.bloodbank.entity.BloodBank;
+import com.bloodbank.entity.Patient;
+
+import junit.framework.TestCase;
+
+/**
+ * The inventory index over a list of units standing in for the blood table: which units a recipient is
+ * offered and in what order, the compatible counts, which units stop being available, and which have expired.
+ */
+public class InventoryIndexTest extends TestCase {
+
+    private List<Blood> stored; // What the loader streams
+    private int loads;
+    private InventoryIndex index;
+
+    @Override
+    protected void setUp() {
+        stored = new ArrayList<>();
+        loads = 0;
+        index = new InventoryIndex(consumer -> {
+            loads++;
+            stored.forEach(consumer);
+            return stored.size();
+        });
+    }
+
+    public void testBloodGroupCompatibility() {
+        assertTrue(BloodGroup.AB_POS.canReceiveFrom(BloodGroup.O_NEG));
+        assertTrue(BloodGroup.AB_POS.canReceiveFrom(BloodGroup.B_POS));
+        assertTrue(BloodGroup.A_POS.canReceiveFrom(BloodGroup.A_NEG));
+        assertFalse(BloodGroup.A_NEG.canReceiveFrom(BloodGroup.A_POS)); // Rh- recipients take Rh- units only
+        assertFalse(BloodGroup.A_POS.canReceiveFrom(BloodGroup.B_POS));
+        assertFalse(BloodGroup.O_POS.canReceiveFrom(BloodGroup.A_POS));
+        for (BloodGroup recipient : BloodGroup.values()) {
+            assertTrue(recipient.canReceiveFrom(BloodGroup.O_NEG)); // The universal donor
+            assertTrue(BloodGroup.AB_POS.canReceiveFrom(recipient)); // The universal recipient
+            assertEquals(recipient, recipient.preferredDonors()[0]); // The identical group comes first
+            assertEquals(Integer.bitCount(recipient.donorMask()), recipient.preferredDonors().length);
+        }
+        // O- can give to everyone, so it is used last
+        List<BloodGroup> forAbPos = Arrays.asList(BloodGroup.AB_POS.preferredDonors());
+        assertEquals(BloodGroup.O_NEG, forAbPos.get(forAbPos.size() - 1));
+        assertEquals(BloodGroup.A_NEG, BloodGroup.parse(" a- "));
+        assertNull(BloodGroup.parse("C+"));
+    }
+
+    public void testFindsCompatibleUnitsBestMatchFirst() {
+        stored.add(unit("B1", "O-", "BB1"));
+        stored.add(unit("B2", "A+", "BB1"));
+        stored.add(unit("B3", "A-", "BB1"));
+        stored.add(unit("B4", "B+", "BB1")); // Incompatible with A+
+        stored.add(unit("B5", "A+", "BB2"));
+
+        assertEquals(Arrays.asList("B2", "B3", "B1", "B5"),
+                ids(index.findCompatible(BloodGroup.A_POS, Arrays.asList("BB1", "BB2"), 10)));
+        assertEquals(Arrays.asList("B5", "B2"), ids(index.findCompatible(BloodGroup.A_POS, Arrays.asList("BB2", "BB1"), 2)));
+        assertEquals(Arrays.asList("B1"), ids(index.findCompatible(BloodGroup.O_NEG, Arrays.asList("BB1", "BB404"), 10)));
+        assertEquals(3, index.countCompatible(BloodGroup.A_POS, "BB1"));
+        assertEquals(4, index.countCompatible(BloodGroup.AB_POS, "BB1"));
+        assertEquals(1, index.count("BB1", BloodGroup.B_POS));
+        assertEquals(0, index.countCompatible(BloodGroup.A_POS, "BB404"));
+        assertEquals(1, loads);
+    }
+
+    public void testUnavailableUnitsAreNotOffered() {
+        Blood received = unit("B1", "A+", "BB1");
+        received.setReceivedBy(patient("P1"));
+        Blood expired = unit("B2", "A+", "BB1");
+        expired.setExpired(true);
+        Blood held = unit("B3", "A+", "BB1");
+        held.setReservedFor(patient("P1"));
+        held.setReservedUntil(new Date(System.currentTimeMillis() + 60_000));
+        stored.addAll(Arrays.asList(received, expired, held, unit("B4", "A+", "BB1"), unit("B5", "X", "BB1")));
+
+        assertEquals(Arrays.asList("B4"), ids(index.findCompatible(BloodGroup.AB_POS, Arrays.asList("BB1"), 10)));
+        assertEquals(1, index.size());
+    }
+
+    public void testUpdatesMoveAndRemoveUnits() {
+        stored.add(unit("B1", "A+", "BB1"));
+        assertEquals(1, index.count("BB1", BloodGroup.A_POS));
+
+        index.put(unit("B1", "A+", "BB2")); // Moved to another bank
+        assertEquals(0, index.count("BB1", BloodGroup.A_POS));
+        assertEquals(1, index.count("BB2", BloodGroup.A_POS));
+        index.put(unit("B1", "A+", "BB2")); // Idempotent
+        assertEquals(1, index.size());
+
+        Blood received = unit("B1", "A+", "BB2");
+        received.setReceivedBy(patient("P1"));
+        index.put(received);
+        assertEquals(0, index.size());
+
+        index.put(unit("B2", "O-", "BB1"));
+        index.remove("B2");
+        index.remove("B2");
+        assertEquals(0, index.countCompatible(BloodGroup.AB_POS, "BB1"));
+    }
+
+    public void testInvalidationReloads() {
+        stored.add(unit("B1", "A+", "BB1"));
+        assertEquals(1, index.size());
+        stored.add(unit("B2", "A+", "BB1")); // Written behind the index's back, e.g. by a cascade
+        assertEquals(1, index.size());
+        index.invalidate();
+        assertEquals(2, index.size());
+        assertEquals(2, loads);
+    }
+
+    public void testExpiredUnitsComeFromTheDueBuckets() {
+        long hour = 3_600_000L;
+        long now = 1_000 * hour + hour / 2; // Half way through an hour
+        stored.add(expiring("B1", now - 3 * hour));
+        stored.add(expiring("B2", now - 1)); // Earlier in the current hour
+        stored.add(expiring("B3", now + 1)); // Later in the current hour
+        stored.add(expiring("B4", now + 5 * hour));
+        stored.add(unit("B5", "A+", "BB1")); // No expiry date: never due
+
+        assertEquals(Arrays.asList("B1", "B2"), ids(index.expiredUnits(now, 10)));
+        assertEquals(Arrays.asList("B1"), ids(index.expiredUnits(now, 1)));
+        List<String> due = ids(index.expiredUnits(now + 1, 10));
+        assertEquals("B1", due.get(0)); // Earliest hour first; no order within an hour
+        assertEquals(new HashSet<>(Arrays.asList("B1", "B2", "B3")), new HashSet<>(due));
+        assertEquals(4, ids(index.expiredUnits(now + 5 * hour, 10)).size());
+        assertTrue(index.expiredUnits(now - 4 * hour, 10).isEmpty());
+
+        index.remove("B1"); // Swept: marked expired and taken out of the index
+        assertEquals(Arrays.asList("B2"), ids(index.expiredUnits(now, 10)));
+        index.put(expiring("B2", now + 2 * hour)); // Expiry moved to a later bucket
+        assertTrue(index.expiredUnits(now, 10).isEmpty());
+    }
+
+    public void testExpiredUnitsAreNotOffered() {
+        long now = System.currentTimeMillis();
+        stored.add(expiring("B1", now - 1_000)); // Past its expiry, not yet swept
+        stored.add(expiring("B2", now + 60_000));
+
+        assertEquals(Arrays.asList("B2"), ids(index.findCompatible(BloodGroup.A_POS, Arrays.asList("BB1"), 10)));
+        assertEquals(2, index.count("BB1", BloodGroup.A_POS)); // Counted until the sweep marks it expired
+    }
+
+    static Blood expiring(String bloodId, long expiresAt) {
+        Blood blood = unit(bloodId, "A+", "BB1");
+        blood.setExpiresAt(new Date(expiresAt));
+        return blood;
+    }
+
+    static Blood unit(String bloodId, String bloodGroup, String bloodBankId) {
+        Blood blood = new Blood();
+        blood.setBloodId(bloodId);
+        blood.setBloodGroup(bloodGroup);
+        BloodBank bloodBank = new BloodBank();
+        bloodBank.setBloodBankId(bloodBankId);
+        blood.setStoredIn(bloodBank);
+        return blood;
+    }
+
+    static Patient patient(String patientId) {
+        Patient patient = new Patient();
+        patient.setPatientId(patientId);
+        return patient;
+    }
+
+    static List<String> ids(List<MatchedUnit> units) {
+        List<String> ids = new ArrayList<>();
+        for (MatchedUnit unit : units) {
+            ids.add(unit.getBloodId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,131 @@
+package com.bloodbank.requests;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import com.bloodbank.entity.BloodBank;
+import com.bloodbank.entity.BloodRequest;
+import com.bloodbank.entity.BloodRequest.Priority;
+import com.bloodbank.entity.Patient;
+
+import junit.framework.TestCase;
+
+/**
+ * The order in which the scheduler hands out requests: emergencies first, urgent before routine, oldest first
+ * within a priority, and routine requests aged in among the urgent ones once they have waited long enough.
+ */
+public class RequestSchedulerTest extends TestCase {
+
+    private static final long AGING = 1000;
+    private static final long NOW = 1_000_000;
+
+    private final RequestScheduler scheduler = new RequestScheduler(AGING);
+
+    public void testPriorityThenAge() {
+        submit("R1", Priority.ROUTINE, NOW - 500);
+        submit("U1", Priority.URGENT, NOW - 300);
+        submit("E1", Priority.EMERGENCY, NOW - 100);
+        submit("U2", Priority.URGENT, NOW - 400);
+        submit("E2", Priority.EMERGENCY, NOW - 200);
+
+        assertEquals(Arrays.asList("E2", "E1", "U2", "U1", "R1"), ids(scheduler.pollBatch(10, NOW)));
+        assertTrue(scheduler.pollBatch(10, NOW).isEmpty());
+    }
+
+    public void testAgedRoutineRequestIsServedAsUrgent() {
+        submit("R1", Priority.ROUTINE, NOW - 5000); // Aged at NOW - 4000, before R3 was made
+        submit("R2", Priority.ROUTINE, NOW - 500); // Not aged
+        submit("R3", Priority.URGENT, NOW - 100);
+        submit("R4", Priority.EMERGENCY, NOW);
+        submit("R5", Priority.URGENT, NOW - 6000);
+        scheduler.cancel("R5");
+
+        assertEquals(Arrays.asList("R4", "R1", "R3", "R2"), ids(scheduler.pollBatch(10, NOW)));
+    }
+
+    public void testRoutineRequestAgedAfterTheUrgentOneWaits() {
+        submit("R1", Priority.ROUTINE, NOW - 5000); // Aged at NOW - 4000
+        submit("U1", Priority.URGENT, NOW - 4500); // Made before R1 aged
+        submit("U2", Priority.URGENT, NOW - 3000); // Made after R1 aged
+
+        assertEquals(Arrays.asList("U1", "R1", "U2"), ids(scheduler.pollBatch(10, NOW)));
+    }
+
+    public void testAgingNeverLiftsAboveEmergencies() {
+        submit("R1", Priority.ROUTINE, NOW - 100 * AGING);
+        submit("E1", Priority.EMERGENCY, NOW);
+
+        assertEquals(Arrays.asList("E1", "R1"), ids(scheduler.pollBatch(10, NOW)));
+    }
+
+    public void testRoutineRequestAgesWithTime() {
+        submit("R1", Priority.ROUTINE, NOW - 500); // Ages at NOW + 500
+        submit("U1", Priority.URGENT, NOW - 400);
+
+        List<QueuedRequest> first = scheduler.pollBatch(1, NOW); // R1 has not aged yet
+        assertEquals(Arrays.asList("U1"), ids(first));
+        scheduler.done(first.get(0), true, NOW);
+
+        submit("U2", Priority.URGENT, NOW + 1000); // Made after R1 aged
+        assertEquals(Arrays.asList("R1", "U2"), ids(scheduler.pollBatch(10, NOW + 2000)));
+    }
+
+    public void testCancelledAndRequeuedRequests() {
+        submit("U1", Priority.URGENT, NOW - 300);
+        submit("U2", Priority.URGENT, NOW - 200);
+        assertFalse("Already held", scheduler.submit(request("U1", Priority.URGENT, NOW)));
+        assertEquals(2, scheduler.depth(Priority.URGENT));
+
+        List<QueuedRequest> taken = scheduler.pollBatch(1, NOW);
+        assertEquals(1, scheduler.depth(Priority.URGENT));
+        scheduler.requeue(taken.get(0)); // Keeps its place by submission time
+        assertEquals(Arrays.asList("U1", "U2"), ids(scheduler.pollBatch(10, NOW)));
+
+        submit("E1", Priority.EMERGENCY, NOW);
+        assertTrue(scheduler.emergencyWaiting());
+        assertTrue(scheduler.cancel("E1"));
+        assertFalse(scheduler.emergencyWaiting());
+        assertFalse(scheduler.cancel("E1"));
+        assertTrue(scheduler.pollBatch(10, NOW).isEmpty());
+
+        // A cancelled request being worked on is not queued again, and a finished one can be submitted again
+        submit("U3", Priority.URGENT, NOW);
+        QueuedRequest working = scheduler.pollBatch(1, NOW).get(0);
+        scheduler.cancel("U3");
+        scheduler.requeue(working);
+        assertEquals(0, scheduler.depth(Priority.URGENT));
+        assertTrue(scheduler.pollBatch(10, NOW).isEmpty());
+        scheduler.done(working, false, NOW);
+        assertTrue(scheduler.submit(request("U3", Priority.URGENT, NOW)));
+    }
+
+    private void submit(String requestId, Priority priority, long requestedAt) {
+        assertTrue(scheduler.submit(request(requestId, priority, requestedAt)));
+    }
+
+    private static QueuedRequest request(String requestId, Priority priority, long requestedAt) {
+        BloodBank bloodBank = new BloodBank();
+        bloodBank.setBloodBankId("B1");
+        Patient patient = new Patient();
+        patient.setPatientId("P1");
+        patient.setBloodGroup("A+");
+        BloodRequest request = new BloodRequest();
+        request.setRequestId(requestId);
+        request.setBloodBank(bloodBank);
+        request.setPatient(patient);
+        request.setUnits(1);
+        request.setPriority(priority);
+        request.setRequestedAt(new Date(requestedAt));
+        return QueuedRequest.of(request);
+    }
+
+    private static List<String> ids(List<QueuedRequest> requests) {
+        List<String> ids = new ArrayList<>();
+        for (QueuedRequest request : requests) {
+            ids.add(request.getRequestId());
+        }
+        return ids;
+    }
+}